@@ -0,0 +1,401 @@
+package DAOs;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Asynchronous audit trail for logins and approvals.
+ * record() only places the event in a fixed-size ring buffer: one
+ * compare-and-set, no formatting, no I/O and no lock, so auditing adds
+ * nothing noticeable to the caller. A background writer drains the buffer
+ * every flushMillis, or as soon as batchSize events are waiting, and
+ * batch-inserts them into the audit_log table through AuditLogDAO.
+ *
+ * When the buffer is full the new event is dropped and counted rather than
+ * making the caller wait; getStats() reports the drops. When the table is
+ * missing, the writer prints the events to the console instead. A failed
+ * insert is retried with backoff; a batch that still fails is counted as
+ * failed writes, and the rest of the buffer waits for the next flush.
+ *
+ * The shared instance is sized from system properties:
+ *   motorph.audit.bufferSize   events the buffer holds, rounded up to a power of two (default 8192)
+ *   motorph.audit.batchSize    events written per insert, and the early-flush threshold (default 256)
+ *   motorph.audit.flushMillis  longest an event waits before it is written (default 500)
+ * @author User
+ */
+public class AuditLog {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final long DEFAULT_FLUSH_MILLIS = 500;
+
+    // Actions recorded by the application
+    public static final String ACTION_AUTHENTICATION = "AUTHENTICATION";
+    public static final String ACTION_LEAVE_APPROVAL = "LEAVE_APPROVAL";
+    public static final String ACTION_LEAVE_REJECTION = "LEAVE_REJECTION";
+    public static final String ACTION_OVERTIME_APPROVAL = "OVERTIME_APPROVAL";
+    public static final String ACTION_OVERTIME_REJECTION = "OVERTIME_REJECTION";
+
+    private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
+
+    // Inserts tried per batch before its events count as lost; the retry delay doubles each time
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private static final AuditLog INSTANCE = new AuditLog(
+        intProperty("motorph.audit.bufferSize", DEFAULT_BUFFER_SIZE),
+        intProperty("motorph.audit.batchSize", DEFAULT_BATCH_SIZE),
+        intProperty("motorph.audit.flushMillis", (int) DEFAULT_FLUSH_MILLIS),
+        System::currentTimeMillis);
+
+    private final int capacity;
+    private final int mask;
+    private final int batchSize;
+    private final long flushMillis;
+    private final LongSupplier clock;
+
+    // Bounded multi-producer ring: a slot's sequence tells producers and the
+    // writer whose turn it is, so neither side needs a lock
+    private final AtomicReferenceArray<Event> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    // Only one thread drains at a time (the writer, or a caller of flush())
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private volatile AuditLogDAO auditLogDAO;
+    private volatile Thread writer;
+    private volatile boolean running;
+    private boolean shutdownHookAdded;
+
+    /**
+     * Get the shared audit log
+     * @return The audit log used by the DAOs and services
+     */
+    public static AuditLog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone audit log. Application code should use getInstance()
+     * so every event goes through the same writer.
+     * @param bufferSize Events the buffer holds (rounded up to a power of two)
+     * @param batchSize Events per insert; reaching it wakes the writer early
+     * @param flushMillis Longest an event waits before it is written
+     * @param clock Source of event times in epoch milliseconds
+     */
+    public AuditLog(int bufferSize, int batchSize, long flushMillis, LongSupplier clock) {
+        if (bufferSize <= 0 || batchSize <= 0 || flushMillis <= 0) {
+            throw new IllegalArgumentException("Buffer size, batch size and flush interval must be positive");
+        }
+        this.capacity = bufferSize <= 2 ? 2 : Integer.highestOneBit(bufferSize - 1) << 1;
+        this.mask = capacity - 1;
+        this.batchSize = Math.min(batchSize, capacity);
+        this.flushMillis = flushMillis;
+        this.clock = clock;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Start the background writer in a daemon thread (does nothing if already started).
+     * Buffered events are also written when the JVM exits.
+     * @param auditLogDAO Audit table access
+     */
+    public synchronized void start(AuditLogDAO auditLogDAO) {
+        if (writer != null) {
+            return;
+        }
+        this.auditLogDAO = auditLogDAO;
+        this.running = true;
+        Thread thread = new Thread(this::runWriter, "audit-log-writer");
+        thread.setDaemon(true);
+        this.writer = thread;
+        thread.start();
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "audit-log-shutdown"));
+            shutdownHookAdded = true;
+        }
+    }
+
+    /**
+     * Stop the writer and write whatever is still buffered
+     */
+    public synchronized void stop() {
+        Thread thread = writer;
+        if (thread != null) {
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join(flushMillis * 4);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+        flush();
+    }
+
+    /**
+     * Queue an audit event without blocking
+     * @param actor Who acted (email or employee ID)
+     * @param action What was done, e.g. ACTION_AUTHENTICATION
+     * @param success Whether it succeeded
+     * @param details Free-text details
+     * @return false if the buffer was full and the event was dropped
+     */
+    public boolean record(String actor, String action, boolean success, String details) {
+        Event event = new Event(clock.getAsLong(), actor, action, success, details);
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1);
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.incrementAndGet(); // the writer has not freed this slot yet
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        recorded.incrementAndGet();
+
+        // Wake the writer once per full batch instead of on every event
+        if ((position + 1 - head) % batchSize == 0) {
+            Thread thread = writer;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write everything buffered so far on the calling thread.
+     * Used before reading the audit table and on shutdown.
+     * @return Number of events taken from the buffer
+     */
+    public int flush() {
+        drainLock.lock();
+        try {
+            int total = 0;
+            List<Event> batch;
+            while (!(batch = drain(batchSize)).isEmpty()) {
+                total += batch.size();
+                if (!write(batch)) {
+                    break; // database unavailable: leave the rest buffered for the next flush
+                }
+            }
+            return total;
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Take up to maxEvents from the buffer without writing them.
+     * Called by the writer; public so tests can inspect what was buffered.
+     * @param maxEvents Most events to take
+     * @return The events, oldest first
+     */
+    public List<Event> drain(int maxEvents) {
+        List<Event> batch = new ArrayList<>(Math.min(maxEvents, capacity));
+        drainLock.lock();
+        try {
+            long position = head;
+            while (batch.size() < maxEvents) {
+                int index = (int) (position & mask);
+                if (sequences.get(index) != position + 1) {
+                    break; // empty, or a producer has claimed the slot but not filled it yet
+                }
+                batch.add(slots.get(index));
+                slots.set(index, null);
+                sequences.set(index, position + capacity);
+                position++;
+            }
+            head = position;
+        } finally {
+            drainLock.unlock();
+        }
+        return batch;
+    }
+
+    /**
+     * Get a snapshot of the audit log metrics
+     * @return Buffer depth, drops and writes so far
+     */
+    public AuditStats getStats() {
+        return new AuditStats((int) Math.max(0, tail.get() - head), capacity,
+                              recorded.get(), dropped.get(), written.get(), failedWrites.get(), retries.get(),
+                              batches.get());
+    }
+
+    private void runWriter() {
+        long flushNanos = flushMillis * 1_000_000L;
+        while (running) {
+            LockSupport.parkNanos(this, flushNanos);
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                System.err.println("Error writing audit log: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Insert one batch, retrying a failed insert with backoff
+     * @return false if the batch was lost after every attempt
+     */
+    private boolean write(List<Event> batch) {
+        AuditLogDAO dao = auditLogDAO;
+        long backoff = RETRY_BACKOFF_MILLIS;
+        for (int attempt = 1; dao != null; attempt++) {
+            int saved = dao.insertBatch(batch); // the whole batch, or -1
+            if (saved >= 0) {
+                written.addAndGet(saved);
+                batches.incrementAndGet();
+                return true;
+            }
+            if (dao.isTableMissing() || attempt == MAX_WRITE_ATTEMPTS) {
+                break;
+            }
+            retries.incrementAndGet();
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            backoff *= 2;
+        }
+        
+        if (dao == null || dao.isTableMissing()) {
+            // No audit table: keep the old console trail, but off the caller's thread
+            for (Event event : batch) {
+                System.out.println(event);
+            }
+            return true;
+        }
+        failedWrites.addAndGet(batch.size());
+        System.err.println("Lost " + batch.size() + " audit events after " + MAX_WRITE_ATTEMPTS + " attempts");
+        return false;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            return parsed > 0 ? parsed : defaultValue;
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + name + " setting, using default: " + e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    /**
+     * One audit event. Formatting is left to the writer.
+     */
+    public static final class Event {
+        private final long timestamp;
+        private final String actor;
+        private final String action;
+        private final boolean success;
+        private final String details;
+
+        Event(long timestamp, String actor, String action, boolean success, String details) {
+            this.timestamp = timestamp;
+            this.actor = actor != null ? actor : "Unknown";
+            this.action = action;
+            this.success = success;
+            this.details = details;
+        }
+
+        public long getTimestamp() { return timestamp; }
+        public String getActor() { return actor; }
+        public String getAction() { return action; }
+        public boolean isSuccess() { return success; }
+        public String getDetails() { return details; }
+
+        @Override
+        public String toString() {
+            return "[" + action + "] " + Instant.ofEpochMilli(timestamp).atZone(MANILA_TIMEZONE).toLocalDateTime() +
+                   " - Actor: " + actor + ", Success: " + success + ", Details: " + details;
+        }
+    }
+
+    /**
+     * Audit log metrics snapshot
+     */
+    public static class AuditStats {
+        private final int buffered;
+        private final int capacity;
+        private final long recorded;
+        private final long dropped;
+        private final long written;
+        private final long failedWrites;
+        private final long retries;
+        private final long batches;
+
+        AuditStats(int buffered, int capacity, long recorded, long dropped,
+                   long written, long failedWrites, long retries, long batches) {
+            this.buffered = buffered;
+            this.capacity = capacity;
+            this.recorded = recorded;
+            this.dropped = dropped;
+            this.written = written;
+            this.failedWrites = failedWrites;
+            this.retries = retries;
+            this.batches = batches;
+        }
+
+        public int getBuffered() { return buffered; }
+        public int getCapacity() { return capacity; }
+        public long getRecorded() { return recorded; }
+        public long getDropped() { return dropped; }
+        public long getWritten() { return written; }
+        /** Events lost because their batch could not be inserted after retrying */
+        public long getFailedWrites() { return failedWrites; }
+        public long getRetries() { return retries; }
+        public long getBatches() { return batches; }
+
+        public double getAverageBatchSize() {
+            return batches > 0 ? (double) written / batches : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("AuditStats{buffered=%d/%d, recorded=%d, dropped=%d, written=%d, " +
+                                 "failedWrites=%d, retries=%d, avgBatch=%.1f}",
+                                 buffered, capacity, recorded, dropped, written, failedWrites, retries,
+                                 getAverageBatchSize());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package DAOs;
+
+import java.sql.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AuditLogDAO - Stores and queries the events buffered by AuditLog
+ *
+ *   CREATE TABLE audit_log (
+ *     auditId BIGINT AUTO_INCREMENT PRIMARY KEY,
+ *     eventTime TIMESTAMP(3) NOT NULL,
+ *     actor VARCHAR(255) NOT NULL,
+ *     action VARCHAR(50) NOT NULL,
+ *     success BOOLEAN NOT NULL,
+ *     details VARCHAR(500),
+ *     INDEX idx_audit_time (eventTime),
+ *     INDEX idx_audit_actor_time (actor, eventTime),
+ *     INDEX idx_audit_action_time (action, eventTime)
+ *   );
+ *
+ * Every query is bounded by a time range so it can use one of the indexes.
+ * When the table is missing, inserts are skipped and queries return nothing.
+ * @author User
+ */
+public class AuditLogDAO {
+
+    // Manila timezone constant; eventTime holds Manila wall-clock time like the other tables
+    public static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
+
+    // MySQL error code for "table doesn't exist"
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    // Longer details are truncated to fit the column
+    private static final int MAX_DETAILS_LENGTH = 500;
+
+    private static final String INSERT_EVENT =
+        "INSERT INTO audit_log (eventTime, actor, action, success, details) VALUES (?, ?, ?, ?, ?)";
+
+    private final DatabaseConnection databaseConnection;
+
+    // Set once the table is known to be missing, so persistence is skipped
+    private volatile boolean auditTableMissing = false;
+
+    public AuditLogDAO(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Convert an instant to the Manila wall-clock time stored in eventTime
+     * @param epochMillis Epoch milliseconds
+     * @return Timestamp holding the Manila local date and time
+     */
+    public static Timestamp toManilaTimestamp(long epochMillis) {
+        return Timestamp.valueOf(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), MANILA_TIMEZONE));
+    }
+
+    /**
+     * Insert events as one JDBC batch in one transaction
+     * @param events Events drained from the AuditLog buffer
+     * @return Number of events written, or -1 if the batch could not be written
+     */
+    public int insertBatch(List<AuditLog.Event> events) {
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        if (auditTableMissing) {
+            return -1;
+        }
+
+        try (Connection conn = databaseConnection.createConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_EVENT)) {
+                for (AuditLog.Event event : events) {
+                    pstmt.setTimestamp(1, toManilaTimestamp(event.getTimestamp()));
+                    pstmt.setString(2, event.getActor());
+                    pstmt.setString(3, event.getAction());
+                    pstmt.setBoolean(4, event.isSuccess());
+                    pstmt.setString(5, truncate(event.getDetails()));
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+                return events.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            markTableMissing(e);
+            if (!auditTableMissing) {
+                System.err.println("Could not write audit events: " + e.getMessage());
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Find events in a time range, newest first
+     * @param from Start of the range (inclusive)
+     * @param to End of the range (exclusive)
+     * @param actor Only this actor, or null for everyone
+     * @param action Only this action, or null for all actions
+     * @param success Only successes or only failures, or null for both
+     * @param limit Most events to return
+     * @return Events as maps with timestamp, actor, action, success and details
+     */
+    public List<Map<String, Object>> findEvents(Timestamp from, Timestamp to, String actor, String action,
+                                                Boolean success, int limit) {
+        List<Map<String, Object>> events = new ArrayList<>();
+        if (auditTableMissing || from == null || to == null || limit <= 0) {
+            return events;
+        }
+
+        StringBuilder sql = new StringBuilder(
+            "SELECT auditId, eventTime, actor, action, success, details FROM audit_log " +
+            "WHERE eventTime >= ? AND eventTime < ?");
+        if (actor != null) {
+            sql.append(" AND actor = ?");
+        }
+        if (action != null) {
+            sql.append(" AND action = ?");
+        }
+        if (success != null) {
+            sql.append(" AND success = ?");
+        }
+        sql.append(" ORDER BY eventTime DESC LIMIT ?");
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            pstmt.setTimestamp(index++, from);
+            pstmt.setTimestamp(index++, to);
+            if (actor != null) {
+                pstmt.setString(index++, actor);
+            }
+            if (action != null) {
+                pstmt.setString(index++, action);
+            }
+            if (success != null) {
+                pstmt.setBoolean(index++, success);
+            }
+            pstmt.setInt(index, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, Object> event = new HashMap<>();
+                    event.put("auditId", rs.getLong("auditId"));
+                    event.put("timestamp", rs.getTimestamp("eventTime"));
+                    event.put("actor", rs.getString("actor"));
+                    event.put("action", rs.getString("action"));
+                    event.put("success", rs.getBoolean("success"));
+                    event.put("details", rs.getString("details"));
+                    events.add(event);
+                }
+            }
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not read audit events: " + e.getMessage());
+        }
+        return events;
+    }
+
+    /**
+     * Find events between two calendar dates, newest first
+     * @param startDate First day (inclusive)
+     * @param endDate Last day (inclusive)
+     * @param actor Only this actor, or null for everyone
+     * @param action Only this action, or null for all actions
+     * @param success Only successes or only failures, or null for both
+     * @param limit Most events to return
+     * @return Events as maps with timestamp, actor, action, success and details
+     */
+    public List<Map<String, Object>> findEvents(Date startDate, Date endDate, String actor,
+                                                String action, Boolean success, int limit) {
+        if (startDate == null || endDate == null) {
+            return new ArrayList<>();
+        }
+        return findEvents(Timestamp.valueOf(startDate.toLocalDate().atStartOfDay()),
+                          Timestamp.valueOf(endDate.toLocalDate().plusDays(1).atStartOfDay()),
+                          actor, action, success, limit);
+    }
+
+    /**
+     * Delete events older than a cutoff
+     * @param cutoff Events before this time are removed
+     * @return Number of events deleted, or -1 on error
+     */
+    public int deleteOlderThan(Timestamp cutoff) {
+        if (auditTableMissing) {
+            return 0;
+        }
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM audit_log WHERE eventTime < ?")) {
+
+            pstmt.setTimestamp(1, cutoff);
+            return pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not delete old audit events: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Check whether the audit table was found to be missing
+     * @return true once an operation failed because the table does not exist
+     */
+    public boolean isTableMissing() {
+        return auditTableMissing;
+    }
+
+    private static String truncate(String details) {
+        return details != null && details.length() > MAX_DETAILS_LENGTH
+            ? details.substring(0, MAX_DETAILS_LENGTH) : details;
+    }
+
+    private void markTableMissing(SQLException e) {
+        if (e.getErrorCode() == ER_NO_SUCH_TABLE) {
+            auditTableMissing = true;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package DAOs;
+
+import DAOs.CacheVersionDAO.EntityType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps this client's caches coherent with writes made by other clients.
+ * Polls cache_version (CacheVersionDAO) with one query every few seconds and
+ * runs the evictions registered for each entity type whose version changed.
+ * The first poll runs every registered eviction, because caches loaded before
+ * it (such as the reference data preload) may predate writes it would miss.
+ * @author User
+ */
+public class CacheCoherenceMonitor {
+
+    private static final CacheCoherenceMonitor INSTANCE = new CacheCoherenceMonitor();
+
+    public static final long DEFAULT_POLL_SECONDS = 5;
+
+    private final Map<EntityType, List<Runnable>> evictions = new EnumMap<>(EntityType.class);
+    private final Map<EntityType, Long> lastSeen = new EnumMap<>(EntityType.class);
+    private boolean baselineRecorded = false;
+    private ScheduledExecutorService poller;
+
+    /**
+     * Get the shared monitor, with evictions for the shared caches registered
+     * @return The monitor started at application startup
+     */
+    public static CacheCoherenceMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+        EmployeeClassificationCache classifications = EmployeeClassificationCache.getInstance();
+        LeaveAnalyticsCube leaveCube = LeaveAnalyticsCube.getInstance();
+
+        INSTANCE.register(EntityType.EMPLOYEE, classifications::invalidate);
+        INSTANCE.register(EntityType.EMPLOYEE, EmployeeDAO::invalidateEmployeeCache);
+        INSTANCE.register(EntityType.EMPLOYEE, () -> referenceData.invalidate(ReferenceDataCache.Region.BENEFIT_COSTS));
+        INSTANCE.register(EntityType.EMPLOYEE, LeaveIntervalIndex.getInstance()::clear); // employee -> department map
+        INSTANCE.register(EntityType.EMPLOYEE, leaveCube::clear);
+        INSTANCE.register(EntityType.POSITION, () -> referenceData.invalidate(ReferenceDataCache.Region.POSITIONS));
+        INSTANCE.register(EntityType.POSITION, classifications::invalidate);
+        INSTANCE.register(EntityType.POSITION, EmployeeDAO::invalidateEmployeeCache);
+        INSTANCE.register(EntityType.POSITION, () -> referenceData.invalidate(ReferenceDataCache.Region.BENEFIT_COSTS));
+        INSTANCE.register(EntityType.POSITION, LeaveIntervalIndex.getInstance()::clear);
+        INSTANCE.register(EntityType.POSITION, leaveCube::clear);
+        INSTANCE.register(EntityType.BENEFIT_TYPE, () -> referenceData.invalidate(ReferenceDataCache.Region.BENEFIT_TYPES));
+        INSTANCE.register(EntityType.LEAVE_TYPE, () -> referenceData.invalidate(ReferenceDataCache.Region.LEAVE_TYPES));
+        INSTANCE.register(EntityType.PAY_PERIOD, PayPeriodIndex.getInstance()::clear);
+        INSTANCE.register(EntityType.POSITION_BENEFIT, () -> referenceData.invalidate(ReferenceDataCache.Region.BENEFIT_COSTS));
+        INSTANCE.register(EntityType.LEAVE_REQUEST, LeaveIntervalIndex.getInstance()::clear);
+        INSTANCE.register(EntityType.LEAVE_REQUEST, leaveCube::clear);
+        INSTANCE.register(EntityType.LEAVE_BALANCE, leaveCube::invalidateBalances);
+        INSTANCE.register(EntityType.OVERTIME_REQUEST, OvertimeRollup.getInstance()::invalidate);
+    }
+
+    /**
+     * Create a standalone monitor with no evictions. Application code should use getInstance().
+     */
+    public CacheCoherenceMonitor() {
+    }
+
+    /**
+     * Register an eviction to run when an entity type changes in another client
+     * @param entityType The entity type
+     * @param eviction Drops the cached copies of that entity type
+     */
+    public synchronized void register(EntityType entityType, Runnable eviction) {
+        evictions.computeIfAbsent(entityType, t -> new ArrayList<>()).add(eviction);
+    }
+
+    /**
+     * Start polling in a daemon thread (does nothing if already started)
+     * @param databaseConnection Connection settings for the version query
+     * @param pollSeconds Seconds between polls
+     */
+    public synchronized void start(DatabaseConnection databaseConnection, long pollSeconds) {
+        if (poller != null) {
+            return;
+        }
+        CacheVersionDAO versionDAO = new CacheVersionDAO(databaseConnection);
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-coherence-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                Map<EntityType, Long> versions = versionDAO.readVersions();
+                if (versions != null) {
+                    applyVersions(versions);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error polling cache versions: " + e.getMessage());
+            }
+        }, 0, pollSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop polling
+     */
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    /**
+     * Compare polled versions with the last seen ones and run the evictions of changed types.
+     * On the first call every registered type counts as changed.
+     * @param versions Entity type to version, as read from cache_version
+     * @return The entity types that were evicted
+     */
+    public synchronized Set<EntityType> applyVersions(Map<EntityType, Long> versions) {
+        Set<EntityType> changed = EnumSet.noneOf(EntityType.class);
+        if (!baselineRecorded) {
+            changed.addAll(evictions.keySet());
+        }
+        for (Map.Entry<EntityType, Long> entry : versions.entrySet()) {
+            Long previous = lastSeen.put(entry.getKey(), entry.getValue());
+            if (baselineRecorded && !entry.getValue().equals(previous)) {
+                changed.add(entry.getKey());
+            }
+        }
+        baselineRecorded = true;
+
+        for (EntityType type : changed) {
+            for (Runnable eviction : evictions.getOrDefault(type, List.of())) {
+                eviction.run();
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,180 @@
+package DAOs;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CacheVersionDAO - Version counters shared by every running client
+ *
+ * Each cached entity type has one row that is bumped in the same transaction
+ * as the write that changed it. CacheCoherenceMonitor polls the table and
+ * evicts only the caches whose row changed since the last poll:
+ *
+ *   CREATE TABLE cache_version (
+ *     entityType VARCHAR(40) PRIMARY KEY,
+ *     version BIGINT NOT NULL DEFAULT 0,
+ *     updatedAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+ *   );
+ *
+ * Without the table writes still succeed; caches then only expire locally.
+ * @author User
+ */
+public class CacheVersionDAO {
+
+    // MySQL error code for "table doesn't exist"
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    private static final String BUMP_VERSION =
+        "INSERT INTO cache_version (entityType, version) VALUES (?, 1) " +
+        "ON DUPLICATE KEY UPDATE version = version + 1";
+
+    private static final String SELECT_VERSIONS = "SELECT entityType, version FROM cache_version";
+
+    /**
+     * Entity types with cached copies in the clients
+     */
+    public enum EntityType {
+        EMPLOYEE("employee"),
+        POSITION("position"),
+        BENEFIT_TYPE("benefittype"),
+        LEAVE_TYPE("leavetype"),
+        PAY_PERIOD("payperiod"),
+        POSITION_BENEFIT("position_benefit"),
+        LEAVE_REQUEST("leaverequest"),
+        LEAVE_BALANCE("leavebalance"),
+        OVERTIME_REQUEST("overtimerequest");
+
+        private final String key;
+
+        EntityType(String key) {
+            this.key = key;
+        }
+
+        public String getKey() { return key; }
+
+        public static EntityType fromKey(String key) {
+            for (EntityType type : values()) {
+                if (type.key.equalsIgnoreCase(key)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Runs the write statements of one transaction
+     */
+    public interface Write {
+        int execute() throws SQLException;
+    }
+
+    // Shared by all instances: once missing, stop issuing statements against the table
+    private static volatile boolean versionTableMissing = false;
+
+    private final DatabaseConnection databaseConnection;
+
+    public CacheVersionDAO(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Run a write and bump the entity's version in one transaction.
+     * The version is only bumped if the write changed at least one row.
+     * @param conn Connection the write's statements were prepared on
+     * @param entityType The changed entity type
+     * @param write The write (returns the number of affected rows)
+     * @return Number of rows affected by the write
+     * @throws SQLException if the write fails (the transaction is rolled back)
+     */
+    public static int executeAndBump(Connection conn, EntityType entityType, Write write) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            int rowsAffected = write.execute();
+            if (rowsAffected > 0) {
+                bump(conn, entityType);
+            }
+            conn.commit();
+            return rowsAffected;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Bump an entity's version on the caller's connection (joins its transaction, never commits)
+     * @param conn The caller's connection
+     * @param entityType The changed entity type
+     * @throws SQLException if the bump fails for any reason other than a missing table
+     */
+    public static void bump(Connection conn, EntityType entityType) throws SQLException {
+        if (versionTableMissing) {
+            return;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(BUMP_VERSION)) {
+            pstmt.setString(1, entityType.getKey());
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ER_NO_SUCH_TABLE) {
+                throw e;
+            }
+            // Version table not created yet - the write itself still stands
+            versionTableMissing = true;
+            System.err.println("Could not bump cache version (table missing): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Bump an entity's version in its own transaction, for writes that
+     * cannot share their connection
+     * @param entityType The changed entity type
+     * @return true if bumped
+     */
+    public boolean bump(EntityType entityType) {
+        if (versionTableMissing) {
+            return false;
+        }
+        try (Connection conn = databaseConnection.createConnection()) {
+            bump(conn, entityType);
+            return !versionTableMissing;
+        } catch (SQLException e) {
+            System.err.println("Could not bump cache version: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Read every entity version with one query
+     * @return Entity type to version, or null if the versions could not be read
+     */
+    public Map<EntityType, Long> readVersions() {
+        if (versionTableMissing) {
+            return null;
+        }
+        Map<EntityType, Long> versions = new HashMap<>();
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_VERSIONS);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                EntityType type = EntityType.fromKey(rs.getString("entityType"));
+                if (type != null) {
+                    versions.put(type, rs.getLong("version"));
+                }
+            }
+        } catch (SQLException e) {
+            if (e.getErrorCode() == ER_NO_SUCH_TABLE) {
+                versionTableMissing = true;
+            }
+            System.err.println("Could not read cache versions: " + e.getMessage());
+            return null;
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,128 @@
+package DAOs;
+
+import Models.PositionModel;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cached employee classification (rank-and-file, overtime eligibility, payroll category).
+ * Used by EmployeeDAO so per-employee loops in payroll, attendance and overtime
+ * check flags in memory instead of running a position JOIN for every employee.
+ *
+ * Each position is classified once; employees then share their position's
+ * Classification. The employeeId map is immutable and replaced as a whole on
+ * reload, so readers never lock. EmployeeDAO invalidates the cache when it
+ * writes employee data, and the cache also expires after the refresh interval
+ * to pick up position edits made outside this application.
+ * @author User
+ */
+public class EmployeeClassificationCache {
+
+    private static final EmployeeClassificationCache INSTANCE = new EmployeeClassificationCache();
+
+    public static final Classification RANK_AND_FILE = new Classification(true);
+    public static final Classification NON_RANK_AND_FILE = new Classification(false);
+
+    private volatile Map<Integer, Classification> byEmployee = null;
+    private volatile long loadedAtMillis = 0;
+
+    /**
+     * Get the shared cache instance
+     * @return The cache used by EmployeeDAO
+     */
+    public static EmployeeClassificationCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone cache. Application code should use getInstance().
+     */
+    public EmployeeClassificationCache() {
+    }
+
+    /**
+     * Check if the cache is loaded and not older than the given age
+     * @param maxAgeMillis Oldest acceptable cache age
+     * @return true if lookups can be answered from memory
+     */
+    public boolean isFresh(long maxAgeMillis) {
+        return byEmployee != null && System.currentTimeMillis() - loadedAtMillis <= maxAgeMillis;
+    }
+
+    /**
+     * Replace the cache contents
+     * @param employeePositions Employee ID to position ID (null for no position)
+     * @param positions All positions
+     */
+    public void load(Map<Integer, Integer> employeePositions, Collection<PositionModel> positions) {
+        Map<Integer, Classification> byPosition = new HashMap<>();
+        for (PositionModel position : positions) {
+            byPosition.put(position.getPositionId(), classify(position));
+        }
+
+        Map<Integer, Classification> classifications = new HashMap<>();
+        for (Map.Entry<Integer, Integer> entry : employeePositions.entrySet()) {
+            Classification classification = entry.getValue() != null ? byPosition.get(entry.getValue()) : null;
+            classifications.put(entry.getKey(), classification != null ? classification : NON_RANK_AND_FILE);
+        }
+
+        byEmployee = Map.copyOf(classifications);
+        loadedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Drop the cached map so the next lookup reloads it
+     */
+    public void invalidate() {
+        byEmployee = null;
+    }
+
+    /**
+     * Get the classification of an employee
+     * @param employeeId The employee ID
+     * @return The classification, or null if not loaded or the employee is unknown
+     */
+    public Classification get(Integer employeeId) {
+        Map<Integer, Classification> current = byEmployee;
+        return current != null && employeeId != null ? current.get(employeeId) : null;
+    }
+
+    /**
+     * Get the current immutable employeeId to classification map
+     * @return The map, or an empty map if not loaded
+     */
+    public Map<Integer, Classification> snapshot() {
+        Map<Integer, Classification> current = byEmployee;
+        return current != null ? current : Map.of();
+    }
+
+    /**
+     * Classify a position with the PositionModel rank-and-file rule
+     * @param position The position
+     * @return The shared classification for the position's category
+     */
+    public static Classification classify(PositionModel position) {
+        return position != null && position.isRankAndFile() ? RANK_AND_FILE : NON_RANK_AND_FILE;
+    }
+
+    /**
+     * Immutable classification flags shared by all employees in a category
+     */
+    public static final class Classification {
+        private final boolean rankAndFile;
+
+        private Classification(boolean rankAndFile) {
+            this.rankAndFile = rankAndFile;
+        }
+
+        public boolean isRankAndFile() { return rankAndFile; }
+
+        /** Only rank-and-file employees are eligible for overtime */
+        public boolean isOvertimeEligible() { return rankAndFile; }
+
+        public String getPayrollCategory() {
+            return rankAndFile ? "Rank-and-File" : "Non Rank-and-File";
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package DAOs;
 
+import DAOs.CacheVersionDAO.EntityType;
 import Models.EmployeeModel;
 import Models.EmployeeModel.EmployeeStatus;
 import Models.PositionModel;
@@ -11,6 +12,8 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Data Access Object for EmployeeModel entities.
@@ -22,6 +25,16 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
     
     // Manila timezone constant
     public static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
+
+    // Classification lookups are answered from this cache while it is fresh
+    private static final long CLASSIFICATION_MAX_AGE_MILLIS = 10 * 60 * 1000L;
+    private final EmployeeClassificationCache classificationCache = EmployeeClassificationCache.getInstance();
+
+    // Single-employee lookups, shared by all EmployeeDAO instances. Callers get copies.
+    private static final int ENTITY_CACHE_SIZE = 1000;
+    private static final EntityCache<Integer, EmployeeModel> employeeCache = new EntityCache<>(ENTITY_CACHE_SIZE);
+    private static final EntityCache<Integer, EmployeeWithPosition> employeeWithPositionCache = new EntityCache<>(ENTITY_CACHE_SIZE);
+    private static final EntityCache<String, Integer> employeeIdByEmail = new EntityCache<>(ENTITY_CACHE_SIZE);
     
     /**
      * Constructor that accepts a DatabaseConnection instance
@@ -260,6 +273,12 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
             return false;
         }
         
+        EmployeeClassificationCache.Classification classification = getClassification(employeeId);
+        if (classification != null) {
+            return classification.isRankAndFile();
+        }
+        
+        // Employee not in the cache (added by another client) - ask the database
         String sql = """
             SELECT COUNT(*) > 0 
             FROM employee e 
@@ -286,6 +305,61 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         return false;
     }
     
+    /**
+     * Get the cached classification of an employee (rank-and-file, overtime eligibility, payroll category)
+     * @param employeeId The employee ID
+     * @return The classification, or null if the employee is unknown
+     */
+    public EmployeeClassificationCache.Classification getClassification(Integer employeeId) {
+        ensureClassificationLoaded();
+        return classificationCache.get(employeeId);
+    }
+    
+    /**
+     * Get the cached classification of every employee, for loops over many employees
+     * @return Immutable employeeId to classification map (empty if it could not be loaded)
+     */
+    public Map<Integer, EmployeeClassificationCache.Classification> getClassifications() {
+        ensureClassificationLoaded();
+        return classificationCache.snapshot();
+    }
+    
+    /**
+     * Load the classification cache if it is missing or stale.
+     * Two small queries: every employee's position, and every position.
+     */
+    private void ensureClassificationLoaded() {
+        if (classificationCache.isFresh(CLASSIFICATION_MAX_AGE_MILLIS)) {
+            return;
+        }
+        synchronized (classificationCache) {
+            if (classificationCache.isFresh(CLASSIFICATION_MAX_AGE_MILLIS)) {
+                return;
+            }
+            
+            Map<Integer, Integer> employeePositions = new HashMap<>();
+            try (Connection conn = databaseConnection.createConnection();
+                 PreparedStatement stmt = conn.prepareStatement("SELECT employeeId, positionId FROM employee");
+                 ResultSet rs = stmt.executeQuery()) {
+                
+                while (rs.next()) {
+                    int positionId = rs.getInt("positionId");
+                    employeePositions.put(rs.getInt("employeeId"), rs.wasNull() ? null : positionId);
+                }
+                
+            } catch (SQLException e) {
+                System.err.println("Error loading employee classifications: " + e.getMessage());
+                return;
+            }
+            
+            List<PositionModel> positions = new PositionDAO(databaseConnection).findAll();
+            if (positions.isEmpty() && !employeePositions.isEmpty()) {
+                return; // position lookup failed - keep using the database
+            }
+            classificationCache.load(employeePositions, positions);
+        }
+    }
+    
     /**
      * Get all rank-and-file employees
      * @return List of rank-and-file employees
@@ -344,6 +418,12 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         if (employeeId == null) {
             return null;
         }
+
+        EmployeeWithPosition cached = employeeWithPositionCache.get(employeeId);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+        long generation = employeeWithPositionCache.generation();
         
         String sql = """
             SELECT e.*, p.position, p.department, p.positionDescription
@@ -366,7 +446,9 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
                 position.setPositionDescription(rs.getString("positionDescription"));
                 position.setDepartment(rs.getString("department"));
                 
-                return new EmployeeWithPosition(employee, position);
+                EmployeeWithPosition result = new EmployeeWithPosition(employee, position);
+                employeeWithPositionCache.put(employeeId, copyOf(result), generation);
+                return result;
             }
             
         } catch (SQLException e) {
@@ -376,6 +458,49 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         return null;
     }
     
+    /**
+     * Drop an employee from the entity caches after its row changed
+     * @param employeeId The changed employee's ID
+     */
+    public static void invalidateCachedEmployee(Integer employeeId) {
+        if (employeeId != null) {
+            employeeCache.invalidate(employeeId);
+            employeeWithPositionCache.invalidate(employeeId);
+            PermissionResolver.getInstance().invalidate(employeeId);
+        }
+    }
+
+    /**
+     * Drop every cached employee (after position edits or changes made by another client)
+     */
+    public static void invalidateEmployeeCache() {
+        employeeCache.invalidateAll();
+        employeeWithPositionCache.invalidateAll();
+        employeeIdByEmail.invalidateAll();
+        PermissionResolver.getInstance().invalidateAll();
+    }
+
+    /**
+     * Get the statistics of the findById/findByEmail cache
+     * @return Hits, misses and evictions so far
+     */
+    public static EntityCache.CacheStats getEmployeeCacheStats() {
+        return employeeCache.getStats();
+    }
+
+    /**
+     * Get the statistics of the getEmployeeWithPosition cache
+     * @return Hits, misses and evictions so far
+     */
+    public static EntityCache.CacheStats getEmployeeWithPositionCacheStats() {
+        return employeeWithPositionCache.getStats();
+    }
+
+    private static EmployeeWithPosition copyOf(EmployeeWithPosition cached) {
+        return new EmployeeWithPosition(cached.getEmployee().copy(),
+                                        cached.getPosition() != null ? cached.getPosition().copy() : null);
+    }
+    
     // OVERTIME ELIGIBILITY METHODS
     
     /**
@@ -639,8 +764,24 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         if (email == null || email.trim().isEmpty()) {
             return null;
         }
+        String emailKey = email.toLowerCase();
+        Integer cachedId = employeeIdByEmail.get(emailKey);
+        if (cachedId != null) {
+            EmployeeModel employee = findById(cachedId);
+            // The email may have changed since it was indexed
+            if (employee != null && email.equalsIgnoreCase(employee.getEmail())) {
+                return employee;
+            }
+            employeeIdByEmail.invalidate(emailKey);
+        }
+
+        long generation = employeeIdByEmail.generation();
         String sql = "SELECT * FROM employee WHERE email = ?";
-        return executeSingleQuery(sql, email);
+        EmployeeModel employee = executeSingleQuery(sql, email);
+        if (employee != null && employee.getEmployeeId() != null) {
+            employeeIdByEmail.put(emailKey, employee.getEmployeeId(), generation);
+        }
+        return employee;
     }
     
     /**
@@ -670,6 +811,9 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         Timestamp manilaTime = Timestamp.valueOf(getManilaTime());
         
         int rowsAffected = executeUpdate(sql, manilaTime, employeeId);
+        if (rowsAffected > 0) {
+            invalidateCachedEmployee(employeeId);
+        }
         return rowsAffected > 0;
     }
     
@@ -727,9 +871,46 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         String sql = "UPDATE employee SET basicSalary = ?, hourlyRate = ?, updatedAt = ? WHERE employeeId = ?";
         Timestamp manilaTime = Timestamp.valueOf(getManilaTime());
         
-        int rowsAffected = executeUpdate(sql, basicSalary, hourlyRate, manilaTime, employeeId);
+        int rowsAffected = 0;
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setBigDecimal(1, basicSalary);
+            stmt.setBigDecimal(2, hourlyRate);
+            stmt.setTimestamp(3, manilaTime);
+            stmt.setInt(4, employeeId);
+            rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.EMPLOYEE, stmt::executeUpdate);
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating employee salary: " + e.getMessage());
+        }
+        if (rowsAffected > 0) {
+            invalidateCachedEmployee(employeeId);
+            ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.Region.BENEFIT_COSTS);
+            repriceOvertimeAccruals(employeeId, hourlyRate);
+        }
         return rowsAffected > 0;
     }
+
+    /**
+     * Drop caches derived from employee rows (classifications, benefit cost totals)
+     */
+    private void invalidateDerivedCaches() {
+        classificationCache.invalidate();
+        ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.Region.BENEFIT_COSTS);
+    }
+
+    /**
+     * Reprice overtime accrued from today on that is not yet paid, after an hourly rate change.
+     * Overtime before today keeps the rate that was in effect when it was approved.
+     * @param employeeId The employee ID
+     * @param hourlyRate The new hourly rate
+     */
+    private void repriceOvertimeAccruals(Integer employeeId, BigDecimal hourlyRate) {
+        if (hourlyRate != null) {
+            new OvertimePayAccrualDAO(databaseConnection).repriceUnpaidAccruals(employeeId, hourlyRate, getManilaDate());
+        }
+    }
     
     // OVERRIDE METHODS - Use custom SQL
     
@@ -748,6 +929,24 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
                "WHERE employeeId = ?";
     }
     
+    @Override
+    public EmployeeModel findById(Integer employeeId) {
+        if (employeeId == null) {
+            return null;
+        }
+        EmployeeModel cached = employeeCache.get(employeeId);
+        if (cached != null) {
+            return cached.copy();
+        }
+
+        long generation = employeeCache.generation();
+        EmployeeModel employee = super.findById(employeeId);
+        if (employee != null) {
+            employeeCache.put(employeeId, employee.copy(), generation);
+        }
+        return employee;
+    }
+    
     @Override
     public boolean save(EmployeeModel employee) {
         if (employee == null) {
@@ -770,7 +969,7 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             setInsertParameters(stmt, employee);
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.EMPLOYEE, stmt::executeUpdate);
 
             if (rowsAffected > 0) {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
@@ -779,6 +978,8 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
                         employee.setEmployeeId(generatedId);
                     }
                 }
+                invalidateCachedEmployee(employee.getEmployeeId());
+                invalidateDerivedCaches();
                 return true;
             }
             return false;
@@ -804,7 +1005,12 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
             // Set Manila time for updatedAt
             stmt.setTimestamp(14, Timestamp.valueOf(getManilaTime()));
             
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.EMPLOYEE, stmt::executeUpdate);
+            if (rowsAffected > 0) {
+                invalidateCachedEmployee(employee.getEmployeeId());
+                invalidateDerivedCaches();
+                repriceOvertimeAccruals(employee.getEmployeeId(), employee.getHourlyRate());
+            }
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -813,6 +1019,28 @@ public class EmployeeDAO extends BaseDAO<EmployeeModel, Integer> {
         }
     }
     
+    @Override
+    public boolean delete(Integer employeeId) {
+        String sql = "DELETE FROM " + getTableName() + " WHERE " + getPrimaryKeyColumn() + " = ?";
+        
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setObject(1, employeeId);
+            
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.EMPLOYEE, stmt::executeUpdate);
+            if (rowsAffected > 0) {
+                invalidateCachedEmployee(employeeId);
+                invalidateDerivedCaches();
+            }
+            return rowsAffected > 0;
+            
+        } catch (SQLException e) {
+            System.err.println("Error deleting employee with ID " + employeeId + ": " + e.getMessage());
+            return false;
+        }
+    }
+    
     // INNER CLASSES FOR COMPLEX OPERATIONS
     
     /**
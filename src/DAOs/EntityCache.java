@@ -0,0 +1,202 @@
+package DAOs;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded least-recently-used cache of entities, keyed by ID.
+ * Used by EmployeeDAO in front of its single-row lookups so services that
+ * fetch the same employee several times per operation hit memory instead of
+ * MySQL. Thread-safe for parallel payroll workers; lookups and writes share
+ * one lock because an access-ordered LinkedHashMap reorders on every get.
+ *
+ * Writers call invalidate() after changing a row. Loaders read generation()
+ * before querying and pass it to put(), so a row loaded while another thread
+ * invalidated it is not cached.
+ * @param <K> The key type
+ * @param <V> The cached value type
+ * @author User
+ */
+public class EntityCache<K, V> {
+
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, V> entries;
+    private long generation = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Create a cache
+     * @param maxEntries Most entries kept; the least recently used entry is evicted beyond this
+     */
+    public EntityCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > EntityCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a cached value and count the hit or miss
+     * @param key The key
+     * @return The cached value, or null on a miss
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        lock.lock();
+        try {
+            V value = entries.get(key);
+            if (value != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the current invalidation generation, to pass to put() after loading
+     * @return The generation
+     */
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cache a value loaded from the database
+     * @param key The key
+     * @param value The loaded value
+     * @param loadGeneration generation() read before the value was loaded
+     * @return true if cached, false if an invalidation happened during the load
+     */
+    public boolean put(K key, V value, long loadGeneration) {
+        if (key == null || value == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            if (loadGeneration != generation) {
+                return false;
+            }
+            entries.put(key, value);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop one entry after its row changed
+     * @param key The key
+     */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            generation++;
+            invalidations.incrementAndGet();
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop every entry
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+            invalidations.incrementAndGet();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of cached entries
+     * @return The size
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get a snapshot of the cache statistics
+     * @return Hits, misses, evictions and invalidations so far
+     */
+    public CacheStats getStats() {
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), invalidations.get(), size(), maxEntries);
+    }
+
+    /**
+     * Cache statistics snapshot
+     */
+    public static class CacheStats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+        private final int size;
+        private final int maxEntries;
+
+        CacheStats(long hits, long misses, long evictions, long invalidations, int size, int maxEntries) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.size = size;
+            this.maxEntries = maxEntries;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+        public int getSize() { return size; }
+        public int getMaxEntries() { return maxEntries; }
+
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests > 0 ? (double) hits / requests * 100 : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CacheStats{hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, invalidations=%d, size=%d/%d}",
+                                 hits, misses, getHitRate(), evictions, invalidations, size, maxEntries);
+        }
+    }
+}
@@ -0,0 +1,619 @@
+package DAOs;
+
+import Models.LeaveBalance;
+import Models.LeaveRequestModel;
+import Models.LeaveRequestModel.ApprovalStatus;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Small in-process OLAP cube over leave data.
+ * Used by the leave utilization and statistics reports so they can slice and
+ * dice without running ad-hoc aggregate queries over leaverequest.
+ *
+ * Request cells are keyed by year, month, department, leave type and status
+ * and hold the request count, calendar days and working days, plus
+ * per-employee counts so distinct employees can be reported for any slice.
+ * Rejected requests are kept, since they count towards totals and approval
+ * rates. Each request is placed twice: once by the year and month of its
+ * leave start (utilization reports) and once by the year and month it was
+ * created (monthly and leave type statistics); see DateBasis.
+ *
+ * Leave balances are kept next to the cells for the allocation/usage reports.
+ * Request cells are refreshed write-through by LeaveRequestDAO; balances are
+ * reloaded on first use after any balance write. Writes from other clients
+ * reach the cube through CacheCoherenceMonitor.
+ * @author User
+ */
+public class LeaveAnalyticsCube {
+
+    public enum Dimension {
+        YEAR,
+        MONTH,
+        DEPARTMENT,
+        LEAVE_TYPE,
+        STATUS
+    }
+
+    /**
+     * Which date of a request gives its year and month
+     */
+    public enum DateBasis {
+        /** Year and month the leave starts */
+        LEAVE_START,
+        /** Year and month the request was filed */
+        DATE_CREATED
+    }
+
+    private static final LeaveAnalyticsCube INSTANCE = new LeaveAnalyticsCube();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, RequestFact> facts = new HashMap<>();
+    private final Map<CellKey, Cell> cells = new HashMap<>();
+    private final Map<CellKey, Cell> createdCells = new HashMap<>();
+    private final Map<Integer, String> employeeDepartments = new HashMap<>();
+    private final Map<String, BalanceFact> balances = new HashMap<>();
+    private volatile boolean loaded = false;
+    private volatile boolean balancesLoaded = false;
+
+    /**
+     * Get the shared cube instance
+     * @return The cube used by all leave DAOs
+     */
+    public static LeaveAnalyticsCube getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone cube. Application code should use getInstance()
+     * so all DAOs share the same write-through state.
+     */
+    public LeaveAnalyticsCube() {
+    }
+
+    /**
+     * Check if the request cells have been built
+     * @return true if load() has completed at least once
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Check if the balance facts are current
+     * @return false after invalidateBalances() until the next loadBalances()
+     */
+    public boolean isBalancesLoaded() {
+        return balancesLoaded;
+    }
+
+    /**
+     * Rebuild the request cells from a full snapshot
+     * @param requests All leave requests
+     * @param departments Employee ID to department map (may be incomplete)
+     */
+    public void load(Collection<LeaveRequestModel> requests, Map<Integer, String> departments) {
+        lock.writeLock().lock();
+        try {
+            facts.clear();
+            cells.clear();
+            createdCells.clear();
+            employeeDepartments.clear();
+
+            if (departments != null) {
+                employeeDepartments.putAll(departments);
+            }
+            if (requests != null) {
+                for (LeaveRequestModel request : requests) {
+                    putInternal(request);
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the balance facts with a fresh snapshot
+     * @param leaveBalances All leave balances
+     * @param departments Employee ID to department map (may be incomplete)
+     */
+    public void loadBalances(Collection<LeaveBalance> leaveBalances, Map<Integer, String> departments) {
+        lock.writeLock().lock();
+        try {
+            balances.clear();
+            if (leaveBalances != null) {
+                for (LeaveBalance balance : leaveBalances) {
+                    if (balance.getBalanceYear() == null) {
+                        continue;
+                    }
+                    String department = departments != null ? departments.get(balance.getEmployeeId()) : null;
+                    Integer total = balance.getTotalLeaveDays();
+                    balances.put(balance.getEmployeeId() + ":" + balance.getLeaveTypeId() + ":" + balance.getBalanceYear().getValue(),
+                        new BalanceFact(balance.getEmployeeId(), balance.getBalanceYear().getValue(), department,
+                                        total != null ? total : 0, balance.getUsedLeaveDays()));
+                }
+            }
+            balancesLoaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mark the balance facts stale so the next balance report reloads them
+     */
+    public void invalidateBalances() {
+        balancesLoaded = false;
+    }
+
+    /**
+     * Drop everything and mark the cube as not loaded
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            facts.clear();
+            cells.clear();
+            createdCells.clear();
+            employeeDepartments.clear();
+            balances.clear();
+            loaded = false;
+            balancesLoaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a leave request, moving its measures to the right cell
+     * @param request The leave request as stored in the database
+     */
+    public void put(LeaveRequestModel request) {
+        if (request == null || request.getLeaveRequestId() <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            putInternal(request);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a leave request from the cube
+     * @param leaveRequestId ID of the deleted request
+     */
+    public void remove(int leaveRequestId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(leaveRequestId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remember which department an employee belongs to
+     * @param employeeId Employee ID
+     * @param department Department name (null if the employee has no position)
+     */
+    public void setEmployeeDepartment(int employeeId, String department) {
+        lock.writeLock().lock();
+        try {
+            employeeDepartments.put(employeeId, department);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Check if the department of an employee is known to the cube
+     * @param employeeId Employee ID
+     * @return true if a department (or explicit null) has been recorded
+     */
+    public boolean hasEmployeeDepartment(int employeeId) {
+        lock.readLock().lock();
+        try {
+            return employeeDepartments.containsKey(employeeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aggregate the measures of one slice by leave start. Null filters mean "all".
+     * @param year Leave start year
+     * @param month Leave start month (1-12)
+     * @param department Department name (case-insensitive)
+     * @param leaveTypeId Leave type ID
+     * @param status Approval status
+     * @return Measures of the slice
+     */
+    public Measures query(Integer year, Integer month, String department, Integer leaveTypeId, ApprovalStatus status) {
+        return query(DateBasis.LEAVE_START, year, month, department, leaveTypeId, status);
+    }
+
+    /**
+     * Aggregate the measures of one slice. Null filters mean "all".
+     * @param basis Whether year and month are of the leave start or of the filing date
+     * @param year Year
+     * @param month Month (1-12)
+     * @param department Department name (case-insensitive)
+     * @param leaveTypeId Leave type ID
+     * @param status Approval status
+     * @return Measures of the slice
+     */
+    public Measures query(DateBasis basis, Integer year, Integer month, String department, Integer leaveTypeId,
+                          ApprovalStatus status) {
+        Measures measures = new Measures();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<CellKey, Cell> entry : cellsFor(basis).entrySet()) {
+                if (entry.getKey().matches(year, month, department, leaveTypeId, status)) {
+                    measures.add(entry.getKey().status, entry.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return measures;
+    }
+
+    /**
+     * Aggregate a slice by leave start, grouped by one dimension. Null filters mean "all".
+     * Keys are Integer for YEAR, MONTH and LEAVE_TYPE, String for DEPARTMENT
+     * (null if the employee has no position) and ApprovalStatus for STATUS.
+     * @param groupBy Dimension to group by
+     * @param year Leave start year
+     * @param month Leave start month (1-12)
+     * @param department Department name (case-insensitive)
+     * @param leaveTypeId Leave type ID
+     * @param status Approval status
+     * @return Measures per dimension value, sorted by key
+     */
+    public Map<Object, Measures> rollup(Dimension groupBy, Integer year, Integer month, String department,
+                                        Integer leaveTypeId, ApprovalStatus status) {
+        return rollup(DateBasis.LEAVE_START, groupBy, year, month, department, leaveTypeId, status);
+    }
+
+    /**
+     * Aggregate a slice grouped by one dimension. Null filters mean "all".
+     * @param basis Whether year and month are of the leave start or of the filing date
+     * @param groupBy Dimension to group by
+     * @param year Year
+     * @param month Month (1-12)
+     * @param department Department name (case-insensitive)
+     * @param leaveTypeId Leave type ID
+     * @param status Approval status
+     * @return Measures per dimension value, sorted by key
+     */
+    public Map<Object, Measures> rollup(DateBasis basis, Dimension groupBy, Integer year, Integer month,
+                                        String department, Integer leaveTypeId, ApprovalStatus status) {
+        Map<Object, Measures> result = new TreeMap<>(LeaveAnalyticsCube::compareKeys);
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<CellKey, Cell> entry : cellsFor(basis).entrySet()) {
+                CellKey key = entry.getKey();
+                if (key.matches(year, month, department, leaveTypeId, status)) {
+                    result.computeIfAbsent(key.get(groupBy), k -> new Measures()).add(key.status, entry.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Aggregate leave balances of a year per department.
+     * Employees without a department are left out, like the SQL report's inner join.
+     * @param year Balance year
+     * @return Balance measures per department, sorted by department
+     */
+    public Map<String, BalanceMeasures> getDepartmentBalances(int year) {
+        Map<String, BalanceMeasures> result = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            for (BalanceFact fact : balances.values()) {
+                if (fact.year == year && fact.department != null) {
+                    result.computeIfAbsent(fact.department, d -> new BalanceMeasures()).add(fact);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Get number of leave requests in the cube
+     * @return Count of requests of any status
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return facts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helper methods (caller must hold the write lock)
+
+    private void putInternal(LeaveRequestModel request) {
+        removeInternal(request.getLeaveRequestId());
+
+        if (request.getLeaveStart() == null || request.getLeaveEnd() == null || request.getApprovalStatus() == null) {
+            return;
+        }
+
+        LocalDate start = request.getLeaveStart().toLocalDate();
+        LocalDate end = request.getLeaveEnd().toLocalDate();
+        String department = employeeDepartments.get(request.getEmployeeId());
+        CellKey key = new CellKey(start.getYear(), start.getMonthValue(), department,
+                                  request.getLeaveTypeId(), request.getApprovalStatus());
+        CellKey createdKey = null;
+        if (request.getDateCreated() != null) {
+            LocalDate created = request.getDateCreated().toLocalDateTime().toLocalDate();
+            createdKey = new CellKey(created.getYear(), created.getMonthValue(), department,
+                                     request.getLeaveTypeId(), request.getApprovalStatus());
+        }
+        RequestFact fact = new RequestFact(key, createdKey, request.getEmployeeId(),
+                                           (int) ChronoUnit.DAYS.between(start, end) + 1,
+                                           request.getWorkingDayLeaveDates().size());
+
+        facts.put(request.getLeaveRequestId(), fact);
+        cells.computeIfAbsent(key, k -> new Cell()).add(fact, 1);
+        if (createdKey != null) {
+            createdCells.computeIfAbsent(createdKey, k -> new Cell()).add(fact, 1);
+        }
+    }
+
+    private void removeInternal(int leaveRequestId) {
+        RequestFact existing = facts.remove(leaveRequestId);
+        if (existing == null) {
+            return;
+        }
+
+        removeFromCell(cells, existing.key, existing);
+        if (existing.createdKey != null) {
+            removeFromCell(createdCells, existing.createdKey, existing);
+        }
+    }
+
+    private static void removeFromCell(Map<CellKey, Cell> cellMap, CellKey key, RequestFact fact) {
+        Cell cell = cellMap.get(key);
+        if (cell != null) {
+            cell.add(fact, -1);
+            if (cell.requestCount == 0) {
+                cellMap.remove(key);
+            }
+        }
+    }
+
+    private Map<CellKey, Cell> cellsFor(DateBasis basis) {
+        return basis == DateBasis.DATE_CREATED ? createdCells : cells;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Object a, Object b) {
+        if (a == null) {
+            return b == null ? 0 : 1;
+        }
+        if (b == null) {
+            return -1;
+        }
+        if (a instanceof String && b instanceof String) {
+            return ((String) a).compareToIgnoreCase((String) b);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    /**
+     * Aggregated measures of a slice
+     */
+    public static class Measures {
+        private int requestCount;
+        private int approvedCount;
+        private int rejectedCount;
+        private int pendingCount;
+        private int requestedDays;
+        private int approvedDays;
+        private int usedDays;
+        private final Set<Integer> employees = new HashSet<>();
+
+        public int getRequestCount() { return requestCount; }
+        public int getApprovedCount() { return approvedCount; }
+        public int getRejectedCount() { return rejectedCount; }
+        public int getPendingCount() { return pendingCount; }
+
+        /** Calendar days of all requests */
+        public int getRequestedDays() { return requestedDays; }
+
+        /** Calendar days of approved requests */
+        public int getApprovedDays() { return approvedDays; }
+
+        /** Working days of approved requests (what is charged to balances) */
+        public int getUsedDays() { return usedDays; }
+
+        public int getDistinctEmployees() { return employees.size(); }
+
+        public double getApprovalRate() {
+            return requestCount > 0 ? (double) approvedCount / requestCount * 100 : 0;
+        }
+
+        public double getAverageApprovedDays() {
+            return approvedCount > 0 ? (double) approvedDays / approvedCount : 0;
+        }
+
+        void add(ApprovalStatus status, Cell cell) {
+            requestCount += cell.requestCount;
+            requestedDays += cell.calendarDays;
+            if (status == ApprovalStatus.APPROVED) {
+                approvedCount += cell.requestCount;
+                approvedDays += cell.calendarDays;
+                usedDays += cell.workingDays;
+            } else if (status == ApprovalStatus.REJECTED) {
+                rejectedCount += cell.requestCount;
+            } else if (status == ApprovalStatus.PENDING) {
+                pendingCount += cell.requestCount;
+            }
+            employees.addAll(cell.employees.keySet());
+        }
+    }
+
+    /**
+     * Aggregated leave balances of a department
+     */
+    public static class BalanceMeasures {
+        private final Set<Integer> employees = new HashSet<>();
+        private int totalAllocated;
+        private int totalUsed;
+        private double utilizationRateSum;
+        private int ratedBalances;
+
+        public int getEmployeeCount() { return employees.size(); }
+        public int getTotalAllocated() { return totalAllocated; }
+        public int getTotalUsed() { return totalUsed; }
+
+        /** Average of used/allocated per balance, in percent */
+        public double getUtilizationRate() {
+            return ratedBalances > 0 ? utilizationRateSum / ratedBalances : 0;
+        }
+
+        void add(BalanceFact fact) {
+            employees.add(fact.employeeId);
+            totalAllocated += fact.allocated;
+            totalUsed += fact.used;
+            if (fact.allocated != 0) {
+                utilizationRateSum += fact.used * 100.0 / fact.allocated;
+                ratedBalances++;
+            }
+        }
+    }
+
+    /**
+     * Cube coordinates
+     */
+    private static final class CellKey {
+        private final int year;
+        private final int month;
+        private final String department;
+        private final int leaveTypeId;
+        private final ApprovalStatus status;
+
+        CellKey(int year, int month, String department, int leaveTypeId, ApprovalStatus status) {
+            this.year = year;
+            this.month = month;
+            this.department = department;
+            this.leaveTypeId = leaveTypeId;
+            this.status = status;
+        }
+
+        boolean matches(Integer year, Integer month, String department, Integer leaveTypeId, ApprovalStatus status) {
+            return (year == null || this.year == year) &&
+                   (month == null || this.month == month) &&
+                   (department == null || department.equalsIgnoreCase(this.department)) &&
+                   (leaveTypeId == null || this.leaveTypeId == leaveTypeId) &&
+                   (status == null || this.status == status);
+        }
+
+        Object get(Dimension dimension) {
+            switch (dimension) {
+                case YEAR: return year;
+                case MONTH: return month;
+                case DEPARTMENT: return department;
+                case LEAVE_TYPE: return leaveTypeId;
+                default: return status;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CellKey)) return false;
+            CellKey other = (CellKey) o;
+            return year == other.year && month == other.month && leaveTypeId == other.leaveTypeId &&
+                   status == other.status &&
+                   (department == null ? other.department == null : department.equals(other.department));
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = year * 31 + month;
+            hash = hash * 31 + (department != null ? department.hashCode() : 0);
+            hash = hash * 31 + leaveTypeId;
+            return hash * 31 + status.hashCode();
+        }
+    }
+
+    /**
+     * Measures stored at one cube coordinate
+     */
+    private static final class Cell {
+        private int requestCount;
+        private int calendarDays;
+        private int workingDays;
+        private final Map<Integer, Integer> employees = new HashMap<>();
+
+        void add(RequestFact fact, int sign) {
+            requestCount += sign;
+            calendarDays += sign * fact.calendarDays;
+            workingDays += sign * fact.workingDays;
+            int count = employees.getOrDefault(fact.employeeId, 0) + sign;
+            if (count > 0) {
+                employees.put(fact.employeeId, count);
+            } else {
+                employees.remove(fact.employeeId);
+            }
+        }
+    }
+
+    /**
+     * One leave request as it was added, so it can be taken back out
+     */
+    private static final class RequestFact {
+        private final CellKey key;
+        private final CellKey createdKey; // null if the request has no creation date
+        private final int employeeId;
+        private final int calendarDays;
+        private final int workingDays;
+
+        RequestFact(CellKey key, CellKey createdKey, int employeeId, int calendarDays, int workingDays) {
+            this.key = key;
+            this.createdKey = createdKey;
+            this.employeeId = employeeId;
+            this.calendarDays = calendarDays;
+            this.workingDays = workingDays;
+        }
+    }
+
+    /**
+     * One leave balance row
+     */
+    private static final class BalanceFact {
+        private final int employeeId;
+        private final int year;
+        private final String department;
+        private final int allocated;
+        private final int used;
+
+        BalanceFact(int employeeId, int year, String department, int allocated, int used) {
+            this.employeeId = employeeId;
+            this.year = year;
+            this.department = department;
+            this.allocated = allocated;
+            this.used = used;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package DAOs;
 
+import DAOs.CacheVersionDAO.EntityType;
 import Models.LeaveBalance;
+import Models.LeaveLedgerEntry;
 import java.sql.*;
 import java.time.*;
 import java.util.List;
@@ -76,6 +78,13 @@ public class LeaveBalanceDAO {
         "WHERE balanceYear = ? AND remainingLeaveDays <= ? AND remainingLeaveDays > 0 " +
         "ORDER BY remainingLeaveDays ASC";
     
+    private static final String SELECT_ALL_WITH_DEPARTMENT = 
+        "SELECT lb.leaveBalanceId, lb.employeeId, lb.leaveTypeId, lb.totalLeaveDays, lb.usedLeaveDays, " +
+        "lb.remainingLeaveDays, lb.carryOverDays, lb.balanceYear, lb.lastUpdated, p.department " +
+        "FROM leavebalance lb " +
+        "LEFT JOIN employee e ON lb.employeeId = e.employeeId " +
+        "LEFT JOIN position p ON e.positionId = p.positionId";
+    
     private static final String SELECT_DEPARTMENT_UTILIZATION = 
         "SELECT " +
         "p.department, " +
@@ -90,6 +99,52 @@ public class LeaveBalanceDAO {
         "GROUP BY p.department " +
         "ORDER BY utilizationRate DESC";
     
+    // Year-end rollover (set-based). Remaining days are recomputed from the source
+    // columns so a stale remainingLeaveDays value cannot leak into the carry-over.
+    private static final String REMAINING_DAYS_EXPR = 
+        "GREATEST(0, ob.totalLeaveDays + ob.carryOverDays - ob.usedLeaveDays)";
+    
+    private static final String CARRY_OVER_EXPR = 
+        "LEAST(" + REMAINING_DAYS_EXPR + ", ?)";
+    
+    private static final String SELECT_ROLLOVER_STATS = 
+        "SELECT COUNT(*) as sourceBalances, " +
+        "COALESCE(SUM(CASE WHEN " + REMAINING_DAYS_EXPR + " > ? THEN 1 ELSE 0 END), 0) as cappedBalances " +
+        "FROM leavebalance ob WHERE ob.balanceYear = ?";
+    
+    private static final String UPDATE_EXISTING_CARRY_OVER = 
+        "UPDATE leavebalance nb " +
+        "INNER JOIN leavebalance ob ON ob.employeeId = nb.employeeId " +
+        "AND ob.leaveTypeId = nb.leaveTypeId AND ob.balanceYear = ? " +
+        "SET nb.carryOverDays = " + CARRY_OVER_EXPR + ", " +
+        "nb.remainingLeaveDays = GREATEST(0, nb.totalLeaveDays + " + CARRY_OVER_EXPR + " - nb.usedLeaveDays), " +
+        "nb.lastUpdated = ? " +
+        "WHERE nb.balanceYear = ? AND " + REMAINING_DAYS_EXPR + " > 0 " +
+        "AND nb.carryOverDays <> " + CARRY_OVER_EXPR;
+    
+    private static final String INSERT_CARRY_OVER_BALANCES = 
+        "INSERT INTO leavebalance (employeeId, leaveTypeId, totalLeaveDays, usedLeaveDays, " +
+        "remainingLeaveDays, carryOverDays, balanceYear, lastUpdated) " +
+        "SELECT ob.employeeId, ob.leaveTypeId, ob.totalLeaveDays, 0, " +
+        "ob.totalLeaveDays + " + CARRY_OVER_EXPR + ", " + CARRY_OVER_EXPR + ", ?, ? " +
+        "FROM leavebalance ob " +
+        "WHERE ob.balanceYear = ? AND " + REMAINING_DAYS_EXPR + " > 0 " +
+        "AND NOT EXISTS (SELECT 1 FROM leavebalance nb WHERE nb.employeeId = ob.employeeId " +
+        "AND nb.leaveTypeId = ob.leaveTypeId AND nb.balanceYear = ?)";
+    
+    private static final String INSERT_BALANCE_IF_MISSING = 
+        "INSERT INTO leavebalance (employeeId, leaveTypeId, totalLeaveDays, usedLeaveDays, " +
+        "remainingLeaveDays, carryOverDays, balanceYear, lastUpdated) " +
+        "SELECT ?, ?, ?, 0, ?, 0, ?, ? FROM DUAL " +
+        "WHERE NOT EXISTS (SELECT 1 FROM leavebalance WHERE employeeId = ? " +
+        "AND leaveTypeId = ? AND balanceYear = ?)";
+    
+    // All used-days changes go through the ledger (atomic conditional updates)
+    private final LeaveLedgerDAO leaveLedgerDAO = new LeaveLedgerDAO();
+    
+    // Shared leave analytics cube - balance facts are reloaded after any write here
+    private final LeaveAnalyticsCube leaveCube = LeaveAnalyticsCube.getInstance();
+    
     /**
      * Get database connection with Manila timezone
      */
@@ -138,7 +193,7 @@ public class LeaveBalanceDAO {
             stmt.setInt(7, leaveBalance.getBalanceYear().getValue());
             stmt.setTimestamp(8, Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE)));
             
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_BALANCE, stmt::executeUpdate);
             
             if (rowsAffected > 0) {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
@@ -151,6 +206,8 @@ public class LeaveBalanceDAO {
             
         } catch (SQLException e) {
             System.err.println("Error creating leave balance: " + e.getMessage());
+        } finally {
+            leaveCube.invalidateBalances();
         }
         
         return false;
@@ -176,10 +233,12 @@ public class LeaveBalanceDAO {
             stmt.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE)));
             stmt.setInt(6, leaveBalance.getLeaveBalanceId());
             
-            return stmt.executeUpdate() > 0;
+            return CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_BALANCE, stmt::executeUpdate) > 0;
             
         } catch (SQLException e) {
             System.err.println("Error updating leave balance: " + e.getMessage());
+        } finally {
+            leaveCube.invalidateBalances();
         }
         
         return false;
@@ -301,17 +360,21 @@ public class LeaveBalanceDAO {
              PreparedStatement stmt = conn.prepareStatement(DELETE_LEAVE_BALANCE)) {
             
             stmt.setInt(1, leaveBalanceId);
-            return stmt.executeUpdate() > 0;
+            return CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_BALANCE, stmt::executeUpdate) > 0;
             
         } catch (SQLException e) {
             System.err.println("Error deleting leave balance: " + e.getMessage());
+        } finally {
+            leaveCube.invalidateBalances();
         }
         
         return false;
     }
     
     /**
-     * Deduct leave from balance
+     * Deduct leave from balance.
+     * Atomic: a single conditional UPDATE through the leave ledger, so concurrent
+     * approvals cannot overdraw the balance.
      * @param employeeId
      * @param leaveTypeId
      * @param daysToDeduct
@@ -319,43 +382,8 @@ public class LeaveBalanceDAO {
      * @return 
      */
     public boolean deductLeaveFromBalance(int employeeId, int leaveTypeId, Year balanceYear, int daysToDeduct) {
-        try (Connection conn = getConnection()) {
-            conn.setAutoCommit(false);
-            
-            try {
-                LeaveBalance balance = getLeaveBalance(employeeId, leaveTypeId, balanceYear);
-                if (balance == null || !balance.canTakeLeave(daysToDeduct)) {
-                    conn.rollback();
-                    return false;
-                }
-                
-                // Deduct the leave
-                boolean success = balance.deductLeave(daysToDeduct);
-                if (!success) {
-                    conn.rollback();
-                    return false;
-                }
-                
-                // Update in database
-                boolean updated = updateLeaveBalance(balance);
-                if (!updated) {
-                    conn.rollback();
-                    return false;
-                }
-                
-                conn.commit();
-                return true;
-                
-            } catch (SQLException e) {
-                conn.rollback();
-                throw e;
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error deducting leave from balance: " + e.getMessage());
-        }
-        
-        return false;
+        return leaveLedgerDAO.debit(LeaveLedgerEntry.debit(
+            employeeId, leaveTypeId, balanceYear, daysToDeduct, null, "Balance deduction"));
     }
     
     /**
@@ -367,39 +395,8 @@ public class LeaveBalanceDAO {
      * @return 
      */
     public boolean addLeaveToBalance(int employeeId, int leaveTypeId, Year balanceYear, int daysToAdd) {
-        try (Connection conn = getConnection()) {
-            conn.setAutoCommit(false);
-            
-            try {
-                LeaveBalance balance = getLeaveBalance(employeeId, leaveTypeId, balanceYear);
-                if (balance == null) {
-                    conn.rollback();
-                    return false;
-                }
-                
-                // Add the leave back
-                balance.addLeave(daysToAdd);
-                
-                // Update in database
-                boolean updated = updateLeaveBalance(balance);
-                if (!updated) {
-                    conn.rollback();
-                    return false;
-                }
-                
-                conn.commit();
-                return true;
-                
-            } catch (SQLException e) {
-                conn.rollback();
-                throw e;
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error adding leave to balance: " + e.getMessage());
-        }
-        
-        return false;
+        return leaveLedgerDAO.credit(LeaveLedgerEntry.credit(
+            employeeId, leaveTypeId, balanceYear, daysToAdd, null, "Balance restoration"));
     }
     
     /**
@@ -596,42 +593,57 @@ public class LeaveBalanceDAO {
             return false;
         }
         
+        return processYearRollover(null, newYear, 0, employeeLeaveAllocation).isSuccess();
+    }
+    
+    /**
+     * Process year-end carry-over
+     * @param fromYear
+     * @param toYear
+     * @param maxCarryOverDays
+     * @return 
+     */
+    public boolean processYearEndCarryOver(Year fromYear, Year toYear, int maxCarryOverDays) {
+        return processYearRollover(fromYear, toYear, maxCarryOverDays, null).isSuccess();
+    }
+    
+    /**
+     * Set-based year rollover: new-year allocations plus capped carry-over,
+     * all in one transaction. Safe to re-run - rows that already exist or
+     * already hold the right carry-over are counted as skipped.
+     * @param fromYear Year to carry over from (null to only initialize allocations)
+     * @param toYear Year to create/update balances for
+     * @param maxCarryOverDays Carry-over cap per balance
+     * @param employeeLeaveAllocation Employee ID -> (leave type ID -> days), or null
+     * @return Summary of rows created, updated, capped and skipped
+     */
+    public YearRolloverSummary processYearRollover(Year fromYear, Year toYear, int maxCarryOverDays,
+                                                   Map<Integer, Map<Integer, Integer>> employeeLeaveAllocation) {
+        YearRolloverSummary summary = new YearRolloverSummary(fromYear, toYear, maxCarryOverDays);
+        if (toYear == null) {
+            summary.setError("Target year is required");
+            return summary;
+        }
+        
         try (Connection conn = getConnection()) {
             conn.setAutoCommit(false);
             
             try {
-                int successCount = 0;
-                int totalCount = 0;
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE));
                 
-                for (Map.Entry<Integer, Map<Integer, Integer>> employeeEntry : employeeLeaveAllocation.entrySet()) {
-                    int employeeId = employeeEntry.getKey();
-                    Map<Integer, Integer> leaveAllocations = employeeEntry.getValue();
-                    
-                    for (Map.Entry<Integer, Integer> leaveEntry : leaveAllocations.entrySet()) {
-                        int leaveTypeId = leaveEntry.getKey();
-                        int allocation = leaveEntry.getValue();
-                        
-                        // Check if balance already exists
-                        LeaveBalance existing = getLeaveBalance(employeeId, leaveTypeId, newYear);
-                        if (existing == null) {
-                            LeaveBalance newBalance = new LeaveBalance(employeeId, leaveTypeId, allocation, newYear);
-                            if (createLeaveBalance(newBalance)) {
-                                successCount++;
-                            }
-                        } else {
-                            successCount++; // Already exists, count as success
-                        }
-                        totalCount++;
-                    }
+                // Allocations first so the carry-over lands on the new rows
+                if (employeeLeaveAllocation != null && !employeeLeaveAllocation.isEmpty()) {
+                    insertMissingAllocations(conn, toYear, employeeLeaveAllocation, now, summary);
                 }
                 
-                if (successCount == totalCount) {
-                    conn.commit();
-                    return true;
-                } else {
-                    conn.rollback();
-                    return false;
+                if (fromYear != null) {
+                    applyCarryOver(conn, fromYear, toYear, Math.max(0, maxCarryOverDays), now, summary);
                 }
+                CacheVersionDAO.bump(conn, EntityType.LEAVE_BALANCE);
+                
+                conn.commit();
+                summary.setSuccess(true);
+                System.out.println("Year rollover to " + toYear + " completed: " + summary);
                 
             } catch (SQLException e) {
                 conn.rollback();
@@ -639,75 +651,98 @@ public class LeaveBalanceDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error initializing new year balances: " + e.getMessage());
+            System.err.println("Error processing year rollover: " + e.getMessage());
+            summary.setError(e.getMessage());
+        } finally {
+            leaveCube.invalidateBalances();
         }
         
-        return false;
+        return summary;
     }
     
     /**
-     * Process year-end carry-over
-     * @param fromYear
-     * @param toYear
-     * @param maxCarryOverDays
-     * @return 
+     * Batch-insert allocations that do not exist yet for the target year
      */
-    public boolean processYearEndCarryOver(Year fromYear, Year toYear, int maxCarryOverDays) {
-        try (Connection conn = getConnection()) {
-            conn.setAutoCommit(false);
+    private void insertMissingAllocations(Connection conn, Year toYear,
+                                          Map<Integer, Map<Integer, Integer>> employeeLeaveAllocation,
+                                          Timestamp now, YearRolloverSummary summary) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_BALANCE_IF_MISSING)) {
+            int requested = 0;
             
-            try {
-                List<LeaveBalance> expiringBalances = getExpiringLeaveBalances(fromYear);
-                int successCount = 0;
+            for (Map.Entry<Integer, Map<Integer, Integer>> employeeEntry : employeeLeaveAllocation.entrySet()) {
+                if (employeeEntry.getValue() == null) continue;
                 
-                for (LeaveBalance expiring : expiringBalances) {
-                    if (expiring.getRemainingLeaveDays() > 0) {
-                        // Create next year balance with carry-over
-                        LeaveBalance nextYear = expiring.createNextYearBalance(maxCarryOverDays);
-                        
-                        // Check if next year balance already exists
-                        LeaveBalance existing = getLeaveBalance(
-                            nextYear.getEmployeeId(), 
-                            nextYear.getLeaveTypeId(), 
-                            toYear
-                        );
-                        
-                        if (existing != null) {
-                            // Update existing balance with carry-over
-                            existing.setCarryOverDays(nextYear.getCarryOverDays());
-                            existing.calculateRemainingDays();
-                            if (updateLeaveBalance(existing)) {
-                                successCount++;
-                            }
-                        } else {
-                            // Create new balance
-                            if (createLeaveBalance(nextYear)) {
-                                successCount++;
-                            }
-                        }
-                    } else {
-                        successCount++; // No carry-over needed
-                    }
+                for (Map.Entry<Integer, Integer> leaveEntry : employeeEntry.getValue().entrySet()) {
+                    int allocation = Math.max(0, leaveEntry.getValue() != null ? leaveEntry.getValue() : 0);
+                    
+                    stmt.setInt(1, employeeEntry.getKey());
+                    stmt.setInt(2, leaveEntry.getKey());
+                    stmt.setInt(3, allocation);
+                    stmt.setInt(4, allocation);
+                    stmt.setInt(5, toYear.getValue());
+                    stmt.setTimestamp(6, now);
+                    stmt.setInt(7, employeeEntry.getKey());
+                    stmt.setInt(8, leaveEntry.getKey());
+                    stmt.setInt(9, toYear.getValue());
+                    stmt.addBatch();
+                    requested++;
                 }
-                
-                if (successCount == expiringBalances.size()) {
-                    conn.commit();
-                    return true;
-                } else {
-                    conn.rollback();
-                    return false;
+            }
+            
+            int created = 0;
+            for (int result : stmt.executeBatch()) {
+                if (result > 0 || result == Statement.SUCCESS_NO_INFO) {
+                    created++;
                 }
-                
-            } catch (SQLException e) {
-                conn.rollback();
-                throw e;
             }
             
-        } catch (SQLException e) {
-            System.err.println("Error processing year-end carry-over: " + e.getMessage());
+            summary.addAllocationResult(requested, created);
         }
+    }
+    
+    /**
+     * Apply capped carry-over with one UPDATE (existing rows) and one INSERT ... SELECT (missing rows)
+     */
+    private void applyCarryOver(Connection conn, Year fromYear, Year toYear, int maxCarryOverDays,
+                                Timestamp now, YearRolloverSummary summary) throws SQLException {
+        int sourceBalances = 0;
+        int cappedBalances = 0;
         
-        return false;
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_ROLLOVER_STATS)) {
+            stmt.setInt(1, maxCarryOverDays);
+            stmt.setInt(2, fromYear.getValue());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    sourceBalances = rs.getInt("sourceBalances");
+                    cappedBalances = rs.getInt("cappedBalances");
+                }
+            }
+        }
+        
+        int updated;
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_EXISTING_CARRY_OVER)) {
+            stmt.setInt(1, fromYear.getValue());
+            stmt.setInt(2, maxCarryOverDays);
+            stmt.setInt(3, maxCarryOverDays);
+            stmt.setTimestamp(4, now);
+            stmt.setInt(5, toYear.getValue());
+            stmt.setInt(6, maxCarryOverDays);
+            updated = stmt.executeUpdate();
+        }
+        
+        int created;
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_CARRY_OVER_BALANCES)) {
+            stmt.setInt(1, maxCarryOverDays);
+            stmt.setInt(2, maxCarryOverDays);
+            stmt.setInt(3, toYear.getValue());
+            stmt.setTimestamp(4, now);
+            stmt.setInt(5, fromYear.getValue());
+            stmt.setInt(6, toYear.getValue());
+            created = stmt.executeUpdate();
+        }
+        
+        summary.addCarryOverResult(sourceBalances, created, updated, cappedBalances);
     }
     
     /**
@@ -718,6 +753,22 @@ public class LeaveBalanceDAO {
     public List<Map<String, Object>> getDepartmentLeaveUtilization(Year balanceYear) {
         List<Map<String, Object>> utilization = new ArrayList<>();
         
+        if (ensureCubeBalancesLoaded()) {
+            for (Map.Entry<String, LeaveAnalyticsCube.BalanceMeasures> entry : 
+                    leaveCube.getDepartmentBalances(balanceYear.getValue()).entrySet()) {
+                LeaveAnalyticsCube.BalanceMeasures measures = entry.getValue();
+                Map<String, Object> dept = new HashMap<>();
+                dept.put("department", entry.getKey());
+                dept.put("employeeCount", measures.getEmployeeCount());
+                dept.put("totalAllocated", measures.getTotalAllocated());
+                dept.put("totalUsed", measures.getTotalUsed());
+                dept.put("utilizationRate", measures.getUtilizationRate());
+                utilization.add(dept);
+            }
+            utilization.sort((a, b) -> Double.compare((Double) b.get("utilizationRate"), (Double) a.get("utilizationRate")));
+            return utilization;
+        }
+        
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_DEPARTMENT_UTILIZATION)) {
             
@@ -742,6 +793,43 @@ public class LeaveBalanceDAO {
         return utilization;
     }
     
+    /**
+     * Load all leave balances into the leave analytics cube
+     * @return true if the balances were loaded
+     */
+    public boolean loadCubeBalances() {
+        List<LeaveBalance> balances = new ArrayList<>();
+        Map<Integer, String> departments = new HashMap<>();
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_WITH_DEPARTMENT);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                LeaveBalance balance = mapResultSetToLeaveBalance(rs);
+                balances.add(balance);
+                departments.put(balance.getEmployeeId(), rs.getString("department"));
+            }
+            
+            leaveCube.loadBalances(balances, departments);
+            return true;
+            
+        } catch (SQLException e) {
+            System.err.println("Error loading leave balances into analytics cube: " + e.getMessage());
+        }
+        
+        return false;
+    }
+    
+    private boolean ensureCubeBalancesLoaded() {
+        if (leaveCube.isBalancesLoaded()) {
+            return true;
+        }
+        synchronized (leaveCube) {
+            return leaveCube.isBalancesLoaded() || loadCubeBalances();
+        }
+    }
+    
     /**
      * Bulk update leave balances
      * @param balances
@@ -772,6 +860,7 @@ public class LeaveBalanceDAO {
                 }
                 
                 int[] results = stmt.executeBatch();
+                CacheVersionDAO.bump(conn, EntityType.LEAVE_BALANCE);
                 conn.commit();
                 
                 // Check if all updates were successful
@@ -790,6 +879,8 @@ public class LeaveBalanceDAO {
             
         } catch (SQLException e) {
             System.err.println("Error bulk updating leave balances: " + e.getMessage());
+        } finally {
+            leaveCube.invalidateBalances();
         }
         
         return false;
@@ -810,10 +901,12 @@ public class LeaveBalanceDAO {
             stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE)));
             stmt.setInt(2, newYear.getValue());
             
-            return stmt.executeUpdate() > 0;
+            return CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_BALANCE, stmt::executeUpdate) > 0;
             
         } catch (SQLException e) {
             System.err.println("Error resetting leave balances for new year: " + e.getMessage());
+        } finally {
+            leaveCube.invalidateBalances();
         }
         
         return false;
@@ -874,4 +967,68 @@ public class LeaveBalanceDAO {
         LeaveBalance balance = getLeaveBalance(employeeId, leaveTypeId, balanceYear);
         return balance != null ? balance.getUtilizationRate() : 0.0;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Result of a year rollover run
+     */
+    public static class YearRolloverSummary {
+        private final Year fromYear;
+        private final Year toYear;
+        private final int maxCarryOverDays;
+        private int allocationsRequested = 0;
+        private int allocationsCreated = 0;
+        private int carryOverSourceBalances = 0;
+        private int carryOverCreated = 0;
+        private int carryOverUpdated = 0;
+        private int carryOverCapped = 0;
+        private boolean success = false;
+        private String error;
+        
+        public YearRolloverSummary(Year fromYear, Year toYear, int maxCarryOverDays) {
+            this.fromYear = fromYear;
+            this.toYear = toYear;
+            this.maxCarryOverDays = maxCarryOverDays;
+        }
+        
+        void addAllocationResult(int requested, int created) {
+            this.allocationsRequested += requested;
+            this.allocationsCreated += created;
+        }
+        
+        void addCarryOverResult(int sourceBalances, int created, int updated, int capped) {
+            this.carryOverSourceBalances += sourceBalances;
+            this.carryOverCreated += created;
+            this.carryOverUpdated += updated;
+            this.carryOverCapped += capped;
+        }
+        
+        public Year getFromYear() { return fromYear; }
+        public Year getToYear() { return toYear; }
+        public int getMaxCarryOverDays() { return maxCarryOverDays; }
+        public int getAllocationsRequested() { return allocationsRequested; }
+        public int getAllocationsCreated() { return allocationsCreated; }
+        public int getCarryOverSourceBalances() { return carryOverSourceBalances; }
+        public int getCarryOverCreated() { return carryOverCreated; }
+        public int getCarryOverUpdated() { return carryOverUpdated; }
+        public int getCarryOverCapped() { return carryOverCapped; }
+        
+        public int getRowsCreated() { return allocationsCreated + carryOverCreated; }
+        public int getRowsUpdated() { return carryOverUpdated; }
+        public int getRowsSkipped() {
+            return (allocationsRequested - allocationsCreated) +
+                   (carryOverSourceBalances - carryOverCreated - carryOverUpdated);
+        }
+        
+        public boolean isSuccess() { return success; }
+        void setSuccess(boolean success) { this.success = success; }
+        
+        public String getError() { return error; }
+        void setError(String error) { this.error = error; }
+        
+        @Override
+        public String toString() {
+            return String.format("YearRolloverSummary{created=%d, updated=%d, capped=%d, skipped=%d, success=%s}",
+                    getRowsCreated(), getRowsUpdated(), carryOverCapped, getRowsSkipped(), success);
+        }
+    }
+}
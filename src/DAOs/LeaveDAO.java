@@ -1,5 +1,6 @@
 package DAOs;
 
+import DAOs.CacheVersionDAO.EntityType;
 import Models.LeaveRequestModel;
 import Models.LeaveRequestModel.ApprovalStatus;
 import java.sql.*;
@@ -259,9 +260,7 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
      * @return true if approval was successful
      */
     public boolean approveLeaveRequest(Integer leaveRequestId, String supervisorNotes) {
-        String sql = "UPDATE leaverequest SET approvalStatus = ?, dateApproved = CURRENT_TIMESTAMP, supervisorNotes = ? WHERE leaveRequestId = ?";
-        int rowsAffected = executeUpdate(sql, ApprovalStatus.APPROVED.getValue(), supervisorNotes, leaveRequestId);
-        return rowsAffected > 0;
+        return setApprovalStatus(leaveRequestId, ApprovalStatus.APPROVED, supervisorNotes);
     }
     
     /**
@@ -271,11 +270,35 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
      * @return true if rejection was successful
      */
     public boolean rejectLeaveRequest(Integer leaveRequestId, String supervisorNotes) {
-        String sql = "UPDATE leaverequest SET approvalStatus = ?, dateApproved = CURRENT_TIMESTAMP, supervisorNotes = ? WHERE leaveRequestId = ?";
-        int rowsAffected = executeUpdate(sql, ApprovalStatus.REJECTED.getValue(), supervisorNotes, leaveRequestId);
-        return rowsAffected > 0;
+        return setApprovalStatus(leaveRequestId, ApprovalStatus.REJECTED, supervisorNotes);
     }
     
+    /**
+     * Set a leave request's approval status and bump its cache version in one transaction
+     */
+    private boolean setApprovalStatus(Integer leaveRequestId, ApprovalStatus status, String supervisorNotes) {
+        String sql = "UPDATE leaverequest SET approvalStatus = ?, dateApproved = CURRENT_TIMESTAMP, supervisorNotes = ? WHERE leaveRequestId = ?";
+        
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, status.getValue());
+            stmt.setString(2, supervisorNotes);
+            stmt.setInt(3, leaveRequestId);
+            
+            if (CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_REQUEST, stmt::executeUpdate) > 0) {
+                // Status changed outside LeaveRequestDAO - let the leave index and cube reload
+                LeaveIntervalIndex.getInstance().clear();
+                LeaveAnalyticsCube.getInstance().clear();
+                return true;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating leave request status: " + e.getMessage());
+        }
+        return false;
+    }
+
 
     // OVERRIDE METHODS
 
@@ -293,7 +316,7 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
             setInsertParameters(stmt, leave);
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_REQUEST, stmt::executeUpdate);
             
             if (rowsAffected > 0) {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
@@ -301,6 +324,10 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
                         handleGeneratedKey(leave, generatedKeys);
                     }
                 }
+                LeaveIntervalIndex.getInstance().put(leave);
+                if (LeaveAnalyticsCube.getInstance().isLoaded()) {
+                    LeaveAnalyticsCube.getInstance().put(leave);
+                }
                 return true;
             }
             return false;
@@ -325,8 +352,15 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             setUpdateParameters(stmt, leave);
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_REQUEST, stmt::executeUpdate);
+            if (rowsAffected > 0) {
+                LeaveIntervalIndex.getInstance().put(leave);
+                if (LeaveAnalyticsCube.getInstance().isLoaded()) {
+                    LeaveAnalyticsCube.getInstance().put(leave);
+                }
+                return true;
+            }
+            return false;
             
         } catch (SQLException e) {
             System.err.println("Error updating leave request: " + e.getMessage());
@@ -334,4 +368,34 @@ public class LeaveDAO extends BaseDAO<LeaveRequestModel, Integer> {
             return false;
         }
     }
+    
+    /**
+     * Override the delete method to bump the cache version and drop the
+     * request from the leave index and cube
+     * @param leaveRequestId The leave request to delete
+     * @return true if delete was successful, false otherwise
+     */
+    @Override
+    public boolean delete(Integer leaveRequestId) {
+        String sql = "DELETE FROM " + getTableName() + " WHERE " + getPrimaryKeyColumn() + " = ?";
+        
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setObject(1, leaveRequestId);
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_REQUEST, stmt::executeUpdate);
+            if (rowsAffected > 0) {
+                LeaveIntervalIndex.getInstance().remove(leaveRequestId);
+                if (LeaveAnalyticsCube.getInstance().isLoaded()) {
+                    LeaveAnalyticsCube.getInstance().remove(leaveRequestId);
+                }
+                return true;
+            }
+            return false;
+            
+        } catch (SQLException e) {
+            System.err.println("Error deleting leave request: " + e.getMessage());
+            return false;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,368 @@
+package DAOs;
+
+import Models.LeaveRequestModel;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of pending and approved leave requests.
+ * Used by LeaveRequestDAO so overlap checks, "who is on leave on date D" and
+ * department coverage checks do not need a database round-trip.
+ *
+ * Intervals are kept in TreeMaps keyed by leave start date (one per employee and
+ * one for the whole company). Because a leave never spans more than the longest
+ * indexed leave, a lookup only scans the start dates between
+ * (from - longest span) and to, which keeps it at O(log n + k).
+ *
+ * The index is shared by every LeaveRequestDAO instance and is kept up to date
+ * write-through by create/update/delete in LeaveRequestDAO. Writes from other
+ * clients clear it through CacheCoherenceMonitor.
+ * @author User
+ */
+public class LeaveIntervalIndex {
+
+    private static final LeaveIntervalIndex INSTANCE = new LeaveIntervalIndex();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, LeaveInterval> byRequestId = new HashMap<>();
+    private final Map<Integer, IntervalSet> byEmployee = new HashMap<>();
+    private final Map<Integer, String> employeeDepartments = new HashMap<>();
+    private final IntervalSet allIntervals = new IntervalSet();
+    private volatile boolean loaded = false;
+
+    /**
+     * Get the shared index instance
+     * @return The index used by all LeaveRequestDAO instances
+     */
+    public static LeaveIntervalIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone index. Application code should use getInstance()
+     * so all DAOs share the same write-through state.
+     */
+    public LeaveIntervalIndex() {
+    }
+
+    /**
+     * Check if the index has been loaded from the database
+     * @return true if load() has completed at least once
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replace the index contents with a fresh snapshot
+     * @param requests Pending and approved leave requests
+     * @param departments Employee ID to department map (may be incomplete)
+     */
+    public void load(Collection<LeaveRequestModel> requests, Map<Integer, String> departments) {
+        lock.writeLock().lock();
+        try {
+            byRequestId.clear();
+            byEmployee.clear();
+            allIntervals.clear();
+            employeeDepartments.clear();
+
+            if (departments != null) {
+                employeeDepartments.putAll(departments);
+            }
+            if (requests != null) {
+                for (LeaveRequestModel request : requests) {
+                    putInternal(request);
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop everything and mark the index as not loaded
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            byRequestId.clear();
+            byEmployee.clear();
+            allIntervals.clear();
+            employeeDepartments.clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a leave request in the index.
+     * Rejected requests are removed, since only pending and approved leaves block dates.
+     * @param request The leave request as stored in the database
+     */
+    public void put(LeaveRequestModel request) {
+        if (request == null || request.getLeaveRequestId() <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            putInternal(request);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a leave request from the index
+     * @param leaveRequestId ID of the deleted or cancelled request
+     */
+    public void remove(int leaveRequestId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(leaveRequestId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remember which department an employee belongs to
+     * @param employeeId Employee ID
+     * @param department Department name (null if the employee has no position)
+     */
+    public void setEmployeeDepartment(int employeeId, String department) {
+        lock.writeLock().lock();
+        try {
+            employeeDepartments.put(employeeId, department);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Check if the department of an employee is known to the index
+     * @param employeeId Employee ID
+     * @return true if a department (or explicit null) has been recorded
+     */
+    public boolean hasEmployeeDepartment(int employeeId) {
+        lock.readLock().lock();
+        try {
+            return employeeDepartments.containsKey(employeeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find pending/approved leaves of an employee that overlap a date range
+     * @param employeeId Employee ID
+     * @param from Range start (inclusive)
+     * @param to Range end (inclusive)
+     * @param excludeRequestId Request ID to skip (the request being checked), or -1
+     * @return Copies of the overlapping leave requests
+     */
+    public List<LeaveRequestModel> findOverlapping(int employeeId, LocalDate from, LocalDate to, int excludeRequestId) {
+        List<LeaveRequestModel> result = new ArrayList<>();
+        if (from == null || to == null) {
+            return result;
+        }
+
+        lock.readLock().lock();
+        try {
+            IntervalSet intervals = byEmployee.get(employeeId);
+            if (intervals != null) {
+                for (LeaveInterval interval : intervals.overlapping(from, to)) {
+                    if (interval.request.getLeaveRequestId() != excludeRequestId) {
+                        result.add(copyOf(interval.request));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Find everyone on leave on a given date
+     * @param date The date to check
+     * @param approvedOnly true to ignore pending requests
+     * @return Copies of the leave requests covering the date
+     */
+    public List<LeaveRequestModel> findOnLeave(LocalDate date, boolean approvedOnly) {
+        return findOnLeaveInDepartment(null, date, approvedOnly);
+    }
+
+    /**
+     * Find everyone in a department on leave on a given date
+     * @param department Department name, or null for the whole company
+     * @param date The date to check
+     * @param approvedOnly true to ignore pending requests
+     * @return Copies of the leave requests covering the date
+     */
+    public List<LeaveRequestModel> findOnLeaveInDepartment(String department, LocalDate date, boolean approvedOnly) {
+        List<LeaveRequestModel> result = new ArrayList<>();
+        if (date == null) {
+            return result;
+        }
+
+        lock.readLock().lock();
+        try {
+            for (LeaveInterval interval : allIntervals.overlapping(date, date)) {
+                if (approvedOnly && !interval.request.isApproved()) {
+                    continue;
+                }
+                if (department != null &&
+                    !department.equalsIgnoreCase(employeeDepartments.get(interval.request.getEmployeeId()))) {
+                    continue;
+                }
+                result.add(copyOf(interval.request));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Get number of indexed leave requests
+     * @return Count of pending and approved requests in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byRequestId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helper methods (caller must hold the write lock)
+
+    private void putInternal(LeaveRequestModel request) {
+        removeInternal(request.getLeaveRequestId());
+
+        if (request.getLeaveStart() == null || request.getLeaveEnd() == null || request.isRejected()) {
+            return;
+        }
+
+        LeaveInterval interval = new LeaveInterval(copyOf(request));
+        byRequestId.put(request.getLeaveRequestId(), interval);
+        byEmployee.computeIfAbsent(request.getEmployeeId(), id -> new IntervalSet()).add(interval);
+        allIntervals.add(interval);
+    }
+
+    private void removeInternal(int leaveRequestId) {
+        LeaveInterval existing = byRequestId.remove(leaveRequestId);
+        if (existing == null) {
+            return;
+        }
+
+        IntervalSet employeeIntervals = byEmployee.get(existing.request.getEmployeeId());
+        if (employeeIntervals != null) {
+            employeeIntervals.remove(existing);
+            if (employeeIntervals.isEmpty()) {
+                byEmployee.remove(existing.request.getEmployeeId());
+            }
+        }
+        allIntervals.remove(existing);
+    }
+
+    /**
+     * Copy a leave request so callers can never mutate indexed state
+     */
+    private static LeaveRequestModel copyOf(LeaveRequestModel source) {
+        LeaveRequestModel copy = new LeaveRequestModel();
+        copy.setLeaveRequestId(source.getLeaveRequestId());
+        copy.setEmployeeId(source.getEmployeeId());
+        copy.setLeaveTypeId(source.getLeaveTypeId());
+        copy.setLeaveStart(source.getLeaveStart());
+        copy.setLeaveEnd(source.getLeaveEnd());
+        copy.setLeaveReason(source.getLeaveReason());
+        copy.setApprovalStatus(source.getApprovalStatus());
+        copy.setDateCreated(source.getDateCreated());
+        copy.setDateApproved(source.getDateApproved());
+        copy.setSupervisorNotes(source.getSupervisorNotes());
+        copy.setHasAttendanceConflict(source.isHasAttendanceConflict());
+        return copy;
+    }
+
+    /**
+     * One indexed leave request with its dates resolved to LocalDate
+     */
+    private static final class LeaveInterval {
+        private final LeaveRequestModel request;
+        private final LocalDate start;
+        private final LocalDate end;
+
+        LeaveInterval(LeaveRequestModel request) {
+            this.request = request;
+            this.start = request.getLeaveStart().toLocalDate();
+            this.end = request.getLeaveEnd().toLocalDate();
+        }
+
+        long spanDays() {
+            return ChronoUnit.DAYS.between(start, end);
+        }
+    }
+
+    /**
+     * Intervals sorted by start date plus the longest span seen.
+     * The longest span only grows until the next full load, which keeps
+     * lookups correct at the cost of a slightly wider scan after removals.
+     */
+    private static final class IntervalSet {
+        private final TreeMap<LocalDate, List<LeaveInterval>> byStart = new TreeMap<>();
+        private long maxSpanDays = 0;
+
+        void add(LeaveInterval interval) {
+            byStart.computeIfAbsent(interval.start, d -> new ArrayList<>()).add(interval);
+            maxSpanDays = Math.max(maxSpanDays, interval.spanDays());
+        }
+
+        void remove(LeaveInterval interval) {
+            List<LeaveInterval> bucket = byStart.get(interval.start);
+            if (bucket != null) {
+                bucket.remove(interval);
+                if (bucket.isEmpty()) {
+                    byStart.remove(interval.start);
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return byStart.isEmpty();
+        }
+
+        void clear() {
+            byStart.clear();
+            maxSpanDays = 0;
+        }
+
+        List<LeaveInterval> overlapping(LocalDate from, LocalDate to) {
+            List<LeaveInterval> result = new ArrayList<>();
+            if (to.isBefore(from) || byStart.isEmpty()) {
+                return result;
+            }
+
+            // Any interval that reaches 'from' must have started no earlier than from - maxSpan
+            LocalDate scanFrom = from.minusDays(maxSpanDays);
+            for (List<LeaveInterval> bucket : byStart.subMap(scanFrom, true, to, true).values()) {
+                for (LeaveInterval interval : bucket) {
+                    if (!interval.end.isBefore(from)) {
+                        result.add(interval);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package DAOs;
+
+import Models.LeaveLedgerEntry;
+import java.sql.*;
+import java.time.*;
+import java.util.List;
+import java.util.ArrayList;
+
+/**
+ * LeaveLedgerDAO - Atomic leave balance debits and credits
+ *
+ * Every change to usedLeaveDays goes through a single conditional UPDATE on
+ * leavebalance (the materialized balance), so two approvals racing for the
+ * same balance can never overdraw it. Each applied change is also appended to
+ * the leaveledger table for auditing:
+ *
+ *   CREATE TABLE leaveledger (
+ *     ledgerEntryId INT AUTO_INCREMENT PRIMARY KEY,
+ *     employeeId INT NOT NULL,
+ *     leaveTypeId INT NOT NULL,
+ *     balanceYear INT NOT NULL,
+ *     entryType ENUM('DEBIT','CREDIT') NOT NULL,
+ *     days INT NOT NULL,
+ *     leaveRequestId INT NULL,
+ *     notes VARCHAR(255),
+ *     createdAt TIMESTAMP NOT NULL,
+ *     INDEX idx_ledger_balance (employeeId, leaveTypeId, balanceYear)
+ *   );
+ *
+ * Methods taking a Connection join the caller's transaction and never commit.
+ * @author chad
+ */
+public class LeaveLedgerDAO {
+    private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/payrollsystem_db";
+    private static final String DB_USER = "root";
+    private static final String DB_PASSWORD = "";
+
+    // MySQL error code for "table doesn't exist"
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    // SQL Queries (MySQL evaluates SET left to right, so remainingLeaveDays sees the new usedLeaveDays)
+    private static final String DEBIT_BALANCE =
+        "UPDATE leavebalance SET usedLeaveDays = usedLeaveDays + ?, " +
+        "remainingLeaveDays = GREATEST(0, totalLeaveDays + carryOverDays - usedLeaveDays), lastUpdated = ? " +
+        "WHERE employeeId = ? AND leaveTypeId = ? AND balanceYear = ? " +
+        "AND usedLeaveDays + ? <= totalLeaveDays + carryOverDays";
+
+    private static final String CREDIT_BALANCE =
+        "UPDATE leavebalance SET usedLeaveDays = GREATEST(0, usedLeaveDays - ?), " +
+        "remainingLeaveDays = GREATEST(0, totalLeaveDays + carryOverDays - usedLeaveDays), lastUpdated = ? " +
+        "WHERE employeeId = ? AND leaveTypeId = ? AND balanceYear = ?";
+
+    private static final String INSERT_LEDGER_ENTRY =
+        "INSERT INTO leaveledger (employeeId, leaveTypeId, balanceYear, entryType, days, " +
+        "leaveRequestId, notes, createdAt) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_ENTRIES =
+        "SELECT ledgerEntryId, employeeId, leaveTypeId, balanceYear, entryType, days, " +
+        "leaveRequestId, notes, createdAt FROM leaveledger " +
+        "WHERE employeeId = ? AND leaveTypeId = ? AND balanceYear = ? ORDER BY ledgerEntryId";
+
+    private static final String SELECT_NET_DEBITED =
+        "SELECT COALESCE(SUM(CASE WHEN entryType = 'DEBIT' THEN days ELSE -days END), 0) as netDays " +
+        "FROM leaveledger WHERE employeeId = ? AND leaveTypeId = ? AND balanceYear = ?";
+
+    private volatile boolean ledgerTableMissing = false;
+
+    /**
+     * Get database connection with Manila timezone
+     */
+    private Connection getConnection() throws SQLException {
+        Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+
+        // Set connection timezone to Manila
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET time_zone = '+08:00'");
+        }
+
+        return conn;
+    }
+
+    /**
+     * Debit a balance in its own transaction
+     * @param entry DEBIT entry
+     * @return true if the balance had enough days and was debited
+     */
+    public boolean debit(LeaveLedgerEntry entry) {
+        return applyInOwnTransaction(entry, LeaveLedgerEntry.EntryType.DEBIT);
+    }
+
+    /**
+     * Credit (restore) a balance in its own transaction
+     * @param entry CREDIT entry
+     * @return true if the balance exists and was credited
+     */
+    public boolean credit(LeaveLedgerEntry entry) {
+        return applyInOwnTransaction(entry, LeaveLedgerEntry.EntryType.CREDIT);
+    }
+
+    /**
+     * Apply many debits at once, all-or-nothing, in one transaction
+     * @param entries DEBIT entries
+     * @return true if every debit was applied
+     */
+    public boolean debitAll(List<LeaveLedgerEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return false;
+        }
+
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                boolean[] applied = applyDebits(conn, entries);
+                for (boolean ok : applied) {
+                    if (!ok) {
+                        conn.rollback();
+                        return false;
+                    }
+                }
+
+                conn.commit();
+                LeaveAnalyticsCube.getInstance().invalidateBalances();
+                return true;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error applying leave debits: " + e.getMessage());
+        }
+
+        return false;
+    }
+
+    /**
+     * Apply debits inside the caller's transaction.
+     * Each debit is a conditional UPDATE sent as one JDBC batch; a debit that
+     * would overdraw its balance simply matches no row and is reported as false.
+     * The caller should invalidate LeaveAnalyticsCube balances after commit.
+     * @param conn Connection with auto-commit disabled
+     * @param entries DEBIT entries
+     * @return Per-entry flags, true where the debit was applied
+     * @throws SQLException
+     */
+    public boolean[] applyDebits(Connection conn, List<LeaveLedgerEntry> entries) throws SQLException {
+        return applyBatch(conn, entries, LeaveLedgerEntry.EntryType.DEBIT);
+    }
+
+    /**
+     * Apply credits inside the caller's transaction
+     * @param conn Connection with auto-commit disabled
+     * @param entries CREDIT entries
+     * @return Per-entry flags, true where the credit was applied
+     * @throws SQLException
+     */
+    public boolean[] applyCredits(Connection conn, List<LeaveLedgerEntry> entries) throws SQLException {
+        return applyBatch(conn, entries, LeaveLedgerEntry.EntryType.CREDIT);
+    }
+
+    /**
+     * Get ledger entries for one balance
+     * @param employeeId
+     * @param leaveTypeId
+     * @param balanceYear
+     * @return
+     */
+    public List<LeaveLedgerEntry> getEntries(int employeeId, int leaveTypeId, Year balanceYear) {
+        List<LeaveLedgerEntry> entries = new ArrayList<>();
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ENTRIES)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setInt(2, leaveTypeId);
+            stmt.setInt(3, balanceYear.getValue());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(mapResultSetToEntry(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting leave ledger entries: " + e.getMessage());
+        }
+
+        return entries;
+    }
+
+    /**
+     * Get net days debited according to the ledger (debits minus credits).
+     * Useful to reconcile against leavebalance.usedLeaveDays.
+     * @param employeeId
+     * @param leaveTypeId
+     * @param balanceYear
+     * @return
+     */
+    public int getNetDebitedDays(int employeeId, int leaveTypeId, Year balanceYear) {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_NET_DEBITED)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setInt(2, leaveTypeId);
+            stmt.setInt(3, balanceYear.getValue());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("netDays");
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting net debited days: " + e.getMessage());
+        }
+
+        return 0;
+    }
+
+    // Helper methods
+
+    private boolean applyInOwnTransaction(LeaveLedgerEntry entry, LeaveLedgerEntry.EntryType type) {
+        if (entry == null || !entry.isValid()) {
+            return false;
+        }
+
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                boolean applied = applyBatch(conn, List.of(entry), type)[0];
+                if (applied) {
+                    conn.commit();
+                    LeaveAnalyticsCube.getInstance().invalidateBalances();
+                } else {
+                    conn.rollback();
+                }
+                return applied;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error applying leave " + type.name().toLowerCase() + ": " + e.getMessage());
+        }
+
+        return false;
+    }
+
+    private boolean[] applyBatch(Connection conn, List<LeaveLedgerEntry> entries,
+                                 LeaveLedgerEntry.EntryType type) throws SQLException {
+        boolean[] applied = new boolean[entries.size()];
+        if (entries.isEmpty()) {
+            return applied;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE));
+        boolean isDebit = type == LeaveLedgerEntry.EntryType.DEBIT;
+        List<Integer> batchIndexes = new ArrayList<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(isDebit ? DEBIT_BALANCE : CREDIT_BALANCE)) {
+            for (int i = 0; i < entries.size(); i++) {
+                LeaveLedgerEntry entry = entries.get(i);
+                if (entry == null || !entry.isValid()) {
+                    continue;
+                }
+                entry.setEntryType(type);
+
+                stmt.setInt(1, entry.getDays());
+                stmt.setTimestamp(2, now);
+                stmt.setInt(3, entry.getEmployeeId());
+                stmt.setInt(4, entry.getLeaveTypeId());
+                stmt.setInt(5, entry.getBalanceYear().getValue());
+                if (isDebit) {
+                    stmt.setInt(6, entry.getDays());
+                }
+                stmt.addBatch();
+                batchIndexes.add(i);
+            }
+
+            if (batchIndexes.isEmpty()) {
+                return applied;
+            }
+
+            int[] results = stmt.executeBatch();
+            for (int i = 0; i < results.length; i++) {
+                applied[batchIndexes.get(i)] = results[i] > 0 || results[i] == Statement.SUCCESS_NO_INFO;
+            }
+        }
+
+        appendLedgerEntries(conn, entries, applied, now);
+        CacheVersionDAO.bump(conn, CacheVersionDAO.EntityType.LEAVE_BALANCE);
+        return applied;
+    }
+
+    /**
+     * Append ledger rows for the applied changes (one batch)
+     */
+    private void appendLedgerEntries(Connection conn, List<LeaveLedgerEntry> entries,
+                                     boolean[] applied, Timestamp now) throws SQLException {
+        if (ledgerTableMissing) {
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_LEDGER_ENTRY)) {
+            int batched = 0;
+
+            for (int i = 0; i < entries.size(); i++) {
+                if (!applied[i]) continue;
+                LeaveLedgerEntry entry = entries.get(i);
+
+                stmt.setInt(1, entry.getEmployeeId());
+                stmt.setInt(2, entry.getLeaveTypeId());
+                stmt.setInt(3, entry.getBalanceYear().getValue());
+                stmt.setString(4, entry.getEntryType().name());
+                stmt.setInt(5, entry.getDays());
+                if (entry.getLeaveRequestId() != null) {
+                    stmt.setInt(6, entry.getLeaveRequestId());
+                } else {
+                    stmt.setNull(6, Types.INTEGER);
+                }
+                stmt.setString(7, entry.getNotes());
+                stmt.setTimestamp(8, now);
+                stmt.addBatch();
+
+                entry.setCreatedAt(now);
+                batched++;
+            }
+
+            if (batched > 0) {
+                stmt.executeBatch();
+            }
+
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ER_NO_SUCH_TABLE) {
+                throw e;
+            }
+            // Ledger table not created yet - the balance update still stands
+            ledgerTableMissing = true;
+            System.err.println("Could not write leave ledger (table missing): " + e.getMessage());
+        }
+    }
+
+    private LeaveLedgerEntry mapResultSetToEntry(ResultSet rs) throws SQLException {
+        LeaveLedgerEntry entry = new LeaveLedgerEntry();
+
+        entry.setLedgerEntryId(rs.getInt("ledgerEntryId"));
+        entry.setEmployeeId(rs.getInt("employeeId"));
+        entry.setLeaveTypeId(rs.getInt("leaveTypeId"));
+        entry.setBalanceYear(Year.of(rs.getInt("balanceYear")));
+        entry.setEntryType(LeaveLedgerEntry.EntryType.valueOf(rs.getString("entryType")));
+        entry.setDays(rs.getInt("days"));
+        int requestId = rs.getInt("leaveRequestId");
+        entry.setLeaveRequestId(rs.wasNull() ? null : requestId);
+        entry.setNotes(rs.getString("notes"));
+        entry.setCreatedAt(rs.getTimestamp("createdAt"));
+
+        return entry;
+    }
+}
@@ -1,5 +1,7 @@
 package DAOs;
 
+import DAOs.CacheVersionDAO.EntityType;
+import Models.LeaveLedgerEntry;
 import Models.LeaveRequestModel;
 import java.sql.*;
 import java.time.*;
@@ -7,6 +9,12 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 public class LeaveRequestDAO {
     private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
@@ -61,6 +69,9 @@ public class LeaveRequestDAO {
     private static final String DELETE_LEAVE_REQUEST = 
         "DELETE FROM leaverequest WHERE leaveRequestId = ?";
     
+    private static final String DELETE_IF_STATUS = 
+        "DELETE FROM leaverequest WHERE leaveRequestId = ? AND employeeId = ? AND approvalStatus = ?";
+    
     private static final String SELECT_OVERLAPPING_REQUESTS = 
         "SELECT leaveRequestId, employeeId, leaveTypeId, leaveStart, leaveEnd, leaveReason, " +
         "approvalStatus, dateCreated, dateApproved, supervisorNotes FROM leaverequest " +
@@ -68,6 +79,9 @@ public class LeaveRequestDAO {
         "AND ((leaveStart BETWEEN ? AND ?) OR (leaveEnd BETWEEN ? AND ?) OR " +
         "(leaveStart <= ? AND leaveEnd >= ?))";
     
+    private static final String LOCK_EMPLOYEE = 
+        "SELECT employeeId FROM employee WHERE employeeId = ? FOR UPDATE";
+    
     private static final String SELECT_UPCOMING_LEAVES = 
         "SELECT leaveRequestId, employeeId, leaveTypeId, leaveStart, leaveEnd, leaveReason, " +
         "approvalStatus, dateCreated, dateApproved, supervisorNotes FROM leaverequest " +
@@ -82,6 +96,65 @@ public class LeaveRequestDAO {
         "SUM(CASE WHEN approvalStatus = 'Pending' THEN 1 ELSE 0 END) as pendingRequests " +
         "FROM leaverequest WHERE employeeId = ? AND dateCreated BETWEEN ? AND ?";
     
+    private static final String SELECT_ACTIVE_FOR_INDEX = 
+        "SELECT lr.leaveRequestId, lr.employeeId, lr.leaveTypeId, lr.leaveStart, lr.leaveEnd, " +
+        "lr.leaveReason, lr.approvalStatus, lr.dateCreated, lr.dateApproved, lr.supervisorNotes " +
+        "FROM leaverequest lr " +
+        "WHERE lr.approvalStatus IN ('Pending', 'Approved')";
+    
+    private static final String SELECT_APPROVED_ON_DATE = 
+        "SELECT lr.leaveRequestId, lr.employeeId, lr.leaveTypeId, lr.leaveStart, lr.leaveEnd, " +
+        "lr.leaveReason, lr.approvalStatus, lr.dateCreated, lr.dateApproved, lr.supervisorNotes " +
+        "FROM leaverequest lr " +
+        "LEFT JOIN employee e ON lr.employeeId = e.employeeId " +
+        "LEFT JOIN position p ON e.positionId = p.positionId " +
+        "WHERE lr.approvalStatus = 'Approved' AND lr.leaveStart <= ? AND lr.leaveEnd >= ? " +
+        "AND (? IS NULL OR p.department = ?) ORDER BY lr.leaveStart";
+    
+    private static final String SELECT_ALL_FOR_CUBE = 
+        "SELECT leaveRequestId, employeeId, leaveTypeId, leaveStart, leaveEnd, leaveReason, " +
+        "approvalStatus, dateCreated, dateApproved, supervisorNotes FROM leaverequest";
+    
+    private static final String SELECT_EMPLOYEE_DEPARTMENTS = 
+        "SELECT e.employeeId, p.department FROM employee e " +
+        "LEFT JOIN position p ON e.positionId = p.positionId";
+    
+    private static final String SELECT_EMPLOYEE_DEPARTMENT = 
+        "SELECT p.department FROM employee e " +
+        "LEFT JOIN position p ON e.positionId = p.positionId WHERE e.employeeId = ?";
+    
+    // Bulk approval - {0} is replaced with the IN (...) placeholder list
+    private static final String SELECT_FOR_BULK_APPROVAL = 
+        "SELECT lr.leaveRequestId, lr.employeeId, lr.leaveTypeId, lr.leaveStart, lr.leaveEnd, " +
+        "lr.leaveReason, lr.approvalStatus, lr.dateCreated, lr.dateApproved, lr.supervisorNotes, " +
+        "lb.totalLeaveDays + lb.carryOverDays - lb.usedLeaveDays AS availableDays " +
+        "FROM leaverequest lr " +
+        "LEFT JOIN leavebalance lb ON lb.employeeId = lr.employeeId " +
+        "AND lb.leaveTypeId = lr.leaveTypeId AND lb.balanceYear = ? " +
+        "WHERE lr.leaveRequestId IN ({0}) FOR UPDATE";
+    
+    private static final String SELECT_COMPLETE_ATTENDANCE_FOR_EMPLOYEES = 
+        "SELECT employeeId, date FROM attendance " +
+        "WHERE employeeId IN ({0}) AND date BETWEEN ? AND ? " +
+        "AND timeIn IS NOT NULL AND timeOut IS NOT NULL";
+    
+    private static final String UPDATE_STATUS_IF_PENDING = 
+        "UPDATE leaverequest SET approvalStatus = ?, dateApproved = ?, supervisorNotes = ? " +
+        "WHERE leaveRequestId = ? AND approvalStatus = 'Pending'";
+    
+    private static final String INSERT_APPROVAL_LOG = 
+        "INSERT INTO leave_approval_log (leaveRequestId, approverId, action, notes, actionDate) " +
+        "VALUES (?, ?, ?, ?, ?)";
+    
+    // Shared in-memory index of pending/approved leaves (see LeaveIntervalIndex)
+    private final LeaveIntervalIndex leaveIndex = LeaveIntervalIndex.getInstance();
+    
+    // Shared in-memory leave analytics cube (see LeaveAnalyticsCube)
+    private final LeaveAnalyticsCube leaveCube = LeaveAnalyticsCube.getInstance();
+    
+    // Atomic balance debits for approvals
+    private final LeaveLedgerDAO leaveLedgerDAO = new LeaveLedgerDAO();
+    
     /**
      * Get database connection with Manila timezone
      */
@@ -97,7 +170,9 @@ public class LeaveRequestDAO {
     }
     
     /**
-     * Create new leave request
+     * Create new leave request.
+     * The overlap check is repeated in SQL while the employee row is locked,
+     * since the in-memory index may not have seen another client's request yet.
      * @param leaveRequest
      * @return 
      */
@@ -115,9 +190,23 @@ public class LeaveRequestDAO {
             stmt.setDate(4, leaveRequest.getLeaveEnd());
             stmt.setString(5, leaveRequest.getLeaveReason());
             stmt.setString(6, leaveRequest.getApprovalStatus().getValue());
-            stmt.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE)));
+            Timestamp dateCreated = Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE));
+            stmt.setTimestamp(7, dateCreated);
             
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_REQUEST, () -> {
+                if (leaveRequest.isPending() || leaveRequest.isApproved()) {
+                    try (PreparedStatement lock = conn.prepareStatement(LOCK_EMPLOYEE)) {
+                        lock.setInt(1, leaveRequest.getEmployeeId());
+                        lock.executeQuery().close();
+                    }
+                    List<LeaveRequestModel> overlapping = findOverlappingInDatabase(conn, leaveRequest, -1);
+                    if (!overlapping.isEmpty()) {
+                        System.err.println("Leave request overlaps request " + overlapping.get(0).getLeaveRequestId());
+                        return 0;
+                    }
+                }
+                return stmt.executeUpdate();
+            });
             
             if (rowsAffected > 0) {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
@@ -125,6 +214,8 @@ public class LeaveRequestDAO {
                         leaveRequest.setLeaveRequestId(generatedKeys.getInt(1));
                     }
                 }
+                leaveRequest.setDateCreated(dateCreated);
+                indexLeaveRequest(conn, leaveRequest);
                 return true;
             }
             
@@ -145,20 +236,13 @@ public class LeaveRequestDAO {
             return false;
         }
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(UPDATE_LEAVE_REQUEST)) {
-            
-            stmt.setInt(1, leaveRequest.getEmployeeId());
-            stmt.setInt(2, leaveRequest.getLeaveTypeId());
-            stmt.setDate(3, leaveRequest.getLeaveStart());
-            stmt.setDate(4, leaveRequest.getLeaveEnd());
-            stmt.setString(5, leaveRequest.getLeaveReason());
-            stmt.setString(6, leaveRequest.getApprovalStatus().getValue());
-            stmt.setTimestamp(7, leaveRequest.getDateApproved());
-            stmt.setString(8, leaveRequest.getSupervisorNotes());
-            stmt.setInt(9, leaveRequest.getLeaveRequestId());
+        try (Connection conn = getConnection()) {
             
-            return stmt.executeUpdate() > 0;
+            if (CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_REQUEST,
+                    () -> updateLeaveRequest(conn, leaveRequest) ? 1 : 0) > 0) {
+                indexLeaveRequest(conn, leaveRequest);
+                return true;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error updating leave request: " + e.getMessage());
@@ -173,16 +257,9 @@ public class LeaveRequestDAO {
      * @return 
      */
     public LeaveRequestModel getLeaveRequestById(int leaveRequestId) {
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
+        try (Connection conn = getConnection()) {
             
-            stmt.setInt(1, leaveRequestId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToLeaveRequest(rs);
-                }
-            }
+            return getLeaveRequestById(conn, leaveRequestId, false);
             
         } catch (SQLException e) {
             System.err.println("Error getting leave request by ID: " + e.getMessage());
@@ -311,13 +388,31 @@ public class LeaveRequestDAO {
      * @return 
      */
     public List<LeaveRequestModel> getOverlappingLeaveRequests(LeaveRequestModel leaveRequest) {
+        int requestId = leaveRequest.getLeaveRequestId() > 0 ? leaveRequest.getLeaveRequestId() : -1;
+        
+        if (leaveRequest.getLeaveStart() != null && leaveRequest.getLeaveEnd() != null && ensureLeaveIndexLoaded()) {
+            return leaveIndex.findOverlapping(leaveRequest.getEmployeeId(),
+                leaveRequest.getLeaveStart().toLocalDate(), leaveRequest.getLeaveEnd().toLocalDate(), requestId);
+        }
+        
+        // Index unavailable - fall back to the database
+        try (Connection conn = getConnection()) {
+            return findOverlappingInDatabase(conn, leaveRequest, requestId);
+        } catch (SQLException e) {
+            System.err.println("Error checking overlapping leave requests: " + e.getMessage());
+        }
+        
+        return new ArrayList<>();
+    }
+    
+    /**
+     * Query pending and approved requests of the same employee that overlap a request
+     */
+    private List<LeaveRequestModel> findOverlappingInDatabase(Connection conn, LeaveRequestModel leaveRequest,
+                                                              int requestId) throws SQLException {
         List<LeaveRequestModel> overlapping = new ArrayList<>();
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_OVERLAPPING_REQUESTS)) {
-            
-            int requestId = leaveRequest.getLeaveRequestId() > 0 ? leaveRequest.getLeaveRequestId() : -1;
-            
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_OVERLAPPING_REQUESTS)) {
             stmt.setInt(1, leaveRequest.getEmployeeId());
             stmt.setInt(2, requestId);
             stmt.setDate(3, leaveRequest.getLeaveStart());
@@ -332,9 +427,6 @@ public class LeaveRequestDAO {
                     overlapping.add(mapResultSetToLeaveRequest(rs));
                 }
             }
-            
-        } catch (SQLException e) {
-            System.err.println("Error checking overlapping leave requests: " + e.getMessage());
         }
         
         return overlapping;
@@ -418,7 +510,11 @@ public class LeaveRequestDAO {
              PreparedStatement stmt = conn.prepareStatement(DELETE_LEAVE_REQUEST)) {
             
             stmt.setInt(1, leaveRequestId);
-            return stmt.executeUpdate() > 0;
+            if (CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_REQUEST, stmt::executeUpdate) > 0) {
+                leaveIndex.remove(leaveRequestId);
+                leaveCube.remove(leaveRequestId);
+                return true;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error deleting leave request: " + e.getMessage());
@@ -435,31 +531,55 @@ public class LeaveRequestDAO {
      * @return 
      */
     public boolean approveLeaveRequest(int leaveRequestId, String supervisorNotes, int approverId) {
+        return decideLeaveRequest(leaveRequestId, supervisorNotes, approverId, true);
+    }
+    
+    /**
+     * Reject leave request with supervisor workflow
+     * @param leaveRequestId
+     * @param supervisorNotes
+     * @param approverId
+     * @return 
+     */
+    public boolean rejectLeaveRequest(int leaveRequestId, String supervisorNotes, int approverId) {
+        return decideLeaveRequest(leaveRequestId, supervisorNotes, approverId, false);
+    }
+    
+    /**
+     * Approve or reject one request: row lock, status update and audit log
+     * all on the same connection and transaction
+     */
+    private boolean decideLeaveRequest(int leaveRequestId, String supervisorNotes, int approverId, boolean approve) {
         try (Connection conn = getConnection()) {
             conn.setAutoCommit(false);
             
             try {
-                // Get the leave request
-                LeaveRequestModel request = getLeaveRequestById(leaveRequestId);
+                // Get the leave request (locked until commit)
+                LeaveRequestModel request = getLeaveRequestById(conn, leaveRequestId, true);
                 if (request == null || !request.isPending()) {
                     conn.rollback();
                     return false;
                 }
                 
                 // Update the request status
-                request.approve(supervisorNotes);
+                if (approve) {
+                    request.approve(supervisorNotes);
+                } else {
+                    request.reject(supervisorNotes);
+                }
                 
                 // Update in database
-                boolean updated = updateLeaveRequest(request);
-                if (!updated) {
+                if (!updateLeaveRequest(conn, request)) {
                     conn.rollback();
                     return false;
                 }
                 
-                // Log the approval action
-                logApprovalAction(conn, leaveRequestId, approverId, "APPROVED", supervisorNotes);
+                // Log the action
+                logApprovalAction(conn, leaveRequestId, approverId, approve ? "APPROVED" : "REJECTED", supervisorNotes);
+                CacheVersionDAO.bump(conn, EntityType.LEAVE_REQUEST);
                 
                 conn.commit();
+                indexLeaveRequest(conn, request);
                 return true;
                 
             } catch (SQLException e) {
@@ -468,45 +588,118 @@ public class LeaveRequestDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error approving leave request: " + e.getMessage());
+            System.err.println("Error " + (approve ? "approving" : "rejecting") + " leave request: " + e.getMessage());
         }
         
         return false;
     }
     
     /**
-     * Reject leave request with supervisor workflow
-     * @param leaveRequestId
-     * @param supervisorNotes
-     * @param approverId
-     * @return 
+     * Approve one request and debit its leave balance in a single transaction.
+     * The status only changes while the request is still Pending and the debit
+     * only applies while the balance has enough days, so of two concurrent
+     * approvals of the same request exactly one succeeds and debits once.
+     * @param request The pending request
+     * @param supervisorNotes Approval notes
+     * @param approverId Approver ID
+     * @param debit DEBIT entry for the request's leave days, or null when no days are debited
+     * @return true if the request was approved and its balance debited
      */
-    public boolean rejectLeaveRequest(int leaveRequestId, String supervisorNotes, int approverId) {
+    public boolean approveLeaveRequestWithDebit(LeaveRequestModel request, String supervisorNotes,
+                                                int approverId, LeaveLedgerEntry debit) {
+        if (request == null) {
+            return false;
+        }
+        Timestamp approvedAt = Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE));
+        
         try (Connection conn = getConnection()) {
             conn.setAutoCommit(false);
             
             try {
-                // Get the leave request
-                LeaveRequestModel request = getLeaveRequestById(leaveRequestId);
-                if (request == null || !request.isPending()) {
+                try (PreparedStatement stmt = conn.prepareStatement(UPDATE_STATUS_IF_PENDING)) {
+                    stmt.setString(1, LeaveRequestModel.ApprovalStatus.APPROVED.getValue());
+                    stmt.setTimestamp(2, approvedAt);
+                    stmt.setString(3, supervisorNotes);
+                    stmt.setInt(4, request.getLeaveRequestId());
+                    if (stmt.executeUpdate() == 0) {
+                        conn.rollback();
+                        System.err.println("Leave request " + request.getLeaveRequestId() + " is no longer pending");
+                        return false;
+                    }
+                }
+                
+                if (debit != null && !leaveLedgerDAO.applyDebits(conn, List.of(debit))[0]) {
                     conn.rollback();
+                    System.err.println("Insufficient leave balance at approval time");
                     return false;
                 }
                 
-                // Update the request status
-                request.reject(supervisorNotes);
+                logApprovalAction(conn, request.getLeaveRequestId(), approverId, "APPROVED", supervisorNotes);
+                CacheVersionDAO.bump(conn, EntityType.LEAVE_REQUEST);
                 
-                // Update in database
-                boolean updated = updateLeaveRequest(request);
-                if (!updated) {
-                    conn.rollback();
-                    return false;
+                conn.commit();
+                
+                request.approve(supervisorNotes);
+                request.setDateApproved(approvedAt);
+                indexLeaveRequest(conn, request);
+                if (debit != null) {
+                    leaveCube.invalidateBalances();
                 }
+                return true;
                 
-                // Log the rejection action
-                logApprovalAction(conn, leaveRequestId, approverId, "REJECTED", supervisorNotes);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error approving leave request: " + e.getMessage());
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Cancel one request and credit back its leave days in a single transaction.
+     * The delete only matches while the request still has the status it was read
+     * with, so of two concurrent cancels exactly one deletes and credits.
+     * @param request The request as read by the caller
+     * @param credit CREDIT entry for the days to restore, or null when none were debited
+     * @return true if the request was cancelled
+     */
+    public boolean cancelLeaveRequestWithCredit(LeaveRequestModel request, LeaveLedgerEntry credit) {
+        if (request == null) {
+            return false;
+        }
+        
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(DELETE_IF_STATUS)) {
+                    stmt.setInt(1, request.getLeaveRequestId());
+                    stmt.setInt(2, request.getEmployeeId());
+                    stmt.setString(3, request.getApprovalStatus().getValue());
+                    if (stmt.executeUpdate() != 1) {
+                        conn.rollback();
+                        System.err.println("Leave request " + request.getLeaveRequestId() + " was already changed or cancelled");
+                        return false;
+                    }
+                }
+                
+                boolean credited = credit != null && leaveLedgerDAO.applyCredits(conn, List.of(credit))[0];
+                if (credit != null && !credited) {
+                    System.err.println("No leave balance to credit for cancelled request " + request.getLeaveRequestId());
+                }
+                CacheVersionDAO.bump(conn, EntityType.LEAVE_REQUEST);
                 
                 conn.commit();
+                
+                leaveIndex.remove(request.getLeaveRequestId());
+                leaveCube.remove(request.getLeaveRequestId());
+                if (credited) {
+                    leaveCube.invalidateBalances();
+                }
                 return true;
                 
             } catch (SQLException e) {
@@ -515,7 +708,7 @@ public class LeaveRequestDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error rejecting leave request: " + e.getMessage());
+            System.err.println("Error cancelling leave request: " + e.getMessage());
         }
         
         return false;
@@ -526,36 +719,188 @@ public class LeaveRequestDAO {
      * @param requestIds
      * @param approvalNotes
      * @param approverId
-     * @return 
+     * @return true only if every request was approved; otherwise nothing is approved
      */
     public boolean bulkApproveLeaveRequests(List<Integer> requestIds, String approvalNotes, int approverId) {
         if (requestIds == null || requestIds.isEmpty()) {
             return false;
         }
+        BulkApprovalResult result = bulkApproveLeaveRequestsWithResults(requestIds, approvalNotes, approverId, true);
+        return result.isSuccess() && result.getApprovedCount() == result.getResults().size();
+    }
+    
+    /**
+     * Bulk approve leave requests, approving those that pass validation
+     * @param requestIds
+     * @param approvalNotes
+     * @param approverId
+     * @return Per-request outcome of the bulk approval
+     */
+    public BulkApprovalResult bulkApproveLeaveRequestsWithResults(List<Integer> requestIds, String approvalNotes, 
+                                                                 int approverId) {
+        return bulkApproveLeaveRequestsWithResults(requestIds, approvalNotes, approverId, false);
+    }
+    
+    /**
+     * Bulk approve leave requests in a single transaction.
+     * All requests and their leave balances are loaded and locked with one query,
+     * attendance conflicts are loaded with one more, and balances are validated in
+     * memory. Status changes, ledger debits and approval log rows are then written
+     * as JDBC batches. Requests that fail validation are reported; the rest are
+     * approved, unless allOrNothing is set, in which case nothing is approved.
+     * When the transaction is rolled back, no request is reported as APPROVED.
+     * @param requestIds
+     * @param approvalNotes
+     * @param approverId
+     * @param allOrNothing Approve nothing unless every request passes validation
+     * @return Per-request outcome of the bulk approval
+     */
+    public BulkApprovalResult bulkApproveLeaveRequestsWithResults(List<Integer> requestIds, String approvalNotes, 
+                                                                 int approverId, boolean allOrNothing) {
+        BulkApprovalResult result = new BulkApprovalResult();
+        if (requestIds == null || requestIds.isEmpty()) {
+            return result;
+        }
+        
+        Set<Integer> uniqueIds = new LinkedHashSet<>();
+        for (Integer requestId : requestIds) {
+            if (requestId != null) {
+                uniqueIds.add(requestId);
+            }
+        }
+        if (uniqueIds.isEmpty()) {
+            return result;
+        }
+        
+        Year balanceYear = Year.now(MANILA_TIMEZONE);
+        Timestamp approvedAt = Timestamp.valueOf(LocalDateTime.now(MANILA_TIMEZONE));
         
         try (Connection conn = getConnection()) {
             conn.setAutoCommit(false);
             
             try {
-                int successCount = 0;
+                // 1. Requests plus available balance, locked until commit
+                Map<Integer, LeaveRequestModel> requests = new HashMap<>();
+                Map<String, Integer> availableDays = new HashMap<>();
                 
-                for (Integer requestId : requestIds) {
-                    LeaveRequestModel request = getLeaveRequestById(requestId);
-                    if (request != null && request.isPending()) {
-                        request.approve(approvalNotes);
-                        if (updateLeaveRequest(request)) {
-                            logApprovalAction(conn, requestId, approverId, "BULK_APPROVED", approvalNotes);
-                            successCount++;
+                String selectSql = SELECT_FOR_BULK_APPROVAL.replace("{0}", placeholders(uniqueIds.size()));
+                try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                    stmt.setInt(1, balanceYear.getValue());
+                    int index = 2;
+                    for (Integer requestId : uniqueIds) {
+                        stmt.setInt(index++, requestId);
+                    }
+                    
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            LeaveRequestModel request = mapResultSetToLeaveRequest(rs);
+                            requests.put(request.getLeaveRequestId(), request);
+                            
+                            int available = rs.getInt("availableDays");
+                            if (!rs.wasNull()) {
+                                availableDays.putIfAbsent(balanceKey(request), available);
+                            }
                         }
                     }
                 }
                 
-                if (successCount == requestIds.size()) {
-                    conn.commit();
-                    return true;
-                } else {
+                // 2. Attendance on leave dates (those days count as worked, not leave)
+                Map<Integer, Set<LocalDate>> attendedDates = loadAttendedDates(conn, requests.values());
+                
+                // 3. Validate in memory, consuming balances in request order
+                List<LeaveRequestModel> toApprove = new ArrayList<>();
+                List<LeaveLedgerEntry> debits = new ArrayList<>();
+                
+                for (Integer requestId : uniqueIds) {
+                    LeaveRequestModel request = requests.get(requestId);
+                    if (request == null) {
+                        result.setOutcome(requestId, BulkApprovalResult.Outcome.NOT_FOUND);
+                        continue;
+                    }
+                    if (!request.isPending()) {
+                        result.setOutcome(requestId, BulkApprovalResult.Outcome.NOT_PENDING);
+                        continue;
+                    }
+                    
+                    List<LocalDate> conflictDates = new ArrayList<>();
+                    List<java.sql.Date> leaveDates = request.getWorkingDayLeaveDates();
+                    Set<LocalDate> attended = attendedDates.get(request.getEmployeeId());
+                    if (attended != null) {
+                        for (java.sql.Date leaveDate : leaveDates) {
+                            if (attended.contains(leaveDate.toLocalDate())) {
+                                conflictDates.add(leaveDate.toLocalDate());
+                            }
+                        }
+                    }
+                    int conflictDays = conflictDates.size();
+                    int effectiveDays = leaveDates.size() - conflictDays;
+                    
+                    if (effectiveDays > 0) {
+                        Integer available = availableDays.get(balanceKey(request));
+                        if (available == null) {
+                            result.setOutcome(requestId, BulkApprovalResult.Outcome.NO_BALANCE);
+                            continue;
+                        }
+                        if (effectiveDays > available) {
+                            result.setOutcome(requestId, BulkApprovalResult.Outcome.INSUFFICIENT_BALANCE);
+                            continue;
+                        }
+                        availableDays.put(balanceKey(request), available - effectiveDays);
+                        debits.add(LeaveLedgerEntry.debit(request.getEmployeeId(), request.getLeaveTypeId(),
+                            balanceYear, effectiveDays, requestId, approvalNotes));
+                    }
+                    
+                    request.approve(approvalNotes);
+                    request.setDateApproved(approvedAt);
+                    request.setHasAttendanceConflict(conflictDays > 0);
+                    toApprove.add(request);
+                    result.setOutcome(requestId, BulkApprovalResult.Outcome.APPROVED);
+                    result.setDaysDebited(requestId, Math.max(effectiveDays, 0));
+                    result.setConflictDates(requestId, conflictDates);
+                }
+                
+                if (allOrNothing && toApprove.size() < uniqueIds.size()) {
                     conn.rollback();
-                    return false;
+                    result.rollBack("Not every leave request could be approved");
+                    return result;
+                }
+                
+                // 4. Batched writes
+                if (!toApprove.isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(UPDATE_STATUS_IF_PENDING)) {
+                        for (LeaveRequestModel request : toApprove) {
+                            stmt.setString(1, request.getApprovalStatus().getValue());
+                            stmt.setTimestamp(2, request.getDateApproved());
+                            stmt.setString(3, request.getSupervisorNotes());
+                            stmt.setInt(4, request.getLeaveRequestId());
+                            stmt.addBatch();
+                        }
+                        int[] counts = stmt.executeBatch();
+                        for (int count : counts) {
+                            if (count == 0) {
+                                throw new SQLException("Leave request changed during bulk approval");
+                            }
+                        }
+                    }
+                    
+                    for (boolean applied : leaveLedgerDAO.applyDebits(conn, debits)) {
+                        if (!applied) {
+                            // Balances are locked by step 1, so this means the data is inconsistent
+                            throw new SQLException("Leave balance debit rejected during bulk approval");
+                        }
+                    }
+                    
+                    logApprovalActions(conn, toApprove, approverId, "BULK_APPROVED", approvalNotes, approvedAt);
+                    CacheVersionDAO.bump(conn, EntityType.LEAVE_REQUEST);
+                }
+                
+                conn.commit();
+                
+                for (LeaveRequestModel request : toApprove) {
+                    indexLeaveRequest(conn, request);
+                }
+                if (!debits.isEmpty()) {
+                    leaveCube.invalidateBalances();
                 }
                 
             } catch (SQLException e) {
@@ -565,9 +910,10 @@ public class LeaveRequestDAO {
             
         } catch (SQLException e) {
             System.err.println("Error bulk approving leave requests: " + e.getMessage());
+            result.rollBack(e.getMessage());
         }
         
-        return false;
+        return result;
     }
     
     /**
@@ -600,12 +946,28 @@ public class LeaveRequestDAO {
     }
     
     /**
-     * Get monthly leave statistics
+     * Get monthly leave statistics (requests filed in the month)
      * @param month
      * @param year
      * @return 
      */
     public Map<String, Object> getMonthlyLeaveStatistics(int month, int year) {
+        if (ensureAnalyticsCubeLoaded()) {
+            LeaveAnalyticsCube.Measures measures = 
+                leaveCube.query(LeaveAnalyticsCube.DateBasis.DATE_CREATED, year, month, null, null, null);
+            
+            Map<String, Object> statistics = new HashMap<>();
+            statistics.put("month", month);
+            statistics.put("year", year);
+            statistics.put("totalRequests", measures.getRequestCount());
+            statistics.put("approvedRequests", measures.getApprovedCount());
+            statistics.put("rejectedRequests", measures.getRejectedCount());
+            statistics.put("pendingRequests", measures.getPendingCount());
+            statistics.put("uniqueEmployees", measures.getDistinctEmployees());
+            statistics.put("approvalRate", measures.getApprovalRate());
+            return statistics;
+        }
+        
         String query = "SELECT " +
                       "COUNT(*) as totalRequests, " +
                       "SUM(CASE WHEN approvalStatus = 'Approved' THEN 1 ELSE 0 END) as approvedRequests, " +
@@ -712,8 +1074,317 @@ public class LeaveRequestDAO {
         return false;
     }
     
+    /**
+     * Get pending and approved leaves of an employee that cover a date
+     * @param employeeId
+     * @param date
+     * @return 
+     */
+    public List<LeaveRequestModel> getActiveLeaveRequestsOnDate(int employeeId, Date date) {
+        if (date != null && ensureLeaveIndexLoaded()) {
+            LocalDate day = date.toLocalDate();
+            return leaveIndex.findOverlapping(employeeId, day, day, -1);
+        }
+        
+        List<LeaveRequestModel> active = new ArrayList<>();
+        for (LeaveRequestModel request : getLeaveRequestsByEmployeeAndDateRange(employeeId, date, date)) {
+            if (request.isPending() || request.isApproved()) {
+                active.add(request);
+            }
+        }
+        return active;
+    }
+    
+    /**
+     * Get everyone on approved leave on a date, optionally within one department
+     * @param department Department name, or null for the whole company
+     * @param date
+     * @return 
+     */
+    public List<LeaveRequestModel> getApprovedLeavesOnDate(String department, Date date) {
+        List<LeaveRequestModel> onLeave = new ArrayList<>();
+        if (date == null) {
+            return onLeave;
+        }
+        if (ensureLeaveIndexLoaded()) {
+            return leaveIndex.findOnLeaveInDepartment(department, date.toLocalDate(), true);
+        }
+        
+        // Index could not be loaded - answer from the database instead
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_APPROVED_ON_DATE)) {
+            
+            stmt.setDate(1, date);
+            stmt.setDate(2, date);
+            stmt.setString(3, department);
+            stmt.setString(4, department);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    onLeave.add(mapResultSetToLeaveRequest(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting approved leaves on date: " + e.getMessage());
+        }
+        
+        return onLeave;
+    }
+    
+    /**
+     * Load the in-memory leave index with all pending and approved requests.
+     * Called once at startup (or lazily on first lookup); afterwards the index
+     * is kept current by create, update and delete.
+     * @return true if the index was loaded
+     */
+    public boolean loadLeaveIndex() {
+        List<LeaveRequestModel> active = new ArrayList<>();
+        
+        try (Connection conn = getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_ACTIVE_FOR_INDEX);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    active.add(mapResultSetToLeaveRequest(rs));
+                }
+            }
+            
+            leaveIndex.load(active, loadEmployeeDepartments(conn));
+            System.out.println("Leave index loaded with " + active.size() + " active leave requests");
+            return true;
+            
+        } catch (SQLException e) {
+            System.err.println("Error loading leave index: " + e.getMessage());
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Build the leave analytics cube from all leave requests.
+     * Called lazily by the first report; afterwards the cube is kept
+     * current by create, update, approve and delete.
+     * @return true if the cube was built
+     */
+    public boolean loadAnalyticsCube() {
+        List<LeaveRequestModel> requests = new ArrayList<>();
+        
+        try (Connection conn = getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_FOR_CUBE);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    requests.add(mapResultSetToLeaveRequest(rs));
+                }
+            }
+            
+            leaveCube.load(requests, loadEmployeeDepartments(conn));
+            System.out.println("Leave analytics cube built from " + requests.size() + " leave requests");
+            return true;
+            
+        } catch (SQLException e) {
+            System.err.println("Error building leave analytics cube: " + e.getMessage());
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Get the leave analytics cube, building it on first use
+     * @return The loaded cube, or null if it could not be built
+     */
+    public LeaveAnalyticsCube getAnalyticsCube() {
+        return ensureAnalyticsCubeLoaded() ? leaveCube : null;
+    }
+    
     // Helper methods
     
+    /**
+     * Get leave request by ID on an existing connection
+     * @param forUpdate true to lock the row until the transaction ends
+     */
+    private LeaveRequestModel getLeaveRequestById(Connection conn, int leaveRequestId, boolean forUpdate) 
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(forUpdate ? SELECT_BY_ID + " FOR UPDATE" : SELECT_BY_ID)) {
+            stmt.setInt(1, leaveRequestId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToLeaveRequest(rs);
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Update leave request on an existing connection (no index write-through)
+     */
+    private boolean updateLeaveRequest(Connection conn, LeaveRequestModel leaveRequest) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_LEAVE_REQUEST)) {
+            stmt.setInt(1, leaveRequest.getEmployeeId());
+            stmt.setInt(2, leaveRequest.getLeaveTypeId());
+            stmt.setDate(3, leaveRequest.getLeaveStart());
+            stmt.setDate(4, leaveRequest.getLeaveEnd());
+            stmt.setString(5, leaveRequest.getLeaveReason());
+            stmt.setString(6, leaveRequest.getApprovalStatus().getValue());
+            stmt.setTimestamp(7, leaveRequest.getDateApproved());
+            stmt.setString(8, leaveRequest.getSupervisorNotes());
+            stmt.setInt(9, leaveRequest.getLeaveRequestId());
+            
+            return stmt.executeUpdate() > 0;
+        }
+    }
+    
+    /**
+     * Load the department of every employee
+     * @param conn
+     * @return Employee ID to department (null if the employee has no position)
+     * @throws SQLException 
+     */
+    Map<Integer, String> loadEmployeeDepartments(Connection conn) throws SQLException {
+        Map<Integer, String> departments = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_EMPLOYEE_DEPARTMENTS);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                departments.put(rs.getInt("employeeId"), rs.getString("department"));
+            }
+        }
+        return departments;
+    }
+    
+    /**
+     * Load dates with complete attendance for the employees and date span of the requests
+     */
+    private Map<Integer, Set<LocalDate>> loadAttendedDates(Connection conn, 
+            Collection<LeaveRequestModel> requests) throws SQLException {
+        Map<Integer, Set<LocalDate>> attended = new HashMap<>();
+        
+        Set<Integer> employeeIds = new HashSet<>();
+        java.sql.Date from = null;
+        java.sql.Date to = null;
+        for (LeaveRequestModel request : requests) {
+            if (!request.isPending() || request.getLeaveStart() == null || request.getLeaveEnd() == null) {
+                continue;
+            }
+            employeeIds.add(request.getEmployeeId());
+            if (from == null || request.getLeaveStart().before(from)) {
+                from = request.getLeaveStart();
+            }
+            if (to == null || request.getLeaveEnd().after(to)) {
+                to = request.getLeaveEnd();
+            }
+        }
+        if (employeeIds.isEmpty()) {
+            return attended;
+        }
+        
+        String sql = SELECT_COMPLETE_ATTENDANCE_FOR_EMPLOYEES.replace("{0}", placeholders(employeeIds.size()));
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Integer employeeId : employeeIds) {
+                stmt.setInt(index++, employeeId);
+            }
+            stmt.setDate(index++, from);
+            stmt.setDate(index, to);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    attended.computeIfAbsent(rs.getInt("employeeId"), id -> new HashSet<>())
+                            .add(rs.getDate("date").toLocalDate());
+                }
+            }
+        }
+        
+        return attended;
+    }
+    
+    /**
+     * Batch insert approval log rows (the log table is optional)
+     */
+    private void logApprovalActions(Connection conn, List<LeaveRequestModel> requests, int approverId, 
+                                    String action, String notes, Timestamp actionDate) {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_APPROVAL_LOG)) {
+            for (LeaveRequestModel request : requests) {
+                stmt.setInt(1, request.getLeaveRequestId());
+                stmt.setInt(2, approverId);
+                stmt.setString(3, action);
+                stmt.setString(4, notes);
+                stmt.setTimestamp(5, actionDate);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            // Log table might not exist, so we'll continue without logging
+            System.err.println("Could not log approval actions: " + e.getMessage());
+        }
+    }
+    
+    private static String balanceKey(LeaveRequestModel request) {
+        return request.getEmployeeId() + ":" + request.getLeaveTypeId();
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
+    /**
+     * Build the analytics cube on first use
+     */
+    private boolean ensureAnalyticsCubeLoaded() {
+        if (leaveCube.isLoaded()) {
+            return true;
+        }
+        synchronized (leaveCube) {
+            return leaveCube.isLoaded() || loadAnalyticsCube();
+        }
+    }
+    
+    /**
+     * Load the leave index on first use
+     */
+    private boolean ensureLeaveIndexLoaded() {
+        if (leaveIndex.isLoaded()) {
+            return true;
+        }
+        synchronized (leaveIndex) {
+            return leaveIndex.isLoaded() || loadLeaveIndex();
+        }
+    }
+    
+    /**
+     * Write a saved leave request through to the index,
+     * fetching the employee's department the first time we see them
+     */
+    private void indexLeaveRequest(Connection conn, LeaveRequestModel leaveRequest) {
+        boolean indexLoaded = leaveIndex.isLoaded();
+        boolean cubeLoaded = leaveCube.isLoaded();
+        if (!indexLoaded && !cubeLoaded) {
+            return; // Will be picked up by the initial load
+        }
+        
+        int employeeId = leaveRequest.getEmployeeId();
+        if ((indexLoaded && !leaveIndex.hasEmployeeDepartment(employeeId)) ||
+            (cubeLoaded && !leaveCube.hasEmployeeDepartment(employeeId))) {
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_EMPLOYEE_DEPARTMENT)) {
+                stmt.setInt(1, employeeId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    String department = rs.next() ? rs.getString("department") : null;
+                    leaveIndex.setEmployeeDepartment(employeeId, department);
+                    leaveCube.setEmployeeDepartment(employeeId, department);
+                }
+            } catch (SQLException e) {
+                System.err.println("Could not look up department for leave index: " + e.getMessage());
+            }
+        }
+        
+        if (indexLoaded) {
+            leaveIndex.put(leaveRequest);
+        }
+        if (cubeLoaded) {
+            leaveCube.put(leaveRequest);
+        }
+    }
+    
     /**
      * Map ResultSet to LeaveRequestModel
      */
@@ -781,6 +1452,19 @@ public class LeaveRequestDAO {
      * @return 
      */
     public Map<String, Object> getDepartmentLeaveUtilization(String department, int year) {
+        if (department != null && ensureAnalyticsCubeLoaded()) {
+            LeaveAnalyticsCube.Measures measures = leaveCube.query(year, null, department, null, null);
+            
+            Map<String, Object> utilization = new HashMap<>();
+            utilization.put("department", department);
+            utilization.put("year", year);
+            utilization.put("totalRequests", measures.getRequestCount());
+            utilization.put("totalLeaveDays", measures.getApprovedDays());
+            utilization.put("employeesWithLeave", measures.getDistinctEmployees());
+            utilization.put("avgLeaveDays", measures.getAverageApprovedDays());
+            return utilization;
+        }
+        
         String query = "SELECT " +
                       "COUNT(lr.leaveRequestId) as totalRequests, " +
                       "SUM(CASE WHEN lr.approvalStatus = 'Approved' THEN DATEDIFF(lr.leaveEnd, lr.leaveStart) + 1 ELSE 0 END) as totalLeaveDays, " +
@@ -816,4 +1500,83 @@ public class LeaveRequestDAO {
         
         return utilization;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Per-request outcome of a bulk leave approval
+     */
+    public static class BulkApprovalResult {
+        
+        public enum Outcome {
+            APPROVED,
+            NOT_FOUND,
+            NOT_PENDING,
+            NO_BALANCE,
+            INSUFFICIENT_BALANCE,
+            // Passed validation, but the transaction was rolled back
+            ROLLED_BACK
+        }
+        
+        private final Map<Integer, Outcome> results = new LinkedHashMap<>();
+        private final Map<Integer, Integer> daysDebited = new HashMap<>();
+        // Leave dates with completed attendance, counted as worked instead of leave
+        private final Map<Integer, List<LocalDate>> conflictDates = new HashMap<>();
+        private int attendanceConflictDays = 0;
+        private String error;
+        
+        public Map<Integer, Outcome> getResults() { return results; }
+        public Outcome getOutcome(int leaveRequestId) { return results.get(leaveRequestId); }
+        public int getDaysDebited(int leaveRequestId) { return daysDebited.getOrDefault(leaveRequestId, 0); }
+        public int getAttendanceConflictDays() { return attendanceConflictDays; }
+        public List<LocalDate> getConflictDates(int leaveRequestId) { 
+            return conflictDates.getOrDefault(leaveRequestId, Collections.emptyList()); 
+        }
+        public String getError() { return error; }
+        
+        /**
+         * @return false if the transaction failed and nothing was approved
+         */
+        public boolean isSuccess() { return error == null; }
+        
+        public int getApprovedCount() {
+            if (!isSuccess()) {
+                return 0;
+            }
+            int approved = 0;
+            for (Outcome outcome : results.values()) {
+                if (outcome == Outcome.APPROVED) {
+                    approved++;
+                }
+            }
+            return approved;
+        }
+        
+        void setOutcome(int leaveRequestId, Outcome outcome) { results.put(leaveRequestId, outcome); }
+        void setDaysDebited(int leaveRequestId, int days) { daysDebited.put(leaveRequestId, days); }
+        void setConflictDates(int leaveRequestId, List<LocalDate> dates) {
+            if (!dates.isEmpty()) {
+                conflictDates.put(leaveRequestId, Collections.unmodifiableList(dates));
+                attendanceConflictDays += dates.size();
+            }
+        }
+        
+        /**
+         * Record a rolled-back transaction: requests that would have been
+         * approved become ROLLED_BACK and nothing counts as debited
+         */
+        void rollBack(String error) {
+            this.error = error;
+            results.replaceAll((id, outcome) -> outcome == Outcome.APPROVED ? Outcome.ROLLED_BACK : outcome);
+            daysDebited.clear();
+            conflictDates.clear();
+            attendanceConflictDays = 0;
+        }
+        
+        @Override
+        public String toString() {
+            return "BulkApprovalResult{approved=" + getApprovedCount() + 
+                   ", requested=" + results.size() + 
+                   ", attendanceConflictDays=" + attendanceConflictDays +
+                   (error != null ? ", error=" + error : "") + '}';
+        }
+    }
+}
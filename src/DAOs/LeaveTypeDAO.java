@@ -1,5 +1,7 @@
 package DAOs;
 
+import DAOs.CacheVersionDAO.EntityType;
+import DAOs.ReferenceDataCache.Region;
 import Models.LeaveTypeModel;
 import java.sql.*;
 import java.time.*;
@@ -13,6 +15,9 @@ public class LeaveTypeDAO {
     private static final String DB_USER = "root";
     private static final String DB_PASSWORD = "";
     
+    // Leave types are read once and shared through the reference data cache
+    private final ReferenceDataCache referenceCache = ReferenceDataCache.getInstance();
+    
     // SQL Queries
     private static final String INSERT_LEAVE_TYPE = 
         "INSERT INTO leavetype (leaveTypeName, leaveDescription, maxDaysPerYear, createdAt) " +
@@ -51,8 +56,7 @@ public class LeaveTypeDAO {
         "SUM(CASE WHEN lr.approvalStatus = 'Approved' THEN 1 ELSE 0 END) as approvedRequests, " +
         "AVG(CASE WHEN lr.approvalStatus = 'Approved' THEN DATEDIFF(lr.leaveEnd, lr.leaveStart) + 1 ELSE NULL END) as avgLeaveDays " +
         "FROM leavetype lt " +
-        "LEFT JOIN leaverequest lr ON lt.leaveTypeId = lr.leaveTypeId " +
-        "WHERE YEAR(lr.dateCreated) = ? OR lr.dateCreated IS NULL " +
+        "LEFT JOIN leaverequest lr ON lt.leaveTypeId = lr.leaveTypeId AND YEAR(lr.dateCreated) = ? " +
         "GROUP BY lt.leaveTypeId, lt.leaveTypeName " +
         "ORDER BY totalRequests DESC";
     
@@ -103,7 +107,7 @@ public class LeaveTypeDAO {
             // Use Manila timezone for createdAt
             stmt.setTimestamp(4, Timestamp.valueOf(LeaveTypeModel.getCurrentDateTimeManila()));
             
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_TYPE, stmt::executeUpdate);
             
             if (rowsAffected > 0) {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
@@ -111,6 +115,7 @@ public class LeaveTypeDAO {
                         leaveType.setLeaveTypeId(generatedKeys.getInt(1));
                     }
                 }
+                referenceCache.invalidate(Region.LEAVE_TYPES);
                 return true;
             }
             
@@ -155,7 +160,11 @@ public class LeaveTypeDAO {
             
             stmt.setInt(4, leaveType.getLeaveTypeId());
             
-            return stmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_TYPE, stmt::executeUpdate) > 0;
+            if (success) {
+                referenceCache.invalidate(Region.LEAVE_TYPES);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error updating leave type: " + e.getMessage());
@@ -174,6 +183,17 @@ public class LeaveTypeDAO {
             return null;
         }
         
+        try {
+            for (LeaveTypeModel leaveType : cachedLeaveTypes()) {
+                if (leaveTypeId.equals(leaveType.getLeaveTypeId())) {
+                    return copyOf(leaveType);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting all leave types: " + e.getMessage());
+        }
+        
+        // Not cached (or added by another client) - ask the database
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
             
@@ -227,15 +247,10 @@ public class LeaveTypeDAO {
     public List<LeaveTypeModel> getAllLeaveTypes() {
         List<LeaveTypeModel> leaveTypes = new ArrayList<>();
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL)) {
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    leaveTypes.add(mapResultSetToLeaveType(rs));
-                }
+        try {
+            for (LeaveTypeModel leaveType : cachedLeaveTypes()) {
+                leaveTypes.add(copyOf(leaveType));
             }
-            
         } catch (SQLException e) {
             System.err.println("Error getting all leave types: " + e.getMessage());
         }
@@ -250,19 +265,13 @@ public class LeaveTypeDAO {
     public List<LeaveTypeModel> getActiveLeaveTypes() {
         List<LeaveTypeModel> leaveTypes = new ArrayList<>();
         
-        // Modified query to include unlimited leave types (NULL maxDaysPerYear)
-        String query = "SELECT leaveTypeId, leaveTypeName, leaveDescription, maxDaysPerYear, createdAt " +
-                      "FROM leavetype WHERE maxDaysPerYear > 0 OR maxDaysPerYear IS NULL ORDER BY leaveTypeName";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    leaveTypes.add(mapResultSetToLeaveType(rs));
+        try {
+            // Include unlimited leave types (NULL maxDaysPerYear)
+            for (LeaveTypeModel leaveType : cachedLeaveTypes()) {
+                if (leaveType.getMaxDaysPerYear() == null || leaveType.getMaxDaysPerYear() > 0) {
+                    leaveTypes.add(copyOf(leaveType));
                 }
             }
-            
         } catch (SQLException e) {
             System.err.println("Error getting active leave types: " + e.getMessage());
         }
@@ -270,6 +279,32 @@ public class LeaveTypeDAO {
         return leaveTypes;
     }
     
+    /**
+     * Read the whole leave type table once into ReferenceDataCache
+     * (invalidated by the write methods of this DAO and ReferenceDataDAO)
+     */
+    private List<LeaveTypeModel> cachedLeaveTypes() throws SQLException {
+        return referenceCache.get(Region.LEAVE_TYPES, "LeaveTypeDAO.all", () -> {
+            List<LeaveTypeModel> leaveTypes = new ArrayList<>();
+            
+            try (Connection conn = getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(SELECT_ALL);
+                 ResultSet rs = stmt.executeQuery()) {
+                
+                while (rs.next()) {
+                    leaveTypes.add(mapResultSetToLeaveType(rs));
+                }
+            }
+            return List.copyOf(leaveTypes);
+        });
+    }
+    
+    // Cached models are shared, so callers get their own copy
+    private static LeaveTypeModel copyOf(LeaveTypeModel cached) {
+        return new LeaveTypeModel(cached.getLeaveTypeId(), cached.getLeaveTypeName(), cached.getLeaveDescription(),
+                                  cached.getMaxDaysPerYear(), cached.getCreatedAt());
+    }
+    
     /**
      * Delete leave type with validation
      * @param leaveTypeId
@@ -290,7 +325,11 @@ public class LeaveTypeDAO {
              PreparedStatement stmt = conn.prepareStatement(DELETE_LEAVE_TYPE)) {
             
             stmt.setInt(1, leaveTypeId);
-            return stmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_TYPE, stmt::executeUpdate) > 0;
+            if (success) {
+                referenceCache.invalidate(Region.LEAVE_TYPES);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error deleting leave type: " + e.getMessage());
@@ -419,13 +458,35 @@ public class LeaveTypeDAO {
     }
     
     /**
-     * Get leave type statistics for a specific year
+     * Get leave type statistics for a specific year (requests filed in the year)
      * @param year
      * @return 
      */
     public List<Map<String, Object>> getLeaveTypeStatistics(int year) {
         List<Map<String, Object>> statistics = new ArrayList<>();
         
+        LeaveAnalyticsCube cube = new LeaveRequestDAO().getAnalyticsCube();
+        if (cube != null) {
+            Map<Object, LeaveAnalyticsCube.Measures> byType = 
+                cube.rollup(LeaveAnalyticsCube.DateBasis.DATE_CREATED, LeaveAnalyticsCube.Dimension.LEAVE_TYPE,
+                            year, null, null, null, null);
+            
+            for (LeaveTypeModel leaveType : getAllLeaveTypes()) {
+                LeaveAnalyticsCube.Measures measures = byType.getOrDefault(leaveType.getLeaveTypeId(), 
+                                                                         new LeaveAnalyticsCube.Measures());
+                Map<String, Object> stats = new HashMap<>();
+                stats.put("leaveTypeId", leaveType.getLeaveTypeId());
+                stats.put("leaveTypeName", leaveType.getLeaveTypeName());
+                stats.put("totalRequests", measures.getRequestCount());
+                stats.put("approvedRequests", measures.getApprovedCount());
+                stats.put("avgLeaveDays", measures.getAverageApprovedDays());
+                stats.put("approvalRate", measures.getApprovalRate());
+                statistics.add(stats);
+            }
+            statistics.sort((a, b) -> Integer.compare((Integer) b.get("totalRequests"), (Integer) a.get("totalRequests")));
+            return statistics;
+        }
+        
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_LEAVE_TYPE_STATISTICS)) {
             
@@ -466,6 +527,31 @@ public class LeaveTypeDAO {
             return new HashMap<>();
         }
         
+        LeaveAnalyticsCube cube = new LeaveRequestDAO().getAnalyticsCube();
+        LeaveTypeModel leaveType = cube != null ? getLeaveTypeById(leaveTypeId) : null;
+        if (leaveType != null) {
+            LeaveAnalyticsCube.Measures measures = cube.query(year, null, null, leaveTypeId, null);
+            Integer maxDays = leaveType.getMaxDaysPerYear();
+            
+            Map<String, Object> report = new HashMap<>();
+            report.put("leaveTypeId", leaveTypeId);
+            report.put("leaveTypeName", leaveType.getLeaveTypeName());
+            report.put("maxDaysPerYear", maxDays);
+            report.put("totalRequests", measures.getRequestCount());
+            report.put("totalDaysUsed", measures.getApprovedDays());
+            report.put("employeesUsed", measures.getDistinctEmployees());
+            report.put("avgDaysPerRequest", measures.getAverageApprovedDays());
+            report.put("year", year);
+            
+            if (maxDays != null && maxDays > 0 && measures.getDistinctEmployees() > 0) {
+                report.put("utilizationRate", 
+                    (double) measures.getApprovedDays() / (maxDays * measures.getDistinctEmployees()) * 100);
+            } else {
+                report.put("utilizationRate", 0.0);
+            }
+            return report;
+        }
+        
         String query = "SELECT " +
                       "lt.leaveTypeName, " +
                       "lt.maxDaysPerYear, " +
@@ -590,7 +676,11 @@ public class LeaveTypeDAO {
              PreparedStatement stmt = conn.prepareStatement(query)) {
             
             stmt.setInt(1, leaveTypeId);
-            return stmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_TYPE, stmt::executeUpdate) > 0;
+            if (success) {
+                referenceCache.invalidate(Region.LEAVE_TYPES);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error deactivating leave type: " + e.getMessage());
@@ -617,7 +707,11 @@ public class LeaveTypeDAO {
             
             stmt.setInt(1, maxDaysPerYear);
             stmt.setInt(2, leaveTypeId);
-            return stmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_TYPE, stmt::executeUpdate) > 0;
+            if (success) {
+                referenceCache.invalidate(Region.LEAVE_TYPES);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error reactivating leave type: " + e.getMessage());
@@ -0,0 +1,157 @@
+package DAOs;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * LoginLockoutDAO - Persists LoginThrottle lockouts so they survive a restart
+ *
+ *   CREATE TABLE login_lockout (
+ *     email VARCHAR(255) PRIMARY KEY,
+ *     failedCount INT NOT NULL,
+ *     lockedUntil TIMESTAMP NOT NULL,
+ *     INDEX idx_lockout_until (lockedUntil)
+ *   );
+ *
+ * Rows are written only when an email becomes locked and removed when it logs
+ * in again, so failed attempts themselves never touch the database. When the
+ * table is missing, lockouts are simply kept in memory.
+ * @author User
+ */
+public class LoginLockoutDAO {
+
+    // MySQL error code for "table doesn't exist"
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    private static final String UPSERT_LOCKOUT =
+        "INSERT INTO login_lockout (email, failedCount, lockedUntil) VALUES (?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE failedCount = VALUES(failedCount), lockedUntil = VALUES(lockedUntil)";
+
+    private final DatabaseConnection databaseConnection;
+
+    // Set once the table is known to be missing, so persistence is skipped
+    private volatile boolean lockoutTableMissing = false;
+
+    public LoginLockoutDAO(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Create or extend a lockout
+     * @param email Normalized email address
+     * @param failedCount Failures in the window when the email was locked
+     * @param lockedUntilMillis When the lockout ends, in epoch milliseconds
+     * @return true if the lockout was stored
+     */
+    public boolean saveLockout(String email, int failedCount, long lockedUntilMillis) {
+        if (lockoutTableMissing) {
+            return false;
+        }
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT_LOCKOUT)) {
+
+            pstmt.setString(1, email);
+            pstmt.setInt(2, failedCount);
+            pstmt.setTimestamp(3, new Timestamp(lockedUntilMillis));
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not save login lockout: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Remove an email's lockout
+     * @param email Normalized email address
+     * @return true if a row was removed
+     */
+    public boolean deleteLockout(String email) {
+        if (lockoutTableMissing) {
+            return false;
+        }
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM login_lockout WHERE email = ?")) {
+
+            pstmt.setString(1, email);
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not delete login lockout: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Get when an email's stored lockout ends
+     * @param email Normalized email address
+     * @param nowMillis Current time in epoch milliseconds
+     * @return Epoch milliseconds the lockout ends, or 0 if it has none that is active
+     */
+    public long findLockedUntil(String email, long nowMillis) {
+        if (lockoutTableMissing) {
+            return 0;
+        }
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT lockedUntil FROM login_lockout WHERE email = ? AND lockedUntil > ?")) {
+
+            pstmt.setString(1, email);
+            pstmt.setTimestamp(2, new Timestamp(nowMillis));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getTimestamp("lockedUntil").getTime() : 0;
+            }
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not look up login lockout: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Load the lockouts that have not ended, and purge the ones that have
+     * @param nowMillis Current time in epoch milliseconds
+     * @return Email to lockout end in epoch milliseconds
+     */
+    public Map<String, Long> findActive(long nowMillis) {
+        Map<String, Long> lockouts = new HashMap<>();
+        if (lockoutTableMissing) {
+            return lockouts;
+        }
+        Timestamp now = new Timestamp(nowMillis);
+
+        try (Connection conn = databaseConnection.createConnection()) {
+            try (PreparedStatement purge = conn.prepareStatement("DELETE FROM login_lockout WHERE lockedUntil <= ?")) {
+                purge.setTimestamp(1, now);
+                purge.executeUpdate();
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT email, lockedUntil FROM login_lockout WHERE lockedUntil > ?")) {
+                pstmt.setTimestamp(1, now);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        lockouts.put(rs.getString("email"), rs.getTimestamp("lockedUntil").getTime());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not load login lockouts: " + e.getMessage());
+        }
+        return lockouts;
+    }
+
+    private void markTableMissing(SQLException e) {
+        if (e.getErrorCode() == ER_NO_SUCH_TABLE) {
+            lockoutTableMissing = true;
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package DAOs;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts failed logins per email and per source in sliding windows, and locks
+ * an email once it has too many failures. UserAuthenticationDAO asks check()
+ * before it reads the account or hashes anything, so a locked email or a noisy
+ * source costs a lookup instead of a PBKDF2 computation.
+ *
+ * Each window is a small ring of time buckets. A bucket packs its bucket number
+ * and its count into one long, so recording a failure is a single
+ * compare-and-set and counting needs no lock: buckets whose number has fallen
+ * out of the window are simply ignored.
+ *
+ * The shared instance is configured from system properties:
+ *   motorph.login.maxFailures        failures per email before it is locked (default 5)
+ *   motorph.login.sourceMaxFailures  failures per source before it is throttled (default 20)
+ *   motorph.login.windowSeconds      length of the sliding window (default 900)
+ *   motorph.login.lockoutSeconds     how long a locked email stays locked (default 900)
+ *
+ * With start(LoginLockoutDAO) email lockouts are also written to the
+ * login_lockout table, so restarting the application does not lift them, and
+ * check(), isLocked() and getLockedUntil() look an email up there too, so a
+ * lockout made by another client is honoured. The answer is kept on the
+ * email's counter and read again at most every PERSISTED_RECHECK_MILLIS.
+ * Source counters are kept in memory only.
+ * @author User
+ */
+public class LoginThrottle {
+
+    public static final int DEFAULT_MAX_FAILURES = 5;
+    public static final int DEFAULT_SOURCE_MAX_FAILURES = 20;
+    public static final int DEFAULT_WINDOW_SECONDS = 900;
+    public static final int DEFAULT_LOCKOUT_SECONDS = 900;
+
+    private static final LoginThrottle INSTANCE = new LoginThrottle(
+        intProperty("motorph.login.maxFailures", DEFAULT_MAX_FAILURES),
+        intProperty("motorph.login.sourceMaxFailures", DEFAULT_SOURCE_MAX_FAILURES),
+        intProperty("motorph.login.windowSeconds", DEFAULT_WINDOW_SECONDS) * 1000L,
+        intProperty("motorph.login.lockoutSeconds", DEFAULT_LOCKOUT_SECONDS) * 1000L,
+        System::currentTimeMillis);
+
+    // Buckets per window; the window slides in steps of windowMillis / BUCKETS
+    private static final int BUCKETS = 16;
+    // Low bits of a bucket hold the count, high bits the bucket number
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    // Idle counters are swept once this many are tracked
+    private static final int SWEEP_THRESHOLD = 10_000;
+    // How long a login_lockout lookup is trusted before the table is read again
+    static final long PERSISTED_RECHECK_MILLIS = 30_000;
+    // Marks a counter whose email has not been looked up in login_lockout yet
+    private static final long NEVER_CHECKED = Long.MIN_VALUE;
+
+    /**
+     * Whether an attempt may go ahead
+     */
+    public enum Decision {
+        /** Not throttled; verify the password */
+        ALLOWED,
+        /** The email is locked after too many failures */
+        EMAIL_LOCKED,
+        /** The source has too many recent failures */
+        SOURCE_THROTTLED
+    }
+
+    private final int maxFailures;
+    private final int sourceMaxFailures;
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final long lockoutMillis;
+    private final LongSupplier clock;
+
+    private final Map<String, Counter> emails = new ConcurrentHashMap<>();
+    private final Map<String, Counter> sources = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final AtomicLong lockouts = new AtomicLong();
+    private final AtomicLong rejectedLocked = new AtomicLong();
+    private final AtomicLong rejectedSource = new AtomicLong();
+
+    private volatile LoginLockoutDAO lockoutDAO;
+
+    /**
+     * Get the shared throttle
+     * @return The throttle used by UserAuthenticationDAO
+     */
+    public static LoginThrottle getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone throttle. Application code should use getInstance()
+     * so every login path shares the same counters.
+     * @param maxFailures Failures per email within the window before it is locked
+     * @param sourceMaxFailures Failures per source within the window before it is throttled
+     * @param windowMillis Length of the sliding window
+     * @param lockoutMillis How long a locked email stays locked
+     * @param clock Source of the current time in epoch milliseconds
+     */
+    public LoginThrottle(int maxFailures, int sourceMaxFailures, long windowMillis, long lockoutMillis,
+                         LongSupplier clock) {
+        if (maxFailures <= 0 || sourceMaxFailures <= 0 || windowMillis <= 0 || lockoutMillis <= 0) {
+            throw new IllegalArgumentException("Failure limits, window and lockout must be positive");
+        }
+        this.maxFailures = maxFailures;
+        this.sourceMaxFailures = sourceMaxFailures;
+        this.windowMillis = windowMillis;
+        this.bucketMillis = Math.max(1, windowMillis / BUCKETS);
+        this.lockoutMillis = lockoutMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Restore persisted lockouts and keep new ones in the lockout table
+     * @param lockoutDAO DAO for the login_lockout table
+     */
+    public void start(LoginLockoutDAO lockoutDAO) {
+        long now = clock.getAsLong();
+        for (Map.Entry<String, Long> lockout : lockoutDAO.findActive(now).entrySet()) {
+            Counter counter = emails.computeIfAbsent(normalize(lockout.getKey()), key -> new Counter());
+            counter.lockedUntil.accumulateAndGet(lockout.getValue(), Math::max);
+            counter.persisted = true;
+        }
+        this.lockoutDAO = lockoutDAO;
+    }
+
+    /**
+     * Decide whether an attempt may go ahead. Call before any password hashing.
+     * @param email Email being logged into
+     * @param source Where the attempt comes from (host or address), or null if unknown
+     * @return ALLOWED, or why the attempt is refused
+     */
+    public Decision check(String email, String source) {
+        long now = clock.getAsLong();
+
+        if (email != null && lockedUntil(email, now) > now) {
+            rejectedLocked.incrementAndGet();
+            return Decision.EMAIL_LOCKED;
+        }
+        if (source != null) {
+            Counter counter = sources.get(source);
+            if (counter != null && counter.count(epoch(now)) >= sourceMaxFailures) {
+                rejectedSource.incrementAndGet();
+                return Decision.SOURCE_THROTTLED;
+            }
+        }
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * Record a failed attempt, locking the email if it reached the limit
+     * @param email Email that failed to log in
+     * @param source Where the attempt came from, or null if unknown
+     * @return true if this failure locked the email
+     */
+    public boolean recordFailure(String email, String source) {
+        long now = clock.getAsLong();
+        long epoch = epoch(now);
+
+        if (source != null) {
+            sources.computeIfAbsent(source, key -> new Counter()).increment(epoch, now);
+        }
+        if (email == null) {
+            sweepIfLarge(now);
+            return false;
+        }
+
+        String key = normalize(email);
+        Counter counter = emails.computeIfAbsent(key, k -> new Counter());
+        counter.increment(epoch, now);
+
+        boolean locked = false;
+        int failures = counter.count(epoch);
+        if (failures >= maxFailures) {
+            long until = now + lockoutMillis;
+            long previous = counter.lockedUntil.get();
+            // Only the thread that moves an expired lock forward reports the lockout
+            if (previous <= now && counter.lockedUntil.compareAndSet(previous, until)) {
+                locked = true;
+                lockouts.incrementAndGet();
+                LoginLockoutDAO dao = lockoutDAO;
+                if (dao != null && dao.saveLockout(key, failures, until)) {
+                    counter.persisted = true;
+                }
+            }
+        }
+        sweepIfLarge(now);
+        return locked;
+    }
+
+    /**
+     * Forget an email's failures after a successful login
+     * @param email Email that logged in
+     */
+    public void recordSuccess(String email) {
+        if (email != null) {
+            clear(normalize(email));
+        }
+    }
+
+    /**
+     * Lift a lockout before it expires (e.g. after an administrator reset)
+     * @param email Email to unlock
+     */
+    public void unlock(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = normalize(email);
+        Counter counter = emails.get(key);
+        boolean persisted = counter == null || counter.persisted;
+        emails.remove(key);
+        LoginLockoutDAO dao = lockoutDAO;
+        if (dao != null && persisted) {
+            dao.deleteLockout(key);
+        }
+    }
+
+    /**
+     * Check whether an email is currently locked
+     * @param email Email address
+     * @return true if logins for the email are refused
+     */
+    public boolean isLocked(String email) {
+        if (email == null) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        return lockedUntil(email, now) > now;
+    }
+
+    /**
+     * Get when an email's lockout ends
+     * @param email Email address
+     * @return Epoch milliseconds the lockout ends, or 0 if it is not locked
+     */
+    public long getLockedUntil(String email) {
+        if (email == null) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        long until = lockedUntil(email, now);
+        return until > now ? until : 0;
+    }
+
+    /**
+     * Count an email's failures in the current window
+     * @param email Email address
+     * @return Failures within the sliding window
+     */
+    public int getFailureCount(String email) {
+        Counter counter = email != null ? emails.get(normalize(email)) : null;
+        return counter != null ? counter.count(epoch(clock.getAsLong())) : 0;
+    }
+
+    /**
+     * Get a snapshot of the throttle metrics
+     * @return Counters tracked, lockouts and rejections so far
+     */
+    public ThrottleStats getStats() {
+        long now = clock.getAsLong();
+        int locked = 0;
+        for (Counter counter : emails.values()) {
+            if (counter.lockedUntil.get() > now) {
+                locked++;
+            }
+        }
+        return new ThrottleStats(emails.size(), sources.size(), locked,
+                                 lockouts.get(), rejectedLocked.get(), rejectedSource.get());
+    }
+
+    /**
+     * Get when an email's lockout ends, including lockouts stored by any client.
+     * The stored state is cached on the email's counter and looked up again
+     * only after PERSISTED_RECHECK_MILLIS, so repeated attempts do not each
+     * query the lockout table.
+     */
+    private long lockedUntil(String email, long now) {
+        String key = normalize(email);
+        Counter counter = emails.get(key);
+        if (counter != null && counter.lockedUntil.get() > now) {
+            return counter.lockedUntil.get();
+        }
+        LoginLockoutDAO dao = lockoutDAO;
+        if (dao == null) {
+            return counter != null ? counter.lockedUntil.get() : 0;
+        }
+        if (counter == null) {
+            counter = emails.computeIfAbsent(key, k -> new Counter());
+            sweepIfLarge(now);
+        }
+        long checkedAt = counter.persistedCheckedAt;
+        if (checkedAt != NEVER_CHECKED && now - checkedAt < PERSISTED_RECHECK_MILLIS) {
+            return counter.lockedUntil.get();
+        }
+        counter.persistedCheckedAt = now;
+        long until = dao.findLockedUntil(key, now);
+        if (until > now) {
+            counter.lockedUntil.accumulateAndGet(until, Math::max);
+            counter.persisted = true;
+        }
+        return counter.lockedUntil.get();
+    }
+
+    private void clear(String key) {
+        Counter counter = emails.remove(key);
+        LoginLockoutDAO dao = lockoutDAO;
+        if (counter != null && counter.persisted && dao != null) {
+            dao.deleteLockout(key);
+        }
+    }
+
+    private long epoch(long now) {
+        return now / bucketMillis;
+    }
+
+    /**
+     * Drop counters with no failures in the window and no active lock, so
+     * attempts against many made-up emails cannot grow the maps without limit.
+     * Expired rows left in the lockout table are purged by its next load.
+     */
+    private void sweepIfLarge(long now) {
+        if (emails.size() + sources.size() < SWEEP_THRESHOLD || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long idleBefore = now - windowMillis;
+            sweep(emails.values().iterator(), now, idleBefore);
+            sweep(sources.values().iterator(), now, idleBefore);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static void sweep(Iterator<Counter> counters, long now, long idleBefore) {
+        while (counters.hasNext()) {
+            Counter counter = counters.next();
+            if (counter.lastFailure <= idleBefore && counter.lockedUntil.get() <= now) {
+                counters.remove();
+            }
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            return parsed > 0 ? parsed : defaultValue;
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + name + " setting, using default: " + e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Sliding-window failure counter for one email or source
+     */
+    private static final class Counter {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong lockedUntil = new AtomicLong();
+        private volatile long lastFailure;
+        private volatile boolean persisted;
+        private volatile long persistedCheckedAt = NEVER_CHECKED;
+
+        void increment(long epoch, long now) {
+            int slot = (int) (epoch % BUCKETS);
+            while (true) {
+                long current = buckets.get(slot);
+                long next;
+                if (current >>> COUNT_BITS == epoch) {
+                    if ((current & COUNT_MASK) == COUNT_MASK) {
+                        break; // saturated; already far past any limit
+                    }
+                    next = current + 1;
+                } else {
+                    next = (epoch << COUNT_BITS) | 1; // bucket was from an older window
+                }
+                if (buckets.compareAndSet(slot, current, next)) {
+                    break;
+                }
+            }
+            lastFailure = now;
+        }
+
+        int count(long epoch) {
+            int total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long bucket = buckets.get(i);
+                long age = epoch - (bucket >>> COUNT_BITS);
+                if (age >= 0 && age < BUCKETS) {
+                    total += (int) (bucket & COUNT_MASK);
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Throttle metrics snapshot
+     */
+    public static class ThrottleStats {
+        private final int trackedEmails;
+        private final int trackedSources;
+        private final int lockedEmails;
+        private final long lockouts;
+        private final long rejectedLocked;
+        private final long rejectedSource;
+
+        ThrottleStats(int trackedEmails, int trackedSources, int lockedEmails,
+                      long lockouts, long rejectedLocked, long rejectedSource) {
+            this.trackedEmails = trackedEmails;
+            this.trackedSources = trackedSources;
+            this.lockedEmails = lockedEmails;
+            this.lockouts = lockouts;
+            this.rejectedLocked = rejectedLocked;
+            this.rejectedSource = rejectedSource;
+        }
+
+        public int getTrackedEmails() { return trackedEmails; }
+        public int getTrackedSources() { return trackedSources; }
+        public int getLockedEmails() { return lockedEmails; }
+        public long getLockouts() { return lockouts; }
+        public long getRejectedLocked() { return rejectedLocked; }
+        public long getRejectedSource() { return rejectedSource; }
+
+        @Override
+        public String toString() {
+            return String.format("ThrottleStats{emails=%d, sources=%d, locked=%d, lockouts=%d, " +
+                                 "rejectedLocked=%d, rejectedSource=%d}",
+                                 trackedEmails, trackedSources, lockedEmails, lockouts, rejectedLocked, rejectedSource);
+        }
+    }
+}
@@ -0,0 +1,517 @@
+package DAOs;
+
+import Models.OvertimePayAccrual;
+import Models.OvertimeRequestModel;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * OvertimePayAccrualDAO - Precomputed overtime pay per approved overtime request
+ *
+ * OvertimeService.approveOvertimeRequest stores the hours and pay of a request
+ * once, with the hourly rate in effect and in the same transaction as the
+ * approval, so payroll and reports only sum ready-made amounts. Rows are keyed
+ * by overtime request:
+ *
+ *   CREATE TABLE overtimepayaccrual (
+ *     overtimeRequestId INT PRIMARY KEY,
+ *     employeeId INT NOT NULL,
+ *     overtimeDate DATE NOT NULL,
+ *     overtimeHours DECIMAL(6,2) NOT NULL,
+ *     hourlyRate DECIMAL(10,2) NOT NULL,
+ *     multiplier DECIMAL(4,2) NOT NULL,
+ *     overtimePay DECIMAL(12,2) NOT NULL,
+ *     computedAt TIMESTAMP NOT NULL,
+ *     INDEX idx_accrual_employee_date (employeeId, overtimeDate),
+ *     FOREIGN KEY (overtimeRequestId) REFERENCES overtimerequest(overtimeRequestId) ON DELETE CASCADE
+ *   );
+ *
+ * Reads never write. Approved requests without a row (approved before this
+ * table existed, or through another screen) are priced on read with the
+ * current hourly rate; backfillMissingAccruals(), run in the background at
+ * application startup, stores them once. Totals only count rows whose request is
+ * still approved. When the table is missing the totals are computed from
+ * overtimerequest as before.
+ * @author User
+ */
+public class OvertimePayAccrualDAO {
+
+    // MySQL error code for "table doesn't exist"
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    private static final String UPSERT_ACCRUAL =
+        "INSERT INTO overtimepayaccrual " +
+        "(overtimeRequestId, employeeId, overtimeDate, overtimeHours, hourlyRate, multiplier, overtimePay, computedAt) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON DUPLICATE KEY UPDATE employeeId = VALUES(employeeId), overtimeDate = VALUES(overtimeDate), " +
+        "overtimeHours = VALUES(overtimeHours), hourlyRate = VALUES(hourlyRate), " +
+        "multiplier = VALUES(multiplier), overtimePay = VALUES(overtimePay), computedAt = CURRENT_TIMESTAMP";
+
+    private static final String SELECT_MISSING_ACCRUALS =
+        "SELECT o.overtimeRequestId, o.employeeId, o.overtimeStart, o.overtimeEnd, e.hourlyRate " +
+        "FROM overtimerequest o " +
+        "JOIN employee e ON o.employeeId = e.employeeId " +
+        "LEFT JOIN overtimepayaccrual a ON a.overtimeRequestId = o.overtimeRequestId " +
+        "WHERE o.employeeId = ? AND o.approvalStatus = 'Approved' " +
+        "AND o.overtimeStart >= ? AND o.overtimeStart < ? AND a.overtimeRequestId IS NULL";
+
+    private static final String SELECT_ALL_MISSING_ACCRUALS =
+        "SELECT o.overtimeRequestId, o.employeeId, o.overtimeStart, o.overtimeEnd, e.hourlyRate " +
+        "FROM overtimerequest o " +
+        "JOIN employee e ON o.employeeId = e.employeeId " +
+        "LEFT JOIN overtimepayaccrual a ON a.overtimeRequestId = o.overtimeRequestId " +
+        "WHERE o.approvalStatus = 'Approved' AND a.overtimeRequestId IS NULL";
+
+    private static final String SELECT_MISSING_ACCRUALS_FOR_PERIOD =
+        "SELECT o.overtimeRequestId, o.employeeId, o.overtimeStart, o.overtimeEnd, e.hourlyRate " +
+        "FROM overtimerequest o " +
+        "JOIN employee e ON o.employeeId = e.employeeId " +
+        "LEFT JOIN overtimepayaccrual a ON a.overtimeRequestId = o.overtimeRequestId " +
+        "WHERE o.approvalStatus = 'Approved' " +
+        "AND o.overtimeStart >= ? AND o.overtimeStart < ? AND a.overtimeRequestId IS NULL";
+
+    private static final String SELECT_PERIOD_ACCRUALS =
+        "SELECT a.* FROM overtimepayaccrual a " +
+        "JOIN overtimerequest o ON a.overtimeRequestId = o.overtimeRequestId AND o.approvalStatus = 'Approved' " +
+        "WHERE a.overtimeDate BETWEEN ? AND ? " +
+        "ORDER BY a.employeeId, a.overtimeDate";
+
+    private static final String SELECT_PERIOD_TOTALS =
+        "SELECT COALESCE(SUM(a.overtimeHours), 0) AS totalHours, COALESCE(SUM(a.overtimePay), 0) AS totalPay, " +
+        "COUNT(*) AS requestCount " +
+        "FROM overtimepayaccrual a " +
+        "JOIN overtimerequest o ON a.overtimeRequestId = o.overtimeRequestId AND o.approvalStatus = 'Approved' " +
+        "WHERE a.employeeId = ? AND a.overtimeDate BETWEEN ? AND ?";
+
+    private static final String SELECT_LEGACY_TOTALS =
+        "SELECT COALESCE(SUM(TIMESTAMPDIFF(MINUTE, o.overtimeStart, o.overtimeEnd)), 0) AS totalMinutes, " +
+        "COUNT(*) AS requestCount, MAX(e.hourlyRate) AS hourlyRate " +
+        "FROM overtimerequest o " +
+        "JOIN employee e ON o.employeeId = e.employeeId " +
+        "WHERE o.employeeId = ? AND o.approvalStatus = 'Approved' " +
+        "AND o.overtimeStart >= ? AND o.overtimeStart < ?";
+
+    // Only rows not yet covered by a generated payroll are repriced
+    private static final String REPRICE_UNPAID_ACCRUALS =
+        "UPDATE overtimepayaccrual a " +
+        "SET a.hourlyRate = ?, a.overtimePay = ROUND(a.overtimeHours * ? * a.multiplier, 2), " +
+        "a.computedAt = CURRENT_TIMESTAMP " +
+        "WHERE a.employeeId = ? AND a.overtimeDate >= ? AND a.hourlyRate <> ? " +
+        "AND NOT EXISTS (SELECT 1 FROM payroll pr JOIN payperiod pp ON pr.payPeriodId = pp.payPeriodId " +
+        "WHERE pr.employeeId = a.employeeId AND a.overtimeDate BETWEEN pp.startDate AND pp.endDate)";
+
+    private final DatabaseConnection databaseConnection;
+
+    // Set once the table is known to be missing, so reads go straight to the legacy query
+    private volatile boolean accrualTableMissing = false;
+
+    public OvertimePayAccrualDAO(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    public OvertimePayAccrualDAO() {
+        this(new DatabaseConnection());
+    }
+
+    /**
+     * Create or replace the accrual of an overtime request
+     * @param accrual The computed accrual
+     * @return true if stored
+     */
+    public boolean save(OvertimePayAccrual accrual) {
+        if (accrual == null || accrual.getOvertimeRequestId() == null || accrual.getOvertimeDate() == null) {
+            return false;
+        }
+        List<OvertimePayAccrual> accruals = new ArrayList<>();
+        accruals.add(accrual);
+        return saveAll(accruals) == 1;
+    }
+
+    /**
+     * Create or replace several accruals in one batch
+     * @param accruals The computed accruals
+     * @return Number of accruals stored
+     */
+    public int saveAll(List<OvertimePayAccrual> accruals) {
+        if (accruals == null || accruals.isEmpty() || accrualTableMissing) {
+            return 0;
+        }
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT_ACCRUAL)) {
+
+            int count = 0;
+            for (OvertimePayAccrual accrual : accruals) {
+                if (accrual.getOvertimeRequestId() == null || accrual.getOvertimeDate() == null) {
+                    continue;
+                }
+                setUpsertParameters(pstmt, accrual);
+                pstmt.addBatch();
+                count++;
+            }
+            if (count > 0) {
+                pstmt.executeBatch();
+            }
+            return count;
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not save overtime pay accrual: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Create or replace an accrual inside the caller's transaction
+     * @param conn The caller's connection
+     * @param accrual The computed accrual
+     * @return true if stored, false if the accrual is incomplete or the table does not exist
+     * @throws SQLException if the upsert fails for any other reason
+     */
+    public boolean save(Connection conn, OvertimePayAccrual accrual) throws SQLException {
+        if (accrual == null || accrual.getOvertimeRequestId() == null || accrual.getOvertimeDate() == null
+                || accrualTableMissing) {
+            return false;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_ACCRUAL)) {
+            setUpsertParameters(pstmt, accrual);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ER_NO_SUCH_TABLE) {
+                throw e;
+            }
+            markTableMissing(e);
+            System.err.println("Could not save overtime pay accrual (table missing): " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Read - Find the accrual of an overtime request
+     * @param overtimeRequestId The overtime request ID
+     * @return The accrual, or null if none is stored
+     */
+    public OvertimePayAccrual findByOvertimeRequestId(Integer overtimeRequestId) {
+        if (overtimeRequestId == null || accrualTableMissing) {
+            return null;
+        }
+        String sql = "SELECT * FROM overtimepayaccrual WHERE overtimeRequestId = ?";
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, overtimeRequestId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSet(rs);
+                }
+            }
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Error finding overtime pay accrual: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Get the accrued overtime hours and pay of an employee in a date range.
+     * Approved requests that have no accrual yet are priced with the current
+     * hourly rate and counted, but not stored.
+     * @param employeeId The employee ID
+     * @param startDate Range start (inclusive)
+     * @param endDate Range end (inclusive)
+     * @return The totals (zero when nothing is approved)
+     */
+    public OvertimeTotals getPeriodTotals(Integer employeeId, LocalDate startDate, LocalDate endDate) {
+        OvertimeTotals totals = new OvertimeTotals();
+        if (employeeId == null || startDate == null || endDate == null) {
+            return totals;
+        }
+        if (accrualTableMissing) {
+            return getLegacyTotals(employeeId, startDate, endDate);
+        }
+
+        try (Connection conn = databaseConnection.createConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_PERIOD_TOTALS)) {
+                pstmt.setInt(1, employeeId);
+                pstmt.setDate(2, Date.valueOf(startDate));
+                pstmt.setDate(3, Date.valueOf(endDate));
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        totals.setTotalHours(rs.getBigDecimal("totalHours"));
+                        totals.setTotalPay(rs.getBigDecimal("totalPay"));
+                        totals.setRequestCount(rs.getInt("requestCount"));
+                    }
+                }
+            }
+
+            List<OvertimePayAccrual> missing = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_MISSING_ACCRUALS)) {
+                pstmt.setInt(1, employeeId);
+                pstmt.setTimestamp(2, Timestamp.valueOf(startDate.atStartOfDay()));
+                pstmt.setTimestamp(3, Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    readMissingAccruals(rs, missing);
+                }
+            }
+            for (OvertimePayAccrual accrual : missing) {
+                totals.add(accrual);
+            }
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Error reading accrued overtime totals: " + e.getMessage());
+            if (accrualTableMissing) {
+                return getLegacyTotals(employeeId, startDate, endDate);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Store an accrual for every approved request that has none yet, priced with
+     * the employee's current hourly rate. A one-off backfill for requests
+     * approved before the table existed; new approvals are accrued by
+     * OvertimeService.approveOvertimeRequest.
+     * @return Number of accruals created
+     */
+    public int backfillMissingAccruals() {
+        if (accrualTableMissing) {
+            return 0;
+        }
+        List<OvertimePayAccrual> missing = new ArrayList<>();
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_ALL_MISSING_ACCRUALS);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            readMissingAccruals(rs, missing);
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not read unaccrued overtime: " + e.getMessage());
+            return 0;
+        }
+
+        return saveAll(missing);
+    }
+
+    /**
+     * Get every approved accrual in a date range, for all employees.
+     * Approved requests in the range that have no accrual yet are priced with
+     * the current hourly rate and included without being stored, so the result
+     * matches what getPeriodTotals would sum per employee.
+     * Used by payroll generation to total overtime and link payrolls to their
+     * overtime requests from a single read.
+     * @param startDate Range start (inclusive)
+     * @param endDate Range end (inclusive)
+     * @return The accruals ordered by employee and date, or null when the accrual
+     *         table does not exist (callers then fall back to getPeriodTotals)
+     */
+    public List<OvertimePayAccrual> findApprovedInPeriod(LocalDate startDate, LocalDate endDate) {
+        if (accrualTableMissing) {
+            return null;
+        }
+        List<OvertimePayAccrual> accruals = new ArrayList<>();
+        if (startDate == null || endDate == null) {
+            return accruals;
+        }
+
+        try (Connection conn = databaseConnection.createConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_PERIOD_ACCRUALS)) {
+                pstmt.setDate(1, Date.valueOf(startDate));
+                pstmt.setDate(2, Date.valueOf(endDate));
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        accruals.add(mapResultSet(rs));
+                    }
+                }
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_MISSING_ACCRUALS_FOR_PERIOD)) {
+                pstmt.setTimestamp(1, Timestamp.valueOf(startDate.atStartOfDay()));
+                pstmt.setTimestamp(2, Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    readMissingAccruals(rs, accruals);
+                }
+            }
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Error reading overtime pay accruals for period: " + e.getMessage());
+            return accrualTableMissing ? null : accruals;
+        }
+
+        accruals.sort(Comparator.comparing(OvertimePayAccrual::getEmployeeId)
+                                .thenComparing(OvertimePayAccrual::getOvertimeDate));
+        return accruals;
+    }
+
+    /**
+     * Reprice accruals after an hourly rate change. Only accruals on or after the
+     * given date that are not yet covered by a generated payroll are updated.
+     * @param employeeId The employee ID
+     * @param hourlyRate The new hourly rate
+     * @param fromDate First overtime date to reprice
+     * @return Number of accruals repriced
+     */
+    public int repriceUnpaidAccruals(Integer employeeId, BigDecimal hourlyRate, LocalDate fromDate) {
+        if (employeeId == null || hourlyRate == null || fromDate == null || accrualTableMissing) {
+            return 0;
+        }
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(REPRICE_UNPAID_ACCRUALS)) {
+
+            pstmt.setBigDecimal(1, hourlyRate);
+            pstmt.setBigDecimal(2, hourlyRate);
+            pstmt.setInt(3, employeeId);
+            pstmt.setDate(4, Date.valueOf(fromDate));
+            pstmt.setBigDecimal(5, hourlyRate);
+            return pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not reprice overtime pay accruals: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Delete the accrual of an overtime request
+     * @param overtimeRequestId The overtime request ID
+     * @return true if a row was deleted
+     */
+    public boolean delete(Integer overtimeRequestId) {
+        if (overtimeRequestId == null || accrualTableMissing) {
+            return false;
+        }
+        String sql = "DELETE FROM overtimepayaccrual WHERE overtimeRequestId = ?";
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, overtimeRequestId);
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Error deleting overtime pay accrual: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Totals computed straight from overtimerequest (1.5x the current rate),
+     * used only while the accrual table does not exist
+     */
+    private OvertimeTotals getLegacyTotals(Integer employeeId, LocalDate startDate, LocalDate endDate) {
+        OvertimeTotals totals = new OvertimeTotals();
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_LEGACY_TOTALS)) {
+
+            pstmt.setInt(1, employeeId);
+            pstmt.setTimestamp(2, Timestamp.valueOf(startDate.atStartOfDay()));
+            pstmt.setTimestamp(3, Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    BigDecimal hours = new BigDecimal(rs.getLong("totalMinutes"))
+                        .divide(new BigDecimal(60), 2, RoundingMode.HALF_UP);
+                    BigDecimal hourlyRate = rs.getBigDecimal("hourlyRate");
+                    totals.setTotalHours(hours);
+                    totals.setRequestCount(rs.getInt("requestCount"));
+                    if (hourlyRate != null) {
+                        totals.setTotalPay(hours.multiply(hourlyRate)
+                            .multiply(OvertimePayAccrual.PAYROLL_OVERTIME_MULTIPLIER)
+                            .setScale(2, RoundingMode.HALF_UP));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error calculating overtime totals: " + e.getMessage());
+        }
+        return totals;
+    }
+
+    /**
+     * Price each unaccrued approved request returned by a SELECT_MISSING_ACCRUALS query
+     */
+    private void readMissingAccruals(ResultSet rs, List<OvertimePayAccrual> missing) throws SQLException {
+        while (rs.next()) {
+            Timestamp overtimeStart = rs.getTimestamp("overtimeStart");
+            Timestamp overtimeEnd = rs.getTimestamp("overtimeEnd");
+            if (overtimeStart == null || overtimeEnd == null) {
+                continue;
+            }
+            OvertimeRequestModel request = new OvertimeRequestModel();
+            request.setOvertimeRequestId(rs.getInt("overtimeRequestId"));
+            request.setEmployeeId(rs.getInt("employeeId"));
+            request.setOvertimeStart(overtimeStart.toLocalDateTime());
+            request.setOvertimeEnd(overtimeEnd.toLocalDateTime());
+            missing.add(OvertimePayAccrual.forRequest(request, rs.getBigDecimal("hourlyRate")));
+        }
+    }
+
+    private static void setUpsertParameters(PreparedStatement pstmt, OvertimePayAccrual accrual) throws SQLException {
+        pstmt.setInt(1, accrual.getOvertimeRequestId());
+        pstmt.setInt(2, accrual.getEmployeeId());
+        pstmt.setDate(3, Date.valueOf(accrual.getOvertimeDate()));
+        pstmt.setBigDecimal(4, accrual.getOvertimeHours());
+        pstmt.setBigDecimal(5, accrual.getHourlyRate());
+        pstmt.setBigDecimal(6, accrual.getMultiplier());
+        pstmt.setBigDecimal(7, accrual.getOvertimePay());
+    }
+
+    private void markTableMissing(SQLException e) {
+        if (e.getErrorCode() == ER_NO_SUCH_TABLE) {
+            accrualTableMissing = true;
+        }
+    }
+
+    private OvertimePayAccrual mapResultSet(ResultSet rs) throws SQLException {
+        OvertimePayAccrual accrual = new OvertimePayAccrual();
+        accrual.setOvertimeRequestId(rs.getInt("overtimeRequestId"));
+        accrual.setEmployeeId(rs.getInt("employeeId"));
+        Date overtimeDate = rs.getDate("overtimeDate");
+        if (overtimeDate != null) {
+            accrual.setOvertimeDate(overtimeDate.toLocalDate());
+        }
+        accrual.setOvertimeHours(rs.getBigDecimal("overtimeHours"));
+        accrual.setHourlyRate(rs.getBigDecimal("hourlyRate"));
+        accrual.setMultiplier(rs.getBigDecimal("multiplier"));
+        accrual.setOvertimePay(rs.getBigDecimal("overtimePay"));
+        accrual.setComputedAt(rs.getTimestamp("computedAt"));
+        return accrual;
+    }
+
+    /**
+     * Accrued overtime hours and pay of one employee over a date range
+     */
+    public static class OvertimeTotals {
+        private BigDecimal totalHours = BigDecimal.ZERO;
+        private BigDecimal totalPay = BigDecimal.ZERO;
+        private int requestCount = 0;
+
+        public BigDecimal getTotalHours() { return totalHours; }
+        void setTotalHours(BigDecimal totalHours) { this.totalHours = totalHours != null ? totalHours : BigDecimal.ZERO; }
+        public BigDecimal getTotalPay() { return totalPay; }
+        void setTotalPay(BigDecimal totalPay) { this.totalPay = totalPay != null ? totalPay : BigDecimal.ZERO; }
+        public int getRequestCount() { return requestCount; }
+        void setRequestCount(int requestCount) { this.requestCount = requestCount; }
+
+        void add(OvertimePayAccrual accrual) {
+            totalHours = totalHours.add(accrual.getOvertimeHours());
+            totalPay = totalPay.add(accrual.getOvertimePay());
+            requestCount++;
+        }
+    }
+}
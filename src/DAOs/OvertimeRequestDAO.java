@@ -1,10 +1,14 @@
 package DAOs;
 
+import DAOs.CacheVersionDAO.EntityType;
+import Models.OvertimePayAccrual;
 import Models.OvertimeRequestModel;
 import Models.OvertimeRequestModel.ApprovalStatus;
 import java.math.BigDecimal;
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -15,19 +19,27 @@ import java.util.ArrayList;
  */
 public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
 
+    // Same rank-and-file rule as EmployeeDAO.getRankAndFileEmployees()
+    private static final String RANK_AND_FILE_CONDITION =
+        "(LOWER(p.department) = 'rank-and-file' OR LOWER(p.position) LIKE '%rank%file%') " +
+        "AND e.status != 'Terminated'";
+
+    private final OvertimePayAccrualDAO accrualDAO;
+
     /**
      * Constructor that accepts a DatabaseConnection instance
      * @param databaseConnection The database connection to use for all operations
      */
     public OvertimeRequestDAO(DatabaseConnection databaseConnection) {
         super(databaseConnection);
+        this.accrualDAO = new OvertimePayAccrualDAO(databaseConnection);
     }
 
     /**
      * Default constructor using default database connection
      */
     public OvertimeRequestDAO() {
-        super(new DatabaseConnection());
+        this(new DatabaseConnection());
     }
 
     // ABSTRACT METHOD IMPLEMENTATIONS - Required by BaseDAO
@@ -253,7 +265,45 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
             stmt.setString(2, supervisorNotes);
             stmt.setInt(3, overtimeRequestId);
             
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.OVERTIME_REQUEST, stmt::executeUpdate);
+            
+            if (rowsAffected > 0) {
+                System.out.println("Overtime request approved: " + overtimeRequestId);
+                return true;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error approving overtime request: " + e.getMessage());
+        }
+        
+        return false;
+    }
+
+    /**
+     * Approves an overtime request and stores its pay accrual in one transaction,
+     * so payroll never sees an approved request without the amount shown at approval
+     * @param overtimeRequestId The overtime request ID to approve
+     * @param supervisorNotes Optional notes from supervisor
+     * @param accrual The request priced with the rate in effect, or null to store none
+     * @return true if approval was successful
+     */
+    public boolean approveOvertime(Integer overtimeRequestId, String supervisorNotes, OvertimePayAccrual accrual) {
+        String sql = "UPDATE overtimerequest SET approvalStatus = ?, dateApproved = CURRENT_TIMESTAMP, supervisorNotes = ? WHERE overtimeRequestId = ? AND approvalStatus = 'Pending'";
+        
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, "Approved");
+            stmt.setString(2, supervisorNotes);
+            stmt.setInt(3, overtimeRequestId);
+            
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.OVERTIME_REQUEST, () -> {
+                int updated = stmt.executeUpdate();
+                if (updated > 0 && accrual != null) {
+                    accrualDAO.save(conn, accrual);
+                }
+                return updated;
+            });
             
             if (rowsAffected > 0) {
                 System.out.println("Overtime request approved: " + overtimeRequestId);
@@ -288,7 +338,7 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
             stmt.setString(2, supervisorNotes);
             stmt.setInt(3, overtimeRequestId);
             
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.OVERTIME_REQUEST, stmt::executeUpdate);
             
             if (rowsAffected > 0) {
                 System.out.println("Overtime request rejected: " + overtimeRequestId);
@@ -363,40 +413,15 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
 
     /**
      * Gets total overtime hours for an employee in a specific month
-     * Only includes approved overtime requests
+     * Only includes approved overtime requests (read from the accrued hours)
      * @param employeeId The employee ID
      * @param year The year
      * @param month The month (1-12)
      * @return Total overtime hours as BigDecimal
      */
     public BigDecimal getTotalOvertimeHours(Integer employeeId, int year, int month) {
-        String sql = "SELECT SUM(TIMESTAMPDIFF(MINUTE, overtimeStart, overtimeEnd)) as totalMinutes " +
-                    "FROM overtimerequest " +
-                    "WHERE employeeId = ? AND approvalStatus = 'Approved' " +
-                    "AND YEAR(overtimeStart) = ? AND MONTH(overtimeStart) = ?";
-        
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, employeeId);
-            stmt.setInt(2, year);
-            stmt.setInt(3, month);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    long totalMinutes = rs.getLong("totalMinutes");
-                    if (rs.wasNull()) {
-                        return BigDecimal.ZERO;
-                    }
-                    // Convert minutes to hours
-                    return new BigDecimal(totalMinutes).divide(new BigDecimal(60), 2, BigDecimal.ROUND_HALF_UP);
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error calculating total overtime hours: " + e.getMessage());
-        }
-        
-        return BigDecimal.ZERO;
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return accrualDAO.getPeriodTotals(employeeId, yearMonth.atDay(1), yearMonth.atEndOfMonth()).getTotalHours();
     }
 
     /**
@@ -461,8 +486,127 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
         return executeQuery(sql, Timestamp.valueOf(startDate), Timestamp.valueOf(endDate));
     }
 
+    /**
+     * Gets approved overtime totals per rank-and-file employee in one GROUP BY query
+     * @param startDate First day (inclusive)
+     * @param endDate Last day (inclusive)
+     * @param department Department filter, or null for all departments
+     * @return Totals per employee with overtime in the range (unordered)
+     */
+    public List<OvertimeRollup.EmployeeOvertimeTotal> getRankAndFileOvertimeTotals(LocalDate startDate, LocalDate endDate,
+                                                                                  String department) {
+        String sql = "SELECT e.employeeId, e.firstName, e.lastName, e.hourlyRate, p.department, " +
+                    "SUM(TIMESTAMPDIFF(MINUTE, o.overtimeStart, o.overtimeEnd)) AS totalMinutes, " +
+                    "COUNT(*) AS requestCount " +
+                    "FROM overtimerequest o " +
+                    "JOIN employee e ON o.employeeId = e.employeeId " +
+                    "JOIN position p ON e.positionId = p.positionId " +
+                    "WHERE o.approvalStatus = 'Approved' AND o.overtimeStart >= ? AND o.overtimeEnd <= ? " +
+                    "AND " + RANK_AND_FILE_CONDITION +
+                    (department != null ? " AND p.department = ?" : "") +
+                    " GROUP BY e.employeeId, e.firstName, e.lastName, e.hourlyRate, p.department";
+        
+        List<OvertimeRollup.EmployeeOvertimeTotal> totals = new ArrayList<>();
+        
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setTimestamp(1, Timestamp.valueOf(startDate.atStartOfDay()));
+            stmt.setTimestamp(2, Timestamp.valueOf(endDate.atTime(23, 59, 59)));
+            if (department != null) {
+                stmt.setString(3, department);
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    totals.add(new OvertimeRollup.EmployeeOvertimeTotal(
+                        rs.getInt("employeeId"),
+                        fullName(rs.getString("firstName"), rs.getString("lastName")),
+                        rs.getString("department"),
+                        rs.getBigDecimal("hourlyRate"),
+                        rs.getLong("totalMinutes"),
+                        rs.getInt("requestCount")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting overtime totals: " + e.getMessage());
+        }
+        
+        return totals;
+    }
+
+    /**
+     * Rebuilds an overtime rollup with approved rank-and-file overtime per employee per day
+     * @param rollup The rollup to load
+     * @param startDate First day covered
+     * @param endDate Last day covered
+     * @return true if the rollup was loaded
+     */
+    public boolean loadOvertimeRollup(OvertimeRollup rollup, LocalDate startDate, LocalDate endDate) {
+        String employeeSql = "SELECT e.employeeId, e.firstName, e.lastName, e.hourlyRate, p.department " +
+                            "FROM employee e JOIN position p ON e.positionId = p.positionId " +
+                            "WHERE " + RANK_AND_FILE_CONDITION;
+        
+        String dailySql = "SELECT o.employeeId, DATE(o.overtimeStart) AS overtimeDate, " +
+                         "SUM(TIMESTAMPDIFF(MINUTE, o.overtimeStart, o.overtimeEnd)) AS totalMinutes, " +
+                         "COUNT(*) AS requestCount " +
+                         "FROM overtimerequest o " +
+                         "WHERE o.approvalStatus = 'Approved' AND o.overtimeStart >= ? AND o.overtimeEnd <= ? " +
+                         "GROUP BY o.employeeId, DATE(o.overtimeStart)";
+        
+        List<OvertimeRollup.EmployeeOvertimeTotal> employees = new ArrayList<>();
+        List<OvertimeRollup.DailyOvertime> dailyTotals = new ArrayList<>();
+        
+        try (Connection conn = databaseConnection.createConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(employeeSql);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    employees.add(new OvertimeRollup.EmployeeOvertimeTotal(
+                        rs.getInt("employeeId"),
+                        fullName(rs.getString("firstName"), rs.getString("lastName")),
+                        rs.getString("department"),
+                        rs.getBigDecimal("hourlyRate"),
+                        0, 0));
+                }
+            }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(dailySql)) {
+                stmt.setTimestamp(1, Timestamp.valueOf(startDate.atStartOfDay()));
+                stmt.setTimestamp(2, Timestamp.valueOf(endDate.atTime(23, 59, 59)));
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        dailyTotals.add(new OvertimeRollup.DailyOvertime(
+                            rs.getInt("employeeId"),
+                            rs.getDate("overtimeDate").toLocalDate(),
+                            rs.getLong("totalMinutes"),
+                            rs.getInt("requestCount")));
+                    }
+                }
+            }
+            
+            rollup.load(startDate, endDate, employees, dailyTotals);
+            return true;
+            
+        } catch (SQLException e) {
+            System.err.println("Error loading overtime rollup: " + e.getMessage());
+        }
+        
+        return false;
+    }
+
     // HELPER METHODS
 
+    /**
+     * Same format as EmployeeModel.getFullName()
+     */
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null && lastName == null) {
+            return "Unknown Employee";
+        }
+        return (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "");
+    }
+
     /**
      * Helper method to execute queries with parameters
      * @param sql SQL query
@@ -529,7 +673,7 @@ public class OvertimeRequestDAO extends BaseDAO<OvertimeRequestModel, Integer> {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             setUpdateParameters(stmt, overtime);
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.OVERTIME_REQUEST, stmt::executeUpdate);
             return rowsAffected > 0;
             
         } catch (SQLException e) {
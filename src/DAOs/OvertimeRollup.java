@@ -0,0 +1,240 @@
+package DAOs;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Periodic rollup of approved rank-and-file overtime per employee per day.
+ * Used by OvertimeService so overtime rankings for dashboards can be answered
+ * from memory instead of querying overtimerequest on every refresh.
+ *
+ * The rollup covers a fixed date window and is rebuilt with a single GROUP BY
+ * query (OvertimeRequestDAO.loadOvertimeRollup) once it is older than the
+ * refresh interval or after an overtime approval in any client.
+ * @author User
+ */
+public class OvertimeRollup {
+
+    private static final OvertimeRollup INSTANCE = new OvertimeRollup();
+
+    // Employee ranking order: most minutes first, then employee ID for stable paging
+    public static final Comparator<EmployeeOvertimeTotal> BY_MINUTES_DESC =
+        Comparator.comparingLong(EmployeeOvertimeTotal::getTotalMinutes).reversed()
+                  .thenComparingInt(EmployeeOvertimeTotal::getEmployeeId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<LocalDate, Map<Integer, DayTotal>> byDate = new TreeMap<>();
+    private final Map<Integer, EmployeeOvertimeTotal> employees = new HashMap<>();
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    private volatile long loadedAtMillis = 0;
+    private volatile boolean loaded = false;
+
+    /**
+     * Get the shared rollup instance
+     * @return The rollup used by OvertimeService
+     */
+    public static OvertimeRollup getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone rollup. Application code should use getInstance().
+     */
+    public OvertimeRollup() {
+    }
+
+    /**
+     * Check if the rollup can answer a date range
+     * @param from Range start (inclusive)
+     * @param to Range end (inclusive)
+     * @param maxAgeMillis Oldest acceptable rollup age
+     * @return true if loaded, fresh enough and the range lies in the window
+     */
+    public boolean canAnswer(LocalDate from, LocalDate to, long maxAgeMillis) {
+        lock.readLock().lock();
+        try {
+            return loaded && System.currentTimeMillis() - loadedAtMillis <= maxAgeMillis &&
+                   from != null && to != null &&
+                   !from.isBefore(windowStart) && !to.isAfter(windowEnd);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the rollup contents
+     * @param from First day covered
+     * @param to Last day covered
+     * @param employeeInfo Employees that may appear in the rollup (minutes ignored)
+     * @param dailyTotals Rows of employee ID, day, minutes and request count
+     */
+    public void load(LocalDate from, LocalDate to, Collection<EmployeeOvertimeTotal> employeeInfo,
+                     Collection<DailyOvertime> dailyTotals) {
+        lock.writeLock().lock();
+        try {
+            byDate.clear();
+            employees.clear();
+            for (EmployeeOvertimeTotal employee : employeeInfo) {
+                employees.put(employee.getEmployeeId(), employee);
+            }
+            for (DailyOvertime daily : dailyTotals) {
+                if (employees.containsKey(daily.employeeId)) {
+                    byDate.computeIfAbsent(daily.date, d -> new HashMap<>())
+                          .put(daily.employeeId, new DayTotal(daily.minutes, daily.requestCount));
+                }
+            }
+            windowStart = from;
+            windowEnd = to;
+            loadedAtMillis = System.currentTimeMillis();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mark the rollup stale so the next ranking reloads it
+     */
+    public void invalidate() {
+        loaded = false;
+    }
+
+    /**
+     * Rank employees by overtime in a date range
+     * @param from Range start (inclusive)
+     * @param to Range end (inclusive)
+     * @param department Department filter (case-insensitive), or null for all
+     * @param offset Number of top entries to skip (paging)
+     * @param pageSize Page size, or 0 for all
+     * @return One page of the ranking, most overtime first
+     */
+    public List<EmployeeOvertimeTotal> rank(LocalDate from, LocalDate to, String department, int offset, int pageSize) {
+        Map<Integer, EmployeeOvertimeTotal> totals = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Map<Integer, DayTotal> day : byDate.subMap(from, true, to, true).values()) {
+                for (Map.Entry<Integer, DayTotal> entry : day.entrySet()) {
+                    EmployeeOvertimeTotal employee = employees.get(entry.getKey());
+                    if (department != null && !department.equalsIgnoreCase(employee.getDepartment())) {
+                        continue;
+                    }
+                    totals.computeIfAbsent(entry.getKey(), id -> employee.withTotals(0, 0))
+                          .add(entry.getValue().minutes, entry.getValue().requestCount);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return topN(totals.values(), offset, pageSize);
+    }
+
+    /**
+     * Select one page of the highest totals with a bounded min-heap,
+     * so only offset + pageSize entries are kept instead of sorting everything
+     * @param totals Employee totals (entries with no minutes are skipped)
+     * @param offset Number of top entries to skip
+     * @param pageSize Page size, or 0 for all
+     * @return The page, most overtime first
+     */
+    public static List<EmployeeOvertimeTotal> topN(Collection<EmployeeOvertimeTotal> totals, int offset, int pageSize) {
+        int skip = Math.max(0, offset);
+        int keep = pageSize > 0 ? skip + pageSize : Integer.MAX_VALUE;
+
+        PriorityQueue<EmployeeOvertimeTotal> heap = new PriorityQueue<>(BY_MINUTES_DESC.reversed());
+        for (EmployeeOvertimeTotal total : totals) {
+            if (total.getTotalMinutes() <= 0) {
+                continue;
+            }
+            if (heap.size() < keep) {
+                heap.add(total);
+            } else if (BY_MINUTES_DESC.compare(total, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(total);
+            }
+        }
+
+        List<EmployeeOvertimeTotal> ranked = new ArrayList<>(heap);
+        ranked.sort(BY_MINUTES_DESC);
+        return skip >= ranked.size() ? new ArrayList<>() : new ArrayList<>(ranked.subList(skip, ranked.size()));
+    }
+
+    /**
+     * Approved overtime of one employee on one day
+     */
+    public static class DailyOvertime {
+        private final int employeeId;
+        private final LocalDate date;
+        private final long minutes;
+        private final int requestCount;
+
+        public DailyOvertime(int employeeId, LocalDate date, long minutes, int requestCount) {
+            this.employeeId = employeeId;
+            this.date = date;
+            this.minutes = minutes;
+            this.requestCount = requestCount;
+        }
+    }
+
+    /**
+     * Overtime total of one employee for a ranking
+     */
+    public static class EmployeeOvertimeTotal {
+        private final int employeeId;
+        private final String employeeName;
+        private final String department;
+        private final BigDecimal hourlyRate;
+        private long totalMinutes;
+        private int requestCount;
+
+        public EmployeeOvertimeTotal(int employeeId, String employeeName, String department,
+                                     BigDecimal hourlyRate, long totalMinutes, int requestCount) {
+            this.employeeId = employeeId;
+            this.employeeName = employeeName;
+            this.department = department;
+            this.hourlyRate = hourlyRate;
+            this.totalMinutes = totalMinutes;
+            this.requestCount = requestCount;
+        }
+
+        public int getEmployeeId() { return employeeId; }
+        public String getEmployeeName() { return employeeName; }
+        public String getDepartment() { return department; }
+        public BigDecimal getHourlyRate() { return hourlyRate; }
+        public long getTotalMinutes() { return totalMinutes; }
+        public int getRequestCount() { return requestCount; }
+
+        public BigDecimal getTotalHours() {
+            return new BigDecimal(totalMinutes).divide(new BigDecimal(60), 2, RoundingMode.HALF_UP);
+        }
+
+        EmployeeOvertimeTotal withTotals(long minutes, int requests) {
+            return new EmployeeOvertimeTotal(employeeId, employeeName, department, hourlyRate, minutes, requests);
+        }
+
+        void add(long minutes, int requests) {
+            totalMinutes += minutes;
+            requestCount += requests;
+        }
+    }
+
+    private static final class DayTotal {
+        private final long minutes;
+        private final int requestCount;
+
+        DayTotal(long minutes, int requestCount) {
+            this.minutes = minutes;
+            this.requestCount = requestCount;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package DAOs;
 
+import DAOs.CacheVersionDAO.EntityType;
 import Models.PayPeriodModel;
 import java.sql.*;
 import java.time.LocalDate;
@@ -7,13 +8,18 @@ import java.util.*;
 
 /**
  * PayPeriodDAO - Data Access Object for PayPeriodModel
- * Handles all database operations for pay periods
+ * Handles all database operations for pay periods.
+ * Lookups by ID, by date, neighbour and overlap checks are answered from the
+ * shared PayPeriodIndex once it is loaded, and fall back to SQL otherwise.
  * @author User
  */
 public class PayPeriodDAO {
     
     private final DatabaseConnection dbConnection;
     
+    // Shared in-memory index of all pay periods (see PayPeriodIndex)
+    private final PayPeriodIndex periodIndex = PayPeriodIndex.getInstance();
+    
     public PayPeriodDAO() {
         this.dbConnection = new DatabaseConnection();
     }
@@ -38,7 +44,7 @@ public class PayPeriodDAO {
             pstmt.setDate(2, java.sql.Date.valueOf(payPeriod.getEndDate()));
             pstmt.setString(3, payPeriod.getPeriodName());
             
-            int affectedRows = pstmt.executeUpdate();
+            int affectedRows = CacheVersionDAO.executeAndBump(conn, EntityType.PAY_PERIOD, pstmt::executeUpdate);
             
             if (affectedRows > 0) {
                 try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
@@ -46,6 +52,7 @@ public class PayPeriodDAO {
                         payPeriod.setPayPeriodId(generatedKeys.getInt(1));
                     }
                 }
+                indexPayPeriod(payPeriod);
                 return true;
             }
         } catch (SQLException e) {
@@ -60,6 +67,16 @@ public class PayPeriodDAO {
      * @return 
      */
     public PayPeriodModel findById(int payPeriodId) {
+        if (ensurePeriodIndexLoaded()) {
+            return periodIndex.findById(payPeriodId);
+        }
+        return findByIdInDatabase(payPeriodId);
+    }
+    
+    /**
+     * Find pay period by ID without the index
+     */
+    private PayPeriodModel findByIdInDatabase(int payPeriodId) {
         String sql = "SELECT * FROM payperiod WHERE payPeriodId = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
@@ -106,6 +123,10 @@ public class PayPeriodDAO {
      * @return 
      */
     public PayPeriodModel findByDate(LocalDate date) {
+        if (date != null && ensurePeriodIndexLoaded()) {
+            return periodIndex.findByDate(date);
+        }
+        
         String sql = "SELECT * FROM payperiod WHERE ? BETWEEN startDate AND endDate";
         
         try (Connection conn = DatabaseConnection.getConnection();
@@ -128,6 +149,10 @@ public class PayPeriodDAO {
      * @return 
      */
     public List<PayPeriodModel> findAll() {
+        if (ensurePeriodIndexLoaded()) {
+            return periodIndex.findAll();
+        }
+        
         List<PayPeriodModel> payPeriods = new ArrayList<>();
         String sql = "SELECT * FROM payperiod ORDER BY startDate DESC";
         
@@ -233,7 +258,11 @@ public class PayPeriodDAO {
             pstmt.setString(3, payPeriod.getPeriodName());
             pstmt.setInt(4, payPeriod.getPayPeriodId());
             
-            return pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.PAY_PERIOD, pstmt::executeUpdate) > 0;
+            if (success) {
+                indexPayPeriod(payPeriod);
+            }
+            return success;
         } catch (SQLException e) {
             System.err.println("Error updating pay period: " + e.getMessage());
         }
@@ -267,7 +296,11 @@ public class PayPeriodDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, payPeriodId);
-            return pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.PAY_PERIOD, pstmt::executeUpdate) > 0;
+            if (success) {
+                periodIndex.remove(payPeriodId);
+            }
+            return success;
         } catch (SQLException e) {
             System.err.println("Error deleting pay period: " + e.getMessage());
         }
@@ -334,7 +367,15 @@ public class PayPeriodDAO {
      * @return 
      */
     public PayPeriodModel getPreviousPeriod(int payPeriodId) {
-        PayPeriodModel currentPeriod = findById(payPeriodId);
+        if (ensurePeriodIndexLoaded()) {
+            PayPeriodModel previous = periodIndex.findPrevious(payPeriodId);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        
+        // Not in the index (e.g. added by another client since it loaded) - ask the database
+        PayPeriodModel currentPeriod = findByIdInDatabase(payPeriodId);
         if (currentPeriod == null) {
             return null;
         }
@@ -362,7 +403,15 @@ public class PayPeriodDAO {
      * @return 
      */
     public PayPeriodModel getNextPeriod(int payPeriodId) {
-        PayPeriodModel currentPeriod = findById(payPeriodId);
+        if (ensurePeriodIndexLoaded()) {
+            PayPeriodModel next = periodIndex.findNext(payPeriodId);
+            if (next != null) {
+                return next;
+            }
+        }
+        
+        // Not in the index (e.g. added by another client since it loaded) - ask the database
+        PayPeriodModel currentPeriod = findByIdInDatabase(payPeriodId);
         if (currentPeriod == null) {
             return null;
         }
@@ -415,6 +464,10 @@ public class PayPeriodDAO {
      * @return 
      */
     public List<PayPeriodModel> findOverlappingPeriods(LocalDate startDate, LocalDate endDate, Integer excludeId) {
+        if (startDate != null && endDate != null && ensurePeriodIndexLoaded()) {
+            return periodIndex.findOverlapping(startDate, endDate, excludeId);
+        }
+        
         List<PayPeriodModel> overlapping = new ArrayList<>();
         String sql = "SELECT * FROM payperiod WHERE " +
                     "NOT (endDate < ? OR startDate > ?)";
@@ -444,6 +497,49 @@ public class PayPeriodDAO {
         return overlapping;
     }
     
+    /**
+     * Load the in-memory pay period index with all pay periods.
+     * Called lazily on the first lookup; afterwards the index is kept
+     * current by save, update and delete.
+     * @return true if the index was loaded
+     */
+    public boolean loadPeriodIndex() {
+        List<PayPeriodModel> payPeriods = new ArrayList<>();
+        String sql = "SELECT * FROM payperiod";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            while (rs.next()) {
+                payPeriods.add(mapResultSetToPayPeriod(rs));
+            }
+            periodIndex.load(payPeriods);
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error loading pay period index: " + e.getMessage());
+        }
+        return false;
+    }
+    
+    private boolean ensurePeriodIndexLoaded() {
+        if (periodIndex.isLoaded()) {
+            return true;
+        }
+        synchronized (periodIndex) {
+            return periodIndex.isLoaded() || loadPeriodIndex();
+        }
+    }
+    
+    /**
+     * Write a saved pay period through to the index
+     */
+    private void indexPayPeriod(PayPeriodModel payPeriod) {
+        if (periodIndex.isLoaded()) {
+            periodIndex.put(payPeriod);
+        }
+    }
+    
     /**
      * Helper method to map ResultSet to PayPeriodModel
      */
@@ -0,0 +1,321 @@
+package DAOs;
+
+import Models.PayPeriodModel;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of pay periods.
+ * Used by PayPeriodDAO so "which period contains date D", previous/next period
+ * and overlap validation do not need a database round-trip.
+ *
+ * Periods are kept in two TreeMaps, one keyed by start date and one by end
+ * date. Neighbour lookups are a single floor/ceiling search; containment and
+ * overlap lookups only scan start dates between (from - longest period) and
+ * to, which keeps them at O(log n + k).
+ *
+ * The index is shared by every PayPeriodDAO instance and is kept up to date
+ * write-through by save/update/delete in PayPeriodDAO.
+ * @author User
+ */
+public class PayPeriodIndex {
+
+    private static final PayPeriodIndex INSTANCE = new PayPeriodIndex();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, PayPeriodModel> byId = new HashMap<>();
+    private final TreeMap<LocalDate, List<PayPeriodModel>> byStart = new TreeMap<>();
+    private final TreeMap<LocalDate, List<PayPeriodModel>> byEnd = new TreeMap<>();
+    // Only grows until the next full load; a wider scan is still correct
+    private long maxSpanDays = 0;
+    private volatile boolean loaded = false;
+
+    /**
+     * Get the shared index instance
+     * @return The index used by all PayPeriodDAO instances
+     */
+    public static PayPeriodIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone index. Application code should use getInstance()
+     * so all DAOs share the same write-through state.
+     */
+    public PayPeriodIndex() {
+    }
+
+    /**
+     * Check if the index has been loaded from the database
+     * @return true if load() has completed at least once
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replace the index contents with a fresh snapshot
+     * @param payPeriods All pay periods
+     */
+    public void load(Collection<PayPeriodModel> payPeriods) {
+        lock.writeLock().lock();
+        try {
+            clearInternal();
+            if (payPeriods != null) {
+                for (PayPeriodModel payPeriod : payPeriods) {
+                    putInternal(payPeriod);
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop everything and mark the index as not loaded
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearInternal();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a pay period in the index
+     * @param payPeriod The pay period as stored in the database
+     */
+    public void put(PayPeriodModel payPeriod) {
+        if (payPeriod == null || payPeriod.getPayPeriodId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            putInternal(payPeriod);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a pay period from the index
+     * @param payPeriodId ID of the deleted pay period
+     */
+    public void remove(int payPeriodId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(payPeriodId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find a pay period by ID
+     * @param payPeriodId The pay period ID
+     * @return A copy of the pay period, or null if not indexed
+     */
+    public PayPeriodModel findById(int payPeriodId) {
+        lock.readLock().lock();
+        try {
+            PayPeriodModel payPeriod = byId.get(payPeriodId);
+            return payPeriod != null ? copyOf(payPeriod) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the pay period containing a date.
+     * If periods overlap, the one that started latest is returned.
+     * @param date The date
+     * @return A copy of the pay period, or null if no period contains the date
+     */
+    public PayPeriodModel findByDate(LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            List<PayPeriodModel> containing = overlapping(date, date);
+            return containing.isEmpty() ? null : copyOf(containing.get(containing.size() - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the period that ended most recently before another period started
+     * @param payPeriodId The reference pay period ID
+     * @return A copy of the previous pay period, or null if none
+     */
+    public PayPeriodModel findPrevious(int payPeriodId) {
+        lock.readLock().lock();
+        try {
+            PayPeriodModel current = byId.get(payPeriodId);
+            if (current == null) {
+                return null;
+            }
+            Map.Entry<LocalDate, List<PayPeriodModel>> previous = byEnd.lowerEntry(current.getStartDate());
+            return previous != null ? copyOf(previous.getValue().get(0)) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the period that starts first after another period ended
+     * @param payPeriodId The reference pay period ID
+     * @return A copy of the next pay period, or null if none
+     */
+    public PayPeriodModel findNext(int payPeriodId) {
+        lock.readLock().lock();
+        try {
+            PayPeriodModel current = byId.get(payPeriodId);
+            if (current == null) {
+                return null;
+            }
+            Map.Entry<LocalDate, List<PayPeriodModel>> next = byStart.higherEntry(current.getEndDate());
+            return next != null ? copyOf(next.getValue().get(0)) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find pay periods that overlap a date range
+     * @param from Range start (inclusive)
+     * @param to Range end (inclusive)
+     * @param excludeId Pay period ID to skip (the period being validated), or null
+     * @return Copies of the overlapping pay periods, ordered by start date
+     */
+    public List<PayPeriodModel> findOverlapping(LocalDate from, LocalDate to, Integer excludeId) {
+        List<PayPeriodModel> result = new ArrayList<>();
+        if (from == null || to == null) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            for (PayPeriodModel payPeriod : overlapping(from, to)) {
+                if (!payPeriod.getPayPeriodId().equals(excludeId)) {
+                    result.add(copyOf(payPeriod));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Get all indexed pay periods
+     * @return Copies of the pay periods, latest start date first
+     */
+    public List<PayPeriodModel> findAll() {
+        List<PayPeriodModel> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (List<PayPeriodModel> bucket : byStart.descendingMap().values()) {
+                for (PayPeriodModel payPeriod : bucket) {
+                    result.add(copyOf(payPeriod));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Get number of indexed pay periods
+     * @return Count of pay periods in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helper methods (caller must hold the read or write lock)
+
+    private List<PayPeriodModel> overlapping(LocalDate from, LocalDate to) {
+        List<PayPeriodModel> result = new ArrayList<>();
+        if (to.isBefore(from) || byStart.isEmpty()) {
+            return result;
+        }
+
+        // Any period that reaches 'from' must have started no earlier than from - maxSpan
+        LocalDate scanFrom = from.minusDays(maxSpanDays);
+        for (List<PayPeriodModel> bucket : byStart.subMap(scanFrom, true, to, true).values()) {
+            for (PayPeriodModel payPeriod : bucket) {
+                if (!payPeriod.getEndDate().isBefore(from)) {
+                    result.add(payPeriod);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void putInternal(PayPeriodModel payPeriod) {
+        removeInternal(payPeriod.getPayPeriodId());
+
+        if (payPeriod.getStartDate() == null || payPeriod.getEndDate() == null) {
+            return;
+        }
+
+        PayPeriodModel indexed = copyOf(payPeriod);
+        byId.put(indexed.getPayPeriodId(), indexed);
+        byStart.computeIfAbsent(indexed.getStartDate(), d -> new ArrayList<>()).add(indexed);
+        byEnd.computeIfAbsent(indexed.getEndDate(), d -> new ArrayList<>()).add(indexed);
+        maxSpanDays = Math.max(maxSpanDays, ChronoUnit.DAYS.between(indexed.getStartDate(), indexed.getEndDate()));
+    }
+
+    private void removeInternal(int payPeriodId) {
+        PayPeriodModel existing = byId.remove(payPeriodId);
+        if (existing == null) {
+            return;
+        }
+        removeFromBucket(byStart, existing.getStartDate(), existing);
+        removeFromBucket(byEnd, existing.getEndDate(), existing);
+    }
+
+    private static void removeFromBucket(TreeMap<LocalDate, List<PayPeriodModel>> map, LocalDate key,
+                                         PayPeriodModel payPeriod) {
+        List<PayPeriodModel> bucket = map.get(key);
+        if (bucket != null) {
+            bucket.remove(payPeriod);
+            if (bucket.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private void clearInternal() {
+        byId.clear();
+        byStart.clear();
+        byEnd.clear();
+        maxSpanDays = 0;
+    }
+
+    /**
+     * Copy a pay period so callers can never mutate indexed state
+     */
+    private static PayPeriodModel copyOf(PayPeriodModel source) {
+        return new PayPeriodModel(source.getPayPeriodId(), source.getStartDate(),
+                                  source.getEndDate(), source.getPeriodName());
+    }
+}
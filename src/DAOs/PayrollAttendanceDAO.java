@@ -199,30 +199,13 @@ public class PayrollAttendanceDAO {
             return false;
         }
         
-        String sql = "INSERT INTO payrollattendance (payrollId, attendanceId, computedHours, computedAmount) VALUES (?, ?, ?, ?)";
-        
         try (Connection conn = databaseConnection.createConnection()) {
             conn.setAutoCommit(false);
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                for (PayrollAttendance pa : attendanceList) {
-                    pstmt.setInt(1, pa.getPayrollId());
-                    pstmt.setInt(2, pa.getAttendanceId());
-                    pstmt.setBigDecimal(3, pa.getComputedHours());
-                    pstmt.setBigDecimal(4, pa.getComputedAmount());
-                    pstmt.addBatch();
-                }
-                
-                int[] results = pstmt.executeBatch();
+            try {
+                boolean success = insertBatch(conn, attendanceList);
                 conn.commit();
-                
-                // Check if all inserts were successful
-                for (int result : results) {
-                    if (result <= 0) {
-                        return false;
-                    }
-                }
-                return true;
+                return success;
                 
             } catch (SQLException e) {
                 conn.rollback();
@@ -234,4 +217,31 @@ public class PayrollAttendanceDAO {
             return false;
         }
     }
+    
+    /**
+     * Insert attendance rows as one JDBC batch on the caller's connection (does not commit)
+     */
+    boolean insertBatch(Connection conn, List<PayrollAttendance> attendanceList) throws SQLException {
+        String sql = "INSERT INTO payrollattendance (payrollId, attendanceId, computedHours, computedAmount) VALUES (?, ?, ?, ?)";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (PayrollAttendance pa : attendanceList) {
+                pstmt.setInt(1, pa.getPayrollId());
+                pstmt.setInt(2, pa.getAttendanceId());
+                pstmt.setBigDecimal(3, pa.getComputedHours());
+                pstmt.setBigDecimal(4, pa.getComputedAmount());
+                pstmt.addBatch();
+            }
+            
+            int[] results = pstmt.executeBatch();
+            
+            // Check if all inserts were successful
+            for (int result : results) {
+                if (result <= 0 && result != Statement.SUCCESS_NO_INFO) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
\ No newline at end of file
@@ -365,28 +365,56 @@ public class PayrollBenefitDAO {
             return false;
         }
         
-        String sql = "INSERT INTO payrollbenefit (benefitAmount, payrollId, benefitTypeId) VALUES (?, ?, ?)";
+        try (Connection conn = databaseConnection.createConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                boolean success = insertBatch(conn, benefitList);
+                conn.commit();
+                return success;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error bulk inserting payroll benefits: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Replace benefits in one transaction: for each payroll and benefit type in
+     * the list, rows already stored are deleted and the new amount inserted.
+     * Other benefit types of the same payrolls are left alone, so re-runs do not
+     * duplicate rows and rows written by payroll generation for other benefit
+     * types are kept.
+     * @param benefitList Benefits to store, with payroll IDs set
+     * @return true if every row was written
+     */
+    public boolean replaceBenefits(List<PayrollBenefit> benefitList) {
+        if (benefitList == null || benefitList.isEmpty()) {
+            return true;
+        }
+        String deleteSql = "DELETE FROM payrollbenefit WHERE payrollId = ? AND benefitTypeId = ?";
         
         try (Connection conn = databaseConnection.createConnection()) {
             conn.setAutoCommit(false);
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement deleteStmt = conn.prepareStatement(deleteSql)) {
                 for (PayrollBenefit pb : benefitList) {
-                    pstmt.setBigDecimal(1, pb.getBenefitAmount());
-                    pstmt.setInt(2, pb.getPayrollId());
-                    pstmt.setInt(3, pb.getBenefitTypeId());
-                    pstmt.addBatch();
+                    deleteStmt.setInt(1, pb.getPayrollId());
+                    deleteStmt.setInt(2, pb.getBenefitTypeId());
+                    deleteStmt.addBatch();
                 }
+                deleteStmt.executeBatch();
                 
-                int[] results = pstmt.executeBatch();
-                conn.commit();
-                
-                // Check if all inserts were successful
-                for (int result : results) {
-                    if (result <= 0) {
-                        return false;
-                    }
+                if (!insertBatch(conn, benefitList)) {
+                    conn.rollback();
+                    return false;
                 }
+                conn.commit();
                 return true;
                 
             } catch (SQLException e) {
@@ -395,11 +423,37 @@ public class PayrollBenefitDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error bulk inserting payroll benefits: " + e.getMessage());
+            System.err.println("Error replacing payroll benefits: " + e.getMessage());
             return false;
         }
     }
     
+    /**
+     * Insert benefits as one JDBC batch on the caller's connection (does not commit)
+     */
+    boolean insertBatch(Connection conn, List<PayrollBenefit> benefitList) throws SQLException {
+        String sql = "INSERT INTO payrollbenefit (benefitAmount, payrollId, benefitTypeId) VALUES (?, ?, ?)";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (PayrollBenefit pb : benefitList) {
+                pstmt.setBigDecimal(1, pb.getBenefitAmount());
+                pstmt.setInt(2, pb.getPayrollId());
+                pstmt.setInt(3, pb.getBenefitTypeId());
+                pstmt.addBatch();
+            }
+            
+            int[] results = pstmt.executeBatch();
+            
+            // Check if all inserts were successful
+            for (int result : results) {
+                if (result <= 0 && result != Statement.SUCCESS_NO_INFO) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
     /**
      * Check if benefit exists for payroll
      * @param payrollId
@@ -1,13 +1,22 @@
 package DAOs;
 
+import Models.OvertimePayAccrual;
+import Models.PayPeriodModel;
+import Models.PayrollAttendance;
+import Models.PayrollBenefit;
+import Models.PayrollLeave;
 import Models.PayrollModel;
+import Models.PayrollOvertime;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.*;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.time.LocalDateTime;
 /**
  * Data Access Object for PayrollModel entities.
@@ -18,12 +27,54 @@ import java.time.LocalDateTime;
 public class PayrollDAO extends BaseDAO<PayrollModel, Integer> {
     
     public static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
+
+    private static final BigDecimal LEAVE_HOURS_PER_DAY = new BigDecimal("8");
+
+    // Payroll generation sources, each read once per pay period
+    private static final String SELECT_PAYROLL_EMPLOYEES =
+        "SELECT e.employeeId, e.basicSalary, e.hourlyRate, " +
+        "EXISTS (SELECT 1 FROM payroll pr WHERE pr.employeeId = e.employeeId AND pr.payPeriodId = ?) AS payrollExists " +
+        "FROM employee e " +
+        "WHERE e.status != 'Terminated' " +
+        "ORDER BY e.employeeId";
+
+    private static final String SELECT_PERIOD_BENEFITS =
+        "SELECT e.employeeId, pb.benefitTypeId, pb.benefitValue " +
+        "FROM employee e " +
+        "JOIN positionbenefit pb ON e.positionId = pb.positionId " +
+        "WHERE e.status != 'Terminated'";
+
+    // Hours worked minus the 1-hour lunch break, as in AttendanceModel.calculateAttendanceMetrics
+    private static final String SELECT_PERIOD_ATTENDANCE =
+        "SELECT a.attendanceId, a.employeeId, " +
+        "GREATEST(0, (TIME_TO_SEC(a.timeOut) - TIME_TO_SEC(a.timeIn)) / 3600.0 - 1.0) AS computedHours " +
+        "FROM attendance a " +
+        "WHERE a.date BETWEEN ? AND ? AND a.timeIn IS NOT NULL AND a.timeOut IS NOT NULL";
+
+    private static final String SELECT_PERIOD_LEAVES =
+        "SELECT leaveRequestId, employeeId, leaveStart, leaveEnd " +
+        "FROM leaverequest " +
+        "WHERE approvalStatus = 'Approved' AND leaveStart <= ? AND leaveEnd >= ?";
+
+    private final OvertimePayAccrualDAO overtimeAccrualDAO;
+    private final PayPeriodDAO payPeriodDAO;
+    private final PayrollBenefitDAO payrollBenefitDAO;
+    private final PayrollOvertimeDAO payrollOvertimeDAO;
+    private final PayrollAttendanceDAO payrollAttendanceDAO;
+    private final PayrollLeaveDAO payrollLeaveDAO;
+
     /**
      * Constructor that accepts a DatabaseConnection instance
      * @param databaseConnection The database connection to use for all operations
      */
     public PayrollDAO(DatabaseConnection databaseConnection) {
         super(databaseConnection);
+        this.overtimeAccrualDAO = new OvertimePayAccrualDAO(databaseConnection);
+        this.payPeriodDAO = new PayPeriodDAO();
+        this.payrollBenefitDAO = new PayrollBenefitDAO(databaseConnection);
+        this.payrollOvertimeDAO = new PayrollOvertimeDAO(databaseConnection);
+        this.payrollAttendanceDAO = new PayrollAttendanceDAO(databaseConnection);
+        this.payrollLeaveDAO = new PayrollLeaveDAO(databaseConnection);
     }
     
 
@@ -202,73 +253,52 @@ public class PayrollDAO extends BaseDAO<PayrollModel, Integer> {
     }
     
     /**
-     * Generates payroll for all active employees in a specific pay period
-     * This method creates payroll records by calculating salary, benefits, and deductions
+     * Generates payroll for all active employees in a specific pay period.
+     * Benefits, overtime, attendance and approved leave are read once for the
+     * whole period and grouped by employee. The pass that totals them also
+     * builds the lineage rows (payrollbenefit, payrollovertime, payrollattendance,
+     * payrollleave) that link each payroll to its source records, so a payslip
+     * drill-down is a lookup by payrollId. Payrolls and lineage are written with
+     * batched inserts in one transaction. An employee whose rows cannot be
+     * stored is skipped and left for the next run; the others are still saved.
      * @param payPeriodId The pay period ID to generate payroll for
      * @return Number of payroll records generated successfully
      */
     public int generatePayroll(Integer payPeriodId) {
-        // First, get pay period information
-        String periodSql = "SELECT startDate, endDate FROM payperiod WHERE payPeriodId = ?";
-        LocalDate periodStart = null;
-        LocalDate periodEnd = null;
-        
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(periodSql)) {
-            
-            stmt.setInt(1, payPeriodId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    periodStart = rs.getDate("startDate").toLocalDate();
-                    periodEnd = rs.getDate("endDate").toLocalDate();
-                } else {
-                    System.err.println("Pay period not found: " + payPeriodId);
-                    return 0;
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting pay period information: " + e.getMessage());
+        // First, get pay period information (from the shared pay period index)
+        PayPeriodModel payPeriod = payPeriodId != null ? payPeriodDAO.findById(payPeriodId) : null;
+        if (payPeriod == null) {
+            System.err.println("Pay period not found: " + payPeriodId);
             return 0;
         }
+        LocalDate periodStart = payPeriod.getStartDate();
+        LocalDate periodEnd = payPeriod.getEndDate();
         
-        // Generate payroll for all active employees
-        String employeeSql = "SELECT employeeId, firstName, lastName, basicSalary, hourlyRate " +
-                            "FROM employee " +
-                            "WHERE status != 'Terminated'";
-        
-        int generatedCount = 0;
-        
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(employeeSql)) {
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Integer employeeId = rs.getInt("employeeId");
-                    BigDecimal basicSalary = rs.getBigDecimal("basicSalary");
-                    BigDecimal hourlyRate = rs.getBigDecimal("hourlyRate");
-                    
-                    // Check if payroll already exists for this employee and period
-                    if (!payrollExists(employeeId, payPeriodId)) {
-                        // Generate payroll for this employee
-                        PayrollModel payroll = generateEmployeePayroll(
-                            employeeId, basicSalary, hourlyRate, payPeriodId, periodStart, periodEnd
-                        );
-                        
-                        if (save(payroll)) {
-                            generatedCount++;
-                            System.out.println("✅ Generated payroll for employee " + employeeId);
-                        }
-                    } else {
-                        System.out.println("⚠️ Payroll already exists for employee " + employeeId + " in period " + payPeriodId);
-                    }
-                }
-            }
+        // Read every source of the period once, grouped by employee
+        Map<Integer, PayrollSources> sourcesByEmployee;
+        try (Connection conn = databaseConnection.createConnection()) {
+            sourcesByEmployee = loadPayrollSources(conn, payPeriodId, periodStart, periodEnd);
         } catch (SQLException e) {
             System.err.println("Error generating payroll: " + e.getMessage());
             e.printStackTrace();
+            return 0;
+        }
+        if (sourcesByEmployee.isEmpty()) {
+            return 0;
+        }
+        addOvertimeSources(sourcesByEmployee, periodStart, periodEnd);
+        
+        List<PayrollModel> payrolls = new ArrayList<>();
+        for (PayrollSources sources : sourcesByEmployee.values()) {
+            payrolls.add(generateEmployeePayroll(sources.employeeId, sources.basicSalary, payPeriodId,
+                                                 sources.totalBenefits, sources.overtimePay));
         }
         
-        return generatedCount;
+        List<PayrollModel> saved = savePayrollRun(payrolls, sourcesByEmployee);
+        for (PayrollModel payroll : saved) {
+            System.out.println("✅ Generated payroll for employee " + payroll.getEmployeeId());
+        }
+        return saved.size();
     }
     
     /**
@@ -409,46 +439,257 @@ public class PayrollDAO extends BaseDAO<PayrollModel, Integer> {
 
     
     /**
-     * Checks if a payroll record already exists for an employee in a specific pay period
-     * @param employeeId The employee ID
+     * Loads the employees still without a payroll in the period, with their
+     * position benefits, attendance and approved leave, using one query per source
+     * @param conn The connection to read on
      * @param payPeriodId The pay period ID
-     * @return true if payroll exists, false otherwise
+     * @param periodStart The pay period start date
+     * @param periodEnd The pay period end date
+     * @return Sources keyed by employee ID, in employee ID order
+     * @throws SQLException if a query fails
      */
-    private boolean payrollExists(Integer employeeId, Integer payPeriodId) {
-        String sql = "SELECT COUNT(*) FROM payroll WHERE employeeId = ? AND payPeriodId = ?";
+    private Map<Integer, PayrollSources> loadPayrollSources(Connection conn, Integer payPeriodId,
+                                                            LocalDate periodStart, LocalDate periodEnd) throws SQLException {
+        Map<Integer, PayrollSources> sourcesByEmployee = new LinkedHashMap<>();
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, employeeId);
-            stmt.setInt(2, payPeriodId);
-            
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_PAYROLL_EMPLOYEES)) {
+            stmt.setInt(1, payPeriodId);
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
+                while (rs.next()) {
+                    Integer employeeId = rs.getInt("employeeId");
+                    if (rs.getBoolean("payrollExists")) {
+                        System.out.println("⚠️ Payroll already exists for employee " + employeeId + " in period " + payPeriodId);
+                        continue;
+                    }
+                    sourcesByEmployee.put(employeeId, new PayrollSources(
+                        employeeId, rs.getBigDecimal("basicSalary"), rs.getBigDecimal("hourlyRate")));
+                }
+            }
+        }
+        if (sourcesByEmployee.isEmpty()) {
+            return sourcesByEmployee;
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_PERIOD_BENEFITS);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                PayrollSources sources = sourcesByEmployee.get(rs.getInt("employeeId"));
+                BigDecimal benefitValue = rs.getBigDecimal("benefitValue");
+                if (sources == null || benefitValue == null) {
+                    continue;
+                }
+                sources.totalBenefits = sources.totalBenefits.add(benefitValue);
+                if (benefitValue.compareTo(BigDecimal.ZERO) > 0) {
+                    sources.benefits.add(new PayrollBenefit(null, rs.getInt("benefitTypeId"), benefitValue));
+                }
+            }
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_PERIOD_ATTENDANCE)) {
+            stmt.setDate(1, Date.valueOf(periodStart));
+            stmt.setDate(2, Date.valueOf(periodEnd));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    PayrollSources sources = sourcesByEmployee.get(rs.getInt("employeeId"));
+                    if (sources == null) {
+                        continue;
+                    }
+                    BigDecimal hours = rs.getBigDecimal("computedHours").setScale(2, RoundingMode.HALF_UP);
+                    BigDecimal amount = sources.hourlyRate != null
+                        ? hours.multiply(sources.hourlyRate).setScale(2, RoundingMode.HALF_UP)
+                        : BigDecimal.ZERO;
+                    sources.attendance.add(new PayrollAttendance(null, rs.getInt("attendanceId"), hours, amount));
+                }
+            }
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_PERIOD_LEAVES)) {
+            stmt.setDate(1, Date.valueOf(periodEnd));
+            stmt.setDate(2, Date.valueOf(periodStart));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    PayrollSources sources = sourcesByEmployee.get(rs.getInt("employeeId"));
+                    if (sources == null) {
+                        continue;
+                    }
+                    // Only the working days of the leave that fall inside this period are paid here
+                    LocalDate from = maxDate(rs.getDate("leaveStart").toLocalDate(), periodStart);
+                    LocalDate to = minDate(rs.getDate("leaveEnd").toLocalDate(), periodEnd);
+                    int workingDays = countWorkingDays(from, to);
+                    if (workingDays > 0) {
+                        BigDecimal leaveHours = LEAVE_HOURS_PER_DAY.multiply(new BigDecimal(workingDays));
+                        sources.leaves.add(new PayrollLeave(null, rs.getInt("leaveRequestId"), leaveHours));
+                    }
+                }
+            }
+        }
+        
+        return sourcesByEmployee;
+    }
+    
+    /**
+     * Totals each employee's accrued overtime and keeps one lineage row per request.
+     * Falls back to the per-employee legacy totals (without lineage) when the
+     * accrual table does not exist.
+     */
+    private void addOvertimeSources(Map<Integer, PayrollSources> sourcesByEmployee,
+                                    LocalDate periodStart, LocalDate periodEnd) {
+        List<OvertimePayAccrual> accruals = overtimeAccrualDAO.findApprovedInPeriod(periodStart, periodEnd);
+        if (accruals == null) {
+            for (PayrollSources sources : sourcesByEmployee.values()) {
+                sources.overtimePay = calculateOvertimePayEnhanced(sources.employeeId, periodStart, periodEnd);
+            }
+            return;
+        }
+        
+        for (OvertimePayAccrual accrual : accruals) {
+            PayrollSources sources = sourcesByEmployee.get(accrual.getEmployeeId());
+            if (sources == null || accrual.getOvertimePay() == null) {
+                continue;
+            }
+            sources.overtimePay = sources.overtimePay.add(accrual.getOvertimePay());
+            sources.overtime.add(new PayrollOvertime(null, accrual.getOvertimeRequestId(),
+                                                     accrual.getOvertimeHours(), accrual.getOvertimePay()));
+        }
+    }
+    
+    /**
+     * Inserts the payrolls of a run and their lineage rows in one transaction.
+     * The whole run is first written as batches. If that fails, it is rolled
+     * back to a savepoint and written again one employee at a time, each under
+     * its own savepoint, so one employee's bad row skips only that employee,
+     * as when payrolls were saved one by one.
+     * @param payrolls The calculated payrolls, one per entry of sourcesByEmployee
+     * @param sourcesByEmployee The lineage rows of each employee
+     * @return The payrolls that were committed (empty if the run failed)
+     */
+    private List<PayrollModel> savePayrollRun(List<PayrollModel> payrolls, Map<Integer, PayrollSources> sourcesByEmployee) {
+        try (Connection conn = databaseConnection.createConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                List<PayrollModel> saved;
+                Savepoint runStart = conn.setSavepoint();
+                try {
+                    insertPayrolls(conn, payrolls, sourcesByEmployee);
+                    saved = payrolls;
+                } catch (SQLException e) {
+                    conn.rollback(runStart);
+                    System.err.println("Batched payroll insert failed, saving employees one at a time: " + e.getMessage());
+                    saved = new ArrayList<>();
+                    for (PayrollModel payroll : payrolls) {
+                        Savepoint employeeStart = conn.setSavepoint();
+                        try {
+                            insertPayrolls(conn, List.of(payroll), sourcesByEmployee);
+                            saved.add(payroll);
+                        } catch (SQLException employeeError) {
+                            conn.rollback(employeeStart);
+                            payroll.setPayrollId(null);
+                            System.err.println("Error generating payroll for employee " + payroll.getEmployeeId() + 
+                                             ": " + employeeError.getMessage());
+                        }
+                    }
                 }
+                conn.commit();
+                return saved;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
+            
         } catch (SQLException e) {
-            System.err.println("Error checking payroll existence: " + e.getMessage());
+            System.err.println("Error generating payroll: " + e.getMessage());
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Inserts payrolls as one batch, stamps their generated IDs on the lineage
+     * rows and writes those as one batch per lineage table
+     * @throws SQLException if any row is not inserted
+     */
+    private void insertPayrolls(Connection conn, List<PayrollModel> payrolls,
+                                Map<Integer, PayrollSources> sourcesByEmployee) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(buildInsertSQL(), Statement.RETURN_GENERATED_KEYS)) {
+            for (PayrollModel payroll : payrolls) {
+                setInsertParameters(stmt, payroll);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (PayrollModel payroll : payrolls) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Missing generated payroll ID for employee " + payroll.getEmployeeId());
+                    }
+                    payroll.setPayrollId(generatedKeys.getInt(1));
+                }
+            }
         }
         
-        return false;
+        List<PayrollBenefit> benefits = new ArrayList<>();
+        List<PayrollOvertime> overtime = new ArrayList<>();
+        List<PayrollAttendance> attendance = new ArrayList<>();
+        List<PayrollLeave> leaves = new ArrayList<>();
+        for (PayrollModel payroll : payrolls) {
+            PayrollSources sources = sourcesByEmployee.get(payroll.getEmployeeId());
+            Integer payrollId = payroll.getPayrollId();
+            sources.benefits.forEach(pb -> pb.setPayrollId(payrollId));
+            sources.overtime.forEach(po -> po.setPayrollId(payrollId));
+            sources.attendance.forEach(pa -> pa.setPayrollId(payrollId));
+            sources.leaves.forEach(pl -> pl.setPayrollId(payrollId));
+            benefits.addAll(sources.benefits);
+            overtime.addAll(sources.overtime);
+            attendance.addAll(sources.attendance);
+            leaves.addAll(sources.leaves);
+        }
+        
+        boolean success = (benefits.isEmpty() || payrollBenefitDAO.insertBatch(conn, benefits))
+                       && (overtime.isEmpty() || payrollOvertimeDAO.insertBatch(conn, overtime))
+                       && (attendance.isEmpty() || payrollAttendanceDAO.insertBatch(conn, attendance))
+                       && (leaves.isEmpty() || payrollLeaveDAO.insertBatch(conn, leaves));
+        if (!success) {
+            throw new SQLException("Lineage rows were not all inserted");
+        }
+    }
+    
+    /**
+     * Counts Monday-Friday dates in a date range (inclusive)
+     */
+    private static int countWorkingDays(LocalDate from, LocalDate to) {
+        int workingDays = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
+                workingDays++;
+            }
+        }
+        return workingDays;
+    }
+    
+    private static LocalDate maxDate(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+    
+    private static LocalDate minDate(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
     }
     
     /**
      * Generates a payroll record for a specific employee
-     * This method calculates all salary components, benefits, and deductions
+     * This method calculates gross income, deductions and net salary from the
+     * benefit and overtime totals of the period
      * @param employeeId The employee ID
      * @param basicSalary The employee's basic salary
-     * @param hourlyRate The employee's hourly rate
      * @param payPeriodId The pay period ID
-     * @param periodStart The pay period start date
-     * @param periodEnd The pay period end date
+     * @param totalBenefits The employee's position benefits
+     * @param overtimePay The employee's accrued overtime pay in the period
      * @return A fully calculated PayrollModel
      */
-    private PayrollModel generateEmployeePayroll(Integer employeeId, BigDecimal basicSalary,
-                                               BigDecimal hourlyRate, Integer payPeriodId,
-                                               LocalDate periodStart, LocalDate periodEnd) {
+    private PayrollModel generateEmployeePayroll(Integer employeeId, BigDecimal basicSalary, Integer payPeriodId,
+                                               BigDecimal totalBenefits, BigDecimal overtimePay) {
         
         PayrollModel payroll = new PayrollModel();
         
@@ -456,14 +697,8 @@ public class PayrollDAO extends BaseDAO<PayrollModel, Integer> {
         payroll.setEmployeeId(employeeId);
         payroll.setPayPeriodId(payPeriodId);
         payroll.setBasicSalary(basicSalary);
-        
-        // Calculate total benefits
-        BigDecimal totalBenefits = calculateTotalBenefits(employeeId, periodStart, periodEnd);
         payroll.setTotalBenefit(totalBenefits);
         
-        // Calculate overtime pay
-        BigDecimal overtimePay = calculateOvertimePayEnhanced(employeeId, periodStart, periodEnd, hourlyRate);
-        
         // Calculate gross income (basic + overtime + benefits)
         BigDecimal grossIncome = basicSalary.add(overtimePay).add(totalBenefits);
         payroll.setGrossIncome(grossIncome);
@@ -480,72 +715,16 @@ public class PayrollDAO extends BaseDAO<PayrollModel, Integer> {
     }
     
     /**
-     * Calculates total benefits for an employee
-     * @param employeeId The employee ID
-     * @param periodStart The period start date
-     * @param periodEnd The period end date
-     * @return Total benefits amount
-     */
-    private BigDecimal calculateTotalBenefits(Integer employeeId, LocalDate periodStart, LocalDate periodEnd) {
-        String sql = "SELECT COALESCE(SUM(pb.benefitValue), 0) as totalBenefits " +
-                    "FROM employee e " +
-                    "JOIN positionbenefit pb ON e.positionId = pb.positionId " +
-                    "WHERE e.employeeId = ?";
-        
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, employeeId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    BigDecimal benefits = rs.getBigDecimal("totalBenefits");
-                    return benefits != null ? benefits : BigDecimal.ZERO;
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error calculating benefits: " + e.getMessage());
-        }
-        
-        return BigDecimal.ZERO;
-    }
-    
-    /**
-     * Calculates overtime pay from approved overtime requests
+     * Gets overtime pay from approved overtime requests.
+     * Pay is priced once when a request is approved (OvertimePayAccrualDAO),
+     * so this only sums the accrued amounts for the period.
      * @param employeeId The employee ID
      * @param periodStart The period start date
      * @param periodEnd The period end date
-     * @param hourlyRate The employee's hourly rate
      * @return Total overtime pay
      */
-    private BigDecimal calculateOvertimePayEnhanced(Integer employeeId, LocalDate periodStart, LocalDate periodEnd, BigDecimal hourlyRate) {
-        String sql = "SELECT COALESCE(SUM(TIMESTAMPDIFF(MINUTE, overtimeStart, overtimeEnd)), 0) as totalMinutes " +
-                    "FROM overtimerequest " +
-                    "WHERE employeeId = ? AND approvalStatus = 'Approved' " +
-                    "AND DATE(overtimeStart) BETWEEN ? AND ?";
-        
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, employeeId);
-            stmt.setDate(2, Date.valueOf(periodStart));
-            stmt.setDate(3, Date.valueOf(periodEnd));
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    long totalMinutes = rs.getLong("totalMinutes");
-                    if (totalMinutes > 0) {
-                        // Convert minutes to hours and multiply by 1.5 (time-and-a-half)
-                        BigDecimal overtimeHours = new BigDecimal(totalMinutes).divide(new BigDecimal("60"), 2, RoundingMode.HALF_UP);
-                        return overtimeHours.multiply(hourlyRate).multiply(new BigDecimal("1.5"));
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error calculating overtime pay: " + e.getMessage());
-        }
-        
-        return BigDecimal.ZERO;
+    private BigDecimal calculateOvertimePayEnhanced(Integer employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        return overtimeAccrualDAO.getPeriodTotals(employeeId, periodStart, periodEnd).getTotalPay();
     }
     
     /**
@@ -650,9 +829,31 @@ public class PayrollDAO extends BaseDAO<PayrollModel, Integer> {
     }
     
 
-    // INNER CLASS - For payroll summary
+    // INNER CLASSES
 
     
+    /**
+     * Everything one employee's payroll is computed from in a generation run,
+     * with the lineage rows to link once the payroll ID is known
+     */
+    private static class PayrollSources {
+        private final Integer employeeId;
+        private final BigDecimal basicSalary;
+        private final BigDecimal hourlyRate;
+        private BigDecimal totalBenefits = BigDecimal.ZERO;
+        private BigDecimal overtimePay = BigDecimal.ZERO;
+        private final List<PayrollBenefit> benefits = new ArrayList<>();
+        private final List<PayrollOvertime> overtime = new ArrayList<>();
+        private final List<PayrollAttendance> attendance = new ArrayList<>();
+        private final List<PayrollLeave> leaves = new ArrayList<>();
+        
+        PayrollSources(Integer employeeId, BigDecimal basicSalary, BigDecimal hourlyRate) {
+            this.employeeId = employeeId;
+            this.basicSalary = basicSalary;
+            this.hourlyRate = hourlyRate;
+        }
+    }
+    
     /**
      * Inner class to hold payroll summary information
      */
@@ -233,29 +233,13 @@ public class PayrollLeaveDAO {
             return false;
         }
         
-        String sql = "INSERT INTO payrollleave (payrollId, leaveRequestId, leaveHours) VALUES (?, ?, ?)";
-        
         try (Connection conn = databaseConnection.createConnection()) {
             conn.setAutoCommit(false);
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                for (PayrollLeave pl : leaveList) {
-                    pstmt.setInt(1, pl.getPayrollId());
-                    pstmt.setInt(2, pl.getLeaveRequestId());
-                    pstmt.setBigDecimal(3, pl.getLeaveHours());
-                    pstmt.addBatch();
-                }
-                
-                int[] results = pstmt.executeBatch();
+            try {
+                boolean success = insertBatch(conn, leaveList);
                 conn.commit();
-                
-                // Check if all inserts were successful
-                for (int result : results) {
-                    if (result <= 0) {
-                        return false;
-                    }
-                }
-                return true;
+                return success;
                 
             } catch (SQLException e) {
                 conn.rollback();
@@ -268,6 +252,32 @@ public class PayrollLeaveDAO {
         }
     }
     
+    /**
+     * Insert leave rows as one JDBC batch on the caller's connection (does not commit)
+     */
+    boolean insertBatch(Connection conn, List<PayrollLeave> leaveList) throws SQLException {
+        String sql = "INSERT INTO payrollleave (payrollId, leaveRequestId, leaveHours) VALUES (?, ?, ?)";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (PayrollLeave pl : leaveList) {
+                pstmt.setInt(1, pl.getPayrollId());
+                pstmt.setInt(2, pl.getLeaveRequestId());
+                pstmt.setBigDecimal(3, pl.getLeaveHours());
+                pstmt.addBatch();
+            }
+            
+            int[] results = pstmt.executeBatch();
+            
+            // Check if all inserts were successful
+            for (int result : results) {
+                if (result <= 0 && result != Statement.SUCCESS_NO_INFO) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
     /**
      * Check if leave request is already linked to payroll
      * @param payrollId
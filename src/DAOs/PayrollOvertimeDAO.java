@@ -262,30 +262,13 @@ public class PayrollOvertimeDAO {
             return false;
         }
         
-        String sql = "INSERT INTO payrollovertime (payrollId, overtimeRequestId, overtimeHours, overtimePay) VALUES (?, ?, ?, ?)";
-        
         try (Connection conn = databaseConnection.createConnection()) {
             conn.setAutoCommit(false);
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                for (PayrollOvertime po : overtimeList) {
-                    pstmt.setInt(1, po.getPayrollId());
-                    pstmt.setInt(2, po.getOvertimeRequestId());
-                    pstmt.setBigDecimal(3, po.getOvertimeHours());
-                    pstmt.setBigDecimal(4, po.getOvertimePay());
-                    pstmt.addBatch();
-                }
-                
-                int[] results = pstmt.executeBatch();
+            try {
+                boolean success = insertBatch(conn, overtimeList);
                 conn.commit();
-                
-                // Check if all inserts were successful
-                for (int result : results) {
-                    if (result <= 0) {
-                        return false;
-                    }
-                }
-                return true;
+                return success;
                 
             } catch (SQLException e) {
                 conn.rollback();
@@ -298,6 +281,33 @@ public class PayrollOvertimeDAO {
         }
     }
     
+    /**
+     * Insert overtime rows as one JDBC batch on the caller's connection (does not commit)
+     */
+    boolean insertBatch(Connection conn, List<PayrollOvertime> overtimeList) throws SQLException {
+        String sql = "INSERT INTO payrollovertime (payrollId, overtimeRequestId, overtimeHours, overtimePay) VALUES (?, ?, ?, ?)";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (PayrollOvertime po : overtimeList) {
+                pstmt.setInt(1, po.getPayrollId());
+                pstmt.setInt(2, po.getOvertimeRequestId());
+                pstmt.setBigDecimal(3, po.getOvertimeHours());
+                pstmt.setBigDecimal(4, po.getOvertimePay());
+                pstmt.addBatch();
+            }
+            
+            int[] results = pstmt.executeBatch();
+            
+            // Check if all inserts were successful
+            for (int result : results) {
+                if (result <= 0 && result != Statement.SUCCESS_NO_INFO) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
     /**
      * Check if overtime request is already linked to payroll
      * @param payrollId
@@ -341,6 +341,21 @@ public class PayslipDAO extends BaseDAO<PayslipModel, Integer> {
         return executeQuery(sql, employeeId);
     }
     
+    /**
+     * Finds an employee's most recent payslip
+     * @param employeeId The employee ID
+     * @return The payslip with the latest period end date, or null if there is none
+     */
+    public PayslipModel findLatestByEmployee(Integer employeeId) {
+        String sql = "SELECT ps.*, pp.periodName " +
+                    "FROM payslip ps " +
+                    "JOIN payperiod pp ON ps.payPeriodId = pp.payPeriodId " +
+                    "WHERE ps.employeeId = ? " +
+                    "ORDER BY ps.periodEnd DESC LIMIT 1";
+        List<PayslipModel> payslips = executeQuery(sql, employeeId);
+        return payslips.isEmpty() ? null : payslips.get(0);
+    }
+    
     /**
      * Finds all payslips for a specific pay period
      * @param payPeriodId The pay period ID
@@ -0,0 +1,155 @@
+package DAOs;
+
+import Models.Permission;
+import java.sql.*;
+import java.util.Map;
+
+/**
+ * PermissionDAO - Loads what PermissionResolver needs to compute a user's
+ * effective permissions, and stores per-user overrides
+ *
+ *   CREATE TABLE user_permission (
+ *     employeeId INT NOT NULL,
+ *     permission VARCHAR(40) NOT NULL,
+ *     granted BOOLEAN NOT NULL,
+ *     PRIMARY KEY (employeeId, permission),
+ *     FOREIGN KEY (employeeId) REFERENCES employee(employeeId) ON DELETE CASCADE
+ *   );
+ *
+ * A row grants a permission the role lacks (granted = TRUE) or revokes one it
+ * has (granted = FALSE). When the table is missing, users get their role's
+ * defaults.
+ * @author User
+ */
+public class PermissionDAO {
+
+    // MySQL error code for "table doesn't exist"
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    private static final String SELECT_USER_ACCESS = """
+        SELECT e.userRole, e.status,
+               (LOWER(p.department) = 'rank-and-file'
+                OR LOWER(p.position) LIKE '%rank%file%') AS rankAndFile
+        FROM employee e
+        LEFT JOIN position p ON e.positionId = p.positionId
+        WHERE e.employeeId = ?
+        """;
+
+    private static final String SELECT_OVERRIDES =
+        "SELECT permission, granted FROM user_permission WHERE employeeId = ?";
+
+    private static final String UPSERT_OVERRIDE =
+        "INSERT INTO user_permission (employeeId, permission, granted) VALUES (?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE granted = VALUES(granted)";
+
+    private final DatabaseConnection databaseConnection;
+
+    // Set once the table is known to be missing, so overrides are skipped
+    private volatile boolean permissionTableMissing = false;
+
+    public PermissionDAO(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Load a user's role, status, overtime eligibility and overrides in one connection
+     * @param employeeId The employee ID
+     * @return The user's access facts, or null if the user does not exist or on error
+     */
+    public PermissionResolver.UserAccess findUserAccess(int employeeId) {
+        try (Connection conn = databaseConnection.createConnection()) {
+            String role;
+            boolean active;
+            boolean rankAndFile;
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_USER_ACCESS)) {
+                pstmt.setInt(1, employeeId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    role = rs.getString("userRole");
+                    String status = rs.getString("status");
+                    active = status != null && !"Terminated".equalsIgnoreCase(status);
+                    rankAndFile = rs.getBoolean("rankAndFile");
+                }
+            }
+
+            long grants = 0L;
+            long revokes = 0L;
+            if (!permissionTableMissing) {
+                try (PreparedStatement pstmt = conn.prepareStatement(SELECT_OVERRIDES)) {
+                    pstmt.setInt(1, employeeId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            Permission permission = Permission.fromKey(rs.getString("permission"));
+                            if (permission == null) {
+                                continue;
+                            }
+                            if (rs.getBoolean("granted")) {
+                                grants |= permission.getBit();
+                            } else {
+                                revokes |= permission.getBit();
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    markTableMissing(e);
+                    if (!permissionTableMissing) {
+                        throw e;
+                    }
+                }
+            }
+            return new PermissionResolver.UserAccess(role, active, rankAndFile, grants, revokes);
+
+        } catch (SQLException e) {
+            System.err.println("Error loading user permissions: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Store grants and revocations for a user in one batch
+     * @param employeeId The employee ID
+     * @param overrides Permission to true (grant) or false (revoke)
+     * @return true if stored
+     */
+    public boolean saveOverrides(int employeeId, Map<Permission, Boolean> overrides) {
+        if (overrides == null || overrides.isEmpty()) {
+            return true;
+        }
+        if (permissionTableMissing) {
+            return false;
+        }
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT_OVERRIDE)) {
+
+            for (Map.Entry<Permission, Boolean> override : overrides.entrySet()) {
+                pstmt.setInt(1, employeeId);
+                pstmt.setString(2, override.getKey().getKey());
+                pstmt.setBoolean(3, Boolean.TRUE.equals(override.getValue()));
+                pstmt.addBatch();
+            }
+            // Other clients drop their cached permissions with their employee caches
+            CacheVersionDAO.executeAndBump(conn, CacheVersionDAO.EntityType.EMPLOYEE, () -> {
+                int rows = 0;
+                for (int result : pstmt.executeBatch()) {
+                    rows += result == Statement.SUCCESS_NO_INFO ? 1 : Math.max(result, 0);
+                }
+                return rows;
+            });
+            return true;
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not save user permissions: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void markTableMissing(SQLException e) {
+        if (e.getErrorCode() == ER_NO_SUCH_TABLE) {
+            permissionTableMissing = true;
+        }
+    }
+}
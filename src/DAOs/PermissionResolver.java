@@ -0,0 +1,208 @@
+package DAOs;
+
+import Models.Permission;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Caches each user's effective permissions as one bitset, so an authorization
+ * check is a hash-map lookup and a bit test instead of a query.
+ *
+ * The bitset is the role's defaults (compiled once in Permission, always
+ * including the employee defaults) plus the user's grants, minus their
+ * revocations. Terminated users have no permissions, and only rank-and-file
+ * employees keep SUBMIT_OVERTIME. It is loaded on the first check and kept
+ * until the user changes: EmployeeDAO drops it on every employee write (role,
+ * status, position), and updateUserPermissions drops it after storing new
+ * overrides.
+ * @author User
+ */
+public class PermissionResolver {
+
+    private final IntFunction<UserAccess> loader;
+    private final PermissionDAO permissionDAO;
+
+    private final Map<Integer, Long> effective = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so a load that raced one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Get the shared resolver
+     * @return The resolver used by the DAOs, services and models
+     */
+    public static PermissionResolver getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // Created on first use, so the permission enum and standalone resolvers
+    // do not need the database driver
+    private static final class Holder {
+        static final PermissionResolver INSTANCE =
+            new PermissionResolver(new PermissionDAO(new DatabaseConnection()));
+    }
+
+    /**
+     * Create a resolver backed by the database
+     * @param permissionDAO Loads user access facts and stores overrides
+     */
+    public PermissionResolver(PermissionDAO permissionDAO) {
+        this.loader = permissionDAO::findUserAccess;
+        this.permissionDAO = permissionDAO;
+    }
+
+    /**
+     * Create a standalone resolver. Application code should use getInstance()
+     * so invalidations reach every cached bitset.
+     * @param loader Loads a user's access facts, or returns null if unknown
+     */
+    public PermissionResolver(IntFunction<UserAccess> loader) {
+        this.loader = loader;
+        this.permissionDAO = null;
+    }
+
+    /**
+     * Get a user's effective permissions
+     * @param employeeId The employee ID
+     * @return The permission bitset, or 0 if the user is unknown
+     */
+    public long getPermissions(int employeeId) {
+        Long cached = effective.get(employeeId);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        long loadedAt = generation.get();
+        UserAccess access = loader.apply(employeeId);
+        if (access == null) {
+            return 0L; // unknown user or database error: deny, but do not cache
+        }
+        long permissions = access.getEffectivePermissions();
+        if (generation.get() == loadedAt) {
+            effective.put(employeeId, permissions);
+        }
+        return permissions;
+    }
+
+    /**
+     * Check one permission
+     * @param employeeId The employee ID
+     * @param permission The permission
+     * @return true if the user has it
+     */
+    public boolean hasPermission(int employeeId, Permission permission) {
+        return permission.isIn(getPermissions(employeeId));
+    }
+
+    /**
+     * Grant or revoke permissions for one user and drop their cached bitset
+     * @param employeeId The employee ID
+     * @param permissions Permission keys (e.g. "canManageUsers") to true or false
+     * @return true if every key was known and the overrides were stored
+     */
+    public boolean updateUserPermissions(int employeeId, Map<String, Boolean> permissions) {
+        if (permissions == null) {
+            return false;
+        }
+        Map<Permission, Boolean> overrides = new EnumMap<>(Permission.class);
+        for (Map.Entry<String, Boolean> entry : permissions.entrySet()) {
+            Permission permission = Permission.fromKey(entry.getKey());
+            if (permission == null) {
+                System.err.println("Unknown permission: " + entry.getKey());
+                return false;
+            }
+            overrides.put(permission, entry.getValue());
+        }
+
+        boolean saved = permissionDAO != null && permissionDAO.saveOverrides(employeeId, overrides);
+        invalidate(employeeId);
+        return saved;
+    }
+
+    /**
+     * Drop one user's cached permissions
+     * @param employeeId The employee ID
+     */
+    public void invalidate(int employeeId) {
+        generation.incrementAndGet();
+        effective.remove(employeeId);
+    }
+
+    /**
+     * Drop every cached permission bitset
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        effective.clear();
+    }
+
+    /**
+     * Get the number of lookups answered from the cache
+     * @return Cache hits so far
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of lookups that had to load the user
+     * @return Cache misses so far
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * The facts a user's effective permissions are computed from
+     */
+    public static final class UserAccess {
+        private final String role;
+        private final boolean active;
+        private final boolean rankAndFile;
+        private final long grants;
+        private final long revokes;
+
+        /**
+         * Create the access facts for one user
+         * @param role The user's role
+         * @param active false for terminated users
+         * @param rankAndFile Whether the user's position is rank-and-file
+         * @param grants Permissions granted on top of the role
+         * @param revokes Permissions taken away from the role
+         */
+        public UserAccess(String role, boolean active, boolean rankAndFile, long grants, long revokes) {
+            this.role = role;
+            this.active = active;
+            this.rankAndFile = rankAndFile;
+            this.grants = grants;
+            this.revokes = revokes;
+        }
+
+        public String getRole() { return role; }
+        public boolean isActive() { return active; }
+        public boolean isRankAndFile() { return rankAndFile; }
+
+        /**
+         * Combine the role defaults with the overrides
+         * @return The effective permission bitset
+         */
+        public long getEffectivePermissions() {
+            if (!active) {
+                return 0L;
+            }
+            // Every active user is at least an employee
+            long permissions = (Permission.forRole("Employee") | Permission.forRole(role) | grants) & ~revokes;
+            if (!rankAndFile) {
+                permissions &= ~Permission.SUBMIT_OVERTIME.getBit();
+            }
+            return permissions;
+        }
+    }
+}
@@ -19,10 +19,25 @@ public class PositionDAO {
     
     /**
      * Find position by ID - CRITICAL for rank-and-file detection
+     * Answered from the cached position table, with a query for positions not cached yet
      * @param positionId
      * @return PositionModel or null
      */
     public PositionModel findById(Integer positionId) {
+        if (positionId == null) {
+            return null;
+        }
+        
+        try {
+            for (PositionModel position : cachedPositions()) {
+                if (positionId.equals(position.getPositionId())) {
+                    return copyOf(position);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding all positions: " + e.getMessage());
+        }
+        
         String sql = "SELECT positionId, position, positionDescription, department FROM position WHERE positionId = ?";
         
         try (Connection conn = databaseConnection.createConnection();
@@ -32,12 +47,7 @@ public class PositionDAO {
             ResultSet rs = pstmt.executeQuery();
             
             if (rs.next()) {
-                PositionModel position = new PositionModel();
-                position.setPositionId(rs.getInt("positionId"));
-                position.setPosition(rs.getString("position"));
-                position.setPositionDescription(rs.getString("positionDescription"));
-                position.setDepartment(rs.getString("department"));
-                return position;
+                return mapPosition(rs);
             }
         } catch (SQLException e) {
             System.err.println("Error finding position: " + e.getMessage());
@@ -51,20 +61,10 @@ public class PositionDAO {
      */
     public List<PositionModel> findAll() {
         List<PositionModel> positions = new ArrayList<>();
-        String sql = "SELECT positionId, position, positionDescription, department FROM position ORDER BY department, position";
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                PositionModel position = new PositionModel();
-                position.setPositionId(rs.getInt("positionId"));
-                position.setPosition(rs.getString("position"));
-                position.setPositionDescription(rs.getString("positionDescription"));
-                position.setDepartment(rs.getString("department"));
-                positions.add(position);
+        try {
+            for (PositionModel position : cachedPositions()) {
+                positions.add(copyOf(position));
             }
         } catch (SQLException e) {
             System.err.println("Error finding all positions: " + e.getMessage());
@@ -72,6 +72,43 @@ public class PositionDAO {
         return positions;
     }
     
+    /**
+     * Read the whole position table once into ReferenceDataCache
+     * (invalidated by ReferenceDataDAO position writes)
+     */
+    private List<PositionModel> cachedPositions() throws SQLException {
+        return ReferenceDataCache.getInstance().get(ReferenceDataCache.Region.POSITIONS, "PositionDAO.findAll", () -> {
+            List<PositionModel> positions = new ArrayList<>();
+            String sql = "SELECT positionId, position, positionDescription, department FROM position ORDER BY department, position";
+            
+            try (Connection conn = databaseConnection.createConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql);
+                 ResultSet rs = pstmt.executeQuery()) {
+                
+                while (rs.next()) {
+                    positions.add(mapPosition(rs));
+                }
+            }
+            return List.copyOf(positions);
+        });
+    }
+    
+    private PositionModel mapPosition(ResultSet rs) throws SQLException {
+        PositionModel position = new PositionModel();
+        position.setPositionId(rs.getInt("positionId"));
+        position.setPosition(rs.getString("position"));
+        position.setPositionDescription(rs.getString("positionDescription"));
+        position.setDepartment(rs.getString("department"));
+        return position;
+    }
+    
+    // Cached models are shared, so callers get their own copy
+    private static PositionModel copyOf(PositionModel cached) {
+        PositionModel position = new PositionModel(cached.getPosition(), cached.getPositionDescription(), cached.getDepartment());
+        position.setPositionId(cached.getPositionId());
+        return position;
+    }
+    
     /**
      * Get rank-and-file positions only
      * @return List of rank-and-file positions
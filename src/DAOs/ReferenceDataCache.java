@@ -0,0 +1,150 @@
+package DAOs;
+
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache for small reference tables (positions/departments, benefit types, leave types).
+ * Used by ReferenceDataDAO, PositionDAO and LeaveTypeDAO so combo boxes and ID
+ * validation are answered from memory instead of querying MySQL every time.
+ * PositionBenefitService also keeps its per-position benefit cost totals here.
+ *
+ * Each table is a region holding immutable values under a key chosen by the DAO
+ * (a DAO caches whole-table query results and filters them in memory). Writing
+ * DAOs invalidate the region they changed, which bumps its version counter.
+ * The versions let callers check cheaply whether anything changed since they
+ * last read; a value loaded while its region was invalidated is not stored.
+ * @author User
+ */
+public class ReferenceDataCache {
+
+    private static final ReferenceDataCache INSTANCE = new ReferenceDataCache();
+
+    /**
+     * Cached reference tables
+     */
+    public enum Region {
+        POSITIONS,
+        BENEFIT_TYPES,
+        LEAVE_TYPES,
+        /** Benefit cost per position; changes with position benefits, employees and positions */
+        BENEFIT_COSTS
+    }
+
+    /**
+     * Loads a region value from the database
+     * @param <T> The value type (should be immutable)
+     */
+    public interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    private final Map<Region, Map<String, Object>> values = new EnumMap<>(Region.class);
+    private final Map<Region, AtomicLong> versions = new EnumMap<>(Region.class);
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Get the shared cache instance
+     * @return The cache used by the reference data DAOs
+     */
+    public static ReferenceDataCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone cache. Application code should use getInstance().
+     */
+    public ReferenceDataCache() {
+        for (Region region : Region.values()) {
+            values.put(region, new HashMap<>());
+            versions.put(region, new AtomicLong());
+        }
+    }
+
+    /**
+     * Get a cached value, loading it on first use
+     * @param <T> The value type
+     * @param region Region the value belongs to
+     * @param key Key of the value within the region
+     * @param loader Loads the value if it is not cached
+     * @return The cached or freshly loaded value
+     * @throws SQLException if the loader fails (nothing is cached)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Region region, String key, Loader<T> loader) throws SQLException {
+        Map<String, Object> regionValues = values.get(region);
+        long regionVersion;
+        synchronized (regionValues) {
+            Object cached = regionValues.get(key);
+            if (cached != null) {
+                return (T) cached;
+            }
+            regionVersion = versions.get(region).get();
+        }
+
+        // Load outside the lock so a slow query does not block other readers
+        T loaded = loader.load();
+
+        synchronized (regionValues) {
+            if (loaded != null && versions.get(region).get() == regionVersion) {
+                regionValues.putIfAbsent(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop all values of a region and bump its version
+     * @param region The changed region
+     */
+    public void invalidate(Region region) {
+        Map<String, Object> regionValues = values.get(region);
+        synchronized (regionValues) {
+            versions.get(region).incrementAndGet();
+            version.incrementAndGet();
+            regionValues.clear();
+        }
+    }
+
+    /**
+     * Drop every region
+     */
+    public void invalidateAll() {
+        for (Region region : Region.values()) {
+            invalidate(region);
+        }
+    }
+
+    /**
+     * Check if a value is cached
+     * @param region The region
+     * @param key The key
+     * @return true if cached
+     */
+    public boolean isCached(Region region, String key) {
+        Map<String, Object> regionValues = values.get(region);
+        synchronized (regionValues) {
+            return regionValues.containsKey(key);
+        }
+    }
+
+    /**
+     * Get the overall version, bumped on every invalidation
+     * @return The version counter
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Get the version of one region
+     * @param region The region
+     * @return The region's version counter
+     */
+    public long getVersion(Region region) {
+        return versions.get(region).get();
+    }
+}
@@ -1,24 +1,74 @@
 package DAOs;
 
+import DAOs.CacheVersionDAO.EntityType;
+import DAOs.ReferenceDataCache.Region;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 
 /**
  * Data Access Object for reference data operations
- * Handles positions, benefit types, leave types, and other reference data
+ * Handles positions, benefit types, leave types, and other reference data.
+ * Each table is read once into ReferenceDataCache and filtered in memory;
+ * the create/update/deactivate methods invalidate the table they change and
+ * bump its cache_version row in the same transaction for the other clients.
  * @author USER
  */
 public class ReferenceDataDAO {
     
+    private static final String SELECT_ALL_POSITIONS = """
+        SELECT positionId, positionTitle, department, description
+        FROM position 
+        ORDER BY department, positionTitle
+        """;
+    
+    private static final String SELECT_ALL_BENEFIT_TYPES = """
+        SELECT benefitTypeId, benefitName, description, isActive
+        FROM benefittype 
+        ORDER BY benefitName
+        """;
+    
+    private static final String SELECT_ALL_LEAVE_TYPES = """
+        SELECT leaveTypeId, leaveTypeName, description, maxDays, isActive
+        FROM leavetype 
+        ORDER BY leaveTypeName
+        """;
+    
     private final DatabaseConnection databaseConnection;
+    private final ReferenceDataCache cache = ReferenceDataCache.getInstance();
     
     public ReferenceDataDAO(DatabaseConnection databaseConnection) {
         this.databaseConnection = databaseConnection;
     }
     
+    /**
+     * Load positions, benefit types and leave types into the cache (called at startup)
+     * @return true if every table was loaded
+     */
+    public boolean preloadReferenceData() {
+        try {
+            cachedPositions();
+            cachedBenefitTypes();
+            cachedLeaveTypes();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error preloading reference data: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Get the reference data version, bumped whenever a cached table changes
+     * @return The cache version
+     */
+    public long getReferenceDataVersion() {
+        return cache.getVersion();
+    }
+    
     /**
      * Validates if a position ID exists in the database
      * @param positionId Position ID to validate
@@ -27,6 +77,11 @@ public class ReferenceDataDAO {
     public boolean isValidPositionId(Integer positionId) {
         if (positionId == null) return false;
         
+        if (findCachedRow(Region.POSITIONS, "positionId", positionId) != null) {
+            return true;
+        }
+        
+        // Not cached (or added by another client) - ask the database
         String sql = "SELECT COUNT(*) FROM position WHERE positionId = ?";
         
         try (Connection conn = databaseConnection.createConnection();
@@ -54,6 +109,10 @@ public class ReferenceDataDAO {
     public boolean isValidBenefitTypeId(Integer benefitTypeId) {
         if (benefitTypeId == null) return false;
         
+        if (findCachedRow(Region.BENEFIT_TYPES, "benefitTypeId", benefitTypeId) != null) {
+            return true;
+        }
+        
         String sql = "SELECT COUNT(*) FROM benefittype WHERE benefitTypeId = ?";
         
         try (Connection conn = databaseConnection.createConnection();
@@ -80,28 +139,15 @@ public class ReferenceDataDAO {
      */
     public List<Map<String, Object>> getPositionsByDepartment(String department) {
         List<Map<String, Object>> positions = new ArrayList<>();
-        String sql = """
-            SELECT positionId, positionTitle, department, description
-            FROM position 
-            WHERE department = ? 
-            ORDER BY positionTitle
-            """;
         
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, department);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                Map<String, Object> position = new HashMap<>();
-                position.put("positionId", rs.getInt("positionId"));
-                position.put("positionTitle", rs.getString("positionTitle"));
-                position.put("department", rs.getString("department"));
-                position.put("description", rs.getString("description"));
-                positions.add(position);
+        try {
+            for (Map<String, Object> position : cachedPositions()) {
+                if (department != null && department.equalsIgnoreCase((String) position.get("department"))) {
+                    positions.add(new HashMap<>(position));
+                }
             }
-            
+            positions.sort((a, b) -> String.CASE_INSENSITIVE_ORDER.compare(
+                String.valueOf(a.get("positionTitle")), String.valueOf(b.get("positionTitle"))));
         } catch (SQLException e) {
             System.err.println("Error getting positions by department: " + e.getMessage());
         }
@@ -114,25 +160,20 @@ public class ReferenceDataDAO {
      * @return List of unique department names
      */
     public List<String> getAllDepartments() {
-        List<String> departments = new ArrayList<>();
-        String sql = "SELECT DISTINCT department FROM position ORDER BY department";
+        TreeSet<String> departments = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
         
-        try (Connection conn = databaseConnection.createConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                String department = rs.getString("department");
+        try {
+            for (Map<String, Object> position : cachedPositions()) {
+                String department = (String) position.get("department");
                 if (department != null && !department.trim().isEmpty()) {
                     departments.add(department);
                 }
             }
-            
         } catch (SQLException e) {
             System.err.println("Error getting all departments: " + e.getMessage());
         }
         
-        return departments;
+        return new ArrayList<>(departments);
     }
     
     /**
@@ -140,31 +181,13 @@ public class ReferenceDataDAO {
      * @return List of all positions
      */
     public List<Map<String, Object>> getAllPositions() {
-        List<Map<String, Object>> positions = new ArrayList<>();
-        String sql = """
-            SELECT positionId, positionTitle, department, description
-            FROM position 
-            ORDER BY department, positionTitle
-            """;
-        
-        try (Connection conn = databaseConnection.createConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                Map<String, Object> position = new HashMap<>();
-                position.put("positionId", rs.getInt("positionId"));
-                position.put("positionTitle", rs.getString("positionTitle"));
-                position.put("department", rs.getString("department"));
-                position.put("description", rs.getString("description"));
-                positions.add(position);
-            }
-            
+        try {
+            return copyRows(cachedPositions(), false);
         } catch (SQLException e) {
             System.err.println("Error getting all positions: " + e.getMessage());
         }
         
-        return positions;
+        return new ArrayList<>();
     }
     
     /**
@@ -172,32 +195,13 @@ public class ReferenceDataDAO {
      * @return List of all benefit types
      */
     public List<Map<String, Object>> getAllBenefitTypes() {
-        List<Map<String, Object>> benefitTypes = new ArrayList<>();
-        String sql = """
-            SELECT benefitTypeId, benefitName, description, isActive
-            FROM benefittype 
-            WHERE isActive = true
-            ORDER BY benefitName
-            """;
-        
-        try (Connection conn = databaseConnection.createConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                Map<String, Object> benefitType = new HashMap<>();
-                benefitType.put("benefitTypeId", rs.getInt("benefitTypeId"));
-                benefitType.put("benefitName", rs.getString("benefitName"));
-                benefitType.put("description", rs.getString("description"));
-                benefitType.put("isActive", rs.getBoolean("isActive"));
-                benefitTypes.add(benefitType);
-            }
-            
+        try {
+            return copyRows(cachedBenefitTypes(), true);
         } catch (SQLException e) {
             System.err.println("Error getting all benefit types: " + e.getMessage());
         }
         
-        return benefitTypes;
+        return new ArrayList<>();
     }
     
     /**
@@ -205,33 +209,13 @@ public class ReferenceDataDAO {
      * @return List of all leave types
      */
     public List<Map<String, Object>> getAllLeaveTypes() {
-        List<Map<String, Object>> leaveTypes = new ArrayList<>();
-        String sql = """
-            SELECT leaveTypeId, leaveTypeName, description, maxDays, isActive
-            FROM leavetype 
-            WHERE isActive = true
-            ORDER BY leaveTypeName
-            """;
-        
-        try (Connection conn = databaseConnection.createConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                Map<String, Object> leaveType = new HashMap<>();
-                leaveType.put("leaveTypeId", rs.getInt("leaveTypeId"));
-                leaveType.put("leaveTypeName", rs.getString("leaveTypeName"));
-                leaveType.put("description", rs.getString("description"));
-                leaveType.put("maxDays", rs.getInt("maxDays"));
-                leaveType.put("isActive", rs.getBoolean("isActive"));
-                leaveTypes.add(leaveType);
-            }
-            
+        try {
+            return copyRows(cachedLeaveTypes(), true);
         } catch (SQLException e) {
             System.err.println("Error getting all leave types: " + e.getMessage());
         }
         
-        return leaveTypes;
+        return new ArrayList<>();
     }
     
     /**
@@ -240,6 +224,13 @@ public class ReferenceDataDAO {
      * @return Position details or null if not found
      */
     public Map<String, Object> getPositionById(Integer positionId) {
+        if (positionId == null) return null;
+        
+        Map<String, Object> cached = findCachedRow(Region.POSITIONS, "positionId", positionId);
+        if (cached != null) {
+            return new HashMap<>(cached);
+        }
+        
         String sql = """
             SELECT positionId, positionTitle, department, description
             FROM position 
@@ -274,6 +265,13 @@ public class ReferenceDataDAO {
      * @return Benefit type details or null if not found
      */
     public Map<String, Object> getBenefitTypeById(Integer benefitTypeId) {
+        if (benefitTypeId == null) return null;
+        
+        Map<String, Object> cached = findCachedRow(Region.BENEFIT_TYPES, "benefitTypeId", benefitTypeId);
+        if (cached != null) {
+            return new HashMap<>(cached);
+        }
+        
         String sql = """
             SELECT benefitTypeId, benefitName, description, isActive
             FROM benefittype 
@@ -310,6 +308,11 @@ public class ReferenceDataDAO {
     public Map<String, Object> getLeaveTypeById(Integer leaveTypeId) {
         if (leaveTypeId == null) return null;
         
+        Map<String, Object> cached = findCachedRow(Region.LEAVE_TYPES, "leaveTypeId", leaveTypeId);
+        if (cached != null) {
+            return new HashMap<>(cached);
+        }
+        
         String sql = """
             SELECT leaveTypeId, leaveTypeName, description, maxDays, isActive
             FROM leavetype 
@@ -347,6 +350,11 @@ public class ReferenceDataDAO {
     public boolean isValidLeaveTypeId(Integer leaveTypeId) {
         if (leaveTypeId == null) return false;
         
+        Map<String, Object> cached = findCachedRow(Region.LEAVE_TYPES, "leaveTypeId", leaveTypeId);
+        if (cached != null && Boolean.TRUE.equals(cached.get("isActive"))) {
+            return true;
+        }
+        
         String sql = "SELECT COUNT(*) FROM leavetype WHERE leaveTypeId = ? AND isActive = true";
         
         try (Connection conn = databaseConnection.createConnection();
@@ -384,7 +392,11 @@ public class ReferenceDataDAO {
             pstmt.setString(1, benefitName);
             pstmt.setString(2, description);
             
-            return pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.BENEFIT_TYPE, pstmt::executeUpdate) > 0;
+            if (success) {
+                cache.invalidate(Region.BENEFIT_TYPES);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error creating benefit type: " + e.getMessage());
@@ -417,7 +429,11 @@ public class ReferenceDataDAO {
                 pstmt.setNull(3, Types.INTEGER);
             }
             
-            return pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_TYPE, pstmt::executeUpdate) > 0;
+            if (success) {
+                cache.invalidate(Region.LEAVE_TYPES);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error creating leave type: " + e.getMessage());
@@ -446,7 +462,11 @@ public class ReferenceDataDAO {
             pstmt.setString(2, department);
             pstmt.setString(3, description);
             
-            return pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.POSITION, pstmt::executeUpdate) > 0;
+            if (success) {
+                cache.invalidate(Region.POSITIONS);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error creating position: " + e.getMessage());
@@ -478,7 +498,14 @@ public class ReferenceDataDAO {
             pstmt.setString(3, description);
             pstmt.setInt(4, positionId);
             
-            return pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.POSITION, pstmt::executeUpdate) > 0;
+            if (success) {
+                cache.invalidate(Region.POSITIONS);
+                EmployeeClassificationCache.getInstance().invalidate();
+                EmployeeDAO.invalidateEmployeeCache();
+                cache.invalidate(Region.BENEFIT_COSTS);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error updating position: " + e.getMessage());
@@ -508,7 +535,11 @@ public class ReferenceDataDAO {
             pstmt.setString(2, description);
             pstmt.setInt(3, benefitTypeId);
             
-            return pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.BENEFIT_TYPE, pstmt::executeUpdate) > 0;
+            if (success) {
+                cache.invalidate(Region.BENEFIT_TYPES);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error updating benefit type: " + e.getMessage());
@@ -544,7 +575,11 @@ public class ReferenceDataDAO {
             }
             pstmt.setInt(4, leaveTypeId);
             
-            return pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_TYPE, pstmt::executeUpdate) > 0;
+            if (success) {
+                cache.invalidate(Region.LEAVE_TYPES);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error updating leave type: " + e.getMessage());
@@ -569,7 +604,11 @@ public class ReferenceDataDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, benefitTypeId);
-            return pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.BENEFIT_TYPE, pstmt::executeUpdate) > 0;
+            if (success) {
+                cache.invalidate(Region.BENEFIT_TYPES);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error deactivating benefit type: " + e.getMessage());
@@ -594,7 +633,11 @@ public class ReferenceDataDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, leaveTypeId);
-            return pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, EntityType.LEAVE_TYPE, pstmt::executeUpdate) > 0;
+            if (success) {
+                cache.invalidate(Region.LEAVE_TYPES);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error deactivating leave type: " + e.getMessage());
@@ -602,4 +645,98 @@ public class ReferenceDataDAO {
         
         return false;
     }
-}
\ No newline at end of file
+    
+    // CACHED TABLES
+    
+    private List<Map<String, Object>> cachedPositions() throws SQLException {
+        return cache.get(Region.POSITIONS, "ReferenceDataDAO.positions", () -> loadRows(SELECT_ALL_POSITIONS, rs -> {
+            Map<String, Object> position = new HashMap<>();
+            position.put("positionId", rs.getInt("positionId"));
+            position.put("positionTitle", rs.getString("positionTitle"));
+            position.put("department", rs.getString("department"));
+            position.put("description", rs.getString("description"));
+            return position;
+        }));
+    }
+    
+    private List<Map<String, Object>> cachedBenefitTypes() throws SQLException {
+        return cache.get(Region.BENEFIT_TYPES, "ReferenceDataDAO.benefitTypes", () -> loadRows(SELECT_ALL_BENEFIT_TYPES, rs -> {
+            Map<String, Object> benefitType = new HashMap<>();
+            benefitType.put("benefitTypeId", rs.getInt("benefitTypeId"));
+            benefitType.put("benefitName", rs.getString("benefitName"));
+            benefitType.put("description", rs.getString("description"));
+            benefitType.put("isActive", rs.getBoolean("isActive"));
+            return benefitType;
+        }));
+    }
+    
+    private List<Map<String, Object>> cachedLeaveTypes() throws SQLException {
+        return cache.get(Region.LEAVE_TYPES, "ReferenceDataDAO.leaveTypes", () -> loadRows(SELECT_ALL_LEAVE_TYPES, rs -> {
+            Map<String, Object> leaveType = new HashMap<>();
+            leaveType.put("leaveTypeId", rs.getInt("leaveTypeId"));
+            leaveType.put("leaveTypeName", rs.getString("leaveTypeName"));
+            leaveType.put("description", rs.getString("description"));
+            leaveType.put("maxDays", rs.getInt("maxDays"));
+            leaveType.put("isActive", rs.getBoolean("isActive"));
+            return leaveType;
+        }));
+    }
+    
+    /**
+     * Find a cached row by ID
+     * @return The immutable cached row, or null if not cached or the table could not be loaded
+     */
+    private Map<String, Object> findCachedRow(Region region, String idColumn, Integer id) {
+        try {
+            List<Map<String, Object>> rows = switch (region) {
+                case POSITIONS -> cachedPositions();
+                case BENEFIT_TYPES -> cachedBenefitTypes();
+                case LEAVE_TYPES -> cachedLeaveTypes();
+                default -> List.of();
+            };
+            for (Map<String, Object> row : rows) {
+                if (id.equals(row.get(idColumn))) {
+                    return row;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading cached reference data: " + e.getMessage());
+        }
+        return null;
+    }
+    
+    /**
+     * Copy cached rows for a caller (callers may modify the returned list and maps)
+     */
+    private static List<Map<String, Object>> copyRows(List<Map<String, Object>> rows, boolean activeOnly) {
+        List<Map<String, Object>> copies = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            if (!activeOnly || Boolean.TRUE.equals(row.get("isActive"))) {
+                copies.add(new HashMap<>(row));
+            }
+        }
+        return copies;
+    }
+    
+    private interface RowMapper {
+        Map<String, Object> map(ResultSet rs) throws SQLException;
+    }
+    
+    /**
+     * Read a whole table into an immutable list of immutable rows
+     */
+    private List<Map<String, Object>> loadRows(String sql, RowMapper mapper) throws SQLException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        
+        try (Connection conn = databaseConnection.createConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            while (rs.next()) {
+                rows.add(Collections.unmodifiableMap(mapper.map(rs)));
+            }
+        }
+        
+        return Collections.unmodifiableList(rows);
+    }
+}
@@ -0,0 +1,150 @@
+package DAOs;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SessionDAO - Persists SessionStore sessions so they survive a restart
+ *
+ *   CREATE TABLE user_session (
+ *     tokenHash CHAR(43) PRIMARY KEY,
+ *     employeeId INT NOT NULL,
+ *     createdAt TIMESTAMP NOT NULL,
+ *     expiresAt TIMESTAMP NOT NULL,
+ *     idleTimeoutSeconds INT NOT NULL,
+ *     INDEX idx_session_expires (expiresAt),
+ *     FOREIGN KEY (employeeId) REFERENCES employee(employeeId) ON DELETE CASCADE
+ *   );
+ *
+ * Only the SHA-256 of each token is stored. Rows are written in batches by the
+ * SessionStore ticker; sessions are never validated against this table. When
+ * the table is missing, sessions are simply kept in memory.
+ * @author User
+ */
+public class SessionDAO {
+
+    // MySQL error code for "table doesn't exist"
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    private static final String UPSERT_SESSION =
+        "INSERT INTO user_session (tokenHash, employeeId, createdAt, expiresAt, idleTimeoutSeconds) " +
+        "VALUES (?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE expiresAt = VALUES(expiresAt)";
+
+    private final DatabaseConnection databaseConnection;
+
+    // Set once the table is known to be missing, so persistence is skipped
+    private volatile boolean sessionTableMissing = false;
+
+    public SessionDAO(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Create or refresh sessions in one batch
+     * @param sessions The sessions to store
+     * @return Number of sessions written
+     */
+    public int saveAll(List<SessionStore.Session> sessions) {
+        if (sessions == null || sessions.isEmpty() || sessionTableMissing) {
+            return 0;
+        }
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT_SESSION)) {
+
+            for (SessionStore.Session session : sessions) {
+                pstmt.setString(1, session.getTokenHash());
+                pstmt.setInt(2, session.getEmployeeId());
+                pstmt.setTimestamp(3, new Timestamp(session.getCreatedAt()));
+                pstmt.setTimestamp(4, new Timestamp(session.getExpiresAt()));
+                pstmt.setLong(5, session.getIdleTimeoutMillis() / 1000);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            return sessions.size();
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not save sessions: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Delete ended sessions in one batch
+     * @param tokenHashes Hashes of the ended sessions' tokens
+     * @return Number of rows deleted
+     */
+    public int deleteAll(List<String> tokenHashes) {
+        if (tokenHashes == null || tokenHashes.isEmpty() || sessionTableMissing) {
+            return 0;
+        }
+
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM user_session WHERE tokenHash = ?")) {
+
+            for (String tokenHash : tokenHashes) {
+                pstmt.setString(1, tokenHash);
+                pstmt.addBatch();
+            }
+            int deleted = 0;
+            for (int result : pstmt.executeBatch()) {
+                deleted += Math.max(result, 0);
+            }
+            return deleted;
+
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not delete sessions: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Load the sessions that have not expired, and purge the ones that have
+     * @param nowMillis Current time in epoch milliseconds
+     * @return The live sessions
+     */
+    public List<SessionStore.Session> findActive(long nowMillis) {
+        List<SessionStore.Session> sessions = new ArrayList<>();
+        if (sessionTableMissing) {
+            return sessions;
+        }
+        Timestamp now = new Timestamp(nowMillis);
+
+        try (Connection conn = databaseConnection.createConnection()) {
+            try (PreparedStatement purge = conn.prepareStatement("DELETE FROM user_session WHERE expiresAt <= ?")) {
+                purge.setTimestamp(1, now);
+                purge.executeUpdate();
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT tokenHash, employeeId, createdAt, expiresAt, idleTimeoutSeconds " +
+                     "FROM user_session WHERE expiresAt > ?")) {
+                pstmt.setTimestamp(1, now);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        sessions.add(new SessionStore.Session(
+                            rs.getString("tokenHash"),
+                            rs.getInt("employeeId"),
+                            rs.getTimestamp("createdAt").getTime(),
+                            rs.getLong("idleTimeoutSeconds") * 1000,
+                            rs.getTimestamp("expiresAt").getTime()));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            markTableMissing(e);
+            System.err.println("Could not load sessions: " + e.getMessage());
+        }
+        return sessions;
+    }
+
+    private void markTableMissing(SQLException e) {
+        if (e.getErrorCode() == ER_NO_SUCH_TABLE) {
+            sessionTableMissing = true;
+        }
+    }
+}
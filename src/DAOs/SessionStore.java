@@ -0,0 +1,451 @@
+package DAOs;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory store of login sessions with sliding expiry.
+ * Used by UserAuthenticationDAO so validating a session is one hash-map lookup
+ * with no database round-trip.
+ *
+ * Tokens are 32 random bytes from SecureRandom. Only their SHA-256 digest is
+ * kept (in memory and in the session table), so neither a heap dump nor the
+ * database reveals a usable token.
+ *
+ * Expiry uses a hashed timing wheel: each session sits in the slot of its
+ * deadline tick. Validating a session only moves its deadline forward; when
+ * its slot comes round, a session that was used in the meantime is put back in
+ * the slot of its new deadline, and one that was not is dropped. Creating,
+ * touching and expiring a session are all O(1).
+ *
+ * With start(SessionDAO) sessions are also kept in the user_session table so
+ * they survive a restart. Writes to that table are queued and flushed by the
+ * wheel's ticker thread, never on the login or validation path.
+ * @author User
+ */
+public class SessionStore {
+
+    public static final long DEFAULT_TICK_MILLIS = 1000;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final SessionStore INSTANCE =
+        new SessionStore(System::currentTimeMillis, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final LongSupplier clock;
+    private final long tickMillis;
+    private final int wheelSize;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    // Wheel state (guarded by wheelLock)
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final List<Set<Session>> wheel;
+    private long currentTick;
+
+    // Pending writes to the session table, flushed by the ticker
+    private final ConcurrentLinkedQueue<Session> pendingSaves = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<String> pendingDeletes = new ConcurrentLinkedQueue<>();
+    private volatile SessionDAO sessionDAO;
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Get the shared session store
+     * @return The store used by UserAuthenticationDAO
+     */
+    public static SessionStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone store. Application code should use getInstance()
+     * so every DAO sees the same sessions.
+     * @param clock Current time in epoch milliseconds
+     * @param tickMillis Wheel resolution; sessions expire at most this late
+     * @param wheelSize Number of wheel slots
+     */
+    public SessionStore(LongSupplier clock, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new HashSet<>());
+        }
+        this.currentTick = clock.getAsLong() / tickMillis;
+    }
+
+    /**
+     * Restore persisted sessions and start the expiry ticker in a daemon thread
+     * (does nothing if already started)
+     * @param sessionDAO Session table access, or null to keep sessions in memory only
+     */
+    public synchronized void start(SessionDAO sessionDAO) {
+        if (ticker != null) {
+            return;
+        }
+        this.sessionDAO = sessionDAO;
+        if (sessionDAO != null) {
+            for (Session session : sessionDAO.findActive(clock.getAsLong())) {
+                if (sessions.putIfAbsent(session.tokenHash, session) == null) {
+                    schedule(session);
+                }
+            }
+        }
+
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(() -> {
+            try {
+                advance();
+                flush();
+            } catch (RuntimeException e) {
+                System.err.println("Error expiring sessions: " + e.getMessage());
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the ticker and write pending session changes
+     */
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+        flush();
+    }
+
+    /**
+     * Open a session with a new random token
+     * @param employeeId The logged-in employee
+     * @param idleTimeoutMillis Session ends after this long without validation
+     * @return The token to hand to the client
+     */
+    public String createSession(int employeeId, long idleTimeoutMillis) {
+        String token = generateToken();
+        register(token, employeeId, idleTimeoutMillis);
+        return token;
+    }
+
+    /**
+     * Open a session for a token chosen by the caller
+     * @param token The session token
+     * @param employeeId The logged-in employee
+     * @param idleTimeoutMillis Session ends after this long without validation
+     * @return true if registered, false if the token is blank or already in use
+     */
+    public boolean register(String token, int employeeId, long idleTimeoutMillis) {
+        if (token == null || token.isBlank() || idleTimeoutMillis <= 0) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        Session session = new Session(digest(token), employeeId, now, idleTimeoutMillis, now + idleTimeoutMillis);
+        if (sessions.putIfAbsent(session.tokenHash, session) != null) {
+            return false;
+        }
+        schedule(session);
+        queueSave(session);
+        return true;
+    }
+
+    /**
+     * Check a token and slide its expiry forward
+     * @param token The session token
+     * @return A copy of the session, or null if the token is unknown or expired
+     */
+    public Session validate(String token) {
+        if (token == null) {
+            return null;
+        }
+        String tokenHash = digest(token);
+        Session session = sessions.get(tokenHash);
+        if (session == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (session.expiresAt <= now) {
+            if (sessions.remove(tokenHash, session)) {
+                queueDelete(tokenHash);
+            }
+            return null;
+        }
+        // Never pull the deadline in, so an extendSessions() deadline survives use
+        synchronized (session) {
+            session.expiresAt = Math.max(session.expiresAt, now + session.idleTimeoutMillis);
+        }
+        return session.copy();
+    }
+
+    /**
+     * Check that a token belongs to an employee and slide its expiry forward
+     * @param token The session token
+     * @param employeeId The employee the token should belong to
+     * @return true if the session is live and belongs to the employee
+     */
+    public boolean isValid(String token, int employeeId) {
+        Session session = validate(token);
+        return session != null && session.employeeId == employeeId;
+    }
+
+    /**
+     * Push back the expiry of every session of an employee. Validating a
+     * session afterwards does not shorten the extended expiry.
+     * @param employeeId The employee ID
+     * @param additionalMillis Time added to each session's current expiry
+     * @return Number of sessions extended
+     */
+    public int extendSessions(int employeeId, long additionalMillis) {
+        long now = clock.getAsLong();
+        int count = 0;
+        for (Session session : sessions.values()) {
+            if (session.employeeId == employeeId && session.expiresAt > now) {
+                synchronized (session) {
+                    session.expiresAt = session.expiresAt + additionalMillis;
+                }
+                queueSave(session);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * End one session (logout)
+     * @param token The session token
+     * @return true if a live session was removed
+     */
+    public boolean invalidate(String token) {
+        if (token == null) {
+            return false;
+        }
+        String tokenHash = digest(token);
+        if (sessions.remove(tokenHash) == null) {
+            return false;
+        }
+        queueDelete(tokenHash);
+        return true;
+    }
+
+    /**
+     * End every session of an employee, e.g. after deactivation or a password change
+     * @param employeeId The employee ID
+     * @return Number of sessions removed
+     */
+    public int invalidateEmployee(int employeeId) {
+        int count = 0;
+        for (Session session : sessions.values()) {
+            if (session.employeeId == employeeId && sessions.remove(session.tokenHash, session)) {
+                queueDelete(session.tokenHash);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Turn the wheel up to the current time: drop sessions whose deadline
+     * passed and move sessions that were used since they were scheduled.
+     * Called by the ticker; public so tests can drive the wheel with their own clock.
+     * @return Number of sessions expired
+     */
+    public int advance() {
+        long now = clock.getAsLong();
+        long nowTick = now / tickMillis;
+        int expired = 0;
+        List<Session> touched = new ArrayList<>();
+
+        wheelLock.lock();
+        try {
+            // After a long pause every slot is visited once; due checks use the deadline tick
+            if (nowTick - currentTick > wheelSize) {
+                currentTick = nowTick - wheelSize;
+            }
+            while (currentTick < nowTick) {
+                currentTick++;
+                Set<Session> slot = wheel.get((int) (currentTick % wheelSize));
+                for (Iterator<Session> it = slot.iterator(); it.hasNext();) {
+                    Session session = it.next();
+                    if (session.deadlineTick > currentTick) {
+                        continue; // due on a later turn of the wheel
+                    }
+                    it.remove();
+                    if (sessions.get(session.tokenHash) != session) {
+                        continue; // already invalidated
+                    }
+                    if (session.expiresAt <= now) {
+                        if (sessions.remove(session.tokenHash, session)) {
+                            queueDelete(session.tokenHash);
+                            expired++;
+                        }
+                    } else {
+                        touched.add(session);
+                    }
+                }
+            }
+            for (Session session : touched) {
+                scheduleInternal(session);
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+
+        // A session moved to a later slot has a new expiry worth persisting
+        for (Session session : touched) {
+            queueSave(session);
+        }
+        return expired;
+    }
+
+    /**
+     * Get the number of live sessions
+     * @return Sessions in memory
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Generate a URL-safe session token from 32 random bytes
+     * @return A new token
+     */
+    public static String generateToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // Helper methods
+
+    private void schedule(Session session) {
+        wheelLock.lock();
+        try {
+            scheduleInternal(session);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    /**
+     * Put a session in the slot of its deadline tick (caller must hold wheelLock)
+     */
+    private void scheduleInternal(Session session) {
+        long deadlineTick = Math.max(currentTick + 1, (session.expiresAt + tickMillis - 1) / tickMillis);
+        session.deadlineTick = deadlineTick;
+        wheel.get((int) (deadlineTick % wheelSize)).add(session);
+    }
+
+    private void queueSave(Session session) {
+        if (sessionDAO != null) {
+            pendingSaves.add(session);
+        }
+    }
+
+    private void queueDelete(String tokenHash) {
+        if (sessionDAO != null) {
+            pendingDeletes.add(tokenHash);
+        }
+    }
+
+    /**
+     * Write queued session changes to the session table
+     */
+    private void flush() {
+        SessionDAO dao = sessionDAO;
+        if (dao == null) {
+            return;
+        }
+        List<Session> saves = new ArrayList<>();
+        Set<String> deletes = new HashSet<>();
+        for (String tokenHash; (tokenHash = pendingDeletes.poll()) != null;) {
+            deletes.add(tokenHash);
+        }
+        Set<String> seen = new HashSet<>();
+        for (Session session; (session = pendingSaves.poll()) != null;) {
+            if (!deletes.contains(session.tokenHash) && seen.add(session.tokenHash)
+                    && sessions.get(session.tokenHash) == session) {
+                saves.add(session.copy());
+            }
+        }
+        if (!saves.isEmpty()) {
+            dao.saveAll(saves);
+        }
+        if (!deletes.isEmpty()) {
+            dao.deleteAll(new ArrayList<>(deletes));
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * One login session. Instances returned to callers are copies.
+     */
+    public static class Session {
+        private final String tokenHash;
+        private final int employeeId;
+        private final long createdAt;
+        private final long idleTimeoutMillis;
+        private volatile long expiresAt;
+        private long deadlineTick; // guarded by the store's wheelLock
+
+        Session(String tokenHash, int employeeId, long createdAt, long idleTimeoutMillis, long expiresAt) {
+            this.tokenHash = tokenHash;
+            this.employeeId = employeeId;
+            this.createdAt = createdAt;
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            this.expiresAt = expiresAt;
+        }
+
+        Session copy() {
+            return new Session(tokenHash, employeeId, createdAt, idleTimeoutMillis, expiresAt);
+        }
+
+        /** SHA-256 of the token, URL-safe Base64; the session table's key */
+        public String getTokenHash() { return tokenHash; }
+        public int getEmployeeId() { return employeeId; }
+        /** Epoch milliseconds */
+        public long getCreatedAt() { return createdAt; }
+        public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+        /** Epoch milliseconds */
+        public long getExpiresAt() { return expiresAt; }
+
+        @Override
+        public String toString() {
+            return "Session{employeeId=" + employeeId + ", createdAt=" + createdAt + ", expiresAt=" + expiresAt + "}";
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package DAOs;
 
+import Models.Permission;
 import Models.UserAuthenticationModel;
+import Utility.BackgroundTasks;
+import Utility.LoginVerificationExecutor;
+import Utility.PasswordHasher;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -11,8 +15,8 @@ import java.util.Map;
 import java.util.HashMap;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Data Access Object for user authentication operations
@@ -28,6 +32,9 @@ public class UserAuthenticationDAO {
     private static final String DB_USER = "root";
     private static final String DB_PASSWORD = "";
     
+    // Most rows returned by getRecentAuthenticationLogs
+    private static final int MAX_AUDIT_LOG_ROWS = 1000;
+    
     // Get database connection
     private Connection getConnection() throws SQLException {
         Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
@@ -70,62 +77,78 @@ public class UserAuthenticationDAO {
         return Timestamp.valueOf(getManilaTime());
     }
     
-    // PASSWORD HASHING UTILITIES (since PasswordHasher is not available)
+    // PASSWORD HASHING UTILITIES
     
     /**
-     * Hash password with salt using SHA-256
+     * Hash password with PasswordHasher at the current cost
      */
     private String hashPassword(String password) {
         try {
-            String salt = generateSalt();
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            digest.update(salt.getBytes());
-            byte[] hash = digest.digest(password.getBytes());
-            String hashedPassword = Base64.getEncoder().encodeToString(hash);
-            return salt + ":" + hashedPassword; // Store salt:hash format
-        } catch (NoSuchAlgorithmException e) {
+            return PasswordHasher.hashPassword(password);
+        } catch (RuntimeException e) {
             System.err.println("Error hashing password: " + e.getMessage());
             return null;
         }
     }
     
     /**
-     * Verify password against stored hash
+     * Verify password against stored hash.
+     * Accepts PasswordHasher hashes and the salted SHA-256 salt:hash values
+     * this DAO stored before it used PasswordHasher.
      */
     private boolean verifyPassword(String plainPassword, String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        if (PasswordHasher.verifyPassword(plainPassword, storedHash)) {
+            return true;
+        }
+        return !storedHash.startsWith("$") && verifyLegacySha256(plainPassword, storedHash);
+    }
+    
+    /**
+     * Verify a salt:hash value made with one salted SHA-256 digest
+     */
+    private boolean verifyLegacySha256(String plainPassword, String storedHash) {
         try {
-            if (storedHash == null || !storedHash.contains(":")) {
-                return false;
-            }
-            
             String[] parts = storedHash.split(":");
             if (parts.length != 2) {
                 return false;
             }
             
-            String salt = parts[0];
-            String hash = parts[1];
-            
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            digest.update(salt.getBytes());
+            digest.update(parts[0].getBytes());
             byte[] newHash = digest.digest(plainPassword.getBytes());
-            String newHashString = Base64.getEncoder().encodeToString(newHash);
-            
-            return hash.equals(newHashString);
-        } catch (NoSuchAlgorithmException e) {
+            return MessageDigest.isEqual(Base64.getDecoder().decode(parts[1]), newHash);
+        } catch (NoSuchAlgorithmException | IllegalArgumentException e) {
             System.err.println("Error verifying password: " + e.getMessage());
             return false;
         }
     }
     
     /**
-     * Generate salt for password hashing
+     * Store a fresh hash for a password that verified against an outdated one.
+     * Only replaces the hash that was verified, so a password changed in the
+     * meantime is left alone. Failures are logged and do not affect the login.
      */
-    private String generateSalt() {
-        SecureRandom random = new SecureRandom();
-        byte[] saltBytes = new byte[16];
-        random.nextBytes(saltBytes);
-        return Base64.getEncoder().encodeToString(saltBytes);
+    private void storeRehashedPassword(int employeeId, String newHash, String verifiedHash) {
+        String sql = "UPDATE employee SET passwordHash = ? WHERE employeeId = ? AND passwordHash = ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, newHash);
+            pstmt.setInt(2, employeeId);
+            pstmt.setString(3, verifiedHash);
+            
+            if (CacheVersionDAO.executeAndBump(conn, CacheVersionDAO.EntityType.EMPLOYEE,
+                                               pstmt::executeUpdate) > 0) {
+                EmployeeDAO.invalidateCachedEmployee(employeeId);
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Could not rehash password for employee " + employeeId + ": " + e.getMessage());
+        }
     }
     
     /**
@@ -145,16 +168,40 @@ public class UserAuthenticationDAO {
     // AUTHENTICATION METHODS WITH MANILA TIMEZONE
     
     /**
-     * Authenticates a user with email and password using Manila timezone
+     * Authenticates a user with email and password using Manila timezone.
+     * Local logins have no client source, so only the per-email limit applies;
+     * users sharing a terminal do not share one failure counter.
      * @param email User's email
      * @param password Plain text password
      * @return UserAuthenticationModel if successful, null if failed
      */
     public UserAuthenticationModel authenticateUser(String email, String password) {
+        return authenticateUser(email, password, null);
+    }
+    
+    /**
+     * Authenticates a user, throttling failures per email and per source
+     * @param email User's email
+     * @param password Plain text password
+     * @param source Where the attempt comes from (host or address), or null if unknown
+     * @return UserAuthenticationModel if successful, null if failed
+     */
+    public UserAuthenticationModel authenticateUser(String email, String password, String source) {
         if (email == null || password == null) {
             return null;
         }
         
+        // Refuse throttled attempts before touching the database or hashing anything
+        LoginThrottle.Decision decision = LoginThrottle.getInstance().check(email, source);
+        if (decision == LoginThrottle.Decision.EMAIL_LOCKED) {
+            logAuthenticationAttempt(email, false, "Login rejected: account locked");
+            return null;
+        }
+        if (decision == LoginThrottle.Decision.SOURCE_THROTTLED) {
+            logAuthenticationAttempt(email, false, "Login rejected: too many failures from " + source);
+            return null;
+        }
+        
         String sql = """
             SELECT e.employeeId, e.email, e.passwordHash, e.userRole, e.status, 
                    e.lastLogin, e.firstName, e.lastName, p.position, p.department
@@ -163,48 +210,106 @@ public class UserAuthenticationDAO {
             WHERE e.email = ?
             """;
         
+        String storedHash;
+        UserAuthenticationModel user;
+        
+        // Read the account first so no connection is held while the password is hashed
         try (Connection conn = getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, email);
             ResultSet rs = pstmt.executeQuery();
             
-            if (rs.next()) {
-                String storedHash = rs.getString("passwordHash");
-                
-                // Verify password
-                if (verifyPassword(password, storedHash)) {
-                    UserAuthenticationModel user = extractUserFromResultSet(rs);
-                    
-                    // Check if account is active
-                    if (isAccountActive(user)) {
-                        // Update last login in database with Manila time
-                        updateLastLoginManilaTime(user.getEmployeeId());
-                        
-                        // Reset login attempts on successful login
-                        resetLoginAttempts(user.getEmployeeId());
-                        
-                        // Log successful authentication
-                        logAuthenticationAttempt(email, true, "Successful login");
-                        
-                        return user;
-                    } else {
-                        logAuthenticationAttempt(email, false, "Account inactive");
-                    }
-                } else {
-                    // Increment login attempts on failed password
-                    incrementLoginAttempts(email);
-                    logAuthenticationAttempt(email, false, "Invalid password");
-                }
-            } else {
+            if (!rs.next()) {
+                incrementLoginAttempts(email, source);
                 logAuthenticationAttempt(email, false, "Email not found");
+                return null;
             }
+            storedHash = rs.getString("passwordHash");
+            user = extractUserFromResultSet(rs);
             
         } catch (SQLException e) {
             System.err.println("Error authenticating user: " + e.getMessage());
             logAuthenticationAttempt(email, false, "Database error: " + e.getMessage());
+            return null;
         }
-        return null;
+        
+        // Verify password on the bounded login threads
+        LoginVerificationExecutor.Result verification =
+            LoginVerificationExecutor.getInstance().verify(() -> verifyPassword(password, storedHash));
+        
+        if (verification == LoginVerificationExecutor.Result.REJECTED) {
+            // Not counted as a failed attempt: the password was never checked
+            logAuthenticationAttempt(email, false, "Login rejected: verification busy");
+            return null;
+        }
+        
+        if (verification == LoginVerificationExecutor.Result.FAILED) {
+            // Increment login attempts on failed password
+            incrementLoginAttempts(email, source);
+            logAuthenticationAttempt(email, false, "Invalid password");
+            return null;
+        }
+        
+        // Check if account is active
+        if (!isAccountActive(user)) {
+            logAuthenticationAttempt(email, false, "Account inactive");
+            return null;
+        }
+        
+        // Reset login attempts on successful login
+        resetLoginAttempts(email);
+        
+        // Log successful authentication (queued; written by the audit writer)
+        logAuthenticationAttempt(email, true, "Successful login");
+        
+        // The caller does not need the remaining writes, so they run after it returns
+        startPostLoginWork(user.getEmployeeId(), password, storedHash);
+        
+        return user;
+    }
+    
+    /**
+     * Runs the writes that follow a successful login on virtual threads
+     * @param employeeId The logged-in employee
+     * @param password The verified plain text password
+     * @param storedHash The hash it was verified against
+     */
+    private void startPostLoginWork(int employeeId, String password, String storedHash) {
+        // Update last login in database with Manila time
+        BackgroundTasks.run("updating last login", () -> updateLastLoginManilaTime(employeeId));
+        
+        // Upgrade hashes stored in an old format or at a lower cost. Only the
+        // hashing runs on the bounded login threads; the UPDATE runs here so a
+        // slow database does not hold a login thread
+        if (PasswordHasher.needsRehash(storedHash)) {
+            BackgroundTasks.run("rehashing password", () -> {
+                AtomicReference<String> newHash = new AtomicReference<>();
+                LoginVerificationExecutor.Result hashed = LoginVerificationExecutor.getInstance().verify(() -> {
+                    newHash.set(hashPassword(password));
+                    return newHash.get() != null;
+                });
+                if (hashed == LoginVerificationExecutor.Result.VERIFIED) {
+                    storeRehashedPassword(employeeId, newHash.get(), storedHash);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Get login throttle metrics (tracked counters, lockouts, rejections)
+     * @return Snapshot of the shared login throttle
+     */
+    public LoginThrottle.ThrottleStats getLoginThrottleStats() {
+        return LoginThrottle.getInstance().getStats();
+    }
+    
+    /**
+     * Get login verification metrics (queue depth, verify latency, rejections)
+     * @return Snapshot of the shared login verification executor
+     */
+    public LoginVerificationExecutor.VerificationStats getLoginVerificationStats() {
+        return LoginVerificationExecutor.getInstance().getStats();
     }
     
     /**
@@ -290,7 +395,11 @@ public class UserAuthenticationDAO {
             
             pstmt.setTimestamp(1, getManilaTimestamp());
             pstmt.setInt(2, employeeId);
-            return pstmt.executeUpdate() > 0;
+            boolean success = pstmt.executeUpdate() > 0;
+            if (success) {
+                EmployeeDAO.invalidateCachedEmployee(employeeId);
+            }
+            return success;
             
         } catch (SQLException e) {
             System.err.println("Error updating last login with Manila time: " + e.getMessage());
@@ -308,46 +417,41 @@ public class UserAuthenticationDAO {
     }
     
     /**
-     * Creates a session record in database (if you want to persist sessions)
+     * Opens a session with a new random token in the shared SessionStore
+     * @param employeeId Employee ID
+     * @param durationMinutes Idle time after which the session ends
+     * @return The session token, or null if the duration is not positive
+     */
+    public String createSession(int employeeId, int durationMinutes) {
+        if (durationMinutes <= 0) {
+            return null;
+        }
+        return SessionStore.getInstance().createSession(employeeId, durationMinutes * 60_000L);
+    }
+    
+    /**
+     * Opens a session for a token generated by the caller.
+     * Prefer createSession(int, int), which generates a secure token.
      * @param employeeId Employee ID
      * @param sessionToken Session token
-     * @param durationMinutes Session duration in minutes
+     * @param durationMinutes Idle time after which the session ends
      * @return true if session was created successfully
      */
     public boolean createSession(int employeeId, String sessionToken, int durationMinutes) {
-        LocalDateTime manilaTime = getManilaTime();
-        LocalDateTime expiryTime = manilaTime.plusMinutes(durationMinutes);
-        
-        // You could implement session persistence here if needed
-        System.out.println(String.format(
-            "Session created for employee %d: token=%s, created=%s, expires=%s", 
-            employeeId, sessionToken, manilaTime, expiryTime));
-        
-        return true;
+        if (durationMinutes <= 0) {
+            return false;
+        }
+        return SessionStore.getInstance().register(sessionToken, employeeId, durationMinutes * 60_000L);
     }
     
     /**
-     * Validates user session with Manila timezone
+     * Validates user session from memory (no database access) and slides its expiry
      * @param employeeId Employee ID
      * @param sessionToken Session token
      * @return true if session is valid, false otherwise
      */
     public boolean validateSessionWithManilaTime(int employeeId, String sessionToken) {
-        UserAuthenticationModel user = getUserById(employeeId);
-        
-        if (user == null || !isAccountActive(user)) {
-            return false;
-        }
-        
-        // Check if user has been logged in recently (within last 8 hours)
-        if (user.getLastLogin() != null) {
-            LocalDateTime lastLoginManilaTime = toManilaTime(user.getLastLogin().toLocalDateTime());
-            LocalDateTime cutoffTime = getManilaTime().minusHours(8);
-            
-            return lastLoginManilaTime.isAfter(cutoffTime);
-        }
-        
-        return false;
+        return SessionStore.getInstance().isValid(sessionToken, employeeId);
     }
     
     /**
@@ -361,13 +465,13 @@ public class UserAuthenticationDAO {
     }
     
     /**
-     * Extends user session with Manila timezone
+     * Extends the employee's live sessions
      * @param employeeId Employee ID
      * @param additionalMinutes Additional minutes to extend session
      * @return true if session was extended
      */
     public boolean extendSession(int employeeId, int additionalMinutes) {
-        return updateLastLoginManilaTime(employeeId);
+        return SessionStore.getInstance().extendSessions(employeeId, additionalMinutes * 60_000L) > 0;
     }
     
     /**
@@ -377,30 +481,33 @@ public class UserAuthenticationDAO {
      * @return true if session was invalidated
      */
     public boolean invalidateSession(int employeeId, String sessionToken) {
-        logAuthenticationAttempt(
-            getUserById(employeeId) != null ? getUserById(employeeId).getEmail() : "Unknown", 
-            true, 
-            "User logged out");
+        boolean removed = SessionStore.getInstance().invalidate(sessionToken);
         
-        return true;
+        UserAuthenticationModel user = getUserById(employeeId);
+        logAuthenticationAttempt(user != null ? user.getEmail() : "Unknown", true, "User logged out");
+        
+        return removed;
     }
     
     // LOGIN ATTEMPT TRACKING
     
     /**
-     * Increments login attempts for an email address
+     * Records a failed login for an email address and its source
      * @param email Email address
+     * @param source Where the attempt came from, or null if unknown
      */
-    private void incrementLoginAttempts(String email) {
-        System.out.println("Login attempt failed for email: " + email + " at " + getManilaTime());
+    private void incrementLoginAttempts(String email, String source) {
+        if (LoginThrottle.getInstance().recordFailure(email, source)) {
+            logAuthenticationAttempt(email, false, "Account locked after repeated failures");
+        }
     }
     
     /**
-     * Resets login attempts for an employee
-     * @param employeeId Employee ID
+     * Resets login attempts for an email address
+     * @param email Email address
      */
-    private void resetLoginAttempts(int employeeId) {
-        System.out.println("Login attempts reset for employee: " + employeeId + " at " + getManilaTime());
+    private void resetLoginAttempts(String email) {
+        LoginThrottle.getInstance().recordSuccess(email);
     }
     
     /**
@@ -409,7 +516,15 @@ public class UserAuthenticationDAO {
      * @return true if account is locked
      */
     public boolean isAccountLocked(String email) {
-        return false; // Implement based on your requirements
+        return LoginThrottle.getInstance().isLocked(email);
+    }
+    
+    /**
+     * Lifts a lockout before it expires (e.g. after a password reset)
+     * @param email Email address
+     */
+    public void unlockAccount(String email) {
+        LoginThrottle.getInstance().unlock(email);
     }
     
     // PASSWORD MANAGEMENT WITH MANILA TIMEZONE
@@ -439,9 +554,13 @@ public class UserAuthenticationDAO {
             pstmt.setTimestamp(2, getManilaTimestamp());
             pstmt.setInt(3, employeeId);
             
-            boolean success = pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, CacheVersionDAO.EntityType.EMPLOYEE,
+                                                             pstmt::executeUpdate) > 0;
             
             if (success) {
+                EmployeeDAO.invalidateCachedEmployee(employeeId);
+                // Sessions opened with the old password end here
+                SessionStore.getInstance().invalidateEmployee(employeeId);
                 logAuthenticationAttempt(
                     getUserById(employeeId) != null ? getUserById(employeeId).getEmail() : "Unknown",
                     true,
@@ -507,9 +626,12 @@ public class UserAuthenticationDAO {
             pstmt.setTimestamp(7, manilaTime);
             pstmt.setTimestamp(8, manilaTime);
             
-            boolean success = pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, CacheVersionDAO.EntityType.EMPLOYEE,
+                                                             pstmt::executeUpdate) > 0;
             
             if (success) {
+                EmployeeClassificationCache.getInstance().invalidate();
+                ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.Region.BENEFIT_COSTS);
                 logAuthenticationAttempt(email, true, "User account created");
             }
             
@@ -535,9 +657,14 @@ public class UserAuthenticationDAO {
             pstmt.setTimestamp(1, getManilaTimestamp());
             pstmt.setInt(2, employeeId);
             
-            boolean success = pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, CacheVersionDAO.EntityType.EMPLOYEE,
+                                                             pstmt::executeUpdate) > 0;
             
             if (success) {
+                EmployeeDAO.invalidateCachedEmployee(employeeId);
+                ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.Region.BENEFIT_COSTS);
+                // Sessions are validated from memory only, so end them here
+                SessionStore.getInstance().invalidateEmployee(employeeId);
                 UserAuthenticationModel user = getUserById(employeeId);
                 logAuthenticationAttempt(
                     user != null ? user.getEmail() : "Unknown",
@@ -573,9 +700,12 @@ public class UserAuthenticationDAO {
             pstmt.setTimestamp(2, getManilaTimestamp());
             pstmt.setInt(3, employeeId);
             
-            boolean success = pstmt.executeUpdate() > 0;
+            boolean success = CacheVersionDAO.executeAndBump(conn, CacheVersionDAO.EntityType.EMPLOYEE,
+                                                             pstmt::executeUpdate) > 0;
             
             if (success) {
+                EmployeeDAO.invalidateCachedEmployee(employeeId);
+                ReferenceDataCache.getInstance().invalidate(ReferenceDataCache.Region.BENEFIT_COSTS);
                 UserAuthenticationModel user = getUserById(employeeId);
                 logAuthenticationAttempt(
                     user != null ? user.getEmail() : "Unknown",
@@ -623,10 +753,8 @@ public class UserAuthenticationDAO {
      * @return true if employee can submit leave requests
      */
     public boolean canSubmitLeaveRequest(int employeeId) {
-        UserAuthenticationModel user = getUserById(employeeId);
         // All active employees can submit leave requests
-        
-        return !(user == null || !isAccountActive(user)); 
+        return PermissionResolver.getInstance().hasPermission(employeeId, Permission.SUBMIT_LEAVE);
     }
     
     /**
@@ -635,30 +763,7 @@ public class UserAuthenticationDAO {
      * @return true if employee can submit overtime requests (rank-and-file only)
      */
     public boolean canSubmitOvertimeRequest(int employeeId) {
-        String sql = """
-            SELECT COUNT(*) > 0
-            FROM employee e 
-            JOIN position p ON e.positionId = p.positionId 
-            WHERE e.employeeId = ?
-            AND e.status != 'Terminated'
-            AND (LOWER(p.department) = 'rank-and-file' 
-                 OR LOWER(p.position) LIKE '%rank-and-file%')
-            """;
-        
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, employeeId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                return rs.getBoolean(1);
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error checking overtime request eligibility: " + e.getMessage());
-        }
-        return false;
+        return PermissionResolver.getInstance().hasPermission(employeeId, Permission.SUBMIT_OVERTIME);
     }
     
     // REPORTING AND ANALYTICS
@@ -788,37 +893,29 @@ public class UserAuthenticationDAO {
     // AUDIT AND LOGGING
     
     /**
-     * Logs authentication attempt for audit purposes with Manila timezone
+     * Logs authentication attempt for audit purposes.
+     * The event is only queued here; AuditLog writes it in the background.
      * @param email Email used for login
      * @param success Whether login was successful
      * @param details Additional details about the attempt
      */
     public void logAuthenticationAttempt(String email, boolean success, String details) {
-        try {
-            LocalDateTime manilaTime = getManilaTime();
-            String logMessage = String.format("[AUTH] %s - Email: %s, Success: %s, Details: %s",
-                manilaTime, email, success, details);
-            System.out.println(logMessage);
-            
-        } catch (Exception e) {
-            System.err.println("Error logging authentication attempt: " + e.getMessage());
-        }
+        AuditLog.getInstance().record(email, AuditLog.ACTION_AUTHENTICATION, success, details);
     }
     
     /**
      * Gets recent authentication logs
      * @param hours Number of hours to look back
-     * @return List of authentication events
+     * @return List of authentication events, newest first
      */
     public List<Map<String, Object>> getRecentAuthenticationLogs(int hours) {
-        List<Map<String, Object>> logs = new ArrayList<>();
-        
-        Map<String, Object> sampleLog = new HashMap<>();
-        sampleLog.put("timestamp", getManilaTime());
-        sampleLog.put("message", "Authentication logging would require audit_log table");
-        logs.add(sampleLog);
+        // Write what is still buffered so the newest attempts are included
+        AuditLog.getInstance().flush();
         
-        return logs;
+        long now = System.currentTimeMillis();
+        return new AuditLogDAO(new DatabaseConnection()).findEvents(
+            AuditLogDAO.toManilaTimestamp(now - hours * 3_600_000L), AuditLogDAO.toManilaTimestamp(now + 1),
+            null, AuditLog.ACTION_AUTHENTICATION, null, MAX_AUDIT_LOG_ROWS);
     }
     
     /**
@@ -264,7 +264,32 @@ public class EmployeeModel {
             this.createdAt = getCurrentManilaTime();
         }
     }
-    
+
+    /**
+     * Create a copy of this employee (timestamps are kept as they are)
+     * @return new EmployeeModel with same data
+     */
+    public EmployeeModel copy() {
+        EmployeeModel copy = new EmployeeModel();
+        copy.employeeId = this.employeeId;
+        copy.firstName = this.firstName;
+        copy.lastName = this.lastName;
+        copy.birthDate = this.birthDate;
+        copy.phoneNumber = this.phoneNumber;
+        copy.email = this.email;
+        copy.basicSalary = this.basicSalary;
+        copy.hourlyRate = this.hourlyRate;
+        copy.userRole = this.userRole;
+        copy.passwordHash = this.passwordHash;
+        copy.status = this.status;
+        copy.createdAt = this.createdAt;
+        copy.updatedAt = this.updatedAt;
+        copy.lastLogin = this.lastLogin;
+        copy.positionId = this.positionId;
+        copy.supervisorId = this.supervisorId;
+        return copy;
+    }
+
     // ================================
     // GETTERS AND SETTERS
     // ================================
@@ -7,6 +7,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.math.BigDecimal;
+import DAOs.AuditLog;
+import DAOs.AuditLogDAO;
+import DAOs.DatabaseConnection;
+import DAOs.PermissionResolver;
+import Services.DashboardDataLoader;
+import Services.LeaveService;
 
 /**
  * HRModel with comprehensive HR operations and Manila timezone
@@ -15,6 +21,9 @@ import java.math.BigDecimal;
 public class HRModel {
     private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
     
+    // Most rows returned by getAuditLogs
+    private static final int MAX_AUDIT_LOG_ROWS = 1000;
+    
     // HR Personnel Information
     private int hrId;
     private String firstName;
@@ -28,16 +37,7 @@ public class HRModel {
     private String specializations; // "RECRUITMENT,PAYROLL,BENEFITS,COMPLIANCE"
     
     // HR Permissions and Capabilities
-    private boolean canManageEmployees;
-    private boolean canManagePayroll;
-    private boolean canManageBenefits;
-    private boolean canManageLeaves;
-    private boolean canManageAttendance;
-    private boolean canGenerateReports;
-    private boolean canManagePositions;
-    private boolean canApproveAllRequests;
-    private boolean canModifyPayrates;
-    private boolean canAccessAuditLogs;
+    private long permissionBits; // Models.Permission bits
     
     // HR Activity Tracking
     private int employeesManaged;
@@ -54,16 +54,7 @@ public class HRModel {
         this.department = "Human Resources";
         
         // Default HR permissions
-        this.canManageEmployees = true;
-        this.canManagePayroll = true;
-        this.canManageBenefits = true;
-        this.canManageLeaves = true;
-        this.canManageAttendance = true;
-        this.canGenerateReports = true;
-        this.canManagePositions = true;
-        this.canApproveAllRequests = true;
-        this.canModifyPayrates = true;
-        this.canAccessAuditLogs = true;
+        this.permissionBits = Permission.forRole(userRole);
     }
     
     public HRModel(int hrId, String firstName, String lastName, String email) {
@@ -73,6 +64,17 @@ public class HRModel {
         this.lastName = lastName;
         this.email = email;
         this.position = "HR Specialist";
+        loadPermissionBits();
+    }
+
+    /**
+     * Load this user's effective permissions through PermissionResolver so saved
+     * grants and revokes apply; an HR user without an id gets the HR role defaults
+     */
+    private void loadPermissionBits() {
+        this.permissionBits = hrId > 0
+            ? PermissionResolver.getInstance().getPermissions(hrId)
+            : Permission.forRole(userRole);
     }
     
     // Manila timezone operations
@@ -118,7 +120,7 @@ public class HRModel {
      */
     public boolean createEmployee(String firstName, String lastName, String email, 
                                  int positionId, BigDecimal basicSalary) {
-        if (!canManageEmployees) {
+        if (!hasPermission(Permission.MANAGE_EMPLOYEES)) {
             return false;
         }
         
@@ -146,7 +148,7 @@ public class HRModel {
      * @return 
      */
     public boolean updateEmployee(int employeeId, Map<String, Object> updates) {
-        if (!canManageEmployees) {
+        if (!hasPermission(Permission.MANAGE_EMPLOYEES)) {
             return false;
         }
         
@@ -167,7 +169,7 @@ public class HRModel {
      * @return 
      */
     public boolean terminateEmployee(int employeeId, String reason, Date effectiveDate) {
-        if (!canManageEmployees) {
+        if (!hasPermission(Permission.MANAGE_EMPLOYEES)) {
             return false;
         }
         
@@ -193,7 +195,7 @@ public class HRModel {
      * @return 
      */
     public boolean reactivateEmployee(int employeeId, String reason) {
-        if (!canManageEmployees) {
+        if (!hasPermission(Permission.MANAGE_EMPLOYEES)) {
             return false;
         }
         
@@ -215,7 +217,7 @@ public class HRModel {
      * @return 
      */
     public boolean runPayroll(int payPeriodId, List<Integer> employeeIds) {
-        if (!canManagePayroll) {
+        if (!hasPermission(Permission.MANAGE_PAYROLL)) {
             return false;
         }
         
@@ -237,7 +239,7 @@ public class HRModel {
      * @return 
      */
     public boolean approvePayroll(int payPeriodId, String approvalNotes) {
-        if (!canManagePayroll) {
+        if (!hasPermission(Permission.MANAGE_PAYROLL)) {
             return false;
         }
         
@@ -259,7 +261,7 @@ public class HRModel {
      * @return 
      */
     public boolean modifyPayRate(int employeeId, BigDecimal newBasicSalary, String reason, Date effectiveDate) {
-        if (!canModifyPayrates) {
+        if (!hasPermission(Permission.MODIFY_PAYRATES)) {
             return false;
         }
         
@@ -292,7 +294,7 @@ public class HRModel {
      * @return 
      */
     public boolean assignBenefits(int employeeId, List<Integer> benefitTypeIds) {
-        if (!canManageBenefits) {
+        if (!hasPermission(Permission.MANAGE_BENEFITS)) {
             return false;
         }
         
@@ -312,7 +314,7 @@ public class HRModel {
      * @return 
      */
     public boolean updateBenefitAmounts(int positionId, Map<Integer, BigDecimal> benefitAmounts) {
-        if (!canManageBenefits) {
+        if (!hasPermission(Permission.MANAGE_BENEFITS)) {
             return false;
         }
         
@@ -335,7 +337,7 @@ public class HRModel {
      * @return 
      */
     public boolean overrideLeaveRequest(int requestId, LeaveRequestModel.ApprovalStatus newStatus, String reason) {
-        if (!canApproveAllRequests) {
+        if (!hasPermission(Permission.APPROVE_ALL_REQUESTS)) {
             return false;
         }
         
@@ -352,19 +354,36 @@ public class HRModel {
      * Bulk approve leave requests
      * @param requestIds
      * @param approvalNotes
-     * @return 
+     * @return true if every request was approved; otherwise none is approved
      */
     public boolean bulkApproveLeaveRequests(List<Integer> requestIds, String approvalNotes) {
-        if (!canApproveAllRequests) {
-            return false;
+        DAOs.LeaveRequestDAO.BulkApprovalResult result = bulkApproveLeaveRequests(requestIds, approvalNotes, true);
+        return result != null && result.isSuccess() && result.getApprovedCount() == result.getResults().size();
+    }
+    
+    /**
+     * Bulk approve leave requests and report the outcome of each one
+     * @param requestIds
+     * @param approvalNotes
+     * @param allOrNothing Approve nothing unless every request can be approved
+     * @return Per-request outcome, or null without permission or requests
+     */
+    public DAOs.LeaveRequestDAO.BulkApprovalResult bulkApproveLeaveRequests(List<Integer> requestIds, String approvalNotes,
+                                                                           boolean allOrNothing) {
+        if (!hasPermission(Permission.APPROVE_ALL_REQUESTS)) {
+            return null;
+        }
+        
+        if (requestIds == null || requestIds.isEmpty()) {
+            return null;
         }
         
         try {
             updateActivity("Bulk approving " + requestIds.size() + " leave requests");
-            return true;
+            return new LeaveService().bulkApproveLeaveRequests(requestIds, approvalNotes, hrId, allOrNothing);
         } catch (Exception e) {
             System.err.println("Error bulk approving leave requests: " + e.getMessage());
-            return false;
+            return null;
         }
     }
     
@@ -374,7 +393,7 @@ public class HRModel {
      * @return 
      */
     public boolean initializeYearlyLeaveBalances(int year) {
-        if (!canManageLeaves) {
+        if (!hasPermission(Permission.MANAGE_LEAVES)) {
             return false;
         }
         
@@ -397,7 +416,7 @@ public class HRModel {
      * @return 
      */
     public boolean overrideAttendance(int attendanceId, String reason, AttendanceModel newAttendance) {
-        if (!canManageAttendance) {
+        if (!hasPermission(Permission.MANAGE_ATTENDANCE)) {
             return false;
         }
         
@@ -416,7 +435,7 @@ public class HRModel {
      * @return 
      */
     public boolean bulkImportAttendance(List<AttendanceModel> attendanceRecords) {
-        if (!canManageAttendance) {
+        if (!hasPermission(Permission.MANAGE_ATTENDANCE)) {
             return false;
         }
         
@@ -440,7 +459,7 @@ public class HRModel {
      * @return 
      */
     public boolean generateHRReport(String reportType, Date startDate, Date endDate, List<Integer> employeeIds) {
-        if (!canGenerateReports) {
+        if (!hasPermission(Permission.GENERATE_REPORTS)) {
             return false;
         }
         
@@ -462,7 +481,7 @@ public class HRModel {
      * @return 
      */
     public Map<String, Object> generatePayrollSummaryReport(int month, int year) {
-        if (!canGenerateReports) {
+        if (!hasPermission(Permission.GENERATE_REPORTS)) {
             return new HashMap<>();
         }
         
@@ -499,7 +518,7 @@ public class HRModel {
      * @return 
      */
     public Map<String, Object> generateDemographicsReport() {
-        if (!canGenerateReports) {
+        if (!hasPermission(Permission.GENERATE_REPORTS)) {
             return new HashMap<>();
         }
         
@@ -540,7 +559,7 @@ public class HRModel {
      */
     public boolean createPosition(String positionName, String description, String department, 
                                  BigDecimal baseSalary) {
-        if (!canManagePositions) {
+        if (!hasPermission(Permission.MANAGE_POSITIONS)) {
             return false;
         }
         
@@ -560,7 +579,7 @@ public class HRModel {
      * @return 
      */
     public boolean updatePosition(int positionId, Map<String, Object> updates) {
-        if (!canManagePositions) {
+        if (!hasPermission(Permission.MANAGE_POSITIONS)) {
             return false;
         }
         
@@ -598,18 +617,22 @@ public class HRModel {
         
         // Permissions
         Map<String, Boolean> permissions = new HashMap<>();
-        permissions.put("canManageEmployees", canManageEmployees);
-        permissions.put("canManagePayroll", canManagePayroll);
-        permissions.put("canManageBenefits", canManageBenefits);
-        permissions.put("canManageLeaves", canManageLeaves);
-        permissions.put("canManageAttendance", canManageAttendance);
-        permissions.put("canGenerateReports", canGenerateReports);
-        permissions.put("canManagePositions", canManagePositions);
-        permissions.put("canApproveAllRequests", canApproveAllRequests);
-        permissions.put("canModifyPayrates", canModifyPayrates);
-        permissions.put("canAccessAuditLogs", canAccessAuditLogs);
+        permissions.put("canManageEmployees", hasPermission(Permission.MANAGE_EMPLOYEES));
+        permissions.put("canManagePayroll", hasPermission(Permission.MANAGE_PAYROLL));
+        permissions.put("canManageBenefits", hasPermission(Permission.MANAGE_BENEFITS));
+        permissions.put("canManageLeaves", hasPermission(Permission.MANAGE_LEAVES));
+        permissions.put("canManageAttendance", hasPermission(Permission.MANAGE_ATTENDANCE));
+        permissions.put("canGenerateReports", hasPermission(Permission.GENERATE_REPORTS));
+        permissions.put("canManagePositions", hasPermission(Permission.MANAGE_POSITIONS));
+        permissions.put("canApproveAllRequests", hasPermission(Permission.APPROVE_ALL_REQUESTS));
+        permissions.put("canModifyPayrates", hasPermission(Permission.MODIFY_PAYRATES));
+        permissions.put("canAccessAuditLogs", hasPermission(Permission.ACCESS_AUDIT_LOGS));
         dashboard.put("permissions", permissions);
         
+        // Attendance, balances, approvals and payslip loaded in parallel
+        dashboard.putAll(DashboardDataLoader.getInstance().load(hrId)
+            .toDashboardData(DashboardDataLoader.DEFAULT_WAIT_MILLIS));
+        
         return dashboard;
     }
     
@@ -651,14 +674,17 @@ public class HRModel {
      * @return 
      */
     public List<Map<String, Object>> getAuditLogs(Date startDate, Date endDate, String actionType) {
-        if (!canAccessAuditLogs) {
+        if (!hasPermission(Permission.ACCESS_AUDIT_LOGS)) {
             return new java.util.ArrayList<>();
         }
         
         try {
             updateActivity("Accessing audit logs from " + startDate + " to " + endDate);
-            // Return audit log entries
-            return new java.util.ArrayList<>();
+            // Include events still waiting in the audit buffer
+            AuditLog.getInstance().flush();
+            String action = actionType == null || "All".equalsIgnoreCase(actionType) ? null : actionType;
+            return new AuditLogDAO(new DatabaseConnection())
+                .findEvents(startDate, endDate, null, action, null, MAX_AUDIT_LOG_ROWS);
         } catch (Exception e) {
             System.err.println("Error accessing audit logs: " + e.getMessage());
             return new java.util.ArrayList<>();
@@ -672,7 +698,7 @@ public class HRModel {
      * @return 
      */
     public Map<String, Object> generateComplianceReport(String complianceType, int year) {
-        if (!canGenerateReports) {
+        if (!hasPermission(Permission.GENERATE_REPORTS)) {
             return new HashMap<>();
         }
         
@@ -739,12 +765,15 @@ public class HRModel {
      * @return 
      */
     public boolean hasValidHRPermissions() {
-        return userRole != null && userRole.equals("HR") && isActive();
+        return Permission.HR_ACCESS.isIn(Permission.forRole(userRole)) && isActive();
     }
     
     // Getters and Setters
     public int getHrId() { return hrId; }
-    public void setHrId(int hrId) { this.hrId = hrId; }
+    public void setHrId(int hrId) {
+        this.hrId = hrId;
+        loadPermissionBits();
+    }
     
     public String getFirstName() { return firstName; }
     public void setFirstName(String firstName) { this.firstName = firstName; }
@@ -762,7 +791,13 @@ public class HRModel {
     public void setDepartment(String department) { this.department = department; }
     
     public String getUserRole() { return userRole; }
-    public void setUserRole(String userRole) { this.userRole = userRole; }
+    public void setUserRole(String userRole) {
+        this.userRole = userRole;
+        if (hrId > 0) {
+            PermissionResolver.getInstance().invalidate(hrId);
+        }
+        loadPermissionBits();
+    }
     
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
@@ -774,35 +809,55 @@ public class HRModel {
     public void setSpecializations(String specializations) { this.specializations = specializations; }
     
     // Permission getters and setters
-    public boolean isCanManageEmployees() { return canManageEmployees; }
-    public void setCanManageEmployees(boolean canManageEmployees) { this.canManageEmployees = canManageEmployees; }
+    /**
+     * Check one permission against this user's permission bits
+     * @param permission
+     * @return 
+     */
+    public boolean hasPermission(Permission permission) {
+        return permission.isIn(permissionBits);
+    }
+    
+    private void setPermission(Permission permission, boolean granted) {
+        if (granted) {
+            permissionBits |= permission.getBit();
+        } else {
+            permissionBits &= ~permission.getBit();
+        }
+    }
+    
+    public long getPermissionBits() { return permissionBits; }
+    public void setPermissionBits(long permissionBits) { this.permissionBits = permissionBits; }
+    
+    public boolean isCanManageEmployees() { return hasPermission(Permission.MANAGE_EMPLOYEES); }
+    public void setCanManageEmployees(boolean canManageEmployees) { setPermission(Permission.MANAGE_EMPLOYEES, canManageEmployees); }
     
-    public boolean isCanManagePayroll() { return canManagePayroll; }
-    public void setCanManagePayroll(boolean canManagePayroll) { this.canManagePayroll = canManagePayroll; }
+    public boolean isCanManagePayroll() { return hasPermission(Permission.MANAGE_PAYROLL); }
+    public void setCanManagePayroll(boolean canManagePayroll) { setPermission(Permission.MANAGE_PAYROLL, canManagePayroll); }
     
-    public boolean isCanManageBenefits() { return canManageBenefits; }
-    public void setCanManageBenefits(boolean canManageBenefits) { this.canManageBenefits = canManageBenefits; }
+    public boolean isCanManageBenefits() { return hasPermission(Permission.MANAGE_BENEFITS); }
+    public void setCanManageBenefits(boolean canManageBenefits) { setPermission(Permission.MANAGE_BENEFITS, canManageBenefits); }
     
-    public boolean isCanManageLeaves() { return canManageLeaves; }
-    public void setCanManageLeaves(boolean canManageLeaves) { this.canManageLeaves = canManageLeaves; }
+    public boolean isCanManageLeaves() { return hasPermission(Permission.MANAGE_LEAVES); }
+    public void setCanManageLeaves(boolean canManageLeaves) { setPermission(Permission.MANAGE_LEAVES, canManageLeaves); }
     
-    public boolean isCanManageAttendance() { return canManageAttendance; }
-    public void setCanManageAttendance(boolean canManageAttendance) { this.canManageAttendance = canManageAttendance; }
+    public boolean isCanManageAttendance() { return hasPermission(Permission.MANAGE_ATTENDANCE); }
+    public void setCanManageAttendance(boolean canManageAttendance) { setPermission(Permission.MANAGE_ATTENDANCE, canManageAttendance); }
     
-    public boolean isCanGenerateReports() { return canGenerateReports; }
-    public void setCanGenerateReports(boolean canGenerateReports) { this.canGenerateReports = canGenerateReports; }
+    public boolean isCanGenerateReports() { return hasPermission(Permission.GENERATE_REPORTS); }
+    public void setCanGenerateReports(boolean canGenerateReports) { setPermission(Permission.GENERATE_REPORTS, canGenerateReports); }
     
-    public boolean isCanManagePositions() { return canManagePositions; }
-    public void setCanManagePositions(boolean canManagePositions) { this.canManagePositions = canManagePositions; }
+    public boolean isCanManagePositions() { return hasPermission(Permission.MANAGE_POSITIONS); }
+    public void setCanManagePositions(boolean canManagePositions) { setPermission(Permission.MANAGE_POSITIONS, canManagePositions); }
     
-    public boolean isCanApproveAllRequests() { return canApproveAllRequests; }
-    public void setCanApproveAllRequests(boolean canApproveAllRequests) { this.canApproveAllRequests = canApproveAllRequests; }
+    public boolean isCanApproveAllRequests() { return hasPermission(Permission.APPROVE_ALL_REQUESTS); }
+    public void setCanApproveAllRequests(boolean canApproveAllRequests) { setPermission(Permission.APPROVE_ALL_REQUESTS, canApproveAllRequests); }
     
-    public boolean isCanModifyPayrates() { return canModifyPayrates; }
-    public void setCanModifyPayrates(boolean canModifyPayrates) { this.canModifyPayrates = canModifyPayrates; }
+    public boolean isCanModifyPayrates() { return hasPermission(Permission.MODIFY_PAYRATES); }
+    public void setCanModifyPayrates(boolean canModifyPayrates) { setPermission(Permission.MODIFY_PAYRATES, canModifyPayrates); }
     
-    public boolean isCanAccessAuditLogs() { return canAccessAuditLogs; }
-    public void setCanAccessAuditLogs(boolean canAccessAuditLogs) { this.canAccessAuditLogs = canAccessAuditLogs; }
+    public boolean isCanAccessAuditLogs() { return hasPermission(Permission.ACCESS_AUDIT_LOGS); }
+    public void setCanAccessAuditLogs(boolean canAccessAuditLogs) { setPermission(Permission.ACCESS_AUDIT_LOGS, canAccessAuditLogs); }
     
     // Activity tracking getters and setters
     public int getEmployeesManaged() { return employeesManaged; }
@@ -6,6 +6,10 @@ import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import DAOs.AuditLog;
+import DAOs.AuditLogDAO;
+import DAOs.DatabaseConnection;
+import DAOs.PermissionResolver;
 
 /**
  * ITModel with system administration features and Manila timezone operations
@@ -14,6 +18,9 @@ import java.util.HashMap;
 public class ITModel {
     private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
     
+    // Most rows returned by getSystemLogs
+    private static final int MAX_SYSTEM_LOG_ROWS = 1000;
+    
     // IT Personnel Information
     private int itId;
     private String firstName;
@@ -28,18 +35,7 @@ public class ITModel {
     private String accessLevel; // "ADMIN", "SENIOR", "JUNIOR"
     
     // IT System Permissions
-    private boolean canManageUsers;
-    private boolean canManageDatabase;
-    private boolean canManageBackups;
-    private boolean canManageSecurity;
-    private boolean canAccessSystemLogs;
-    private boolean canModifySystemSettings;
-    private boolean canManageIntegrations;
-    private boolean canPerformMaintenance;
-    private boolean canResetPasswords;
-    private boolean canManageReports;
-    private boolean canAccessAuditLogs;
-    private boolean canManageSystemUpdates;
+    private long permissionBits; // Models.Permission bits
     
     // IT Activity Tracking
     private int usersManaged;
@@ -70,18 +66,7 @@ public class ITModel {
         this.systemStatus = "ONLINE";
         
         // Default IT permissions for admin level
-        this.canManageUsers = true;
-        this.canManageDatabase = true;
-        this.canManageBackups = true;
-        this.canManageSecurity = true;
-        this.canAccessSystemLogs = true;
-        this.canModifySystemSettings = true;
-        this.canManageIntegrations = true;
-        this.canPerformMaintenance = true;
-        this.canResetPasswords = true;
-        this.canManageReports = true;
-        this.canAccessAuditLogs = true;
-        this.canManageSystemUpdates = true;
+        this.permissionBits = Permission.forRole(userRole);
     }
     
     public ITModel(int itId, String firstName, String lastName, String email) {
@@ -91,6 +76,17 @@ public class ITModel {
         this.lastName = lastName;
         this.email = email;
         this.position = "IT Administrator";
+        loadPermissionBits();
+    }
+
+    /**
+     * Load this user's effective permissions through PermissionResolver so saved
+     * grants and revokes apply; an IT user without an id gets the IT role defaults
+     */
+    private void loadPermissionBits() {
+        this.permissionBits = itId > 0
+            ? PermissionResolver.getInstance().getPermissions(itId)
+            : Permission.forRole(userRole);
     }
     
     // Manila timezone operations
@@ -154,7 +150,7 @@ public class ITModel {
      * @return 
      */
     public boolean createUserAccount(int employeeId, String email, String role, String temporaryPassword) {
-        if (!canManageUsers) {
+        if (!hasPermission(Permission.MANAGE_USERS)) {
             return false;
         }
         
@@ -180,7 +176,7 @@ public class ITModel {
      * @return 
      */
     public boolean resetUserPassword(int employeeId, String reason) {
-        if (!canResetPasswords) {
+        if (!hasPermission(Permission.RESET_PASSWORDS)) {
             return false;
         }
         
@@ -201,7 +197,7 @@ public class ITModel {
      * @return 
      */
     public boolean toggleUserAccountLock(int employeeId, boolean lock, String reason) {
-        if (!canManageUsers) {
+        if (!hasPermission(Permission.MANAGE_USERS)) {
             return false;
         }
         
@@ -222,13 +218,17 @@ public class ITModel {
      * @return 
      */
     public boolean updateUserPermissions(int employeeId, Map<String, Boolean> permissions) {
-        if (!canManageUsers) {
+        if (!hasPermission(Permission.MANAGE_USERS)) {
             return false;
         }
         
         try {
             updateCurrentTask("Updating permissions for employee ID: " + employeeId);
-            return true;
+            boolean updated = PermissionResolver.getInstance().updateUserPermissions(employeeId, permissions);
+            if (updated && employeeId == itId) {
+                loadPermissionBits(); // own overrides changed: drop the stale bits
+            }
+            return updated;
         } catch (Exception e) {
             System.err.println("Error updating user permissions: " + e.getMessage());
             return false;
@@ -243,7 +243,7 @@ public class ITModel {
      * @return 
      */
     public boolean performDatabaseBackup(String backupType) {
-        if (!canManageBackups) {
+        if (!hasPermission(Permission.MANAGE_BACKUPS)) {
             return false;
         }
         
@@ -265,7 +265,7 @@ public class ITModel {
      * @return 
      */
     public boolean restoreDatabaseFromBackup(String backupPath, String reason) {
-        if (!canManageDatabase) {
+        if (!hasPermission(Permission.MANAGE_DATABASE)) {
             return false;
         }
         
@@ -283,7 +283,7 @@ public class ITModel {
      * @return 
      */
     public boolean optimizeDatabase() {
-        if (!canManageDatabase) {
+        if (!hasPermission(Permission.MANAGE_DATABASE)) {
             return false;
         }
         
@@ -302,7 +302,7 @@ public class ITModel {
      * @return 
      */
     public boolean executeDatabaseMaintenance(List<String> scripts) {
-        if (!canPerformMaintenance) {
+        if (!hasPermission(Permission.PERFORM_MAINTENANCE)) {
             return false;
         }
         
@@ -324,7 +324,7 @@ public class ITModel {
      * @return 
      */
     public boolean performSecurityScan(String scanType) {
-        if (!canManageSecurity) {
+        if (!hasPermission(Permission.MANAGE_SECURITY)) {
             return false;
         }
         
@@ -346,7 +346,7 @@ public class ITModel {
      * @return 
      */
     public boolean handleSecurityIncident(String incidentType, String description, String resolution) {
-        if (!canManageSecurity) {
+        if (!hasPermission(Permission.MANAGE_SECURITY)) {
             return false;
         }
         
@@ -366,7 +366,7 @@ public class ITModel {
      * @return 
      */
     public boolean updateSecurityPolicies(Map<String, Object> policies) {
-        if (!canManageSecurity) {
+        if (!hasPermission(Permission.MANAGE_SECURITY)) {
             return false;
         }
         
@@ -432,7 +432,7 @@ public class ITModel {
      * @return 
      */
     public boolean scheduleSystemMaintenance(LocalDateTime maintenanceTime, String maintenanceType, int durationMinutes) {
-        if (!canPerformMaintenance) {
+        if (!hasPermission(Permission.PERFORM_MAINTENANCE)) {
             return false;
         }
         
@@ -451,7 +451,7 @@ public class ITModel {
      * @return 
      */
     public boolean applySystemUpdates(List<String> updatePackages) {
-        if (!canManageSystemUpdates) {
+        if (!hasPermission(Permission.MANAGE_SYSTEM_UPDATES)) {
             return false;
         }
         
@@ -475,14 +475,18 @@ public class ITModel {
      * @return 
      */
     public List<Map<String, Object>> getSystemLogs(Date startDate, Date endDate, String logLevel) {
-        if (!canAccessSystemLogs) {
+        if (!hasPermission(Permission.ACCESS_SYSTEM_LOGS)) {
             return new java.util.ArrayList<>();
         }
         
         try {
             updateCurrentTask("Accessing system logs from " + startDate + " to " + endDate);
-            // Return log entries (would query actual log files/database)
-            return new java.util.ArrayList<>();
+            // Include events still waiting in the audit buffer
+            AuditLog.getInstance().flush();
+            // ERROR and WARN show failed actions only; any other level shows everything
+            Boolean success = "ERROR".equalsIgnoreCase(logLevel) || "WARN".equalsIgnoreCase(logLevel) ? Boolean.FALSE : null;
+            return new AuditLogDAO(new DatabaseConnection())
+                .findEvents(startDate, endDate, null, null, success, MAX_SYSTEM_LOG_ROWS);
         } catch (Exception e) {
             System.err.println("Error accessing system logs: " + e.getMessage());
             return new java.util.ArrayList<>();
@@ -495,13 +499,14 @@ public class ITModel {
      * @return 
      */
     public boolean clearOldLogs(int daysToKeep) {
-        if (!canAccessSystemLogs) {
+        if (!hasPermission(Permission.ACCESS_SYSTEM_LOGS)) {
             return false;
         }
         
         try {
             updateCurrentTask("Clearing logs older than " + daysToKeep + " days");
-            return true;
+            Timestamp cutoff = Timestamp.valueOf(LocalDate.now(MANILA_TIMEZONE).minusDays(daysToKeep).atStartOfDay());
+            return new AuditLogDAO(new DatabaseConnection()).deleteOlderThan(cutoff) >= 0;
         } catch (Exception e) {
             System.err.println("Error clearing logs: " + e.getMessage());
             return false;
@@ -516,7 +521,7 @@ public class ITModel {
      * @return 
      */
     public Map<String, Object> generateSystemReport(String reportType, Date startDate, Date endDate) {
-        if (!canManageReports) {
+        if (!hasPermission(Permission.MANAGE_REPORTS)) {
             return new HashMap<>();
         }
         
@@ -555,7 +560,7 @@ public class ITModel {
      * @return 
      */
     public boolean manageIntegration(String integrationType, String action, Map<String, String> parameters) {
-        if (!canManageIntegrations) {
+        if (!hasPermission(Permission.MANAGE_INTEGRATIONS)) {
             return false;
         }
         
@@ -573,7 +578,7 @@ public class ITModel {
      * @return 
      */
     public Map<String, Boolean> testSystemIntegrations() {
-        if (!canManageIntegrations) {
+        if (!hasPermission(Permission.MANAGE_INTEGRATIONS)) {
             return new HashMap<>();
         }
         
@@ -631,18 +636,18 @@ public class ITModel {
         
         // Permissions
         Map<String, Boolean> permissions = new HashMap<>();
-        permissions.put("canManageUsers", canManageUsers);
-        permissions.put("canManageDatabase", canManageDatabase);
-        permissions.put("canManageBackups", canManageBackups);
-        permissions.put("canManageSecurity", canManageSecurity);
-        permissions.put("canAccessSystemLogs", canAccessSystemLogs);
-        permissions.put("canModifySystemSettings", canModifySystemSettings);
-        permissions.put("canManageIntegrations", canManageIntegrations);
-        permissions.put("canPerformMaintenance", canPerformMaintenance);
-        permissions.put("canResetPasswords", canResetPasswords);
-        permissions.put("canManageReports", canManageReports);
-        permissions.put("canAccessAuditLogs", canAccessAuditLogs);
-        permissions.put("canManageSystemUpdates", canManageSystemUpdates);
+        permissions.put("canManageUsers", hasPermission(Permission.MANAGE_USERS));
+        permissions.put("canManageDatabase", hasPermission(Permission.MANAGE_DATABASE));
+        permissions.put("canManageBackups", hasPermission(Permission.MANAGE_BACKUPS));
+        permissions.put("canManageSecurity", hasPermission(Permission.MANAGE_SECURITY));
+        permissions.put("canAccessSystemLogs", hasPermission(Permission.ACCESS_SYSTEM_LOGS));
+        permissions.put("canModifySystemSettings", hasPermission(Permission.MODIFY_SYSTEM_SETTINGS));
+        permissions.put("canManageIntegrations", hasPermission(Permission.MANAGE_INTEGRATIONS));
+        permissions.put("canPerformMaintenance", hasPermission(Permission.PERFORM_MAINTENANCE));
+        permissions.put("canResetPasswords", hasPermission(Permission.RESET_PASSWORDS));
+        permissions.put("canManageReports", hasPermission(Permission.MANAGE_REPORTS));
+        permissions.put("canAccessAuditLogs", hasPermission(Permission.ACCESS_AUDIT_LOGS));
+        permissions.put("canManageSystemUpdates", hasPermission(Permission.MANAGE_SYSTEM_UPDATES));
         dashboard.put("permissions", permissions);
         
         return dashboard;
@@ -716,7 +721,7 @@ public class ITModel {
      * @return 
      */
     public boolean hasValidITPermissions() {
-        return userRole != null && userRole.equals("IT") && isActive();
+        return Permission.IT_ACCESS.isIn(Permission.forRole(userRole)) && isActive();
     }
     
     /**
@@ -742,7 +747,10 @@ public class ITModel {
     
     // Getters and Setters
     public int getItId() { return itId; }
-    public void setItId(int itId) { this.itId = itId; }
+    public void setItId(int itId) {
+        this.itId = itId;
+        loadPermissionBits();
+    }
     
     public String getFirstName() { return firstName; }
     public void setFirstName(String firstName) { this.firstName = firstName; }
@@ -760,7 +768,13 @@ public class ITModel {
     public void setDepartment(String department) { this.department = department; }
     
     public String getUserRole() { return userRole; }
-    public void setUserRole(String userRole) { this.userRole = userRole; }
+    public void setUserRole(String userRole) {
+        this.userRole = userRole;
+        if (itId > 0) {
+            PermissionResolver.getInstance().invalidate(itId);
+        }
+        loadPermissionBits();
+    }
     
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
@@ -775,41 +789,61 @@ public class ITModel {
     public void setAccessLevel(String accessLevel) { this.accessLevel = accessLevel; }
     
     // Permission getters and setters
-    public boolean isCanManageUsers() { return canManageUsers; }
-    public void setCanManageUsers(boolean canManageUsers) { this.canManageUsers = canManageUsers; }
+    /**
+     * Check one permission against this user's permission bits
+     * @param permission
+     * @return 
+     */
+    public boolean hasPermission(Permission permission) {
+        return permission.isIn(permissionBits);
+    }
+    
+    private void setPermission(Permission permission, boolean granted) {
+        if (granted) {
+            permissionBits |= permission.getBit();
+        } else {
+            permissionBits &= ~permission.getBit();
+        }
+    }
+    
+    public long getPermissionBits() { return permissionBits; }
+    public void setPermissionBits(long permissionBits) { this.permissionBits = permissionBits; }
+    
+    public boolean isCanManageUsers() { return hasPermission(Permission.MANAGE_USERS); }
+    public void setCanManageUsers(boolean canManageUsers) { setPermission(Permission.MANAGE_USERS, canManageUsers); }
     
-    public boolean isCanManageDatabase() { return canManageDatabase; }
-    public void setCanManageDatabase(boolean canManageDatabase) { this.canManageDatabase = canManageDatabase; }
+    public boolean isCanManageDatabase() { return hasPermission(Permission.MANAGE_DATABASE); }
+    public void setCanManageDatabase(boolean canManageDatabase) { setPermission(Permission.MANAGE_DATABASE, canManageDatabase); }
     
-    public boolean isCanManageBackups() { return canManageBackups; }
-    public void setCanManageBackups(boolean canManageBackups) { this.canManageBackups = canManageBackups; }
+    public boolean isCanManageBackups() { return hasPermission(Permission.MANAGE_BACKUPS); }
+    public void setCanManageBackups(boolean canManageBackups) { setPermission(Permission.MANAGE_BACKUPS, canManageBackups); }
     
-    public boolean isCanManageSecurity() { return canManageSecurity; }
-    public void setCanManageSecurity(boolean canManageSecurity) { this.canManageSecurity = canManageSecurity; }
+    public boolean isCanManageSecurity() { return hasPermission(Permission.MANAGE_SECURITY); }
+    public void setCanManageSecurity(boolean canManageSecurity) { setPermission(Permission.MANAGE_SECURITY, canManageSecurity); }
     
-    public boolean isCanAccessSystemLogs() { return canAccessSystemLogs; }
-    public void setCanAccessSystemLogs(boolean canAccessSystemLogs) { this.canAccessSystemLogs = canAccessSystemLogs; }
+    public boolean isCanAccessSystemLogs() { return hasPermission(Permission.ACCESS_SYSTEM_LOGS); }
+    public void setCanAccessSystemLogs(boolean canAccessSystemLogs) { setPermission(Permission.ACCESS_SYSTEM_LOGS, canAccessSystemLogs); }
     
-    public boolean isCanModifySystemSettings() { return canModifySystemSettings; }
-    public void setCanModifySystemSettings(boolean canModifySystemSettings) { this.canModifySystemSettings = canModifySystemSettings; }
+    public boolean isCanModifySystemSettings() { return hasPermission(Permission.MODIFY_SYSTEM_SETTINGS); }
+    public void setCanModifySystemSettings(boolean canModifySystemSettings) { setPermission(Permission.MODIFY_SYSTEM_SETTINGS, canModifySystemSettings); }
     
-    public boolean isCanManageIntegrations() { return canManageIntegrations; }
-    public void setCanManageIntegrations(boolean canManageIntegrations) { this.canManageIntegrations = canManageIntegrations; }
+    public boolean isCanManageIntegrations() { return hasPermission(Permission.MANAGE_INTEGRATIONS); }
+    public void setCanManageIntegrations(boolean canManageIntegrations) { setPermission(Permission.MANAGE_INTEGRATIONS, canManageIntegrations); }
     
-    public boolean isCanPerformMaintenance() { return canPerformMaintenance; }
-    public void setCanPerformMaintenance(boolean canPerformMaintenance) { this.canPerformMaintenance = canPerformMaintenance; }
+    public boolean isCanPerformMaintenance() { return hasPermission(Permission.PERFORM_MAINTENANCE); }
+    public void setCanPerformMaintenance(boolean canPerformMaintenance) { setPermission(Permission.PERFORM_MAINTENANCE, canPerformMaintenance); }
     
-    public boolean isCanResetPasswords() { return canResetPasswords; }
-    public void setCanResetPasswords(boolean canResetPasswords) { this.canResetPasswords = canResetPasswords; }
+    public boolean isCanResetPasswords() { return hasPermission(Permission.RESET_PASSWORDS); }
+    public void setCanResetPasswords(boolean canResetPasswords) { setPermission(Permission.RESET_PASSWORDS, canResetPasswords); }
     
-    public boolean isCanManageReports() { return canManageReports; }
-    public void setCanManageReports(boolean canManageReports) { this.canManageReports = canManageReports; }
+    public boolean isCanManageReports() { return hasPermission(Permission.MANAGE_REPORTS); }
+    public void setCanManageReports(boolean canManageReports) { setPermission(Permission.MANAGE_REPORTS, canManageReports); }
     
-    public boolean isCanAccessAuditLogs() { return canAccessAuditLogs; }
-    public void setCanAccessAuditLogs(boolean canAccessAuditLogs) { this.canAccessAuditLogs = canAccessAuditLogs; }
+    public boolean isCanAccessAuditLogs() { return hasPermission(Permission.ACCESS_AUDIT_LOGS); }
+    public void setCanAccessAuditLogs(boolean canAccessAuditLogs) { setPermission(Permission.ACCESS_AUDIT_LOGS, canAccessAuditLogs); }
     
-    public boolean isCanManageSystemUpdates() { return canManageSystemUpdates; }
-    public void setCanManageSystemUpdates(boolean canManageSystemUpdates) { this.canManageSystemUpdates = canManageSystemUpdates; }
+    public boolean isCanManageSystemUpdates() { return hasPermission(Permission.MANAGE_SYSTEM_UPDATES); }
+    public void setCanManageSystemUpdates(boolean canManageSystemUpdates) { setPermission(Permission.MANAGE_SYSTEM_UPDATES, canManageSystemUpdates); }
     
     // Activity tracking getters and setters
     public int getUsersManaged() { return usersManaged; }
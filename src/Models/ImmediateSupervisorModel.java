@@ -6,6 +6,8 @@ import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import DAOs.PermissionResolver;
+import Services.DashboardDataLoader;
 
 public class ImmediateSupervisorModel {
     private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
@@ -25,9 +27,7 @@ public class ImmediateSupervisorModel {
     private List<Integer> subordinateIds;
     private int teamSize;
     private String managementLevel; // "IMMEDIATE", "MIDDLE", "SENIOR"
-    private boolean canApproveLeave;
-    private boolean canApproveOvertime;
-    private boolean canManageAttendance;
+    private long permissionBits; // Models.Permission bits
     private double maxOvertimeApprovalHours;
     private int maxLeaveApprovalDays;
     
@@ -38,10 +38,12 @@ public class ImmediateSupervisorModel {
     private Timestamp lastApprovalAction;
     
     // Constructors
+    // Approval rights of a supervisor that has no employee id to resolve
+    private static final long DEFAULT_PERMISSION_BITS = Permission.APPROVE_LEAVE.getBit()
+        | Permission.APPROVE_OVERTIME.getBit() | Permission.MANAGE_ATTENDANCE.getBit();
+    
     public ImmediateSupervisorModel() {
-        this.canApproveLeave = true;
-        this.canApproveOvertime = true;
-        this.canManageAttendance = true;
+        this.permissionBits = DEFAULT_PERMISSION_BITS;
         this.maxOvertimeApprovalHours = 4.0; // Default 4 hours max
         this.maxLeaveApprovalDays = 5; // Default 5 days max
         this.managementLevel = "IMMEDIATE";
@@ -55,6 +57,17 @@ public class ImmediateSupervisorModel {
         this.email = email;
         this.userRole = "Supervisor";
         this.status = "Active";
+        loadPermissionBits();
+    }
+
+    /**
+     * Load this user's effective permissions through PermissionResolver so saved
+     * grants and revokes apply; a supervisor without an id keeps the default approval rights
+     */
+    private void loadPermissionBits() {
+        this.permissionBits = supervisorId > 0
+            ? PermissionResolver.getInstance().getPermissions(supervisorId)
+            : DEFAULT_PERMISSION_BITS;
     }
     
     // Manila timezone operations
@@ -155,7 +168,7 @@ public class ImmediateSupervisorModel {
      * @return 
      */
     public boolean canApproveLeaveRequest(LeaveRequestModel request) {
-        if (!canApproveLeave || request == null) {
+        if (!hasPermission(Permission.APPROVE_LEAVE) || request == null) {
             return false;
         }
         
@@ -178,7 +191,7 @@ public class ImmediateSupervisorModel {
      * @return 
      */
     public boolean canApproveOvertimeRequest(OvertimeRequestModel request) {
-        if (!canApproveOvertime || request == null) {
+        if (!hasPermission(Permission.APPROVE_OVERTIME) || request == null) {
             return false;
         }
         
@@ -276,7 +289,7 @@ public class ImmediateSupervisorModel {
      * @return 
      */
     public boolean canManageEmployeeAttendance(int employeeId) {
-        return canManageAttendance && managesEmployee(employeeId);
+        return hasPermission(Permission.MANAGE_ATTENDANCE) && managesEmployee(employeeId);
     }
     
     /**
@@ -328,9 +341,9 @@ public class ImmediateSupervisorModel {
         dashboard.put("averageApprovalTime", averageApprovalTime);
         
         // Approval permissions
-        dashboard.put("canApproveLeave", canApproveLeave);
-        dashboard.put("canApproveOvertime", canApproveOvertime);
-        dashboard.put("canManageAttendance", canManageAttendance);
+        dashboard.put("canApproveLeave", hasPermission(Permission.APPROVE_LEAVE));
+        dashboard.put("canApproveOvertime", hasPermission(Permission.APPROVE_OVERTIME));
+        dashboard.put("canManageAttendance", hasPermission(Permission.MANAGE_ATTENDANCE));
         dashboard.put("maxOvertimeApprovalHours", maxOvertimeApprovalHours);
         dashboard.put("maxLeaveApprovalDays", maxLeaveApprovalDays);
         
@@ -338,6 +351,10 @@ public class ImmediateSupervisorModel {
         dashboard.put("lastLogin", getLastLoginInManila());
         dashboard.put("lastApprovalAction", getLastApprovalActionInManila());
         
+        // Attendance, balances, approvals and payslip loaded in parallel
+        dashboard.putAll(DashboardDataLoader.getInstance().load(supervisorId)
+            .toDashboardData(DashboardDataLoader.DEFAULT_WAIT_MILLIS));
+        
         return dashboard;
     }
     
@@ -404,9 +421,7 @@ public class ImmediateSupervisorModel {
      * @return 
      */
     public boolean hasValidPermissions() {
-        return userRole != null && 
-               (userRole.equals("Supervisor") || userRole.equals("Manager") || 
-                userRole.equals("HR") || userRole.equals("Admin"));
+        return Permission.SUPERVISOR_ACCESS.isIn(Permission.forRole(userRole));
     }
     
     /**
@@ -460,7 +475,10 @@ public class ImmediateSupervisorModel {
     
     // Getters and Setters
     public int getSupervisorId() { return supervisorId; }
-    public void setSupervisorId(int supervisorId) { this.supervisorId = supervisorId; }
+    public void setSupervisorId(int supervisorId) {
+        this.supervisorId = supervisorId;
+        loadPermissionBits();
+    }
     
     public String getFirstName() { return firstName; }
     public void setFirstName(String firstName) { this.firstName = firstName; }
@@ -478,7 +496,13 @@ public class ImmediateSupervisorModel {
     public void setDepartment(String department) { this.department = department; }
     
     public String getUserRole() { return userRole; }
-    public void setUserRole(String userRole) { this.userRole = userRole; }
+    public void setUserRole(String userRole) {
+        this.userRole = userRole;
+        if (supervisorId > 0) {
+            PermissionResolver.getInstance().invalidate(supervisorId);
+        }
+        loadPermissionBits();
+    }
     
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
@@ -498,14 +522,34 @@ public class ImmediateSupervisorModel {
     public String getManagementLevel() { return managementLevel; }
     public void setManagementLevel(String managementLevel) { this.managementLevel = managementLevel; }
     
-    public boolean isCanApproveLeave() { return canApproveLeave; }
-    public void setCanApproveLeave(boolean canApproveLeave) { this.canApproveLeave = canApproveLeave; }
+    /**
+     * Check one permission against this user's permission bits
+     * @param permission
+     * @return 
+     */
+    public boolean hasPermission(Permission permission) {
+        return permission.isIn(permissionBits);
+    }
+    
+    private void setPermission(Permission permission, boolean granted) {
+        if (granted) {
+            permissionBits |= permission.getBit();
+        } else {
+            permissionBits &= ~permission.getBit();
+        }
+    }
+    
+    public long getPermissionBits() { return permissionBits; }
+    public void setPermissionBits(long permissionBits) { this.permissionBits = permissionBits; }
+    
+    public boolean isCanApproveLeave() { return hasPermission(Permission.APPROVE_LEAVE); }
+    public void setCanApproveLeave(boolean canApproveLeave) { setPermission(Permission.APPROVE_LEAVE, canApproveLeave); }
     
-    public boolean isCanApproveOvertime() { return canApproveOvertime; }
-    public void setCanApproveOvertime(boolean canApproveOvertime) { this.canApproveOvertime = canApproveOvertime; }
+    public boolean isCanApproveOvertime() { return hasPermission(Permission.APPROVE_OVERTIME); }
+    public void setCanApproveOvertime(boolean canApproveOvertime) { setPermission(Permission.APPROVE_OVERTIME, canApproveOvertime); }
     
-    public boolean isCanManageAttendance() { return canManageAttendance; }
-    public void setCanManageAttendance(boolean canManageAttendance) { this.canManageAttendance = canManageAttendance; }
+    public boolean isCanManageAttendance() { return hasPermission(Permission.MANAGE_ATTENDANCE); }
+    public void setCanManageAttendance(boolean canManageAttendance) { setPermission(Permission.MANAGE_ATTENDANCE, canManageAttendance); }
     
     public double getMaxOvertimeApprovalHours() { return maxOvertimeApprovalHours; }
     public void setMaxOvertimeApprovalHours(double maxOvertimeApprovalHours) { this.maxOvertimeApprovalHours = maxOvertimeApprovalHours; }
@@ -0,0 +1,120 @@
+package Models;
+
+import java.sql.Timestamp;
+import java.time.Year;
+
+/**
+ * LeaveLedgerEntry - Simple model class for the leaveledger table
+ * Append-only record of every debit (leave taken) and credit (leave restored)
+ * applied to a leave balance.
+ * Fields: ledgerEntryId, employeeId, leaveTypeId, balanceYear, entryType, days,
+ *         leaveRequestId, notes, createdAt
+ * @author Chad
+ */
+public class LeaveLedgerEntry {
+
+    public enum EntryType {
+        DEBIT,
+        CREDIT
+    }
+
+    private Integer ledgerEntryId;
+    private int employeeId;
+    private int leaveTypeId;
+    private Year balanceYear;
+    private EntryType entryType;
+    private int days;
+    private Integer leaveRequestId;
+    private String notes;
+    private Timestamp createdAt;
+
+    // ===============================
+    // CONSTRUCTORS
+    // ===============================
+
+    /**
+     * Default constructor - REQUIRED for DAO operations
+     */
+    public LeaveLedgerEntry() {}
+
+    /**
+     * Constructor with essential fields
+     */
+    public LeaveLedgerEntry(EntryType entryType, int employeeId, int leaveTypeId, Year balanceYear,
+                            int days, Integer leaveRequestId, String notes) {
+        this.entryType = entryType;
+        this.employeeId = employeeId;
+        this.leaveTypeId = leaveTypeId;
+        this.balanceYear = balanceYear;
+        this.days = days;
+        this.leaveRequestId = leaveRequestId;
+        this.notes = notes;
+    }
+
+    public static LeaveLedgerEntry debit(int employeeId, int leaveTypeId, Year balanceYear,
+                                         int days, Integer leaveRequestId, String notes) {
+        return new LeaveLedgerEntry(EntryType.DEBIT, employeeId, leaveTypeId, balanceYear, days, leaveRequestId, notes);
+    }
+
+    public static LeaveLedgerEntry credit(int employeeId, int leaveTypeId, Year balanceYear,
+                                          int days, Integer leaveRequestId, String notes) {
+        return new LeaveLedgerEntry(EntryType.CREDIT, employeeId, leaveTypeId, balanceYear, days, leaveRequestId, notes);
+    }
+
+    // ===============================
+    // GETTERS AND SETTERS - REQUIRED FOR DAO
+    // ===============================
+
+    public Integer getLedgerEntryId() { return ledgerEntryId; }
+    public void setLedgerEntryId(Integer ledgerEntryId) { this.ledgerEntryId = ledgerEntryId; }
+
+    public int getEmployeeId() { return employeeId; }
+    public void setEmployeeId(int employeeId) { this.employeeId = employeeId; }
+
+    public int getLeaveTypeId() { return leaveTypeId; }
+    public void setLeaveTypeId(int leaveTypeId) { this.leaveTypeId = leaveTypeId; }
+
+    public Year getBalanceYear() { return balanceYear; }
+    public void setBalanceYear(Year balanceYear) { this.balanceYear = balanceYear; }
+
+    public EntryType getEntryType() { return entryType; }
+    public void setEntryType(EntryType entryType) { this.entryType = entryType; }
+
+    public int getDays() { return days; }
+    public void setDays(int days) { this.days = days; }
+
+    public Integer getLeaveRequestId() { return leaveRequestId; }
+    public void setLeaveRequestId(Integer leaveRequestId) { this.leaveRequestId = leaveRequestId; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public Timestamp getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Timestamp createdAt) { this.createdAt = createdAt; }
+
+    // ===============================
+    // UTILITY METHODS
+    // ===============================
+
+    public boolean isDebit() {
+        return entryType == EntryType.DEBIT;
+    }
+
+    public boolean isValid() {
+        return employeeId > 0 && leaveTypeId > 0 && balanceYear != null &&
+               entryType != null && days > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LeaveLedgerEntry{" +
+                "ledgerEntryId=" + ledgerEntryId +
+                ", entryType=" + entryType +
+                ", employeeId=" + employeeId +
+                ", leaveTypeId=" + leaveTypeId +
+                ", balanceYear=" + balanceYear +
+                ", days=" + days +
+                ", leaveRequestId=" + leaveRequestId +
+                '}';
+    }
+}
@@ -0,0 +1,145 @@
+package Models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * OvertimePayAccrual - Model class mapping to overtimepayaccrual table
+ * Holds the overtime hours and pay of one approved overtime request, computed once
+ * at approval time with the hourly rate in effect, so payroll and reports can sum
+ * ready-made amounts instead of recomputing them.
+ * Fields: overtimeRequestId, employeeId, overtimeDate, overtimeHours, hourlyRate,
+ * multiplier, overtimePay, computedAt
+ * @author User
+ */
+public class OvertimePayAccrual {
+
+    // Time-and-a-half, the multiplier payroll and payslips pay overtime at
+    public static final BigDecimal PAYROLL_OVERTIME_MULTIPLIER = new BigDecimal("1.5");
+
+    private Integer overtimeRequestId;
+    private Integer employeeId;
+    private LocalDate overtimeDate;
+    private BigDecimal overtimeHours = BigDecimal.ZERO;
+    private BigDecimal hourlyRate = BigDecimal.ZERO;
+    private BigDecimal multiplier = PAYROLL_OVERTIME_MULTIPLIER;
+    private BigDecimal overtimePay = BigDecimal.ZERO;
+    private Timestamp computedAt;
+
+    // ===============================
+    // CONSTRUCTORS
+    // ===============================
+
+    /**
+     * Default constructor
+     */
+    public OvertimePayAccrual() {}
+
+    /**
+     * Compute the accrual of an overtime request
+     * @param overtimeRequest The approved overtime request
+     * @param hourlyRate The hourly rate in effect
+     * @return The accrual, with zero pay when the rate is unknown
+     */
+    public static OvertimePayAccrual forRequest(OvertimeRequestModel overtimeRequest, BigDecimal hourlyRate) {
+        OvertimePayAccrual accrual = new OvertimePayAccrual();
+        accrual.setOvertimeRequestId(overtimeRequest.getOvertimeRequestId());
+        accrual.setEmployeeId(overtimeRequest.getEmployeeId());
+        if (overtimeRequest.getOvertimeStart() != null) {
+            accrual.setOvertimeDate(overtimeRequest.getOvertimeStart().toLocalDate());
+        }
+        accrual.setOvertimeHours(BigDecimal.valueOf(overtimeRequest.getOvertimeHours()).setScale(2, RoundingMode.HALF_UP));
+        accrual.setHourlyRate(hourlyRate != null ? hourlyRate : BigDecimal.ZERO);
+        accrual.recalculate();
+        return accrual;
+    }
+
+    // ===============================
+    // BUSINESS METHODS
+    // ===============================
+
+    /**
+     * Recompute overtimePay from hours, hourly rate and multiplier
+     */
+    public void recalculate() {
+        overtimePay = overtimeHours.multiply(hourlyRate).multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // ===============================
+    // GETTERS AND SETTERS
+    // ===============================
+
+    public Integer getOvertimeRequestId() {
+        return overtimeRequestId;
+    }
+
+    public void setOvertimeRequestId(Integer overtimeRequestId) {
+        this.overtimeRequestId = overtimeRequestId;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Integer employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LocalDate getOvertimeDate() {
+        return overtimeDate;
+    }
+
+    public void setOvertimeDate(LocalDate overtimeDate) {
+        this.overtimeDate = overtimeDate;
+    }
+
+    public BigDecimal getOvertimeHours() {
+        return overtimeHours;
+    }
+
+    public void setOvertimeHours(BigDecimal overtimeHours) {
+        this.overtimeHours = overtimeHours != null ? overtimeHours : BigDecimal.ZERO;
+    }
+
+    public BigDecimal getHourlyRate() {
+        return hourlyRate;
+    }
+
+    public void setHourlyRate(BigDecimal hourlyRate) {
+        this.hourlyRate = hourlyRate != null ? hourlyRate : BigDecimal.ZERO;
+    }
+
+    public BigDecimal getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(BigDecimal multiplier) {
+        this.multiplier = multiplier != null ? multiplier : PAYROLL_OVERTIME_MULTIPLIER;
+    }
+
+    public BigDecimal getOvertimePay() {
+        return overtimePay;
+    }
+
+    public void setOvertimePay(BigDecimal overtimePay) {
+        this.overtimePay = overtimePay != null ? overtimePay : BigDecimal.ZERO;
+    }
+
+    public Timestamp getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Timestamp computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OvertimePayAccrual{overtimeRequestId=%d, employeeId=%d, overtimeDate=%s, " +
+                           "overtimeHours=%s, hourlyRate=%s, multiplier=%s, overtimePay=%s}",
+                           overtimeRequestId, employeeId, overtimeDate, overtimeHours, hourlyRate,
+                           multiplier, overtimePay);
+    }
+}
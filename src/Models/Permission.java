@@ -0,0 +1,171 @@
+package Models;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Permission - One bit of a user's permission set
+ * A set of permissions is a long with one bit per constant, so checking a
+ * permission is a single AND. Role defaults are compiled into such bitsets
+ * once, when this enum is loaded.
+ * @author User
+ */
+public enum Permission {
+    // Role access
+    HR_ACCESS("hrAccess"),
+    IT_ACCESS("itAccess"),
+    SUPERVISOR_ACCESS("supervisorAccess"),
+
+    // Self-service
+    SUBMIT_LEAVE("canSubmitLeave"),
+    SUBMIT_OVERTIME("canSubmitOvertime"),
+
+    // Supervision
+    APPROVE_LEAVE("canApproveLeave"),
+    APPROVE_OVERTIME("canApproveOvertime"),
+    MANAGE_ATTENDANCE("canManageAttendance"),
+
+    // HR
+    MANAGE_EMPLOYEES("canManageEmployees"),
+    MANAGE_PAYROLL("canManagePayroll"),
+    MANAGE_BENEFITS("canManageBenefits"),
+    MANAGE_LEAVES("canManageLeaves"),
+    GENERATE_REPORTS("canGenerateReports"),
+    MANAGE_POSITIONS("canManagePositions"),
+    APPROVE_ALL_REQUESTS("canApproveAllRequests"),
+    MODIFY_PAYRATES("canModifyPayrates"),
+    ACCESS_AUDIT_LOGS("canAccessAuditLogs"),
+
+    // IT
+    MANAGE_USERS("canManageUsers"),
+    MANAGE_DATABASE("canManageDatabase"),
+    MANAGE_BACKUPS("canManageBackups"),
+    MANAGE_SECURITY("canManageSecurity"),
+    ACCESS_SYSTEM_LOGS("canAccessSystemLogs"),
+    MODIFY_SYSTEM_SETTINGS("canModifySystemSettings"),
+    MANAGE_INTEGRATIONS("canManageIntegrations"),
+    PERFORM_MAINTENANCE("canPerformMaintenance"),
+    RESET_PASSWORDS("canResetPasswords"),
+    MANAGE_REPORTS("canManageReports"),
+    MANAGE_SYSTEM_UPDATES("canManageSystemUpdates");
+
+    private static final Map<String, Permission> BY_KEY = new HashMap<>();
+    private static final Map<String, Long> ROLE_PERMISSIONS = new HashMap<>();
+
+    static {
+        for (Permission permission : values()) {
+            BY_KEY.put(permission.key, permission);
+        }
+
+        Set<Permission> employee = EnumSet.of(SUBMIT_LEAVE, SUBMIT_OVERTIME);
+
+        Set<Permission> supervisor = EnumSet.copyOf(employee);
+        supervisor.addAll(EnumSet.of(SUPERVISOR_ACCESS, APPROVE_LEAVE, APPROVE_OVERTIME, MANAGE_ATTENDANCE));
+
+        Set<Permission> hr = EnumSet.copyOf(supervisor);
+        hr.addAll(EnumSet.range(MANAGE_EMPLOYEES, ACCESS_AUDIT_LOGS));
+        hr.add(HR_ACCESS);
+
+        Set<Permission> it = EnumSet.copyOf(employee);
+        it.addAll(EnumSet.range(MANAGE_USERS, MANAGE_SYSTEM_UPDATES));
+        it.addAll(EnumSet.of(IT_ACCESS, ACCESS_AUDIT_LOGS));
+
+        Set<Permission> accounting = EnumSet.copyOf(employee);
+        accounting.addAll(EnumSet.of(MANAGE_PAYROLL, GENERATE_REPORTS));
+
+        ROLE_PERMISSIONS.put("EMPLOYEE", toBits(employee));
+        ROLE_PERMISSIONS.put("SUPERVISOR", toBits(supervisor));
+        ROLE_PERMISSIONS.put("IMMEDIATE SUPERVISOR", toBits(supervisor));
+        ROLE_PERMISSIONS.put("MANAGER", toBits(supervisor));
+        ROLE_PERMISSIONS.put("HR", toBits(hr));
+        ROLE_PERMISSIONS.put("IT", toBits(it));
+        ROLE_PERMISSIONS.put("ACCOUNTING", toBits(accounting));
+        ROLE_PERMISSIONS.put("ADMIN", toBits(EnumSet.allOf(Permission.class)));
+    }
+
+    private final String key;
+    private final long bit;
+
+    Permission(String key) {
+        this.key = key;
+        this.bit = 1L << ordinal();
+    }
+
+    /**
+     * Get the name used for this permission in permission maps
+     * @return e.g. "canManageEmployees"
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Get this permission's bit
+     * @return A long with only this permission's bit set
+     */
+    public long getBit() {
+        return bit;
+    }
+
+    /**
+     * Check whether a permission set includes this permission
+     * @param permissions A permission bitset
+     * @return true if the bit is set
+     */
+    public boolean isIn(long permissions) {
+        return (permissions & bit) != 0;
+    }
+
+    /**
+     * Get the default permissions of a role
+     * @param role Role name, in any case (e.g. "HR", "Immediate Supervisor")
+     * @return The role's permission bitset, or 0 for an unknown role
+     */
+    public static long forRole(String role) {
+        if (role == null) {
+            return 0L;
+        }
+        Long permissions = ROLE_PERMISSIONS.get(role.trim().toUpperCase(Locale.ROOT));
+        return permissions != null ? permissions : 0L;
+    }
+
+    /**
+     * Find a permission by its map key
+     * @param key e.g. "canManageEmployees"
+     * @return The permission, or null if the key is unknown
+     */
+    public static Permission fromKey(String key) {
+        return key != null ? BY_KEY.get(key) : null;
+    }
+
+    /**
+     * Combine permissions into a bitset
+     * @param permissions The permissions
+     * @return Bitset with each permission's bit set
+     */
+    public static long toBits(Set<Permission> permissions) {
+        long bits = 0L;
+        for (Permission permission : permissions) {
+            bits |= permission.bit;
+        }
+        return bits;
+    }
+
+    /**
+     * Expand a bitset into its permissions
+     * @param permissions A permission bitset
+     * @return The permissions whose bits are set
+     */
+    public static Set<Permission> fromBits(long permissions) {
+        Set<Permission> set = EnumSet.noneOf(Permission.class);
+        for (Permission permission : values()) {
+            if (permission.isIn(permissions)) {
+                set.add(permission);
+            }
+        }
+        return set;
+    }
+}
@@ -29,13 +29,13 @@ public class AttendanceService {
     
     private AttendanceDAO attendanceDAO;
     private TardinessRecordDAO tardinessRecordDAO;
-    // Removed employeeDAO since it's not being used in current implementation
+    private EmployeeDAO employeeDAO; // rank-and-file classification (cached)
     
     // Constructors
     public AttendanceService() {
         this.attendanceDAO = new AttendanceDAO();
         this.tardinessRecordDAO = new TardinessRecordDAO();
-        // Removed employeeDAO initialization
+        this.employeeDAO = new EmployeeDAO(new DatabaseConnection());
     }
     
     /**
@@ -45,12 +45,13 @@ public class AttendanceService {
     public AttendanceService(DatabaseConnection databaseConnection) {
         this.attendanceDAO = new AttendanceDAO(databaseConnection);
         this.tardinessRecordDAO = new TardinessRecordDAO();
+        this.employeeDAO = new EmployeeDAO(databaseConnection);
     }
     
     public AttendanceService(AttendanceDAO attendanceDAO, TardinessRecordDAO tardinessRecordDAO) {
         this.attendanceDAO = attendanceDAO;
         this.tardinessRecordDAO = tardinessRecordDAO;
-        // Removed employeeDAO parameter since it's not used
+        this.employeeDAO = new EmployeeDAO(new DatabaseConnection());
     }
     
     // Core attendance operations with grace period logic
@@ -300,17 +301,8 @@ public class AttendanceService {
      */
     public boolean isRankAndFileEmployee(int employeeId) {
         try {
-            // Query to check if employee is rank-and-file based on position department
-            String query = "SELECT p.department, p.position FROM employee e " +
-                          "JOIN position p ON e.positionId = p.positionId " +
-                          "WHERE e.employeeId = ?";
-            
-            // This would typically be implemented in EmployeeDAO
-            // For now, we'll check if department contains "rank" or "file"
-            // You should implement this in EmployeeDAO and call that method
-            
-            // Placeholder implementation - replace with actual DAO call
-            return false; // Replace with actual logic
+            // Answered from EmployeeDAO's classification cache
+            return employeeDAO.isEmployeeRankAndFile(employeeId);
         } catch (Exception e) {
             System.err.println("Error checking rank-and-file status: " + e.getMessage());
             return false;
@@ -0,0 +1,143 @@
+package Services;
+
+import DAOs.AttendanceDAO;
+import DAOs.DatabaseConnection;
+import DAOs.LeaveBalanceDAO;
+import DAOs.LeaveRequestDAO;
+import DAOs.OvertimeRequestDAO;
+import DAOs.PayslipDAO;
+import Models.AttendanceModel;
+import Models.LeaveBalance;
+import Models.LeaveRequestModel;
+import Models.OvertimeRequestModel;
+import Models.PayslipModel;
+import Utility.BackgroundTasks;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the data a dashboard shows (today's attendance, leave balances,
+ * pending approvals and the latest payslip). Each query runs on its own
+ * virtual thread, so they overlap with each other and with the rest of the
+ * dashboard being built, instead of running one after another.
+ * @author User
+ */
+public class DashboardDataLoader {
+
+    private static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
+
+    // Longest a dashboard waits for all of its values together
+    public static final long DEFAULT_WAIT_MILLIS = 3_000;
+
+    private static final DashboardDataLoader INSTANCE = new DashboardDataLoader(new DatabaseConnection());
+
+    private final AttendanceDAO attendanceDAO;
+    private final LeaveBalanceDAO leaveBalanceDAO;
+    private final LeaveRequestDAO leaveRequestDAO;
+    private final OvertimeRequestDAO overtimeRequestDAO;
+    private final PayslipDAO payslipDAO;
+
+    /**
+     * Get the shared dashboard loader
+     * @return The loader used by the dashboards
+     */
+    public static DashboardDataLoader getInstance() {
+        return INSTANCE;
+    }
+
+    public DashboardDataLoader(DatabaseConnection databaseConnection) {
+        this.attendanceDAO = new AttendanceDAO(databaseConnection);
+        this.leaveBalanceDAO = new LeaveBalanceDAO();
+        this.leaveRequestDAO = new LeaveRequestDAO();
+        this.overtimeRequestDAO = new OvertimeRequestDAO(databaseConnection);
+        this.payslipDAO = new PayslipDAO(databaseConnection);
+    }
+
+    /**
+     * Start loading an employee's dashboard data
+     * @param employeeId The logged-in employee
+     * @return The load, whose futures complete as each query finishes
+     */
+    public DashboardLoad load(int employeeId) {
+        Year year = Year.now(MANILA_TIMEZONE);
+        return new DashboardLoad(employeeId,
+            BackgroundTasks.supply("loading today's attendance",
+                () -> attendanceDAO.getTodayAttendance(employeeId)),
+            BackgroundTasks.supply("loading leave balances",
+                () -> leaveBalanceDAO.getLeaveBalancesByEmployee(employeeId, year)),
+            BackgroundTasks.supply("loading pending leave approvals",
+                () -> leaveRequestDAO.getPendingLeaveRequestsForSupervisor(employeeId)),
+            BackgroundTasks.supply("loading pending overtime approvals",
+                () -> overtimeRequestDAO.findPendingOvertimeRequestsForSupervisor(employeeId)),
+            BackgroundTasks.supply("loading latest payslip",
+                () -> payslipDAO.findLatestByEmployee(employeeId)));
+    }
+
+    /**
+     * Dashboard data being loaded for one employee
+     */
+    public static class DashboardLoad {
+        private final int employeeId;
+        private final CompletableFuture<AttendanceModel> todayAttendance;
+        private final CompletableFuture<List<LeaveBalance>> leaveBalances;
+        private final CompletableFuture<List<LeaveRequestModel>> pendingLeaveApprovals;
+        private final CompletableFuture<List<OvertimeRequestModel>> pendingOvertimeApprovals;
+        private final CompletableFuture<PayslipModel> latestPayslip;
+
+        DashboardLoad(int employeeId,
+                          CompletableFuture<AttendanceModel> todayAttendance,
+                          CompletableFuture<List<LeaveBalance>> leaveBalances,
+                          CompletableFuture<List<LeaveRequestModel>> pendingLeaveApprovals,
+                          CompletableFuture<List<OvertimeRequestModel>> pendingOvertimeApprovals,
+                          CompletableFuture<PayslipModel> latestPayslip) {
+            this.employeeId = employeeId;
+            this.todayAttendance = todayAttendance;
+            this.leaveBalances = leaveBalances;
+            this.pendingLeaveApprovals = pendingLeaveApprovals;
+            this.pendingOvertimeApprovals = pendingOvertimeApprovals;
+            this.latestPayslip = latestPayslip;
+        }
+
+        public int getEmployeeId() { return employeeId; }
+        public CompletableFuture<AttendanceModel> getTodayAttendance() { return todayAttendance; }
+        public CompletableFuture<List<LeaveBalance>> getLeaveBalances() { return leaveBalances; }
+        public CompletableFuture<List<LeaveRequestModel>> getPendingLeaveApprovals() { return pendingLeaveApprovals; }
+        public CompletableFuture<List<OvertimeRequestModel>> getPendingOvertimeApprovals() { return pendingOvertimeApprovals; }
+        public CompletableFuture<PayslipModel> getLatestPayslip() { return latestPayslip; }
+
+        /**
+         * Collect the loaded values for a dashboard
+         * @param waitMillis Longest to wait for all values still loading, together
+         * @return Dashboard entries; a value that failed or did not arrive in time is null
+         */
+        public Map<String, Object> toDashboardData(long waitMillis) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+            Map<String, Object> data = new HashMap<>();
+            data.put("todayAttendance", await(todayAttendance, deadline));
+            data.put("leaveBalances", await(leaveBalances, deadline));
+            data.put("pendingLeaveApprovals", await(pendingLeaveApprovals, deadline));
+            data.put("pendingOvertimeApprovals", await(pendingOvertimeApprovals, deadline));
+            data.put("latestPayslip", await(latestPayslip, deadline));
+            return data;
+        }
+
+        private static <T> T await(CompletableFuture<T> future, long deadline) {
+            try {
+                // Whatever is left of the shared deadline; 0 still takes a finished value
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                return future.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (Exception e) {
+                System.err.println("Dashboard data not ready: " + e.getMessage());
+                return null;
+            }
+        }
+    }
+}
@@ -5,9 +5,22 @@ import DAOs.ReferenceDataDAO;
 import DAOs.EmployeeDAO;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import net.sf.jasperreports.engine.export.JRCsvExporter;
+import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import net.sf.jasperreports.export.SimpleWriterExporterOutput;
+import net.sf.jasperreports.export.SimpleXlsxReportConfiguration;
+import Utility.CsvRowWriter;
+import Utility.RowWriter;
+import Utility.XlsxRowWriter;
 
 import java.io.*;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -25,14 +38,25 @@ public class JasperReportGenerator {
     // Manila timezone constant
     public static final ZoneId MANILA_TIMEZONE = ZoneId.of("Asia/Manila");
     
+    // Formats that write the query rows straight to a file, without the template's layout or totals.
+    // Only the streamed reports (attendance, employee list, payroll summary) accept them.
+    public static final String RAW_CSV = "RAW_CSV";
+    public static final String RAW_XLSX = "RAW_XLSX";
+    
     private final DatabaseConnection databaseConnection;
     private final ReferenceDataDAO referenceDataDAO;
     private final EmployeeDAO employeeDAO;
     
     // Report template paths (you'll create these .jrxml files)
-    private static final String REPORTS_PATH = "src/reports/";
+    static final String REPORTS_PATH = "src/reports/";
     private static final String OUTPUT_PATH = "reports/output/";
     
+    // Filled pages kept in memory per report; the rest are swapped to disk
+    private static final int VIRTUALIZER_MAX_PAGES = Integer.getInteger("motorph.reports.virtualizerPages", 50);
+    private static final String SWAP_PATH = System.getProperty("java.io.tmpdir");
+    private static final int SWAP_BLOCK_SIZE = 4096;
+    private static final int SWAP_MIN_GROW_BLOCKS = 256;
+    
     /**
      * Constructor
      * @param databaseConnection Database connection instance
@@ -114,29 +138,25 @@ public class JasperReportGenerator {
             parameters.put("REPORT_DATE", new Date());
             parameters.put("GENERATED_DATE", LocalDate.now(MANILA_TIMEZONE).format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
             
-            // Use the database view for complete summary
-            List<Map<String, Object>> summaryData = getPayrollSummaryFromView(payMonth);
+            // Totals come from one aggregate query, so the rows can be streamed
+            PayrollTotals totals = getPayrollTotalsFromView(payMonth);
             
-            if (summaryData.isEmpty()) {
+            if (totals.getEmployeeCount() == 0) {
                 System.err.println("No payroll summary data found for " + payMonth);
                 return null;
             }
             
-            // Calculate totals from the view data
-            PayrollTotals totals = calculateTotalsFromSummary(summaryData);
             parameters.put("TOTAL_EMPLOYEES", totals.getEmployeeCount());
             parameters.put("TOTAL_GROSS_INCOME", totals.getTotalGrossIncome());
             parameters.put("TOTAL_BENEFITS", totals.getTotalBenefits());
             parameters.put("TOTAL_DEDUCTIONS", totals.getTotalDeductions());
             parameters.put("TOTAL_NET_PAY", totals.getTotalNetPay());
             
-            JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(summaryData);
-            
             String templatePath = REPORTS_PATH + "payroll_summary_view_template.jrxml";
             String outputFileName = String.format("Payroll_Summary_%s.%s", payMonth, format.toLowerCase());
             
             System.out.println("✅ Generating payroll summary from database view for: " + payMonth);
-            return generateReport(templatePath, parameters, dataSource, outputFileName, format);
+            return generateStreamingReport(templatePath, parameters, payrollSummaryQuery(payMonth), outputFileName, format);
             
         } catch (Exception e) {
             System.err.println("Error generating payroll summary from view: " + e.getMessage());
@@ -284,15 +304,13 @@ public class JasperReportGenerator {
                 }
             }
             
-            // Get attendance data
-            List<Map<String, Object>> attendanceData = getAttendanceData(employeeId, startDate, endDate);
-            JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(attendanceData);
-            
             String templatePath = REPORTS_PATH + "attendance_template.jrxml";
             String outputFileName = String.format("Attendance_%s_%s_to_%s.%s", 
                 reportScope, startDate.toString(), endDate.toString(), format.toLowerCase());
             
-            return generateReport(templatePath, parameters, dataSource, outputFileName, format);
+            // A company-wide attendance report can run to millions of rows: stream them
+            return generateStreamingReport(templatePath, parameters,
+                attendanceQuery(employeeId, startDate, endDate), outputFileName, format);
             
         } catch (Exception e) {
             System.err.println("Error generating attendance report: " + e.getMessage());
@@ -317,17 +335,15 @@ public class JasperReportGenerator {
             parameters.put("DEPARTMENT_FILTER", department != null ? department : "All Departments");
             parameters.put("STATUS_FILTER", status != null ? status : "All Statuses");
             
-            // Get employee data with rank-and-file classification
-            List<Map<String, Object>> employeeData = getEmployeeListDataWithClassification(department, status);
-            JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(employeeData);
-            
             String templatePath = REPORTS_PATH + "employee_list_template.jrxml";
             String outputFileName = String.format("Employee_List_%s_%s_%s.%s", 
                 department != null ? department : "All", 
                 status != null ? status : "All",
                 LocalDate.now().toString(), format.toLowerCase());
             
-            return generateReport(templatePath, parameters, dataSource, outputFileName, format);
+            // Employee data with rank-and-file classification, streamed from the database
+            return generateStreamingReport(templatePath, parameters,
+                employeeListQuery(department, status), outputFileName, format);
             
         } catch (Exception e) {
             System.err.println("Error generating employee list report: " + e.getMessage());
@@ -482,11 +498,11 @@ public class JasperReportGenerator {
     }
     
     /**
-     * Gets payroll summary data from monthly_payroll_summary_report view
+     * Builds the payroll summary query on the monthly_payroll_summary_report view
      * @param payMonth Pay month in YYYY-MM format
-     * @return List of payroll summary data
+     * @return Query for the payroll summary rows
      */
-    private List<Map<String, Object>> getPayrollSummaryFromView(String payMonth) {
+    private ReportQuery payrollSummaryQuery(String payMonth) {
         String sql = """
             SELECT * FROM monthly_payroll_summary_report
             WHERE DATE_FORMAT(`Pay Date`, '%Y-%m') = ?
@@ -494,7 +510,38 @@ public class JasperReportGenerator {
             ORDER BY `Employee ID`
             """;
         
-        return executeQuery(sql, payMonth);
+        return new ReportQuery(sql, payMonth);
+    }
+    
+    /**
+     * Gets payroll totals from monthly_payroll_summary_report view
+     * @param payMonth Pay month in YYYY-MM format
+     * @return PayrollTotals object (no employees if there is no data)
+     */
+    private PayrollTotals getPayrollTotalsFromView(String payMonth) {
+        String sql = """
+            SELECT
+                COUNT(*) as employeeCount,
+                SUM(`GROSS INCOME`) as totalGrossIncome,
+                SUM(`TOTAL BENEFITS`) as totalBenefits,
+                SUM(`TOTAL DEDUCTIONS`) as totalDeductions,
+                SUM(`NET PAY`) as totalNetPay
+            FROM monthly_payroll_summary_report
+            WHERE DATE_FORMAT(`Pay Date`, '%Y-%m') = ?
+            AND `Employee ID` != 'TOTAL'
+            """;
+        
+        PayrollTotals totals = new PayrollTotals();
+        List<Map<String, Object>> results = executeQuery(sql, payMonth);
+        if (!results.isEmpty()) {
+            Map<String, Object> row = results.get(0);
+            totals.addToEmployeeCount(getBigDecimalValue(row, "employeeCount").intValue());
+            totals.addToTotalGrossIncome(getBigDecimalValue(row, "totalGrossIncome"));
+            totals.addToTotalBenefits(getBigDecimalValue(row, "totalBenefits"));
+            totals.addToTotalDeductions(getBigDecimalValue(row, "totalDeductions"));
+            totals.addToTotalNetPay(getBigDecimalValue(row, "totalNetPay"));
+        }
+        return totals;
     }
     
     /**
@@ -545,7 +592,7 @@ public class JasperReportGenerator {
     // LEGACY DATA RETRIEVAL METHODS
     // ================================
     
-    private List<Map<String, Object>> getAttendanceData(Integer employeeId, LocalDate startDate, LocalDate endDate) {
+    private ReportQuery attendanceQuery(Integer employeeId, LocalDate startDate, LocalDate endDate) {
         StringBuilder sql = new StringBuilder("""
             SELECT e.employeeId, e.firstName, e.lastName,
                    a.date as attendanceDate, a.timeIn, a.timeOut
@@ -565,10 +612,10 @@ public class JasperReportGenerator {
         
         sql.append(" ORDER BY e.lastName, e.firstName, a.date");
         
-        return executeQuery(sql.toString(), params.toArray());
+        return new ReportQuery(sql.toString(), params.toArray());
     }
     
-    private List<Map<String, Object>> getEmployeeListDataWithClassification(String department, String status) {
+    private ReportQuery employeeListQuery(String department, String status) {
         StringBuilder sql = new StringBuilder("""
             SELECT e.employeeId, e.firstName, e.lastName, e.email, e.phoneNumber,
                    e.status, e.userRole, p.position as positionTitle, p.department, e.basicSalary,
@@ -599,7 +646,7 @@ public class JasperReportGenerator {
         
         sql.append(" ORDER BY p.department, e.lastName, e.firstName");
         
-        return executeQuery(sql.toString(), params.toArray());
+        return new ReportQuery(sql.toString(), params.toArray());
     }
     
     private List<Map<String, Object>> getLeaveData(Integer employeeId, LocalDate startDate, 
@@ -676,70 +723,166 @@ public class JasperReportGenerator {
      * @return Generated file path
      */
     private String generateReport(String templatePath, Map<String, Object> parameters, 
-                                JRBeanCollectionDataSource dataSource, String outputFileName, String format) {
+                                JRDataSource dataSource, String outputFileName, String format) {
+        // Keep at most VIRTUALIZER_MAX_PAGES filled pages in memory
+        JRSwapFileVirtualizer virtualizer = new JRSwapFileVirtualizer(VIRTUALIZER_MAX_PAGES,
+            new JRSwapFile(SWAP_PATH, SWAP_BLOCK_SIZE, SWAP_MIN_GROW_BLOCKS), true);
+        parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
         try {
-            // Validate template exists
-            if (!templateExists(templatePath)) {
-                throw new FileNotFoundException("Report template not found: " + templatePath);
-            }
+            long started = System.nanoTime();
             
-            // Compile the report template
-            JasperReport jasperReport = JasperCompileManager.compileReport(templatePath);
+            // Compiled once per template version, not per report
+            JasperReport jasperReport = JasperTemplateCache.getInstance().getReport(templatePath);
             
             // Fill the report with data
-            JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, dataSource);
+            CountingDataSource countingDataSource = new CountingDataSource(dataSource);
+            JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, countingDataSource);
+            virtualizer.setReadOnly(true);
             
             // Export based on format
-            String outputPath = OUTPUT_PATH + outputFileName;
+            String outputPath;
             
             switch (format.toUpperCase()) {
                 case "PDF":
+                    outputPath = OUTPUT_PATH + outputFileName;
                     JasperExportManager.exportReportToPdfFile(jasperPrint, outputPath);
                     break;
                 case "EXCEL":
                 case "XLS":
                 case "XLSX":
-                    // For now, just export as PDF - you can add Excel export later
-                    outputPath = outputPath.replace(".xls", ".pdf").replace(".xlsx", ".pdf");
-                    JasperExportManager.exportReportToPdfFile(jasperPrint, outputPath);
-                    System.out.println("Note: Excel export not implemented yet, exported as PDF instead");
+                    outputPath = OUTPUT_PATH + withExtension(outputFileName, "xlsx");
+                    JRXlsxExporter xlsxExporter = new JRXlsxExporter();
+                    xlsxExporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+                    xlsxExporter.setExporterOutput(new SimpleOutputStreamExporterOutput(outputPath));
+                    SimpleXlsxReportConfiguration configuration = new SimpleXlsxReportConfiguration();
+                    configuration.setOnePagePerSheet(false);
+                    configuration.setDetectCellType(true);
+                    configuration.setRemoveEmptySpaceBetweenRows(true);
+                    xlsxExporter.setConfiguration(configuration);
+                    xlsxExporter.exportReport();
+                    break;
+                case "CSV":
+                    outputPath = OUTPUT_PATH + withExtension(outputFileName, "csv");
+                    JRCsvExporter csvExporter = new JRCsvExporter();
+                    csvExporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+                    csvExporter.setExporterOutput(new SimpleWriterExporterOutput(outputPath));
+                    csvExporter.exportReport();
                     break;
                 default:
                     throw new IllegalArgumentException("Unsupported format: " + format);
             }
             
             System.out.println("Report generated successfully: " + outputPath);
+            logThroughput(outputPath, countingDataSource.getRowCount(), started);
             return outputPath;
             
         } catch (Exception e) {
             System.err.println("Error generating report: " + e.getMessage());
             e.printStackTrace();
             return null;
+        } finally {
+            // Deletes the swap file
+            virtualizer.cleanup();
         }
     }
     
     /**
-     * Calculates totals from payroll summary data
-     * @param summaryData List of payroll summary records
-     * @return PayrollTotals object
+     * Generates a report whose rows are read from a database cursor while the
+     * report fills, instead of being loaded into a list first. RAW_CSV and
+     * RAW_XLSX skip the template and write the rows straight to the file.
+     * @param templatePath Path to .jrxml template
+     * @param parameters Report parameters
+     * @param query Query for the report rows; columns are matched to fields by label
+     * @param outputFileName Output file name
+     * @param format Output format
+     * @return Generated file path
      */
-    private PayrollTotals calculateTotalsFromSummary(List<Map<String, Object>> summaryData) {
-        PayrollTotals totals = new PayrollTotals();
-        
-        for (Map<String, Object> row : summaryData) {
-            // Skip the TOTAL row if it exists
-            if ("TOTAL".equals(row.get("Employee ID"))) {
-                continue;
+    private String generateStreamingReport(String templatePath, Map<String, Object> parameters,
+                                         ReportQuery query, String outputFileName, String format) {
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(query.sql,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            // MySQL Connector/J streams rows one at a time with this fetch size
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < query.params.length; i++) {
+                stmt.setObject(i + 1, query.params[i]);
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (isRawFormat(format)) {
+                    return exportRows(rs, outputFileName, format);
+                }
+                return generateReport(templatePath, parameters, new JRResultSetDataSource(rs), outputFileName, format);
             }
             
-            totals.incrementEmployeeCount();
-            totals.addToTotalGrossIncome(getBigDecimalValue(row, "GROSS INCOME"));
-            totals.addToTotalBenefits(getBigDecimalValue(row, "TOTAL BENEFITS"));
-            totals.addToTotalDeductions(getBigDecimalValue(row, "TOTAL DEDUCTIONS"));
-            totals.addToTotalNetPay(getBigDecimalValue(row, "NET PAY"));
+        } catch (SQLException e) {
+            System.err.println("Error streaming report data: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * Writes query results to an .xlsx or .csv file as they are read, one row
+     * at a time, so exports of any size use constant memory
+     * @param rs Result set to export; its column labels become the header
+     * @param outputFileName Output file name (the extension is set from the format)
+     * @param format RAW_CSV or RAW_XLSX
+     * @return Generated file path, or null on error
+     */
+    private String exportRows(ResultSet rs, String outputFileName, String format) {
+        boolean csv = RAW_CSV.equalsIgnoreCase(format);
+        String outputPath = OUTPUT_PATH + withExtension(outputFileName, csv ? "csv" : "xlsx");
+        int dot = outputFileName.lastIndexOf('.');
+        String sheetName = dot > 0 ? outputFileName.substring(0, dot) : outputFileName;
+        long started = System.nanoTime();
+        long rows;
+        
+        try (OutputStream out = new FileOutputStream(outputPath);
+             RowWriter writer = csv ? new CsvRowWriter(out) : new XlsxRowWriter(out, sheetName)) {
+            rows = writer.writeAll(rs);
+        } catch (IOException | SQLException e) {
+            System.err.println("Error exporting report rows: " + e.getMessage());
+            new File(outputPath).delete();
+            return null;
         }
         
-        return totals;
+        System.out.println("Report exported successfully: " + outputPath);
+        logThroughput(outputPath, rows, started);
+        return outputPath;
+    }
+    
+    /**
+     * Checks whether a format is written as a plain table (no template)
+     * @param format Output format
+     * @return true for RAW_CSV and RAW_XLSX
+     */
+    private static boolean isRawFormat(String format) {
+        return RAW_CSV.equalsIgnoreCase(format) || RAW_XLSX.equalsIgnoreCase(format);
+    }
+    
+    /**
+     * Replaces a file name's extension
+     * @param fileName File name, e.g. "Attendance_2024.excel"
+     * @param extension New extension without the dot
+     * @return File name with the new extension
+     */
+    private static String withExtension(String fileName, String extension) {
+        int dot = fileName.lastIndexOf('.');
+        return (dot > 0 ? fileName.substring(0, dot) : fileName) + "." + extension;
+    }
+    
+    /**
+     * Logs how many rows an export wrote and how fast
+     * @param outputPath Generated file path
+     * @param rows Rows exported
+     * @param startedNanos System.nanoTime() when the export started
+     */
+    private static void logThroughput(String outputPath, long rows, long startedNanos) {
+        double seconds = Math.max(System.nanoTime() - startedNanos, 1) / 1_000_000_000.0;
+        System.out.println(String.format("Exported %d rows in %.2f s (%.0f rows/sec): %s",
+            rows, seconds, rows / seconds, outputPath));
     }
     
     /**
@@ -841,6 +984,14 @@ public class JasperReportGenerator {
         return templates;
     }
     
+    /**
+     * Compile every available template ahead of its first use
+     * @return Number of templates compiled or loaded into the template cache
+     */
+    public int precompileTemplates() {
+        return JasperTemplateCache.getInstance().precompile(REPORTS_PATH, getAvailableTemplates());
+    }
+    
     /**
      * Validates if a template exists
      * @param templatePath Template file path
@@ -863,6 +1014,49 @@ public class JasperReportGenerator {
     // INNER CLASSES
     // ================================
     
+    /**
+     * Passes rows through to the report fill and counts them
+     */
+    private static final class CountingDataSource implements JRDataSource {
+        private final JRDataSource delegate;
+        private long rowCount;
+        
+        CountingDataSource(JRDataSource delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public boolean next() throws JRException {
+            boolean hasNext = delegate.next();
+            if (hasNext) {
+                rowCount++;
+            }
+            return hasNext;
+        }
+        
+        @Override
+        public Object getFieldValue(JRField field) throws JRException {
+            return delegate.getFieldValue(field);
+        }
+        
+        long getRowCount() {
+            return rowCount;
+        }
+    }
+    
+    /**
+     * SQL and its parameters for a report that is streamed from the database
+     */
+    private static final class ReportQuery {
+        private final String sql;
+        private final Object[] params;
+        
+        ReportQuery(String sql, Object... params) {
+            this.sql = sql;
+            this.params = params;
+        }
+    }
+    
     /**
      * Helper class for calculating payroll totals
      */
@@ -877,6 +1071,10 @@ public class JasperReportGenerator {
             this.employeeCount++;
         }
         
+        public void addToEmployeeCount(int count) {
+            this.employeeCount += count;
+        }
+        
         public void addToTotalGrossIncome(java.math.BigDecimal amount) {
             this.totalGrossIncome = this.totalGrossIncome.add(amount != null ? amount : java.math.BigDecimal.ZERO);
         }
@@ -0,0 +1,212 @@
+package Services;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps compiled report templates in memory, so a report is compiled once
+ * instead of on every request.
+ *
+ * Compiling a .jrxml parses the XML, generates Java source and compiles it,
+ * which takes hundreds of milliseconds. Compiled reports are cached by
+ * template path together with the template's modification time, so an edited
+ * template is picked up on its next use. precompile() writes .jasper files to
+ * COMPILED_PATH (at startup, or from the precompile-reports Ant target), and a
+ * .jasper file at least as new as its template is loaded instead of compiling.
+ * @author User
+ */
+public class JasperTemplateCache {
+
+    // Where precompiled .jasper files are written and looked up
+    public static final String COMPILED_PATH = "reports/compiled/";
+
+    private static final JasperTemplateCache INSTANCE = new JasperTemplateCache(COMPILED_PATH);
+
+    private final File compiledDir;
+    private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+    // One lock per template, so two requests for it compile it only once
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong compiles = new AtomicLong();
+
+    /**
+     * Get the shared template cache
+     * @return The cache used by JasperReportGenerator
+     */
+    public static JasperTemplateCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone cache. Application code should use getInstance()
+     * so every report generator shares the compiled templates.
+     * @param compiledPath Directory for precompiled .jasper files
+     */
+    public JasperTemplateCache(String compiledPath) {
+        this.compiledDir = new File(compiledPath);
+    }
+
+    /**
+     * Get the compiled report for a template, compiling it only if it changed
+     * @param templatePath Path to the .jrxml template
+     * @return The compiled report
+     * @throws JRException if the template cannot be compiled
+     * @throws FileNotFoundException if the template does not exist
+     */
+    public JasperReport getReport(String templatePath) throws JRException, FileNotFoundException {
+        File template = new File(templatePath);
+        if (!template.isFile()) {
+            throw new FileNotFoundException("Report template not found: " + templatePath);
+        }
+        long modified = template.lastModified();
+
+        CompiledTemplate cached = templates.get(templatePath);
+        if (cached != null && cached.modified == modified) {
+            hits.incrementAndGet();
+            return cached.report;
+        }
+
+        synchronized (locks.computeIfAbsent(templatePath, k -> new Object())) {
+            cached = templates.get(templatePath);
+            if (cached != null && cached.modified == modified) {
+                hits.incrementAndGet();
+                return cached.report;
+            }
+            JasperReport report = loadOrCompile(template, modified);
+            templates.put(templatePath, new CompiledTemplate(report, modified));
+            return report;
+        }
+    }
+
+    /**
+     * Compile templates to .jasper files and load them into the cache.
+     * Templates whose .jasper file is already up to date are only loaded.
+     * @param reportsPath Directory holding the templates
+     * @param templateNames Template file names (e.g. "payslip_view_template.jrxml")
+     * @return Number of templates that are now cached
+     */
+    public int precompile(String reportsPath, List<String> templateNames) {
+        if (!compiledDir.exists() && !compiledDir.mkdirs()) {
+            System.err.println("Could not create compiled report directory: " + compiledDir);
+            return 0;
+        }
+
+        int cached = 0;
+        for (String templateName : templateNames) {
+            String templatePath = new File(reportsPath, templateName).getPath();
+            File template = new File(templatePath);
+            File compiled = compiledFile(template);
+            try {
+                if (!isFresh(compiled, template.lastModified())) {
+                    JasperCompileManager.compileReportToFile(templatePath, compiled.getPath());
+                    compiles.incrementAndGet();
+                }
+                getReport(templatePath);
+                cached++;
+            } catch (Exception e) {
+                System.err.println("Error precompiling report template " + templateName + ": " + e.getMessage());
+            }
+        }
+        System.out.println("Precompiled " + cached + " of " + templateNames.size() + " report templates");
+        return cached;
+    }
+
+    /**
+     * Drop every compiled report, so the next request reloads its template
+     */
+    public void clear() {
+        templates.clear();
+    }
+
+    /**
+     * Get the number of requests served from memory
+     * @return Cache hits so far
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of reports loaded from precompiled .jasper files
+     * @return .jasper loads so far
+     */
+    public long getLoads() {
+        return loads.get();
+    }
+
+    /**
+     * Get the number of template compilations
+     * @return Compilations so far
+     */
+    public long getCompiles() {
+        return compiles.get();
+    }
+
+    private JasperReport loadOrCompile(File template, long modified) throws JRException {
+        File compiled = compiledFile(template);
+        if (isFresh(compiled, modified)) {
+            try {
+                JasperReport report = (JasperReport) JRLoader.loadObject(compiled);
+                loads.incrementAndGet();
+                return report;
+            } catch (JRException | ClassCastException e) {
+                // Written by another JasperReports version, or damaged: compile instead
+                System.err.println("Could not load precompiled report " + compiled + ": " + e.getMessage());
+            }
+        }
+        compiles.incrementAndGet();
+        return JasperCompileManager.compileReport(template.getPath());
+    }
+
+    private File compiledFile(File template) {
+        String name = template.getName();
+        int dot = name.lastIndexOf('.');
+        return new File(compiledDir, (dot > 0 ? name.substring(0, dot) : name) + ".jasper");
+    }
+
+    private static boolean isFresh(File compiled, long templateModified) {
+        return compiled.isFile() && compiled.lastModified() >= templateModified;
+    }
+
+    /**
+     * Precompile every template in a directory. Used by the precompile-reports
+     * Ant target.
+     * @param args Optional templates directory (defaults to src/reports/)
+     */
+    public static void main(String[] args) {
+        String reportsPath = args.length > 0 ? args[0] : JasperReportGenerator.REPORTS_PATH;
+        File[] files = new File(reportsPath).listFiles((dir, name) -> name.endsWith(".jrxml"));
+        List<String> templateNames = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                templateNames.add(file.getName());
+            }
+        }
+        getInstance().precompile(reportsPath, templateNames);
+    }
+
+    /**
+     * A compiled report and the template modification time it was compiled from
+     */
+    private static final class CompiledTemplate {
+        private final JasperReport report;
+        private final long modified;
+
+        CompiledTemplate(JasperReport report, long modified) {
+            this.report = report;
+            this.modified = modified;
+        }
+    }
+}
@@ -3,9 +3,12 @@ package Services;
 import Models.LeaveRequestModel;
 import Models.LeaveBalance;
 import Models.AttendanceModel;
+import Models.LeaveLedgerEntry;
 import DAOs.LeaveRequestDAO;
 import DAOs.LeaveBalanceDAO;
+import DAOs.LeaveLedgerDAO;
 import DAOs.AttendanceDAO;
+import DAOs.AuditLog;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import DAOs.DatabaseConnection;
@@ -23,6 +26,7 @@ public class LeaveService {
     private LeaveRequestDAO leaveRequestDAO;
     private LeaveBalanceDAO leaveBalanceDAO;
     private AttendanceDAO attendanceDAO;
+    private final LeaveLedgerDAO leaveLedgerDAO = new LeaveLedgerDAO();
     
     // Constructors - Fixed to avoid EmployeeDAO dependency issues
     public LeaveService() {
@@ -189,27 +193,26 @@ public static class LeaveSummary {
                 return false;
             }
             
-            // Re-check leave balance before approval
-            if (!hasSufficientLeaveBalance(request.getEmployeeId(), request.getLeaveTypeId(), request.getWorkingDaysCount())) {
-                System.err.println("Insufficient leave balance at approval time");
-                return false;
-            }
-            
             // Analyze and resolve attendance conflicts during approval
             Map<String, Object> conflictAnalysis = analyzeAttendanceConflicts(request);
             if ((Boolean) conflictAnalysis.get("hasConflicts")) {
                 System.out.println("Resolving attendance conflicts during leave approval...");
                 resolveAttendanceConflictsForApprovedLeave(request);
             }
+            int effectiveLeaveDays = (Integer) conflictAnalysis.get("effectiveLeaveDays");
             
-            // Approve the request
-            request.approve(supervisorNotes);
-            boolean success = leaveRequestDAO.updateLeaveRequest(request);
+            // Status change and debit commit together: the status update only matches a
+            // Pending row and the ledger's conditional update is the balance check, so two
+            // concurrent approvals can neither both succeed nor overdraw the balance
+            LeaveLedgerEntry debit = effectiveLeaveDays > 0
+                ? createLedgerEntry(LeaveLedgerEntry.EntryType.DEBIT, request, effectiveLeaveDays, supervisorNotes)
+                : null;
+            boolean success = leaveRequestDAO.approveLeaveRequestWithDebit(request, supervisorNotes, approverId, debit);
             
             if (success) {
-                // Update leave balance
-                updateLeaveBalanceForApproval(request);
                 System.out.println("Leave request approved and balance updated for employee " + request.getEmployeeId());
+                AuditLog.getInstance().record(String.valueOf(approverId), AuditLog.ACTION_LEAVE_APPROVAL, true,
+                    "Leave request " + requestId + " for employee " + request.getEmployeeId());
             }
             
             return success;
@@ -219,6 +222,44 @@ public static class LeaveSummary {
         }
     }
     
+    /**
+     * Bulk approve leave requests in one transaction.
+     * Balances and attendance conflicts are checked for all requests at once;
+     * requests that cannot be approved are skipped and reported per request.
+     * Leave dates with completed attendance are counted as worked, not debited,
+     * and are listed per request by getConflictDates.
+     * @param requestIds Leave request IDs
+     * @param supervisorNotes Approval notes
+     * @param approverId Approver ID
+     * @return Per-request outcome
+     */
+    public LeaveRequestDAO.BulkApprovalResult bulkApproveLeaveRequests(List<Integer> requestIds, 
+                                                                      String supervisorNotes, int approverId) {
+        return bulkApproveLeaveRequests(requestIds, supervisorNotes, approverId, false);
+    }
+    
+    /**
+     * Bulk approve leave requests in one transaction
+     * @param requestIds Leave request IDs
+     * @param supervisorNotes Approval notes
+     * @param approverId Approver ID
+     * @param allOrNothing Approve nothing unless every request can be approved
+     * @return Per-request outcome
+     */
+    public LeaveRequestDAO.BulkApprovalResult bulkApproveLeaveRequests(List<Integer> requestIds, 
+                                                                      String supervisorNotes, int approverId,
+                                                                      boolean allOrNothing) {
+        LeaveRequestDAO.BulkApprovalResult result = 
+            leaveRequestDAO.bulkApproveLeaveRequestsWithResults(requestIds, supervisorNotes, approverId, allOrNothing);
+        
+        AuditLog.getInstance().record(String.valueOf(approverId), AuditLog.ACTION_LEAVE_APPROVAL, 
+            result.getApprovedCount() > 0, 
+            "Bulk approval: " + result.getApprovedCount() + " of " + result.getResults().size() + " requests");
+        System.out.println("Bulk leave approval: " + result.getApprovedCount() + " of " + 
+                         result.getResults().size() + " requests approved");
+        return result;
+    }
+    
     /**
      * Reject leave request
      * @param requestId Leave request ID
@@ -240,6 +281,8 @@ public static class LeaveSummary {
             if (success) {
                 System.out.println("Leave request rejected for employee " + request.getEmployeeId() + 
                                  " - Reason: " + supervisorNotes);
+                AuditLog.getInstance().record(String.valueOf(approverId), AuditLog.ACTION_LEAVE_REJECTION, true,
+                    "Leave request " + requestId + " for employee " + request.getEmployeeId());
             }
             
             return success;
@@ -263,14 +306,10 @@ public static class LeaveSummary {
                 return false;
             }
             
-            // If already approved, restore leave balance
-            if (request.isApproved()) {
-                restoreLeaveBalance(request);
-                System.out.println("Leave balance restored for cancelled request");
-            }
+            // If already approved, the debited days are credited back with the delete
+            LeaveLedgerEntry credit = request.isApproved() ? createCancellationCredit(request) : null;
             
-            // Delete the request
-            boolean success = leaveRequestDAO.deleteLeaveRequest(requestId);
+            boolean success = leaveRequestDAO.cancelLeaveRequestWithCredit(request, credit);
             
             if (success) {
                 System.out.println("Leave request cancelled successfully for employee " + employeeId);
@@ -395,15 +434,12 @@ public static class LeaveSummary {
      */
     private boolean hasOverlappingLeaveRequests(LeaveRequestModel request) {
         try {
-            List<LeaveRequestModel> existingRequests = leaveRequestDAO.getLeaveRequestsByEmployeeAndDateRange(
-                request.getEmployeeId(), request.getLeaveStart(), request.getLeaveEnd());
-            
-            for (LeaveRequestModel existing : existingRequests) {
-                if (existing.getLeaveRequestId() != request.getLeaveRequestId() && 
-                    (existing.isPending() || existing.isApproved())) {
-                    System.out.println("Overlapping leave request found: " + existing.getLeaveRequestId());
-                    return true; // Overlapping request found
-                }
+            // Served from the in-memory leave index (pending and approved only)
+            List<LeaveRequestModel> existingRequests = leaveRequestDAO.getOverlappingLeaveRequests(request);
+            
+            if (!existingRequests.isEmpty()) {
+                System.out.println("Overlapping leave request found: " + existingRequests.get(0).getLeaveRequestId());
+                return true; // Overlapping request found
             }
             
             return false;
@@ -453,13 +489,9 @@ public static class LeaveSummary {
             Map<String, Object> analysis = analyzeAttendanceConflicts(request);
             int effectiveLeaveDays = (Integer) analysis.get("effectiveLeaveDays");
             
-            Year currentYear = Year.now(MANILA_TIMEZONE);
-            LeaveBalance balance = leaveBalanceDAO.getLeaveBalance(
-                request.getEmployeeId(), request.getLeaveTypeId(), currentYear);
-            
-            if (balance != null && effectiveLeaveDays > 0) {
-                if (balance.deductLeave(effectiveLeaveDays)) {
-                    leaveBalanceDAO.updateLeaveBalance(balance);
+            if (effectiveLeaveDays > 0) {
+                if (leaveLedgerDAO.debit(createLedgerEntry(
+                        LeaveLedgerEntry.EntryType.DEBIT, request, effectiveLeaveDays, request.getSupervisorNotes()))) {
                     System.out.println("Leave balance updated - Deducted: " + effectiveLeaveDays + 
                                      " days (after conflict resolution)");
                 } else {
@@ -474,27 +506,27 @@ public static class LeaveSummary {
     }
     
     /**
-     * Restore leave balance after cancellation
-     * @param request Cancelled leave request
+     * Build the credit that restores a cancelled leave's balance
+     * @param request Approved leave request being cancelled
+     * @return CREDIT entry for the days that were deducted, or null if none were
      */
-    private void restoreLeaveBalance(LeaveRequestModel request) {
-        try {
-            // Calculate how much was actually deducted (considering past conflicts)
-            Map<String, Object> analysis = analyzeAttendanceConflicts(request);
-            int effectiveLeaveDays = (Integer) analysis.get("effectiveLeaveDays");
-            
-            Year currentYear = Year.now(MANILA_TIMEZONE);
-            LeaveBalance balance = leaveBalanceDAO.getLeaveBalance(
-                request.getEmployeeId(), request.getLeaveTypeId(), currentYear);
-            
-            if (balance != null && effectiveLeaveDays > 0) {
-                balance.addLeave(effectiveLeaveDays);
-                leaveBalanceDAO.updateLeaveBalance(balance);
-                System.out.println("Leave balance restored - Added back: " + effectiveLeaveDays + " days");
-            }
-        } catch (Exception e) {
-            System.err.println("Error restoring leave balance: " + e.getMessage());
-        }
+    private LeaveLedgerEntry createCancellationCredit(LeaveRequestModel request) {
+        // Calculate how much was actually deducted (considering past conflicts)
+        Map<String, Object> analysis = analyzeAttendanceConflicts(request);
+        int effectiveLeaveDays = (Integer) analysis.get("effectiveLeaveDays");
+        
+        return effectiveLeaveDays > 0
+            ? createLedgerEntry(LeaveLedgerEntry.EntryType.CREDIT, request, effectiveLeaveDays, "Leave cancelled")
+            : null;
+    }
+    
+    /**
+     * Build a ledger entry against the current year's balance for a leave request
+     */
+    private LeaveLedgerEntry createLedgerEntry(LeaveLedgerEntry.EntryType type, LeaveRequestModel request,
+                                               int days, String notes) {
+        return new LeaveLedgerEntry(type, request.getEmployeeId(), request.getLeaveTypeId(),
+            Year.now(MANILA_TIMEZONE), days, request.getLeaveRequestId(), notes);
     }
     
     // Query methods
@@ -750,6 +782,12 @@ public static class LeaveSummary {
                 return false;
             }
             
+            // Check for overlapping pending/approved leaves (in-memory lookup)
+            if (hasOverlappingLeaveRequests(tempRequest)) {
+                System.err.println("Leave range overlaps an existing leave request");
+                return false;
+            }
+            
             // Check leave balance
             boolean hasBalance = hasSufficientLeaveBalance(employeeId, leaveTypeId, tempRequest.getWorkingDaysCount());
             if (!hasBalance) {
@@ -990,7 +1028,7 @@ public static class LeaveSummary {
             AttendanceModel attendance = attendanceDAO.getAttendanceByEmployeeAndDate(employeeId, date);
             
             // Check for approved leave on this date
-            List<LeaveRequestModel> leaveRequests = getLeaveRequestsByDateRange(employeeId, date, date);
+            List<LeaveRequestModel> leaveRequests = leaveRequestDAO.getActiveLeaveRequestsOnDate(employeeId, date);
             LeaveRequestModel approvedLeave = leaveRequests.stream()
                 .filter(LeaveRequestModel::isApproved)
                 .findFirst()
@@ -1033,6 +1071,37 @@ public static class LeaveSummary {
         return conflictInfo;
     }
     
+    /**
+     * Get department leave coverage for a date
+     * @param department Department name
+     * @param date Date to check
+     * @return Employees on approved leave in the department on that date
+     */
+    public Map<String, Object> getDepartmentLeaveCoverage(String department, Date date) {
+        Map<String, Object> coverage = new HashMap<>();
+        
+        try {
+            List<LeaveRequestModel> onLeave = leaveRequestDAO.getApprovedLeavesOnDate(department, date);
+            List<Integer> employeeIds = new ArrayList<>();
+            for (LeaveRequestModel request : onLeave) {
+                if (!employeeIds.contains(request.getEmployeeId())) {
+                    employeeIds.add(request.getEmployeeId());
+                }
+            }
+            
+            coverage.put("department", department);
+            coverage.put("date", date);
+            coverage.put("employeesOnLeave", employeeIds);
+            coverage.put("onLeaveCount", employeeIds.size());
+            coverage.put("leaveRequests", onLeave);
+            
+        } catch (Exception e) {
+            coverage.put("error", e.getMessage());
+        }
+        
+        return coverage;
+    }
+    
     /**
      * Get leave effectiveness rate (how much approved leave was actually taken as leave vs worked)
      * @param employeeId Employee ID
@@ -40,6 +40,10 @@ public class OvertimeService {
     private static final int MAX_WEEKLY_OVERTIME_HOURS = 20;
     private static final int MIN_OVERTIME_MINUTES = 30;
 
+    // Overtime rankings are answered from this rollup while it is fresh
+    private static final long OVERTIME_ROLLUP_MAX_AGE_MILLIS = 5 * 60 * 1000L;
+    private final OvertimeRollup overtimeRollup = OvertimeRollup.getInstance();
+
     /**
      * Constructor with database connection
      */
@@ -202,16 +206,21 @@ public class OvertimeService {
                 return result;
             }
 
-            boolean success = overtimeDAO.approveOvertime(overtimeRequestId, supervisorNotes);
+            // Price the request once with the rate in effect; payroll reads the stored amount
+            EmployeeModel employee = employeeDAO.findById(overtimeRequest.getEmployeeId());
+            OvertimePayAccrual accrual = employee != null
+                ? OvertimePayAccrual.forRequest(overtimeRequest, employee.getHourlyRate()) : null;
+
+            boolean success = overtimeDAO.approveOvertime(overtimeRequestId, supervisorNotes, accrual);
 
             if (success) {
+                overtimeRollup.invalidate();
                 result.setSuccess(true);
                 result.setMessage("Overtime request approved successfully");
-
-                EmployeeModel employee = employeeDAO.findById(overtimeRequest.getEmployeeId());
-                if (employee != null) {
-                    BigDecimal overtimePay = calculateRankAndFileOvertimePay(overtimeRequest, employee.getHourlyRate());
-                    result.setOvertimePay(overtimePay);
+                AuditLog.getInstance().record(String.valueOf(supervisorId), AuditLog.ACTION_OVERTIME_APPROVAL, true,
+                    "Overtime request " + overtimeRequestId + " for employee " + overtimeRequest.getEmployeeId());
+                if (accrual != null) {
+                    result.setOvertimePay(accrual.getOvertimePay());
                 }
             } else {
                 result.setSuccess(false);
@@ -257,6 +266,8 @@ public class OvertimeService {
             if (success) {
                 result.setSuccess(true);
                 result.setMessage("Overtime request rejected successfully");
+                AuditLog.getInstance().record(String.valueOf(supervisorId), AuditLog.ACTION_OVERTIME_REJECTION, true,
+                    "Overtime request " + overtimeRequestId + " for employee " + overtimeRequest.getEmployeeId());
             } else {
                 result.setSuccess(false);
                 result.setMessage("Failed to reject overtime request");
@@ -538,33 +549,48 @@ public class OvertimeService {
      * Get rank-and-file employees with most overtime hours
      */
     public List<OvertimeRanking> getTopOvertimeEmployees(LocalDate startDate, LocalDate endDate, int limit) {
+        return getOvertimeRanking(startDate, endDate, null, 0, limit);
+    }
+
+    /**
+     * Get one page of the rank-and-file overtime ranking.
+     * Answered from the overtime rollup when the range lies inside its window,
+     * otherwise from a single GROUP BY query; either way only the top
+     * offset + pageSize employees are kept.
+     * @param startDate First day (inclusive)
+     * @param endDate Last day (inclusive)
+     * @param department Department filter, or null for all departments
+     * @param offset Number of top employees to skip
+     * @param pageSize Page size, or 0 for everyone with overtime
+     */
+    public List<OvertimeRanking> getOvertimeRanking(LocalDate startDate, LocalDate endDate, String department,
+                                                    int offset, int pageSize) {
         List<OvertimeRanking> rankings = new ArrayList<>();
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            return rankings;
+        }
 
         try {
-            List<EmployeeModel> rankAndFileEmployees = employeeDAO.getRankAndFileEmployees();
-
-            for (EmployeeModel employee : rankAndFileEmployees) {
-                BigDecimal totalHours = calculateTotalOvertimeHours(employee.getEmployeeId(), startDate, endDate);
-
-                if (totalHours.compareTo(BigDecimal.ZERO) > 0) {
-                    OvertimeRanking ranking = new OvertimeRanking();
-                    ranking.setEmployeeId(employee.getEmployeeId());
-                    ranking.setEmployeeName(employee.getFullName());
-                    ranking.setTotalOvertimeHours(totalHours);
+            List<OvertimeRollup.EmployeeOvertimeTotal> page;
+            if (ensureOvertimeRollup(startDate, endDate)) {
+                page = overtimeRollup.rank(startDate, endDate, department, offset, pageSize);
+            } else {
+                page = OvertimeRollup.topN(overtimeDAO.getRankAndFileOvertimeTotals(startDate, endDate, department),
+                                           offset, pageSize);
+            }
 
-                    if (employee.getHourlyRate() != null) {
-                        BigDecimal totalPay = totalHours.multiply(employee.getHourlyRate()).multiply(RANK_AND_FILE_OVERTIME_MULTIPLIER);
-                        ranking.setTotalOvertimePay(totalPay);
-                    }
+            for (OvertimeRollup.EmployeeOvertimeTotal total : page) {
+                OvertimeRanking ranking = new OvertimeRanking();
+                ranking.setEmployeeId(total.getEmployeeId());
+                ranking.setEmployeeName(total.getEmployeeName());
+                ranking.setTotalOvertimeHours(total.getTotalHours());
 
-                    rankings.add(ranking);
+                if (total.getHourlyRate() != null) {
+                    BigDecimal totalPay = total.getTotalHours().multiply(total.getHourlyRate()).multiply(RANK_AND_FILE_OVERTIME_MULTIPLIER);
+                    ranking.setTotalOvertimePay(totalPay);
                 }
-            }
 
-            rankings.sort((a, b) -> b.getTotalOvertimeHours().compareTo(a.getTotalOvertimeHours()));
-
-            if (limit > 0 && rankings.size() > limit) {
-                rankings = rankings.subList(0, limit);
+                rankings.add(ranking);
             }
 
         } catch (Exception e) {
@@ -574,6 +600,28 @@ public class OvertimeService {
         return rankings;
     }
 
+    /**
+     * Make sure the overtime rollup is fresh if it can cover the range.
+     * The rollup window runs from January 1 of last year to the end of next month.
+     */
+    private boolean ensureOvertimeRollup(LocalDate startDate, LocalDate endDate) {
+        if (overtimeRollup.canAnswer(startDate, endDate, OVERTIME_ROLLUP_MAX_AGE_MILLIS)) {
+            return true;
+        }
+
+        LocalDate today = getCurrentManilaDate();
+        LocalDate windowStart = LocalDate.of(today.getYear() - 1, 1, 1);
+        LocalDate windowEnd = YearMonth.from(today).plusMonths(1).atEndOfMonth();
+        if (startDate.isBefore(windowStart) || endDate.isAfter(windowEnd)) {
+            return false;
+        }
+
+        synchronized (overtimeRollup) {
+            return overtimeRollup.canAnswer(startDate, endDate, OVERTIME_ROLLUP_MAX_AGE_MILLIS) ||
+                   overtimeDAO.loadOvertimeRollup(overtimeRollup, windowStart, windowEnd);
+        }
+    }
+
     // INNER CLASSES
 
     /**
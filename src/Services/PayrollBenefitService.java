@@ -3,13 +3,18 @@ package Services;
 
 import DAOs.DatabaseConnection;
 import DAOs.EmployeeDAO;
+import DAOs.PayPeriodDAO;
+import DAOs.PayrollBenefitDAO;
 import DAOs.ReferenceDataDAO;
 import Models.EmployeeModel;
+import Models.PayPeriodModel;
+import Models.PayrollBenefit;
 import java.sql.*;
 import java.time.*;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * PayrollBenefit integrates employee benefits with payroll calculations
@@ -22,6 +27,8 @@ public class PayrollBenefitService {
  private final DatabaseConnection databaseConnection;
     private final EmployeeDAO employeeDAO;
     private final ReferenceDataDAO referenceDataDAO;
+    private final PayPeriodDAO payPeriodDAO;
+    private final PayrollBenefitDAO payrollBenefitDAO;
     
     // Benefit calculation constants
     private static final BigDecimal SSS_EMPLOYEE_RATE = new BigDecimal("0.045"); // 4.5%
@@ -42,6 +49,8 @@ public class PayrollBenefitService {
         this.databaseConnection = databaseConnection;
         this.employeeDAO = new EmployeeDAO(databaseConnection);
         this.referenceDataDAO = new ReferenceDataDAO(databaseConnection);
+        this.payPeriodDAO = new PayPeriodDAO();
+        this.payrollBenefitDAO = new PayrollBenefitDAO(databaseConnection);
     }
     
     /**
@@ -59,13 +68,13 @@ public class PayrollBenefitService {
             }
             
             // Get pay period dates
-            Map<String, Object> payPeriod = getPayPeriodDetails(payPeriodId);
+            PayPeriodModel payPeriod = getPayPeriodDetails(payPeriodId);
             if (payPeriod == null) {
                 throw new IllegalArgumentException("Pay period not found: " + payPeriodId);
             }
             
-            LocalDate startDate = ((java.sql.Date) payPeriod.get("startDate")).toLocalDate();
-            LocalDate endDate = ((java.sql.Date) payPeriod.get("endDate")).toLocalDate();
+            LocalDate startDate = payPeriod.getStartDate();
+            LocalDate endDate = payPeriod.getEndDate();
             
             // Initialize calculation result
             PayrollBenefitResult result = new PayrollBenefitResult();
@@ -83,31 +92,11 @@ public class PayrollBenefitService {
             calculateSpecialBenefits(result, employee, startDate, endDate);
             
             // Calculate totals
-            BigDecimal totalBenefitPayments = result.getRiceSubsidy()
-                .add(result.getPhoneAllowance())
-                .add(result.getClothingAllowance())
-                .add(result.getTransportationAllowance())
-                .add(result.getMealAllowance())
-                .add(result.getPerformanceBonus())
-                .add(result.getHolidayBonus())
-                .add(result.getOvertimeAllowance())
-                .add(result.getSpecialAllowance());
-            
-            BigDecimal totalBenefitDeductions = result.getSssEmployeeContribution()
-                .add(result.getPhilhealthEmployeeContribution())
-                .add(result.getPagibigEmployeeContribution())
-                .add(result.getHealthInsurancePremium())
-                .add(result.getLifeInsurancePremium());
-            
-            BigDecimal netBenefitAdjustment = totalBenefitPayments.subtract(totalBenefitDeductions);
-            
-            result.setTotalBenefitPayments(totalBenefitPayments);
-            result.setTotalBenefitDeductions(totalBenefitDeductions);
-            result.setNetBenefitAdjustment(netBenefitAdjustment);
+            calculateTotals(result);
             
             System.out.println("Benefit payroll calculated for employee " + employeeId + 
                              " for period " + startDate + " to " + endDate);
-            System.out.println("Net benefit adjustment: " + netBenefitAdjustment);
+            System.out.println("Net benefit adjustment: " + result.getNetBenefitAdjustment());
             
             return result;
             
@@ -118,6 +107,195 @@ public class PayrollBenefitService {
         }
     }
     
+    // PAY PERIOD BATCH CALCULATION
+    
+    /**
+     * Calculates benefit payroll for every active employee in a pay period in one pass.
+     * Position benefits (with their benefit types), employees and the period's
+     * bonuses and allowances are each loaded with a single query; the results are
+     * then computed in memory, in parallel, from that snapshot.
+     * Allowances come from the employee's position benefits.
+     * @param payPeriodId Pay period ID
+     * @return Employee ID to result, empty if the pay period does not exist
+     */
+    public Map<Integer, PayrollBenefitResult> calculateBenefitPayrollForPeriod(Integer payPeriodId) {
+        PayPeriodModel payPeriod = getPayPeriodDetails(payPeriodId);
+        if (payPeriod == null) {
+            System.err.println("Pay period not found: " + payPeriodId);
+            return new HashMap<>();
+        }
+        
+        List<EmployeeModel> employees = employeeDAO.getActiveEmployees();
+        PeriodBenefitData data = new PeriodBenefitData();
+        data.positionBenefits.putAll(loadPositionBenefits(null));
+        data.insurance.putAll(groupByEmployee(
+            "SELECT * FROM employee_insurance WHERE isActive = true"));
+        data.performanceBonuses.putAll(sumByEmployee(
+            "SELECT employeeId, SUM(amount) AS total FROM performance_bonus " +
+            "WHERE payPeriodId = ? GROUP BY employeeId", payPeriodId));
+        data.overtimeAllowances.putAll(sumByEmployee(
+            "SELECT employeeId, SUM(allowanceAmount) AS total FROM overtime_allowance " +
+            "WHERE payPeriodId = ? GROUP BY employeeId", payPeriodId));
+        data.specialAllowances.putAll(sumByEmployee(
+            "SELECT employeeId, SUM(amount) AS total FROM special_allowance " +
+            "WHERE effectiveDate BETWEEN ? AND ? GROUP BY employeeId",
+            java.sql.Date.valueOf(payPeriod.getStartDate()), java.sql.Date.valueOf(payPeriod.getEndDate())));
+        
+        Map<Integer, PayrollBenefitResult> results = calculateBenefitPayrollForPeriod(payPeriod, employees, data);
+        System.out.println("Benefit payroll calculated for " + results.size() + " employees for period " +
+                         payPeriod.getStartDate() + " to " + payPeriod.getEndDate());
+        return results;
+    }
+    
+    /**
+     * Calculates benefit payroll for a pay period from already loaded data.
+     * Nothing here touches the database, so employees are computed in parallel.
+     * @param payPeriod The pay period
+     * @param employees Employees to calculate
+     * @param data Position benefits, insurance, bonuses and allowances of the period
+     * @return Employee ID to result
+     */
+    public Map<Integer, PayrollBenefitResult> calculateBenefitPayrollForPeriod(PayPeriodModel payPeriod,
+                                                                             List<EmployeeModel> employees,
+                                                                             PeriodBenefitData data) {
+        return employees.parallelStream()
+            .filter(employee -> employee.getEmployeeId() != null)
+            .collect(Collectors.toConcurrentMap(
+                EmployeeModel::getEmployeeId,
+                employee -> {
+                    Integer employeeId = employee.getEmployeeId();
+                    PayrollBenefitResult result = new PayrollBenefitResult();
+                    result.setEmployeeId(employeeId);
+                    result.setPayPeriodId(payPeriod.getPayPeriodId());
+                    result.setStartDate(payPeriod.getStartDate());
+                    result.setEndDate(payPeriod.getEndDate());
+                    
+                    calculateGovernmentBenefits(result, employee);
+                    applyPositionBenefits(result, data.positionBenefits.getOrDefault(employee.getPositionId(), List.of()));
+                    applyBonuses(result, employee, payPeriod.getEndDate(),
+                                 data.performanceBonuses.getOrDefault(employeeId, BigDecimal.ZERO));
+                    applyInsurance(result, data.insurance.getOrDefault(employeeId, List.of()));
+                    result.setOvertimeAllowance(data.overtimeAllowances.getOrDefault(employeeId, BigDecimal.ZERO));
+                    result.setSpecialAllowance(data.specialAllowances.getOrDefault(employeeId, BigDecimal.ZERO));
+                    calculateTotals(result);
+                    return result;
+                }));
+    }
+    
+    /**
+     * Calculates benefit payroll for a whole pay period and stores each employee's
+     * position benefits against their payroll record in one transaction,
+     * replacing the same benefit types stored for those payrolls by an earlier run
+     * @param payPeriodId Pay period ID
+     * @return Number of employees whose benefits were stored, or -1 on failure
+     */
+    public int processBenefitPayrollForPeriod(Integer payPeriodId) {
+        Map<Integer, PayrollBenefitResult> results = calculateBenefitPayrollForPeriod(payPeriodId);
+        if (results.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Integer, Integer> payrollIds = new HashMap<>();
+        for (Map<String, Object> row : executeQuery(
+                "SELECT payrollId, employeeId FROM payroll WHERE payPeriodId = ?", payPeriodId)) {
+            payrollIds.put(((Number) row.get("employeeId")).intValue(), ((Number) row.get("payrollId")).intValue());
+        }
+        
+        List<PayrollBenefit> benefits = new ArrayList<>();
+        int employeeCount = 0;
+        for (PayrollBenefitResult result : results.values()) {
+            Integer payrollId = payrollIds.get(result.getEmployeeId());
+            if (payrollId == null) {
+                continue; // No payroll generated for this employee yet
+            }
+            employeeCount++;
+            for (Map.Entry<Integer, BigDecimal> benefit : result.getPositionBenefits().entrySet()) {
+                if (benefit.getValue().compareTo(BigDecimal.ZERO) > 0) {
+                    benefits.add(new PayrollBenefit(payrollId, benefit.getKey(), benefit.getValue()));
+                }
+            }
+        }
+        
+        return payrollBenefitDAO.replaceBenefits(benefits) ? employeeCount : -1;
+    }
+    
+    /**
+     * Loads position benefits with their benefit names, grouped by position
+     * @param positionId Only this position's benefits, or null for every position
+     */
+    private Map<Integer, List<PositionBenefitAmount>> loadPositionBenefits(Integer positionId) {
+        String sql = "SELECT pb.positionId, pb.benefitTypeId, pb.benefitValue, bt.benefitName " +
+                    "FROM positionbenefit pb " +
+                    "JOIN benefittype bt ON pb.benefitTypeId = bt.benefitTypeId" +
+                    (positionId != null ? " WHERE pb.positionId = ?" : "");
+        
+        Map<Integer, List<PositionBenefitAmount>> byPosition = new HashMap<>();
+        for (Map<String, Object> row : (positionId != null ? executeQuery(sql, positionId) : executeQuery(sql))) {
+            BigDecimal amount = (BigDecimal) row.get("benefitValue");
+            if (amount == null) {
+                continue;
+            }
+            byPosition.computeIfAbsent(((Number) row.get("positionId")).intValue(), id -> new ArrayList<>())
+                .add(new PositionBenefitAmount(((Number) row.get("benefitTypeId")).intValue(),
+                                               (String) row.get("benefitName"), amount));
+        }
+        return byPosition;
+    }
+    
+    /**
+     * Runs a query and groups its rows by the employeeId column
+     */
+    private Map<Integer, List<Map<String, Object>>> groupByEmployee(String sql, Object... params) {
+        Map<Integer, List<Map<String, Object>>> byEmployee = new HashMap<>();
+        for (Map<String, Object> row : executeQuery(sql, params)) {
+            Object employeeId = row.get("employeeId");
+            if (employeeId != null) {
+                byEmployee.computeIfAbsent(((Number) employeeId).intValue(), id -> new ArrayList<>()).add(row);
+            }
+        }
+        return byEmployee;
+    }
+    
+    /**
+     * Runs an "employeeId, total ... GROUP BY employeeId" query into a map
+     */
+    private Map<Integer, BigDecimal> sumByEmployee(String sql, Object... params) {
+        Map<Integer, BigDecimal> totals = new HashMap<>();
+        for (Map<String, Object> row : executeQuery(sql, params)) {
+            Object employeeId = row.get("employeeId");
+            Object total = row.get("total");
+            if (employeeId != null && total instanceof BigDecimal) {
+                totals.put(((Number) employeeId).intValue(), (BigDecimal) total);
+            }
+        }
+        return totals;
+    }
+    
+    /**
+     * Adds up payments and deductions into the result totals
+     */
+    private void calculateTotals(PayrollBenefitResult result) {
+        BigDecimal totalBenefitPayments = result.getRiceSubsidy()
+            .add(result.getPhoneAllowance())
+            .add(result.getClothingAllowance())
+            .add(result.getTransportationAllowance())
+            .add(result.getMealAllowance())
+            .add(result.getPerformanceBonus())
+            .add(result.getHolidayBonus())
+            .add(result.getOvertimeAllowance())
+            .add(result.getSpecialAllowance());
+        
+        BigDecimal totalBenefitDeductions = result.getSssEmployeeContribution()
+            .add(result.getPhilhealthEmployeeContribution())
+            .add(result.getPagibigEmployeeContribution())
+            .add(result.getHealthInsurancePremium())
+            .add(result.getLifeInsurancePremium());
+        
+        result.setTotalBenefitPayments(totalBenefitPayments);
+        result.setTotalBenefitDeductions(totalBenefitDeductions);
+        result.setNetBenefitAdjustment(totalBenefitPayments.subtract(totalBenefitDeductions));
+    }
+    
     /**
      * Calculates government-mandated benefits (SSS, PhilHealth, Pag-IBIG)
      */
@@ -151,81 +329,84 @@ public class PayrollBenefitService {
     
     /**
      * Calculates allowances (rice, phone, clothing, transportation, meal)
+     * from the employee's position benefits, as the pay period batch does
      */
     private void calculateAllowances(PayrollBenefitResult result, EmployeeModel employee, Integer payPeriodId) {
-        // Get employee's benefit entitlements
-        List<Map<String, Object>> employeeBenefits = getEmployeeBenefits(employee.getEmployeeId());
-        
-        BigDecimal riceSubsidy = BigDecimal.ZERO;
-        BigDecimal phoneAllowance = BigDecimal.ZERO;
-        BigDecimal clothingAllowance = BigDecimal.ZERO;
-        BigDecimal transportationAllowance = BigDecimal.ZERO;
-        BigDecimal mealAllowance = BigDecimal.ZERO;
-        
-        for (Map<String, Object> benefit : employeeBenefits) {
-            String benefitName = (String) benefit.get("benefitName");
-            BigDecimal amount = (BigDecimal) benefit.get("amount");
-            
-            if (amount != null && benefitName != null) {
-                switch (benefitName.toLowerCase()) {
-                    case "rice subsidy":
-                    case "rice allowance":
-                        riceSubsidy = riceSubsidy.add(amount);
-                        break;
-                    case "phone allowance":
-                    case "communication allowance":
-                        phoneAllowance = phoneAllowance.add(amount);
-                        break;
-                    case "clothing allowance":
-                    case "uniform allowance":
-                        clothingAllowance = clothingAllowance.add(amount);
-                        break;
-                    case "transportation allowance":
-                    case "travel allowance":
-                        transportationAllowance = transportationAllowance.add(amount);
-                        break;
-                    case "meal allowance":
-                    case "food allowance":
-                        mealAllowance = mealAllowance.add(amount);
-                        break;
-                }
-            }
+        if (employee.getPositionId() == null) {
+            return;
+        }
+        applyPositionBenefits(result, loadPositionBenefits(employee.getPositionId())
+            .getOrDefault(employee.getPositionId(), List.of()));
+    }
+    
+    /**
+     * Adds a position's benefits to the allowances and keeps them per benefit type
+     */
+    private void applyPositionBenefits(PayrollBenefitResult result, List<PositionBenefitAmount> benefits) {
+        for (PositionBenefitAmount benefit : benefits) {
+            applyAllowance(result, benefit.benefitName, benefit.amount);
+            result.addPositionBenefit(benefit.benefitTypeId, benefit.amount);
+        }
+    }
+    
+    /**
+     * Adds one allowance to the matching allowance category of the result
+     */
+    private void applyAllowance(PayrollBenefitResult result, String benefitName, BigDecimal amount) {
+        if (amount == null || benefitName == null) {
+            return;
+        }
+        switch (benefitName.toLowerCase()) {
+            case "rice subsidy":
+            case "rice allowance":
+                result.setRiceSubsidy(result.getRiceSubsidy().add(amount));
+                break;
+            case "phone allowance":
+            case "communication allowance":
+                result.setPhoneAllowance(result.getPhoneAllowance().add(amount));
+                break;
+            case "clothing allowance":
+            case "uniform allowance":
+                result.setClothingAllowance(result.getClothingAllowance().add(amount));
+                break;
+            case "transportation allowance":
+            case "travel allowance":
+                result.setTransportationAllowance(result.getTransportationAllowance().add(amount));
+                break;
+            case "meal allowance":
+            case "food allowance":
+                result.setMealAllowance(result.getMealAllowance().add(amount));
+                break;
         }
-        
-        result.setRiceSubsidy(riceSubsidy);
-        result.setPhoneAllowance(phoneAllowance);
-        result.setClothingAllowance(clothingAllowance);
-        result.setTransportationAllowance(transportationAllowance);
-        result.setMealAllowance(mealAllowance);
     }
     
     /**
      * Calculates bonuses (performance, holiday, 13th month)
      */
     private void calculateBonuses(PayrollBenefitResult result, EmployeeModel employee, Integer payPeriodId) {
-        BigDecimal performanceBonus = BigDecimal.ZERO;
-        BigDecimal holidayBonus = BigDecimal.ZERO;
-        BigDecimal thirteenthMonthPay = BigDecimal.ZERO;
-        
         // Get period details to determine if bonuses apply
-        Map<String, Object> payPeriod = getPayPeriodDetails(payPeriodId);
+        PayPeriodModel payPeriod = getPayPeriodDetails(payPeriodId);
         if (payPeriod != null) {
-            LocalDate endDate = ((java.sql.Date) payPeriod.get("endDate")).toLocalDate();
-            
-            // Check for 13th month pay (usually December)
-            if (endDate.getMonthValue() == 12) {
-                thirteenthMonthPay = calculateThirteenthMonthPay(employee, endDate.getYear());
-            }
-            
-            // Check for holiday bonuses
-            holidayBonus = calculateHolidayBonus(employee, endDate);
-            
             // Get performance bonus from employee benefits
-            performanceBonus = getPerformanceBonus(employee.getEmployeeId(), payPeriodId);
+            applyBonuses(result, employee, payPeriod.getEndDate(),
+                         getPerformanceBonus(employee.getEmployeeId(), payPeriodId));
+        }
+    }
+    
+    /**
+     * Sets 13th month pay, holiday bonus and the given performance bonus
+     */
+    private void applyBonuses(PayrollBenefitResult result, EmployeeModel employee, LocalDate endDate,
+                              BigDecimal performanceBonus) {
+        BigDecimal thirteenthMonthPay = BigDecimal.ZERO;
+        
+        // Check for 13th month pay (usually December)
+        if (endDate.getMonthValue() == 12) {
+            thirteenthMonthPay = calculateThirteenthMonthPay(employee, endDate.getYear());
         }
         
         result.setPerformanceBonus(performanceBonus);
-        result.setHolidayBonus(holidayBonus);
+        result.setHolidayBonus(calculateHolidayBonus(employee, endDate));
         result.setThirteenthMonthPay(thirteenthMonthPay);
     }
     
@@ -234,8 +415,13 @@ public class PayrollBenefitService {
      */
     private void calculateInsuranceBenefits(PayrollBenefitResult result, EmployeeModel employee) {
         // Get insurance enrollment details
-        List<Map<String, Object>> insuranceBenefits = getEmployeeInsurance(employee.getEmployeeId());
-        
+        applyInsurance(result, getEmployeeInsurance(employee.getEmployeeId()));
+    }
+    
+    /**
+     * Sets insurance premiums and company coverage from insurance enrollment rows
+     */
+    private void applyInsurance(PayrollBenefitResult result, List<Map<String, Object>> insuranceBenefits) {
         BigDecimal healthInsurancePremium = BigDecimal.ZERO;
         BigDecimal lifeInsurancePremium = BigDecimal.ZERO;
         BigDecimal healthInsuranceCompanyCoverage = BigDecimal.ZERO;
@@ -295,18 +481,6 @@ public class PayrollBenefitService {
     
     // DATA RETRIEVAL METHODS
     
-    /**
-     * Gets employee benefit entitlements
-     */
-    private List<Map<String, Object>> getEmployeeBenefits(Integer employeeId) {
-        String sql = "SELECT eb.*, bt.benefitName " +
-                    "FROM employeebenefit eb " +
-                    "JOIN benefittype bt ON eb.benefitTypeId = bt.benefitTypeId " +
-                    "WHERE eb.employeeId = ? AND eb.isActive = true";
-        
-        return executeQuery(sql, employeeId);
-    }
-    
     /**
      * Gets employee insurance enrollment details
      */
@@ -392,14 +566,10 @@ public class PayrollBenefitService {
     }
     
     /**
-     * Gets pay period details by ID
+     * Gets pay period details by ID (from the shared pay period index)
      */
-    private Map<String, Object> getPayPeriodDetails(Integer payPeriodId) {
-        String sql = "SELECT payPeriodId, startDate, endDate, payDate, payPeriodDescription " +
-                    "FROM payperiod WHERE payPeriodId = ?";
-        
-        List<Map<String, Object>> results = executeQuery(sql, payPeriodId);
-        return results.isEmpty() ? null : results.get(0);
+    private PayPeriodModel getPayPeriodDetails(Integer payPeriodId) {
+        return payPeriodId != null ? payPeriodDAO.findById(payPeriodId) : null;
     }
     
     /**
@@ -518,6 +688,52 @@ public class PayrollBenefitService {
         return false;
     }
     
+    /**
+     * Benefit data of one pay period, loaded once and shared by every employee's
+     * calculation: position benefits by position, and insurance enrollments,
+     * performance bonuses, overtime allowances and special allowances by employee
+     */
+    public static class PeriodBenefitData {
+        private final Map<Integer, List<PositionBenefitAmount>> positionBenefits = new HashMap<>();
+        private final Map<Integer, List<Map<String, Object>>> insurance = new HashMap<>();
+        private final Map<Integer, BigDecimal> performanceBonuses = new HashMap<>();
+        private final Map<Integer, BigDecimal> overtimeAllowances = new HashMap<>();
+        private final Map<Integer, BigDecimal> specialAllowances = new HashMap<>();
+        
+        public void addPositionBenefit(int positionId, int benefitTypeId, String benefitName, BigDecimal amount) {
+            positionBenefits.computeIfAbsent(positionId, id -> new ArrayList<>())
+                .add(new PositionBenefitAmount(benefitTypeId, benefitName, amount));
+        }
+        
+        public void addInsurance(int employeeId, String insuranceType, BigDecimal employeePremium,
+                                 BigDecimal companyContribution) {
+            Map<String, Object> enrollment = new HashMap<>();
+            enrollment.put("insuranceType", insuranceType);
+            enrollment.put("employeePremium", employeePremium);
+            enrollment.put("companyContribution", companyContribution);
+            insurance.computeIfAbsent(employeeId, id -> new ArrayList<>()).add(enrollment);
+        }
+        
+        public void setPerformanceBonus(int employeeId, BigDecimal amount) { performanceBonuses.put(employeeId, amount); }
+        public void setOvertimeAllowance(int employeeId, BigDecimal amount) { overtimeAllowances.put(employeeId, amount); }
+        public void setSpecialAllowance(int employeeId, BigDecimal amount) { specialAllowances.put(employeeId, amount); }
+    }
+    
+    /**
+     * Position benefit amount with its benefit name
+     */
+    private static class PositionBenefitAmount {
+        private final int benefitTypeId;
+        private final String benefitName;
+        private final BigDecimal amount;
+        
+        PositionBenefitAmount(int benefitTypeId, String benefitName, BigDecimal amount) {
+            this.benefitTypeId = benefitTypeId;
+            this.benefitName = benefitName;
+            this.amount = amount;
+        }
+    }
+    
     /**
      * Inner class to hold benefit payroll calculation results
      */
@@ -566,6 +782,9 @@ public class PayrollBenefitService {
         private BigDecimal totalBenefitDeductions = BigDecimal.ZERO;
         private BigDecimal netBenefitAdjustment = BigDecimal.ZERO;
         
+        // Position benefit amounts by benefit type ID (batch calculation only)
+        private final Map<Integer, BigDecimal> positionBenefits = new LinkedHashMap<>();
+        
         // Getters and setters
         public Integer getEmployeeId() { return employeeId; }
         public void setEmployeeId(Integer employeeId) { this.employeeId = employeeId; }
@@ -647,5 +866,8 @@ public class PayrollBenefitService {
         
         public BigDecimal getNetBenefitAdjustment() { return netBenefitAdjustment; }
         public void setNetBenefitAdjustment(BigDecimal netBenefitAdjustment) { this.netBenefitAdjustment = netBenefitAdjustment; }
+        
+        public Map<Integer, BigDecimal> getPositionBenefits() { return Collections.unmodifiableMap(positionBenefits); }
+        void addPositionBenefit(Integer benefitTypeId, BigDecimal amount) { positionBenefits.merge(benefitTypeId, amount, BigDecimal::add); }
     }
 }
\ No newline at end of file
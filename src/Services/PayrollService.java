@@ -156,30 +156,8 @@ public class PayrollService {
      * @return true if employee is rank-and-file
      */
     public boolean isEmployeeRankAndFile(Integer employeeId) {
-        String sql = """
-            SELECT COUNT(*) FROM employee e 
-            JOIN position p ON e.positionId = p.positionId 
-            WHERE e.employeeId = ? AND (
-                LOWER(p.department) = 'rank-and-file' 
-                OR LOWER(p.position) LIKE '%rank%file%'
-            )
-            """;
-        
-        try (Connection conn = databaseConnection.createConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, employeeId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error checking rank-and-file status: " + e.getMessage());
-        }
-        
-        return false;
+        // Answered from EmployeeDAO's classification cache
+        return employeeDAO.isEmployeeRankAndFile(employeeId);
     }
     
     /**
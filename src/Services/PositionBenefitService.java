@@ -1,8 +1,12 @@
 
 package Services;
 
+import DAOs.CacheVersionDAO;
+import DAOs.CacheVersionDAO.EntityType;
 import DAOs.DatabaseConnection;
 import DAOs.EmployeeDAO;
+import DAOs.ReferenceDataCache;
+import DAOs.ReferenceDataCache.Region;
 import DAOs.ReferenceDataDAO;
 import Models.EmployeeModel;
 import java.sql.*;
@@ -27,6 +31,36 @@ public class PositionBenefitService {
     private static final int PROBATIONARY_PERIOD_MONTHS = 6;
     private static final int FULL_BENEFIT_MONTHS = 12;
     
+    // Cost analyses are cached per day, since eligibility depends on today's date
+    private final ReferenceDataCache costCache = ReferenceDataCache.getInstance();
+    
+    /**
+     * Benefit cost per employee, summed per position in one grouped query.
+     * Mirrors calculateEmployeeBenefit: eligibility months, percentage of basic
+     * salary (capped at maxAmount) or fixed amount; only positive amounts count.
+     * %s is the filter on employee e / position p.
+     */
+    private static final String POSITION_COST_SQL =
+        "SELECT per.positionId, COUNT(*) AS totalEmployees, " +
+        "SUM(CASE WHEN per.benefitCost > 0 THEN 1 ELSE 0 END) AS eligibleEmployees, " +
+        "COALESCE(SUM(per.benefitCost), 0) AS totalBenefitCost " +
+        "FROM (" +
+        "  SELECT e.employeeId, e.positionId, COALESCE(SUM(GREATEST(CASE " +
+        "    WHEN pb.benefitTypeId IS NULL THEN 0 " +
+        "    WHEN pb.eligibilityMonths > 0 AND (e.createdAt IS NULL OR " +
+        "         TIMESTAMPDIFF(MONTH, DATE(e.createdAt), CURDATE()) < pb.eligibilityMonths) THEN 0 " +
+        "    WHEN pb.isPercentageBased AND pb.percentage IS NOT NULL THEN " +
+        "         LEAST(COALESCE(e.basicSalary, 0) * ROUND(pb.percentage / 100, 4), " +
+        "               COALESCE(pb.maxAmount, COALESCE(e.basicSalary, 0) * ROUND(pb.percentage / 100, 4))) " +
+        "    ELSE COALESCE(pb.amount, 0) END, 0)), 0) AS benefitCost " +
+        "  FROM employee e " +
+        "  JOIN position p ON e.positionId = p.positionId " +
+        "  LEFT JOIN position_benefit pb ON pb.positionId = e.positionId AND pb.isActive = true " +
+        "  WHERE e.status != 'Terminated' AND %s " +
+        "  GROUP BY e.employeeId, e.positionId" +
+        ") per " +
+        "GROUP BY per.positionId";
+    
     /**
      * Constructor
      * @param databaseConnection Database connection instance
@@ -118,9 +152,10 @@ public class PositionBenefitService {
                 stmt.setBoolean(7, isPercentageBased);
                 stmt.setString(8, notes);
                 
-                int rowsAffected = stmt.executeUpdate();
+                int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.POSITION_BENEFIT, stmt::executeUpdate);
                 
                 if (rowsAffected > 0) {
+                    costCache.invalidate(Region.BENEFIT_COSTS);
                     System.out.println("Position benefit created/updated successfully");
                     return true;
                 }
@@ -288,52 +323,11 @@ public class PositionBenefitService {
      * @return Benefit cost summary
      */
     public Map<String, Object> getPositionBenefitCostAnalysis(Integer positionId) {
-        Map<String, Object> costAnalysis = new HashMap<>();
-        
-        // Get all employees in this position
-        List<EmployeeModel> positionEmployees = employeeDAO.findByPosition(positionId);
-        
-        if (positionEmployees.isEmpty()) {
-            costAnalysis.put("totalEmployees", 0);
-            costAnalysis.put("totalBenefitCost", BigDecimal.ZERO);
-            return costAnalysis;
+        if (positionId == null) {
+            return toCostAnalysis(null, null);
         }
-        
-        BigDecimal totalBenefitCost = BigDecimal.ZERO;
-        int eligibleEmployees = 0;
-        
-        List<Map<String, Object>> positionBenefits = getPositionBenefits(positionId);
-        
-        for (EmployeeModel employee : positionEmployees) {
-            BigDecimal employeeBenefitCost = BigDecimal.ZERO;
-            boolean hasAnyBenefit = false;
-            
-            for (Map<String, Object> benefit : positionBenefits) {
-                Integer benefitTypeId = (Integer) benefit.get("benefitTypeId");
-                BigDecimal benefitAmount = calculateEmployeeBenefit(employee.getEmployeeId(), benefitTypeId);
-                
-                if (benefitAmount.compareTo(BigDecimal.ZERO) > 0) {
-                    employeeBenefitCost = employeeBenefitCost.add(benefitAmount);
-                    hasAnyBenefit = true;
-                }
-            }
-            
-            totalBenefitCost = totalBenefitCost.add(employeeBenefitCost);
-            if (hasAnyBenefit) {
-                eligibleEmployees++;
-            }
-        }
-        
-        costAnalysis.put("positionId", positionId);
-        costAnalysis.put("totalEmployees", positionEmployees.size());
-        costAnalysis.put("eligibleEmployees", eligibleEmployees);
-        costAnalysis.put("totalBenefitCost", totalBenefitCost);
-        costAnalysis.put("averageBenefitCostPerEmployee", 
-            positionEmployees.size() > 0 ? 
-            totalBenefitCost.divide(new BigDecimal(positionEmployees.size()), 2, RoundingMode.HALF_UP) : 
-            BigDecimal.ZERO);
-        
-        return costAnalysis;
+        Map<Integer, PositionCost> costs = getPositionCosts("position:" + positionId, "e.positionId = ?", positionId);
+        return toCostAnalysis(positionId, costs.get(positionId));
     }
     
     /**
@@ -344,8 +338,11 @@ public class PositionBenefitService {
     public Map<String, Object> getDepartmentBenefitCostAnalysis(String department) {
         Map<String, Object> costAnalysis = new HashMap<>();
         
-        // Get all positions in department
+        // Get all positions in department, and every position's cost with one query
         List<Map<String, Object>> departmentPositions = referenceDataDAO.getPositionsByDepartment(department);
+        Map<Integer, PositionCost> costs = department != null
+            ? getPositionCosts("department:" + department.toLowerCase(), "p.department = ?", department)
+            : Map.of();
         
         BigDecimal totalDepartmentCost = BigDecimal.ZERO;
         int totalEmployees = 0;
@@ -355,7 +352,7 @@ public class PositionBenefitService {
             Integer positionId = (Integer) position.get("positionId");
             String positionTitle = (String) position.get("positionTitle");
             
-            Map<String, Object> positionCostAnalysis = getPositionBenefitCostAnalysis(positionId);
+            Map<String, Object> positionCostAnalysis = toCostAnalysis(positionId, costs.get(positionId));
             positionCostAnalysis.put("positionTitle", positionTitle);
             
             BigDecimal positionCost = (BigDecimal) positionCostAnalysis.get("totalBenefitCost");
@@ -379,6 +376,77 @@ public class PositionBenefitService {
         return costAnalysis;
     }
     
+    /**
+     * Gets per-position benefit costs from the cache, running the grouped query on a miss.
+     * Cached until position benefits, employees or positions change, and per day.
+     */
+    private Map<Integer, PositionCost> getPositionCosts(String key, String filter, Object param) {
+        String cacheKey = "PositionBenefitService." + key + ":" + LocalDate.now();
+        try {
+            return costCache.get(Region.BENEFIT_COSTS, cacheKey, () -> loadPositionCosts(filter, param));
+        } catch (SQLException e) {
+            System.err.println("Error calculating benefit costs: " + e.getMessage());
+            return Map.of();
+        }
+    }
+    
+    private Map<Integer, PositionCost> loadPositionCosts(String filter, Object param) throws SQLException {
+        Map<Integer, PositionCost> costs = new HashMap<>();
+        
+        try (Connection conn = databaseConnection.createConnection();
+             PreparedStatement stmt = conn.prepareStatement(String.format(POSITION_COST_SQL, filter))) {
+            
+            stmt.setObject(1, param);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    BigDecimal totalBenefitCost = rs.getBigDecimal("totalBenefitCost");
+                    costs.put(rs.getInt("positionId"), new PositionCost(
+                        rs.getInt("totalEmployees"),
+                        rs.getInt("eligibleEmployees"),
+                        totalBenefitCost != null ? totalBenefitCost : BigDecimal.ZERO));
+                }
+            }
+        }
+        return Map.copyOf(costs);
+    }
+    
+    /**
+     * Builds the cost analysis map returned to callers (a new map each time)
+     */
+    private Map<String, Object> toCostAnalysis(Integer positionId, PositionCost cost) {
+        Map<String, Object> costAnalysis = new HashMap<>();
+        
+        if (cost == null || cost.totalEmployees == 0) {
+            costAnalysis.put("totalEmployees", 0);
+            costAnalysis.put("totalBenefitCost", BigDecimal.ZERO);
+            return costAnalysis;
+        }
+        
+        costAnalysis.put("positionId", positionId);
+        costAnalysis.put("totalEmployees", cost.totalEmployees);
+        costAnalysis.put("eligibleEmployees", cost.eligibleEmployees);
+        costAnalysis.put("totalBenefitCost", cost.totalBenefitCost);
+        costAnalysis.put("averageBenefitCostPerEmployee", 
+            cost.totalBenefitCost.divide(new BigDecimal(cost.totalEmployees), 2, RoundingMode.HALF_UP));
+        
+        return costAnalysis;
+    }
+    
+    /**
+     * Benefit cost totals of one position (immutable, cached)
+     */
+    private static final class PositionCost {
+        private final int totalEmployees;
+        private final int eligibleEmployees;
+        private final BigDecimal totalBenefitCost;
+        
+        PositionCost(int totalEmployees, int eligibleEmployees, BigDecimal totalBenefitCost) {
+            this.totalEmployees = totalEmployees;
+            this.eligibleEmployees = eligibleEmployees;
+            this.totalBenefitCost = totalBenefitCost;
+        }
+    }
+    
     /**
      * Copies benefit structure from one position to another
      * @param sourcePositionId Source position ID
@@ -403,23 +471,26 @@ public class PositionBenefitService {
             try (Connection conn = databaseConnection.createConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
                 
-                int copied = 0;
-                
-                for (Map<String, Object> benefit : sourceBenefits) {
-                    stmt.setInt(1, targetPositionId);
-                    stmt.setInt(2, (Integer) benefit.get("benefitTypeId"));
-                    stmt.setBigDecimal(3, (BigDecimal) benefit.get("amount"));
-                    stmt.setBigDecimal(4, (BigDecimal) benefit.get("percentage"));
-                    stmt.setObject(5, benefit.get("eligibilityMonths"), Types.INTEGER);
-                    stmt.setBigDecimal(6, (BigDecimal) benefit.get("maxAmount"));
-                    stmt.setBoolean(7, (Boolean) benefit.get("isPercentageBased"));
-                    stmt.setString(8, "Copied from position " + sourcePositionId);
-                    
-                    stmt.executeUpdate();
-                    copied++;
-                }
+                int copied = CacheVersionDAO.executeAndBump(conn, EntityType.POSITION_BENEFIT, () -> {
+                    int rows = 0;
+                    for (Map<String, Object> benefit : sourceBenefits) {
+                        stmt.setInt(1, targetPositionId);
+                        stmt.setInt(2, (Integer) benefit.get("benefitTypeId"));
+                        stmt.setBigDecimal(3, (BigDecimal) benefit.get("amount"));
+                        stmt.setBigDecimal(4, (BigDecimal) benefit.get("percentage"));
+                        stmt.setObject(5, benefit.get("eligibilityMonths"), Types.INTEGER);
+                        stmt.setBigDecimal(6, (BigDecimal) benefit.get("maxAmount"));
+                        stmt.setBoolean(7, (Boolean) benefit.get("isPercentageBased"));
+                        stmt.setString(8, "Copied from position " + sourcePositionId);
+                        
+                        stmt.executeUpdate();
+                        rows++;
+                    }
+                    return rows;
+                });
                 
                 if (copied > 0) {
+                    costCache.invalidate(Region.BENEFIT_COSTS);
                     System.out.println("Copied " + copied + " benefits from position " + 
                                      sourcePositionId + " to " + targetPositionId);
                     return true;
@@ -451,9 +522,10 @@ public class PositionBenefitService {
             stmt.setInt(1, positionId);
             stmt.setInt(2, benefitTypeId);
             
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = CacheVersionDAO.executeAndBump(conn, EntityType.POSITION_BENEFIT, stmt::executeUpdate);
             
             if (rowsAffected > 0) {
+                costCache.invalidate(Region.BENEFIT_COSTS);
                 System.out.println("Position benefit deactivated successfully");
                 return true;
             }
@@ -0,0 +1,54 @@
+package Utility;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs short, blocking jobs (mostly single JDBC round-trips) on virtual
+ * threads, so work that the caller does not have to wait for, or that can
+ * proceed in parallel, leaves the calling thread free.
+ *
+ * A virtual thread parks instead of holding a platform thread while it waits
+ * on the database, so starting one per task is cheap. CPU-heavy work such as
+ * password hashing belongs on LoginVerificationExecutor instead, which caps
+ * how many cores it may use.
+ * @author User
+ */
+public final class BackgroundTasks {
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("background-", 0).factory());
+
+    private BackgroundTasks() {
+    }
+
+    /**
+     * Run a task in the background; failures are logged, not thrown
+     * @param description What the task does, for the error message
+     * @param task The task
+     * @return Completes when the task has finished
+     */
+    public static CompletableFuture<Void> run(String description, Runnable task) {
+        return CompletableFuture.runAsync(task, EXECUTOR)
+            .exceptionally(e -> {
+                System.err.println("Error " + description + ": " + e.getMessage());
+                return null;
+            });
+    }
+
+    /**
+     * Compute a value in the background
+     * @param description What the task does, for the error message
+     * @param task The computation
+     * @return The value, or null if the computation failed
+     */
+    public static <T> CompletableFuture<T> supply(String description, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, EXECUTOR)
+            .exceptionally(e -> {
+                System.err.println("Error " + description + ": " + e.getMessage());
+                return null;
+            });
+    }
+}
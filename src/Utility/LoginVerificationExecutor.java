@@ -0,0 +1,243 @@
+package Utility;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs password verification on a small, bounded pool of its own threads.
+ * PBKDF2 deliberately burns CPU; a burst of logins at shift change or a
+ * credential-stuffing attempt would otherwise run it on every caller's thread
+ * at once and starve payroll jobs in the same JVM. Here at most threadBudget
+ * hashes run at a time, at most queueLimit wait, and anything beyond that is
+ * rejected immediately instead of queueing without limit.
+ *
+ * The shared instance is sized from system properties, like PasswordHasher's cost:
+ *   motorph.login.threads        threads used for hashing (default: a quarter of the cores, at least 1)
+ *   motorph.login.queueLimit     verifications allowed to wait (default 32)
+ *   motorph.login.timeoutMillis  longest a caller waits for a result (default 5000)
+ * @author User
+ */
+public class LoginVerificationExecutor {
+
+    public static final int DEFAULT_QUEUE_LIMIT = 32;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+
+    private static final LoginVerificationExecutor INSTANCE = new LoginVerificationExecutor(
+        intProperty("motorph.login.threads", Math.max(1, Runtime.getRuntime().availableProcessors() / 4)),
+        intProperty("motorph.login.queueLimit", DEFAULT_QUEUE_LIMIT),
+        intProperty("motorph.login.timeoutMillis", (int) DEFAULT_TIMEOUT_MILLIS));
+
+    /**
+     * Outcome of one verification
+     */
+    public enum Result {
+        /** The password matched */
+        VERIFIED,
+        /** The password did not match */
+        FAILED,
+        /** Not checked: the queue was full, the wait timed out, or the executor is shut down */
+        REJECTED
+    }
+
+    private final int threadBudget;
+    private final int queueLimit;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong totalVerifyNanos = new AtomicLong();
+    private final AtomicLong maxVerifyNanos = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    /**
+     * Get the shared executor used by UserAuthenticationDAO
+     * @return The executor sized from the motorph.login.* system properties
+     */
+    public static LoginVerificationExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a standalone executor. Application code should use getInstance()
+     * so all logins share one core budget.
+     * @param threadBudget Most verifications running at once
+     * @param queueLimit Most verifications waiting for a thread
+     * @param timeoutMillis Longest a caller waits for its result
+     */
+    public LoginVerificationExecutor(int threadBudget, int queueLimit, long timeoutMillis) {
+        if (threadBudget <= 0 || queueLimit <= 0 || timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Thread budget, queue limit and timeout must be positive");
+        }
+        this.threadBudget = threadBudget;
+        this.queueLimit = queueLimit;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threadBudget, threadBudget, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueLimit),
+            r -> {
+                Thread thread = new Thread(r, "login-verify-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Run a password check on the verification threads and wait for it
+     * @param check The check, e.g. a PasswordHasher.verifyPassword call
+     * @return VERIFIED or FAILED, or REJECTED if the check could not run in time
+     */
+    public Result verify(BooleanSupplier check) {
+        long submittedAt = System.nanoTime();
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                totalWaitNanos.addAndGet(startedAt - submittedAt);
+                try {
+                    return check.getAsBoolean();
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    totalVerifyNanos.addAndGet(elapsed);
+                    maxVerifyNanos.accumulateAndGet(elapsed, Math::max);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return Result.REJECTED;
+        }
+
+        try {
+            boolean matched = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            (matched ? verified : failed).incrementAndGet();
+            return matched ? Result.VERIFIED : Result.FAILED;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            executor.remove((Runnable) future); // free its queue slot if it never started
+            timedOut.incrementAndGet();
+            return Result.REJECTED;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            rejected.incrementAndGet();
+            return Result.REJECTED;
+        } catch (ExecutionException e) {
+            System.err.println("Error verifying password: " + e.getCause());
+            failed.incrementAndGet();
+            return Result.FAILED;
+        }
+    }
+
+    /**
+     * Stop accepting verifications; queued ones still run
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Get a snapshot of the executor metrics
+     * @return Queue depth, outcome counts and latencies so far
+     */
+    public VerificationStats getStats() {
+        return new VerificationStats(executor.getQueue().size(), executor.getActiveCount(),
+                                     verified.get(), failed.get(), rejected.get(), timedOut.get(),
+                                     totalVerifyNanos.get(), maxVerifyNanos.get(), totalWaitNanos.get(),
+                                     threadBudget, queueLimit);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            return parsed > 0 ? parsed : defaultValue;
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + name + " setting, using default: " + e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Verification metrics snapshot
+     */
+    public static class VerificationStats {
+        private final int queueDepth;
+        private final int activeCount;
+        private final long verified;
+        private final long failed;
+        private final long rejected;
+        private final long timedOut;
+        private final long totalVerifyNanos;
+        private final long maxVerifyNanos;
+        private final long totalWaitNanos;
+        private final int threadBudget;
+        private final int queueLimit;
+
+        VerificationStats(int queueDepth, int activeCount, long verified, long failed, long rejected,
+                          long timedOut, long totalVerifyNanos, long maxVerifyNanos, long totalWaitNanos,
+                          int threadBudget, int queueLimit) {
+            this.queueDepth = queueDepth;
+            this.activeCount = activeCount;
+            this.verified = verified;
+            this.failed = failed;
+            this.rejected = rejected;
+            this.timedOut = timedOut;
+            this.totalVerifyNanos = totalVerifyNanos;
+            this.maxVerifyNanos = maxVerifyNanos;
+            this.totalWaitNanos = totalWaitNanos;
+            this.threadBudget = threadBudget;
+            this.queueLimit = queueLimit;
+        }
+
+        public int getQueueDepth() { return queueDepth; }
+        public int getActiveCount() { return activeCount; }
+        public long getVerified() { return verified; }
+        public long getFailed() { return failed; }
+        public long getRejected() { return rejected; }
+        public long getTimedOut() { return timedOut; }
+        public int getThreadBudget() { return threadBudget; }
+        public int getQueueLimit() { return queueLimit; }
+
+        public long getCompleted() {
+            return verified + failed;
+        }
+
+        public double getAverageVerifyMillis() {
+            long completed = getCompleted();
+            return completed > 0 ? totalVerifyNanos / 1_000_000.0 / completed : 0.0;
+        }
+
+        public double getMaxVerifyMillis() {
+            return maxVerifyNanos / 1_000_000.0;
+        }
+
+        public double getAverageWaitMillis() {
+            long completed = getCompleted();
+            return completed > 0 ? totalWaitNanos / 1_000_000.0 / completed : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("VerificationStats{queue=%d/%d, active=%d/%d, verified=%d, failed=%d, rejected=%d, " +
+                                 "timedOut=%d, avgVerify=%.1fms, maxVerify=%.1fms, avgWait=%.1fms}",
+                                 queueDepth, queueLimit, activeCount, threadBudget, verified, failed, rejected,
+                                 timedOut, getAverageVerifyMillis(), getMaxVerifyMillis(), getAverageWaitMillis());
+        }
+    }
+}
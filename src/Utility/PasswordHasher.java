@@ -5,6 +5,7 @@ package Utility;
  * Uses PBKDF2 with SHA-256 for secure password storage with multiple validation levels
  * @author USER
  */
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
@@ -18,14 +19,44 @@ import java.util.regex.Pattern;
 /**
  * Enhanced utility class for secure password hashing and comprehensive validation
  * Uses PBKDF2 with SHA-256 for secure password storage with multiple validation levels
+ *
+ * Hashes are stored self-describing as $pbkdf2-sha256$iterations$salt$hash, so the
+ * cost can be raised per deployment without breaking existing passwords: verify
+ * reads the cost from the stored value and needsRehash() tells the caller to store
+ * a fresh hash after a successful login. The older salt:hash values (10,000
+ * iterations) still verify and always need a rehash.
+ *
+ * The cost defaults to DEFAULT_ITERATIONS. A deployment can pin it with the
+ * system property motorph.password.iterations, or let it be measured at startup
+ * from a target hashing time with motorph.password.targetMillis.
  */
 public class PasswordHasher {
     
     // Security constants for password hashing
     private static final int SALT_LENGTH = 16;
     private static final int HASH_LENGTH = 32;
-    private static final int ITERATIONS = 10000;
     private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String ALGORITHM_ID = "pbkdf2-sha256";
+    private static final String HASH_PREFIX = "$" + ALGORITHM_ID + "$";
+    
+    // Cost settings
+    public static final int DEFAULT_ITERATIONS = 210000;
+    public static final int MIN_ITERATIONS = 10000;
+    private static final int LEGACY_ITERATIONS = 10000; // salt:hash format
+    private static final int CALIBRATION_ITERATIONS = 20000;
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    // SecretKeyFactory is not thread-safe; one per thread avoids a provider lookup per hash
+    private static final ThreadLocal<SecretKeyFactory> KEY_FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    });
+    
+    private static volatile int iterations = configuredIterations();
     
     // Password validation constants
     private static final int MIN_LENGTH = 8;
@@ -121,64 +152,199 @@ public class PasswordHasher {
      * @return Base64 encoded salt string
      */
     public static String generateSalt() {
-        SecureRandom random = new SecureRandom();
         byte[] salt = new byte[SALT_LENGTH];
-        random.nextBytes(salt);
+        RANDOM.nextBytes(salt);
         return Base64.getEncoder().encodeToString(salt);
     }
     
     /**
-     * Hashes a password with a given salt
+     * Hashes a password with a given salt using the legacy salt:hash cost.
+     * Kept for compatibility; new passwords should use hashPassword(String).
      * @param password The plain text password
      * @param salt The salt to use for hashing
      * @return Base64 encoded hash string
      */
     public static String hashPassword(String password, String salt) {
-        try {
-            byte[] saltBytes = Base64.getDecoder().decode(salt);
-            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), saltBytes, ITERATIONS, HASH_LENGTH * 8);
-            SecretKeyFactory factory = SecretKeyFactory.getInstance(ALGORITHM);
-            byte[] hash = factory.generateSecret(spec).getEncoded();
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new RuntimeException("Error hashing password", e);
-        }
+        byte[] saltBytes = Base64.getDecoder().decode(salt);
+        return Base64.getEncoder().encodeToString(derive(password, saltBytes, LEGACY_ITERATIONS, HASH_LENGTH));
     }
     
     /**
-     * Generates a salt and hashes the password
+     * Generates a salt and hashes the password at the current cost
      * @param password The plain text password
-     * @return A string containing salt:hash format
+     * @return A string in $pbkdf2-sha256$iterations$salt$hash format
      */
     public static String hashPassword(String password) {
-        String salt = generateSalt();
-        String hash = hashPassword(password, salt);
-        return salt + ":" + hash;
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        int cost = iterations;
+        byte[] hash = derive(password, salt, cost, HASH_LENGTH);
+        Base64.Encoder encoder = Base64.getEncoder();
+        return HASH_PREFIX + cost + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
     }
     
     /**
-     * Verifies a password against a stored hash
+     * Verifies a password against a stored hash.
+     * Accepts both the current format and the legacy salt:hash format, and
+     * compares the derived bytes in constant time.
      * @param password The plain text password to verify
-     * @param storedHash The stored hash in salt:hash format
+     * @param storedHash The stored hash
      * @return true if password matches, false otherwise
      */
     public static boolean verifyPassword(String password, String storedHash) {
         try {
-            String[] parts = storedHash.split(":");
-            if (parts.length != 2) {
+            StoredHash stored = StoredHash.parse(storedHash);
+            if (stored == null || password == null) {
                 return false;
             }
             
-            String salt = parts[0];
-            String hash = parts[1];
-            
-            String newHash = hashPassword(password, salt);
-            return hash.equals(newHash);
+            byte[] candidate = derive(password, stored.salt, stored.iterations, stored.hash.length);
+            return MessageDigest.isEqual(stored.hash, candidate);
         } catch (Exception e) {
             return false;
         }
     }
     
+    /**
+     * Checks whether a stored hash should be replaced after a successful login:
+     * it is in the legacy format, or was made with fewer iterations than the current cost
+     * @param storedHash The stored hash
+     * @return true if the password should be hashed again
+     */
+    public static boolean needsRehash(String storedHash) {
+        StoredHash stored = StoredHash.parse(storedHash);
+        return stored == null || stored.legacy || stored.iterations < iterations;
+    }
+    
+    /**
+     * Gets the iteration count used for new hashes
+     * @return The current cost
+     */
+    public static int getIterations() {
+        return iterations;
+    }
+    
+    /**
+     * Sets the iteration count used for new hashes
+     * @param newIterations The cost (at least MIN_ITERATIONS)
+     */
+    public static void setIterations(int newIterations) {
+        if (newIterations < MIN_ITERATIONS) {
+            throw new IllegalArgumentException("Iterations must be at least " + MIN_ITERATIONS);
+        }
+        iterations = newIterations;
+    }
+    
+    /**
+     * Measures this machine and returns the iteration count that makes one hash
+     * take about the given time. The result is rounded up to a multiple of 1,000
+     * and is never below MIN_ITERATIONS.
+     * @param targetMillis Target time for hashing one password
+     * @return The calibrated iteration count
+     */
+    public static int calibrateIterations(long targetMillis) {
+        if (targetMillis <= 0) {
+            throw new IllegalArgumentException("Target time must be positive");
+        }
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        
+        derive("calibration", salt, CALIBRATION_ITERATIONS, HASH_LENGTH); // warm up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            derive("calibration", salt, CALIBRATION_ITERATIONS, HASH_LENGTH);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        
+        double perIterationNanos = (double) Math.max(best, 1) / CALIBRATION_ITERATIONS;
+        long calibrated = (long) Math.ceil(targetMillis * 1_000_000L / perIterationNanos / 1000.0) * 1000;
+        return (int) Math.max(MIN_ITERATIONS, Math.min(calibrated, Integer.MAX_VALUE));
+    }
+    
+    /**
+     * Runs PBKDF2 with this thread's key factory
+     */
+    private static byte[] derive(String password, byte[] salt, int cost, int hashLength) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, cost, hashLength * 8);
+        try {
+            return KEY_FACTORY.get().generateSecret(spec).getEncoded();
+        } catch (InvalidKeySpecException e) {
+            throw new RuntimeException("Error hashing password", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+    
+    /**
+     * Reads the startup cost from the motorph.password.iterations or
+     * motorph.password.targetMillis system property
+     */
+    private static int configuredIterations() {
+        try {
+            String fixed = System.getProperty("motorph.password.iterations");
+            if (fixed != null) {
+                return Math.max(MIN_ITERATIONS, Integer.parseInt(fixed.trim()));
+            }
+            String targetMillis = System.getProperty("motorph.password.targetMillis");
+            if (targetMillis != null) {
+                return calibrateIterations(Long.parseLong(targetMillis.trim()));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Invalid password hashing cost setting, using default: " + e.getMessage());
+        }
+        return DEFAULT_ITERATIONS;
+    }
+    
+    /**
+     * A stored hash split into its parts
+     */
+    private static final class StoredHash {
+        private final int iterations;
+        private final byte[] salt;
+        private final byte[] hash;
+        private final boolean legacy;
+        
+        private StoredHash(int iterations, byte[] salt, byte[] hash, boolean legacy) {
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
+            this.legacy = legacy;
+        }
+        
+        /**
+         * @return The parts, or null if the value is not a hash this class understands
+         */
+        static StoredHash parse(String storedHash) {
+            if (storedHash == null || storedHash.isEmpty()) {
+                return null;
+            }
+            try {
+                Base64.Decoder decoder = Base64.getDecoder();
+                if (storedHash.startsWith(HASH_PREFIX)) {
+                    String[] parts = storedHash.substring(HASH_PREFIX.length()).split("\\$");
+                    if (parts.length != 3) {
+                        return null;
+                    }
+                    int cost = Integer.parseInt(parts[0]);
+                    byte[] hash = decoder.decode(parts[2]);
+                    if (cost <= 0 || hash.length == 0) {
+                        return null;
+                    }
+                    return new StoredHash(cost, decoder.decode(parts[1]), hash, false);
+                }
+                
+                String[] parts = storedHash.split(":");
+                if (parts.length != 2) {
+                    return null;
+                }
+                return new StoredHash(LEGACY_ITERATIONS, decoder.decode(parts[0]), decoder.decode(parts[1]), true);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+    
     
     // BASIC VALIDATION METHODS (LEGACY COMPATIBILITY)
     
@@ -0,0 +1,67 @@
+package Utility;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a table one row at a time, so an export of any size needs only the
+ * current row in memory. Implemented by CsvRowWriter and XlsxRowWriter.
+ * @author User
+ */
+public interface RowWriter extends Closeable {
+
+    /**
+     * Write the column names. Call once, before the first row.
+     * @param columns Column names
+     * @throws IOException if the output cannot be written
+     */
+    void writeHeader(List<String> columns) throws IOException;
+
+    /**
+     * Write one row
+     * @param values Cell values; null is an empty cell
+     * @throws IOException if the output cannot be written
+     */
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Get the number of rows written, not counting the header
+     * @return Rows written so far
+     */
+    long getRowCount();
+
+    /**
+     * Write a result set as it is read: a header from the column labels, then
+     * one row per record. With a streaming statement the rows never all sit
+     * in memory.
+     * @param rs The result set, positioned before the first row
+     * @return Number of rows written
+     * @throws IOException if the output cannot be written
+     * @throws SQLException if the result set cannot be read
+     */
+    default long writeAll(ResultSet rs) throws IOException, SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        List<String> columns = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            columns.add(metaData.getColumnLabel(i));
+        }
+        writeHeader(columns);
+
+        Object[] values = new Object[columnCount];
+        long rows = 0;
+        while (rs.next()) {
+            for (int i = 0; i < columnCount; i++) {
+                values[i] = rs.getObject(i + 1);
+            }
+            writeRow(values);
+            rows++;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,186 @@
+package Utility;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams rows to a single-sheet Excel workbook (.xlsx).
+ *
+ * An .xlsx file is a zip of XML parts. The fixed parts are written up front
+ * and the sheet XML is written into the zip as rows arrive, so memory use does
+ * not grow with the row count. Text is stored inline rather than in a shared
+ * string table, which would have to be held until the end. Numbers and
+ * booleans become numeric and boolean cells; everything else (including
+ * dates) is written as text.
+ * @author User
+ */
+public class XlsxRowWriter implements RowWriter {
+
+    // Rows per sheet in Excel, header included
+    public static final int MAX_ROWS = 1_048_576;
+
+    private static final String CONTENT_TYPES = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">
+        <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>
+        <Default Extension="xml" ContentType="application/xml"/>
+        <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>
+        <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>
+        </Types>
+        """;
+
+    private static final String ROOT_RELS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+        <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>
+        </Relationships>
+        """;
+
+    private static final String WORKBOOK_RELS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+        <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>
+        </Relationships>
+        """;
+
+    private final ZipOutputStream zip;
+    private final Writer sheet;
+    private long rowCount;
+    private int sheetRows;
+
+    /**
+     * Create a writer over a stream. Closing the writer finishes the workbook
+     * and closes the stream.
+     * @param out Where the workbook is written
+     * @param sheetName Name of the worksheet tab (at most 31 characters are kept)
+     * @throws IOException if the output cannot be written
+     */
+    public XlsxRowWriter(OutputStream out, String sheetName) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.sheet = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+
+        writePart("[Content_Types].xml", CONTENT_TYPES);
+        writePart("_rels/.rels", ROOT_RELS);
+        writePart("xl/workbook.xml", """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">
+            <sheets><sheet name="%s" sheetId="1" r:id="rId1"/></sheets>
+            </workbook>
+            """.formatted(escape(sheetTitle(sheetName))));
+        writePart("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        sheet.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) throws IOException {
+        writeSheetRow(columns.toArray());
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        writeSheetRow(values);
+        rowCount++;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sheet.write("</sheetData></worksheet>");
+        sheet.flush();
+        zip.closeEntry();
+        zip.close();
+    }
+
+    private void writeSheetRow(Object[] values) throws IOException {
+        if (sheetRows == MAX_ROWS) {
+            throw new IOException("Export exceeds the " + MAX_ROWS + " rows an Excel sheet can hold; use CSV instead");
+        }
+        sheetRows++;
+        sheet.write("<row r=\"");
+        sheet.write(Integer.toString(sheetRows));
+        sheet.write("\">");
+        for (Object value : values) {
+            writeCell(value);
+        }
+        sheet.write("</row>");
+    }
+
+    private void writeCell(Object value) throws IOException {
+        if (value == null) {
+            sheet.write("<c/>");
+        } else if (value instanceof Boolean) {
+            sheet.write((Boolean) value ? "<c t=\"b\"><v>1</v></c>" : "<c t=\"b\"><v>0</v></c>");
+        } else if (value instanceof Number && isFinite((Number) value)) {
+            sheet.write("<c><v>");
+            sheet.write(value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+            sheet.write("</v></c>");
+        } else {
+            sheet.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+            sheet.write(escape(value.toString()));
+            sheet.write("</t></is></c>");
+        }
+    }
+
+    private void writePart(String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        sheet.write(xml);
+        sheet.flush();
+        zip.closeEntry();
+    }
+
+    private static boolean isFinite(Number value) {
+        if (value instanceof Double || value instanceof Float) {
+            return Double.isFinite(value.doubleValue());
+        }
+        return true;
+    }
+
+    private static String sheetTitle(String sheetName) {
+        String title = sheetName == null || sheetName.isBlank() ? "Sheet1" : sheetName.replaceAll("[\\\\/?*\\[\\]:]", " ");
+        return title.length() > 31 ? title.substring(0, 31) : title;
+    }
+
+    /**
+     * Escape text for XML, dropping control characters XML cannot hold
+     */
+    private static String escape(String text) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                default -> c < 0x20 && c != '\t' && c != '\n' && c != '\r' ? "" : null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : text;
+    }
+}
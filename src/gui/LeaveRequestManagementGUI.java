@@ -1,6 +1,7 @@
   
 package gui;
 
+import Models.Permission;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.io.BufferedReader;
@@ -212,6 +213,9 @@ public class LeaveRequestManagementGUI extends javax.swing.JFrame {
             System.out.println("User name: " + 
                               (loggedInUser != null ? loggedInUser.getFirstName() + " " + loggedInUser.getLastName() : "null"));
 
+            // Resolve the role's permissions once, not per record
+            long rolePermissions = Permission.forRole(loggedInUser != null ? loggedInUser.getRole() : null);
+
             try (BufferedReader br = new BufferedReader(new FileReader(file))) {
                 // Skip header line
                 br.readLine();
@@ -245,13 +249,13 @@ public class LeaveRequestManagementGUI extends javax.swing.JFrame {
                         boolean shouldInclude = false;
 
                         // HR users see all records
-                        if ("HR".equals(loggedInUser.getRole())) {
+                        if (Permission.APPROVE_ALL_REQUESTS.isIn(rolePermissions)) {
                             shouldInclude = true;
                             System.out.println("Including record for HR user (all records visible)");
                         }
                         
                         // Supervisors see records for their subordinates
-                        else if ("IMMEDIATE SUPERVISOR".equals(loggedInUser.getRole())) {
+                        else if (Permission.APPROVE_LEAVE.isIn(rolePermissions)) {
                             // Get the full name of the supervisor in multiple formats for comparison
                             String supervisorFullName = loggedInUser.getFirstName() + " " + loggedInUser.getLastName();
                             String supervisorLastFirst = loggedInUser.getLastName() + ", " + loggedInUser.getFirstName();
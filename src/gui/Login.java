@@ -2,6 +2,18 @@
 package gui;
 
 import CSV.CSVDatabaseProcessor;
+import DAOs.AuditLog;
+import DAOs.AuditLogDAO;
+import DAOs.CacheCoherenceMonitor;
+import DAOs.DatabaseConnection;
+import DAOs.LoginLockoutDAO;
+import DAOs.LoginThrottle;
+import DAOs.OvertimePayAccrualDAO;
+import DAOs.ReferenceDataDAO;
+import DAOs.SessionDAO;
+import DAOs.SessionStore;
+import Services.JasperReportGenerator;
+import Utility.BackgroundTasks;
 import oop.classes.management.UserAuthentication;
 import javax.swing.*;
 import oop.classes.actors.User;
@@ -273,6 +285,31 @@ public class Login extends javax.swing.JFrame {
         //</editor-fold>
         //</editor-fold>
         
+        /* Load positions, benefit types and leave types in the background while the form opens */
+        Thread referenceDataPreload = new Thread(
+            () -> new ReferenceDataDAO(new DatabaseConnection()).preloadReferenceData(), "reference-data-preload");
+        referenceDataPreload.setDaemon(true);
+        referenceDataPreload.start();
+
+        /* Evict cached data when another client changes it */
+        CacheCoherenceMonitor.getInstance().start(new DatabaseConnection(), CacheCoherenceMonitor.DEFAULT_POLL_SECONDS);
+
+        /* Restore persisted sessions and start expiring idle ones */
+        SessionStore.getInstance().start(new SessionDAO(new DatabaseConnection()));
+
+        /* Write audit events to the audit_log table in the background */
+        AuditLog.getInstance().start(new AuditLogDAO(new DatabaseConnection()));
+
+        /* Restore persisted login lockouts */
+        LoginThrottle.getInstance().start(new LoginLockoutDAO(new DatabaseConnection()));
+
+        /* Store the pay of approved overtime that has no accrual yet */
+        BackgroundTasks.run("backfilling overtime pay accruals",
+            () -> new OvertimePayAccrualDAO(new DatabaseConnection()).backfillMissingAccruals());
+
+        /* Compile report templates before the first report is requested */
+        BackgroundTasks.run("precompiling report templates",
+            () -> new JasperReportGenerator(new DatabaseConnection()).precompileTemplates());
 
         /* Create and display the form */
         java.awt.EventQueue.invokeLater(new Runnable() {
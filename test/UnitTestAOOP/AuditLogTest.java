@@ -0,0 +1,145 @@
+package UnitTestAOOP;
+
+import DAOs.AuditLog;
+import DAOs.AuditLogDAO;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit test for the in-memory AuditLog ring buffer (no database needed)
+ */
+public class AuditLogTest {
+
+    private AuditLog auditLog;
+
+    @Before
+    public void setUp() {
+        auditLog = new AuditLog(8, 4, 500, () -> 1_000L);
+    }
+
+    @Test
+    public void testDrain_ReturnsEventsInOrder() {
+        auditLog.record("a@motorph.com", AuditLog.ACTION_AUTHENTICATION, true, "Successful login");
+        auditLog.record("10001", AuditLog.ACTION_LEAVE_APPROVAL, true, "Leave request 7");
+
+        List<AuditLog.Event> events = auditLog.drain(10);
+        assertEquals(2, events.size());
+        assertEquals("a@motorph.com", events.get(0).getActor());
+        assertEquals(AuditLog.ACTION_LEAVE_APPROVAL, events.get(1).getAction());
+        assertEquals(1_000L, events.get(1).getTimestamp());
+        assertTrue(auditLog.drain(10).isEmpty());
+    }
+
+    @Test
+    public void testRecord_DropsWhenFull() {
+        for (int i = 0; i < 8; i++) {
+            assertTrue(auditLog.record("user" + i, AuditLog.ACTION_AUTHENTICATION, false, "Invalid password"));
+        }
+        assertFalse(auditLog.record("user8", AuditLog.ACTION_AUTHENTICATION, false, "Invalid password"));
+
+        AuditLog.AuditStats stats = auditLog.getStats();
+        assertEquals(8, stats.getBuffered());
+        assertEquals(8, stats.getRecorded());
+        assertEquals(1, stats.getDropped());
+
+        // Draining frees slots for new events
+        assertEquals(3, auditLog.drain(3).size());
+        assertTrue(auditLog.record("user9", AuditLog.ACTION_AUTHENTICATION, true, "Successful login"));
+        List<AuditLog.Event> rest = auditLog.drain(10);
+        assertEquals(6, rest.size());
+        assertEquals("user9", rest.get(5).getActor());
+    }
+
+    @Test
+    public void testRecord_ConcurrentProducersLoseNothingThatFits() throws Exception {
+        AuditLog wide = new AuditLog(4096, 256, 500, System::currentTimeMillis);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int producer = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    wide.record(producer + ":" + i, AuditLog.ACTION_AUTHENTICATION, true, null);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<String> actors = new HashSet<>();
+        for (AuditLog.Event event : wide.drain(5000)) {
+            actors.add(event.getActor());
+        }
+        assertEquals(4000, actors.size());
+        assertEquals(0, wide.getStats().getDropped());
+    }
+
+    @Test
+    public void testFlush_WithoutWriterEmptiesBuffer() {
+        auditLog.record("a@motorph.com", AuditLog.ACTION_AUTHENTICATION, true, "Successful login");
+        assertEquals(1, auditLog.flush());
+        assertEquals(0, auditLog.getStats().getBuffered());
+    }
+
+    @Test
+    public void testFlush_RetriesTransientInsertFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        // Long flush interval and events queued before start(): only flush() below writes
+        AuditLog retrying = new AuditLog(8, 4, 60_000, () -> 1_000L);
+        for (int i = 0; i < 3; i++) {
+            retrying.record("user" + i, AuditLog.ACTION_AUTHENTICATION, true, "Successful login");
+        }
+        retrying.start(new AuditLogDAO(null) {
+            @Override
+            public int insertBatch(List<AuditLog.Event> events) {
+                return attempts.incrementAndGet() == 1 ? -1 : events.size();
+            }
+        });
+        try {
+            assertEquals(3, retrying.flush());
+
+            AuditLog.AuditStats stats = retrying.getStats();
+            assertEquals(3, stats.getWritten());
+            assertEquals(1, stats.getRetries());
+            assertEquals(0, stats.getFailedWrites());
+        } finally {
+            retrying.stop();
+        }
+    }
+
+    @Test
+    public void testFlush_CountsLostBatchAndKeepsTheRestBuffered() {
+        AuditLog failing = new AuditLog(8, 2, 60_000, () -> 1_000L);
+        for (int i = 0; i < 4; i++) {
+            failing.record("user" + i, AuditLog.ACTION_AUTHENTICATION, false, "Invalid password");
+        }
+        failing.start(new AuditLogDAO(null) {
+            @Override
+            public int insertBatch(List<AuditLog.Event> events) {
+                return -1;
+            }
+        });
+        try {
+            assertEquals("Only the first batch is taken", 2, failing.flush());
+
+            AuditLog.AuditStats stats = failing.getStats();
+            assertEquals(2, stats.getFailedWrites());
+            assertEquals(2, stats.getRetries());
+            assertEquals(0, stats.getWritten());
+            assertEquals(2, stats.getBuffered());
+        } finally {
+            failing.stop();
+        }
+    }
+
+    @Test
+    public void testConstructor_RoundsCapacityToPowerOfTwo() {
+        assertEquals(16, new AuditLog(9, 4, 500, System::currentTimeMillis).getStats().getCapacity());
+    }
+}
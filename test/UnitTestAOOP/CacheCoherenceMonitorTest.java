@@ -0,0 +1,68 @@
+package UnitTestAOOP;
+
+import DAOs.CacheCoherenceMonitor;
+import DAOs.CacheVersionDAO.EntityType;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JUnit test for CacheCoherenceMonitor version comparison (no database needed)
+ */
+public class CacheCoherenceMonitorTest {
+
+    private CacheCoherenceMonitor monitor;
+    private List<String> evicted;
+
+    @Before
+    public void setUp() {
+        monitor = new CacheCoherenceMonitor();
+        evicted = new ArrayList<>();
+        monitor.register(EntityType.EMPLOYEE, () -> evicted.add("employees"));
+        monitor.register(EntityType.POSITION, () -> evicted.add("positions"));
+        monitor.register(EntityType.POSITION, () -> evicted.add("classifications"));
+    }
+
+    @Test
+    public void testFirstPoll_EvictsEverything() {
+        Set<EntityType> changed = monitor.applyVersions(Map.of(EntityType.EMPLOYEE, 3L));
+
+        assertEquals(Set.of(EntityType.EMPLOYEE, EntityType.POSITION), changed);
+        assertEquals(3, evicted.size());
+    }
+
+    @Test
+    public void testChangedVersion_EvictsOnlyThatEntity() {
+        monitor.applyVersions(Map.of(EntityType.EMPLOYEE, 3L, EntityType.POSITION, 1L));
+        evicted.clear();
+
+        Set<EntityType> changed = monitor.applyVersions(Map.of(EntityType.EMPLOYEE, 3L, EntityType.POSITION, 2L));
+
+        assertEquals(Set.of(EntityType.POSITION), changed);
+        assertEquals(List.of("positions", "classifications"), evicted);
+    }
+
+    @Test
+    public void testNewEntityRow_CountsAsChange() {
+        monitor.applyVersions(Map.of(EntityType.POSITION, 1L));
+        evicted.clear();
+
+        Set<EntityType> changed = monitor.applyVersions(Map.of(EntityType.POSITION, 1L, EntityType.EMPLOYEE, 1L));
+
+        assertEquals(Set.of(EntityType.EMPLOYEE), changed);
+        assertEquals(List.of("employees"), evicted);
+    }
+
+    @Test
+    public void testUnchangedVersions_NoEviction() {
+        monitor.applyVersions(Map.of(EntityType.EMPLOYEE, 3L));
+        evicted.clear();
+        monitor.applyVersions(Map.of(EntityType.EMPLOYEE, 3L));
+
+        assertTrue(evicted.isEmpty());
+    }
+}
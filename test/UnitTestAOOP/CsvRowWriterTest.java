@@ -0,0 +1,46 @@
+package UnitTestAOOP;
+
+import Utility.CsvRowWriter;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * JUnit test for the in-memory CsvRowWriter (no database needed)
+ */
+public class CsvRowWriterTest {
+
+    private static String write(Object[]... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvRowWriter writer = new CsvRowWriter(out)) {
+            writer.writeHeader(Arrays.asList("Name", "Amount"));
+            for (Object[] row : rows) {
+                writer.writeRow(row);
+            }
+            assertEquals(rows.length, writer.getRowCount());
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testHeaderAndRows() throws Exception {
+        String csv = write(new Object[] {"Garcia", new BigDecimal("90000.50")}, new Object[] {null, 12});
+        assertEquals("\uFEFFName,Amount\r\nGarcia,90000.50\r\n,12\r\n", csv);
+    }
+
+    @Test
+    public void testQuoting() throws Exception {
+        String csv = write(new Object[] {"Lim, Antonio", "He said \"hi\""}, new Object[] {"two\nlines", ""});
+        assertTrue(csv.contains("\"Lim, Antonio\",\"He said \"\"hi\"\"\"\r\n"));
+        assertTrue(csv.contains("\"two\nlines\",\r\n"));
+    }
+
+    @Test
+    public void testFormulaTextIsNotEvaluated() throws Exception {
+        String csv = write(new Object[] {"=SUM(A1:A2)", -5});
+        assertTrue(csv.contains("'=SUM(A1:A2),-5\r\n"));
+    }
+}
@@ -0,0 +1,77 @@
+package UnitTestAOOP;
+
+import DAOs.EmployeeClassificationCache;
+import DAOs.EmployeeClassificationCache.Classification;
+import Models.PositionModel;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JUnit test for the in-memory EmployeeClassificationCache (no database needed)
+ */
+public class EmployeeClassificationCacheTest {
+
+    private EmployeeClassificationCache cache;
+
+    @Before
+    public void setUp() {
+        Map<Integer, Integer> employeePositions = new HashMap<>();
+        employeePositions.put(1, 10);
+        employeePositions.put(2, 20);
+        employeePositions.put(3, 30);
+        employeePositions.put(4, null);
+
+        cache = new EmployeeClassificationCache();
+        cache.load(employeePositions, List.of(
+            position(10, "Customer Service Rank and File", "Customer Service"),
+            position(20, "Accounting Head", "Accounting"),
+            position(30, "Warehouse Staff", "Rank-and-File")
+        ));
+    }
+
+    private static PositionModel position(int id, String title, String department) {
+        PositionModel position = new PositionModel(title, department);
+        position.setPositionId(id);
+        return position;
+    }
+
+    @Test
+    public void testGet_ClassifiesByPositionAndDepartment() {
+        assertTrue(cache.get(1).isRankAndFile());
+        assertFalse(cache.get(2).isRankAndFile());
+        assertTrue("Rank-and-file department", cache.get(3).isOvertimeEligible());
+        assertEquals("Non Rank-and-File", cache.get(4).getPayrollCategory());
+    }
+
+    @Test
+    public void testGet_SharesOneClassificationPerCategory() {
+        Classification first = cache.get(1);
+        assertSame(first, cache.get(3));
+        assertSame(EmployeeClassificationCache.NON_RANK_AND_FILE, cache.get(2));
+    }
+
+    @Test
+    public void testGet_UnknownEmployee() {
+        assertNull(cache.get(99));
+        assertNull(cache.get(null));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshot_IsImmutable() {
+        cache.snapshot().put(5, EmployeeClassificationCache.RANK_AND_FILE);
+    }
+
+    @Test
+    public void testInvalidate() {
+        assertTrue(cache.isFresh(60_000));
+
+        cache.invalidate();
+        assertFalse(cache.isFresh(60_000));
+        assertNull(cache.get(1));
+        assertTrue(cache.snapshot().isEmpty());
+    }
+}
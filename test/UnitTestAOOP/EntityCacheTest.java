@@ -0,0 +1,76 @@
+package UnitTestAOOP;
+
+import DAOs.EntityCache;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit test for the in-memory EntityCache (no database needed)
+ */
+public class EntityCacheTest {
+
+    private EntityCache<Integer, String> cache;
+
+    @Before
+    public void setUp() {
+        cache = new EntityCache<>(2);
+    }
+
+    @Test
+    public void testGet_CountsHitsAndMisses() {
+        assertNull(cache.get(10001));
+        cache.put(10001, "Garcia", cache.generation());
+
+        assertEquals("Garcia", cache.get(10001));
+
+        EntityCache.CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(50.0, stats.getHitRate(), 0.001);
+    }
+
+    @Test
+    public void testPut_EvictsLeastRecentlyUsed() {
+        cache.put(10001, "Garcia", cache.generation());
+        cache.put(10002, "Lim", cache.generation());
+        cache.get(10001); // 10002 is now least recently used
+
+        cache.put(10003, "Aquino", cache.generation());
+
+        assertEquals("Garcia", cache.get(10001));
+        assertNull(cache.get(10002));
+        assertEquals("Aquino", cache.get(10003));
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testPut_SkippedWhenInvalidatedDuringLoad() {
+        long generation = cache.generation();
+        cache.invalidate(10001); // another thread updates the row while we load
+
+        assertFalse(cache.put(10001, "Garcia (stale)", generation));
+        assertNull(cache.get(10001));
+        assertTrue(cache.put(10001, "Garcia", cache.generation()));
+    }
+
+    @Test
+    public void testInvalidate_RemovesEntries() {
+        cache.put(10001, "Garcia", cache.generation());
+        cache.put(10002, "Lim", cache.generation());
+
+        cache.invalidate(10001);
+        assertNull(cache.get(10001));
+        assertEquals("Lim", cache.get(10002));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getStats().getInvalidations());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RejectsNonPositiveSize() {
+        new EntityCache<Integer, String>(0);
+    }
+}
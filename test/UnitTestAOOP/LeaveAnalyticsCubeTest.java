@@ -0,0 +1,185 @@
+package UnitTestAOOP;
+
+import DAOs.LeaveAnalyticsCube;
+import DAOs.LeaveAnalyticsCube.DateBasis;
+import Models.LeaveBalance;
+import Models.LeaveRequestModel;
+import Models.LeaveRequestModel.ApprovalStatus;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JUnit test for the in-memory LeaveAnalyticsCube (no database needed)
+ */
+public class LeaveAnalyticsCubeTest {
+
+    // 2030-03-04 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2030, 3, 4);
+
+    private LeaveAnalyticsCube cube;
+    private Map<Integer, String> departments;
+
+    @Before
+    public void setUp() {
+        cube = new LeaveAnalyticsCube();
+
+        departments = new HashMap<>();
+        departments.put(1, "HR");
+        departments.put(2, "Accounting");
+        departments.put(3, "HR");
+
+        cube.load(List.of(
+            // Mon-Sun: 7 calendar days, 5 working days
+            leave(10, 1, 1, MONDAY, MONDAY.plusDays(6), ApprovalStatus.APPROVED),
+            leave(11, 1, 2, MONDAY.plusMonths(1), MONDAY.plusMonths(1), ApprovalStatus.PENDING),
+            leave(12, 2, 1, MONDAY, MONDAY.plusDays(1), ApprovalStatus.APPROVED),
+            leave(13, 3, 1, MONDAY.plusDays(2), MONDAY.plusDays(2), ApprovalStatus.REJECTED)
+        ), departments);
+    }
+
+    private static LeaveRequestModel leave(int id, int employeeId, int leaveTypeId, LocalDate start, LocalDate end,
+                                           ApprovalStatus status) {
+        LeaveRequestModel request = new LeaveRequestModel();
+        request.setLeaveRequestId(id);
+        request.setEmployeeId(employeeId);
+        request.setLeaveTypeId(leaveTypeId);
+        request.setLeaveStart(Date.valueOf(start));
+        request.setLeaveEnd(Date.valueOf(end));
+        request.setApprovalStatus(status);
+        return request;
+    }
+
+    @Test
+    public void testQuery_WholeYear() {
+        LeaveAnalyticsCube.Measures measures = cube.query(2030, null, null, null, null);
+
+        assertEquals(4, measures.getRequestCount());
+        assertEquals(2, measures.getApprovedCount());
+        assertEquals(1, measures.getRejectedCount());
+        assertEquals(1, measures.getPendingCount());
+        assertEquals(3, measures.getDistinctEmployees());
+        assertEquals(50.0, measures.getApprovalRate(), 0.001);
+    }
+
+    @Test
+    public void testQuery_ApprovedAndUsedDays() {
+        LeaveAnalyticsCube.Measures measures = cube.query(2030, 3, null, null, null);
+
+        assertEquals("Calendar days of approved requests", 9, measures.getApprovedDays());
+        assertEquals("Working days of approved requests", 7, measures.getUsedDays());
+        assertEquals(4.5, measures.getAverageApprovedDays(), 0.001);
+    }
+
+    @Test
+    public void testQuery_DepartmentSliceIsCaseInsensitive() {
+        LeaveAnalyticsCube.Measures hr = cube.query(2030, null, "hr", null, null);
+
+        assertEquals(3, hr.getRequestCount());
+        assertEquals(2, hr.getDistinctEmployees());
+    }
+
+    @Test
+    public void testRollup_ByLeaveType() {
+        Map<Object, LeaveAnalyticsCube.Measures> byType =
+            cube.rollup(LeaveAnalyticsCube.Dimension.LEAVE_TYPE, 2030, null, null, null, null);
+
+        assertEquals(2, byType.size());
+        assertEquals(3, byType.get(1).getRequestCount());
+        assertEquals(1, byType.get(2).getPendingCount());
+    }
+
+    @Test
+    public void testRollup_ByMonthIsSorted() {
+        Map<Object, LeaveAnalyticsCube.Measures> byMonth =
+            cube.rollup(LeaveAnalyticsCube.Dimension.MONTH, 2030, null, null, null, null);
+
+        assertEquals(List.of(3, 4), List.copyOf(byMonth.keySet()));
+    }
+
+    @Test
+    public void testQuery_ByDateCreated() {
+        LeaveRequestModel filedEarly = leave(14, 2, 2, MONDAY.plusMonths(2), MONDAY.plusMonths(2), ApprovalStatus.PENDING);
+        filedEarly.setDateCreated(Timestamp.valueOf(LocalDateTime.of(2029, 12, 15, 9, 0)));
+        cube.put(filedEarly);
+
+        // Starts in May 2030, but was filed in December 2029
+        assertEquals(1, cube.query(2030, 5, null, null, null).getRequestCount());
+        assertEquals(0, cube.query(DateBasis.DATE_CREATED, 2030, 5, null, null, null).getRequestCount());
+        assertEquals(1, cube.query(DateBasis.DATE_CREATED, 2029, 12, null, null, null).getRequestCount());
+        assertEquals(1, cube.rollup(DateBasis.DATE_CREATED, LeaveAnalyticsCube.Dimension.LEAVE_TYPE,
+                                    2029, null, null, null, null).get(2).getPendingCount());
+
+        cube.remove(14);
+        assertEquals(0, cube.query(DateBasis.DATE_CREATED, 2029, null, null, null, null).getRequestCount());
+    }
+
+    @Test
+    public void testPut_ApprovalMovesRequestBetweenCells() {
+        LeaveRequestModel pending = leave(11, 1, 2, MONDAY.plusMonths(1), MONDAY.plusMonths(1), ApprovalStatus.PENDING);
+        pending.approve("OK");
+        cube.put(pending);
+
+        LeaveAnalyticsCube.Measures april = cube.query(2030, 4, null, null, null);
+        assertEquals(1, april.getRequestCount());
+        assertEquals(0, april.getPendingCount());
+        assertEquals(1, april.getApprovedCount());
+        assertEquals(4, cube.size());
+    }
+
+    @Test
+    public void testRemove_UpdatesDistinctEmployees() {
+        cube.remove(12);
+
+        LeaveAnalyticsCube.Measures measures = cube.query(2030, null, null, null, null);
+        assertEquals(3, measures.getRequestCount());
+        assertEquals(2, measures.getDistinctEmployees());
+        assertTrue(cube.rollup(LeaveAnalyticsCube.Dimension.DEPARTMENT, null, null, "Accounting", null, null).isEmpty());
+    }
+
+    @Test
+    public void testDepartmentBalances() {
+        cube.loadBalances(List.of(
+            balance(1, 1, 15, 5),
+            balance(3, 1, 10, 10),
+            balance(2, 1, 0, 0)
+        ), departments);
+
+        LeaveAnalyticsCube.BalanceMeasures hr = cube.getDepartmentBalances(2030).get("HR");
+        assertEquals(2, hr.getEmployeeCount());
+        assertEquals(25, hr.getTotalAllocated());
+        assertEquals(15, hr.getTotalUsed());
+        assertEquals((100.0 / 3 + 100.0) / 2, hr.getUtilizationRate(), 0.001);
+
+        assertEquals("Zero allocations are not rated", 0.0,
+                     cube.getDepartmentBalances(2030).get("Accounting").getUtilizationRate(), 0.001);
+    }
+
+    @Test
+    public void testInvalidateBalances() {
+        cube.loadBalances(List.of(balance(1, 1, 15, 5)), departments);
+        assertTrue(cube.isBalancesLoaded());
+
+        cube.invalidateBalances();
+        assertFalse(cube.isBalancesLoaded());
+        assertTrue("Request cells are not affected", cube.isLoaded());
+    }
+
+    private static LeaveBalance balance(int employeeId, int leaveTypeId, int total, int used) {
+        LeaveBalance balance = new LeaveBalance();
+        balance.setEmployeeId(employeeId);
+        balance.setLeaveTypeId(leaveTypeId);
+        balance.setBalanceYear(Year.of(2030));
+        balance.setTotalLeaveDays(total);
+        balance.setUsedLeaveDays(used);
+        return balance;
+    }
+}
@@ -0,0 +1,128 @@
+package UnitTestAOOP;
+
+import DAOs.LeaveIntervalIndex;
+import Models.LeaveRequestModel;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JUnit test for the in-memory LeaveIntervalIndex (no database needed)
+ */
+public class LeaveIntervalIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 3, 1);
+
+    private LeaveIntervalIndex index;
+
+    @Before
+    public void setUp() {
+        index = new LeaveIntervalIndex();
+
+        Map<Integer, String> departments = new HashMap<>();
+        departments.put(1, "HR");
+        departments.put(2, "Accounting");
+        departments.put(3, "HR");
+
+        index.load(List.of(
+            leave(10, 1, BASE, BASE.plusDays(4), LeaveRequestModel.ApprovalStatus.APPROVED),
+            leave(11, 1, BASE.plusDays(20), BASE.plusDays(21), LeaveRequestModel.ApprovalStatus.PENDING),
+            leave(12, 2, BASE.minusDays(30), BASE.plusDays(2), LeaveRequestModel.ApprovalStatus.APPROVED),
+            leave(13, 3, BASE.plusDays(1), BASE.plusDays(1), LeaveRequestModel.ApprovalStatus.REJECTED)
+        ), departments);
+    }
+
+    private static LeaveRequestModel leave(int id, int employeeId, LocalDate start, LocalDate end,
+                                           LeaveRequestModel.ApprovalStatus status) {
+        LeaveRequestModel request = new LeaveRequestModel();
+        request.setLeaveRequestId(id);
+        request.setEmployeeId(employeeId);
+        request.setLeaveTypeId(1);
+        request.setLeaveStart(Date.valueOf(start));
+        request.setLeaveEnd(Date.valueOf(end));
+        request.setApprovalStatus(status);
+        return request;
+    }
+
+    @Test
+    public void testLoad_SkipsRejectedRequests() {
+        assertTrue("Index should be loaded", index.isLoaded());
+        assertEquals("Rejected requests should not be indexed", 3, index.size());
+    }
+
+    @Test
+    public void testFindOverlapping_PartialOverlap() {
+        List<LeaveRequestModel> overlapping = index.findOverlapping(1, BASE.plusDays(3), BASE.plusDays(6), -1);
+
+        assertEquals(1, overlapping.size());
+        assertEquals(10, overlapping.get(0).getLeaveRequestId());
+    }
+
+    @Test
+    public void testFindOverlapping_ExcludesOwnRequest() {
+        List<LeaveRequestModel> overlapping = index.findOverlapping(1, BASE, BASE.plusDays(4), 10);
+        assertTrue("The request being checked should not conflict with itself", overlapping.isEmpty());
+    }
+
+    @Test
+    public void testFindOverlapping_NoOverlapBetweenLeaves() {
+        assertTrue(index.findOverlapping(1, BASE.plusDays(5), BASE.plusDays(19), -1).isEmpty());
+    }
+
+    @Test
+    public void testFindOnLeave_LongLeaveStartedEarlier() {
+        // Employee 2's leave started 30 days before BASE and must still be found
+        List<LeaveRequestModel> onLeave = index.findOnLeave(BASE.plusDays(1), true);
+
+        assertEquals(2, onLeave.size());
+    }
+
+    @Test
+    public void testFindOnLeaveInDepartment() {
+        List<LeaveRequestModel> hr = index.findOnLeaveInDepartment("HR", BASE.plusDays(1), true);
+
+        assertEquals(1, hr.size());
+        assertEquals(1, hr.get(0).getEmployeeId());
+    }
+
+    @Test
+    public void testPut_RejectRemovesFromIndex() {
+        LeaveRequestModel pending = leave(11, 1, BASE.plusDays(20), BASE.plusDays(21), LeaveRequestModel.ApprovalStatus.PENDING);
+        pending.reject("Not enough coverage");
+        index.put(pending);
+
+        assertTrue(index.findOverlapping(1, BASE.plusDays(20), BASE.plusDays(21), -1).isEmpty());
+    }
+
+    @Test
+    public void testPut_ApprovalChangesStatus() {
+        LeaveRequestModel pending = leave(11, 1, BASE.plusDays(20), BASE.plusDays(21), LeaveRequestModel.ApprovalStatus.PENDING);
+        assertTrue(index.findOnLeave(BASE.plusDays(20), true).isEmpty());
+
+        pending.approve("OK");
+        index.put(pending);
+
+        assertEquals(1, index.findOnLeave(BASE.plusDays(20), true).size());
+    }
+
+    @Test
+    public void testRemove() {
+        index.remove(12);
+
+        assertEquals(2, index.size());
+        assertTrue(index.findOnLeaveInDepartment("Accounting", BASE, false).isEmpty());
+    }
+
+    @Test
+    public void testReturnedModelsAreCopies() {
+        LeaveRequestModel result = index.findOverlapping(1, BASE, BASE, -1).get(0);
+        result.reject("Mutated by caller");
+
+        assertTrue(index.findOverlapping(1, BASE, BASE, -1).get(0).isApproved());
+    }
+}
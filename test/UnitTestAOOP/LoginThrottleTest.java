@@ -0,0 +1,150 @@
+package UnitTestAOOP;
+
+import DAOs.LoginLockoutDAO;
+import DAOs.LoginThrottle;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JUnit test for the in-memory LoginThrottle (no database needed)
+ */
+public class LoginThrottleTest {
+
+    private static final long WINDOW = 16_000;
+    private static final long LOCKOUT = 60_000;
+
+    private AtomicLong now;
+    private LoginThrottle throttle;
+
+    @Before
+    public void setUp() {
+        now = new AtomicLong(1_000_000);
+        throttle = new LoginThrottle(3, 5, WINDOW, LOCKOUT, now::get);
+    }
+
+    @Test
+    public void testLocksEmailAtLimit() {
+        assertFalse(throttle.recordFailure("a@motorph.com", null));
+        assertFalse(throttle.recordFailure("a@motorph.com", null));
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.check("a@motorph.com", null));
+
+        assertTrue(throttle.recordFailure("A@MotorPH.com ", null));
+        assertTrue(throttle.isLocked("a@motorph.com"));
+        assertEquals(LoginThrottle.Decision.EMAIL_LOCKED, throttle.check("a@motorph.com", null));
+        assertEquals(now.get() + LOCKOUT, throttle.getLockedUntil("a@motorph.com"));
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.check("b@motorph.com", null));
+    }
+
+    @Test
+    public void testLockoutExpires() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("a@motorph.com", null);
+        }
+        now.addAndGet(LOCKOUT);
+
+        assertFalse(throttle.isLocked("a@motorph.com"));
+        assertEquals(0, throttle.getLockedUntil("a@motorph.com"));
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.check("a@motorph.com", null));
+    }
+
+    @Test
+    public void testWindowSlides() {
+        throttle.recordFailure("a@motorph.com", null);
+        throttle.recordFailure("a@motorph.com", null);
+        assertEquals(2, throttle.getFailureCount("a@motorph.com"));
+
+        // Old failures fall out of the window one bucket at a time
+        now.addAndGet(WINDOW);
+        assertEquals(0, throttle.getFailureCount("a@motorph.com"));
+        assertFalse(throttle.recordFailure("a@motorph.com", null));
+        assertFalse(throttle.isLocked("a@motorph.com"));
+    }
+
+    @Test
+    public void testThrottlesSourceAcrossEmails() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i + "@motorph.com", "10.0.0.9");
+        }
+
+        assertEquals(LoginThrottle.Decision.SOURCE_THROTTLED, throttle.check("new@motorph.com", "10.0.0.9"));
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.check("new@motorph.com", "10.0.0.10"));
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.check("new@motorph.com", null));
+        assertEquals(1, throttle.getStats().getRejectedSource());
+    }
+
+    @Test
+    public void testSuccessAndUnlockClearFailures() {
+        throttle.recordFailure("a@motorph.com", null);
+        throttle.recordFailure("a@motorph.com", null);
+        throttle.recordSuccess("a@motorph.com");
+        assertEquals(0, throttle.getFailureCount("a@motorph.com"));
+
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("a@motorph.com", null);
+        }
+        throttle.unlock("a@motorph.com");
+        assertFalse(throttle.isLocked("a@motorph.com"));
+    }
+
+    @Test
+    public void testConcurrentFailuresAreAllCounted() throws Exception {
+        LoginThrottle wide = new LoginThrottle(10_000, 10_000, WINDOW, LOCKOUT, now::get);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    wide.recordFailure("a@motorph.com", null);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(2000, wide.getFailureCount("a@motorph.com"));
+        assertEquals(1, wide.getStats().getTrackedEmails());
+    }
+
+    @Test
+    public void testPersistedLockoutIsHonouredAndCached() {
+        AtomicInteger lookups = new AtomicInteger();
+        long storedUntil = now.get() + LOCKOUT;
+        throttle.start(new LoginLockoutDAO(null) {
+            @Override
+            public long findLockedUntil(String email, long nowMillis) {
+                lookups.incrementAndGet();
+                return "a@motorph.com".equals(email) ? storedUntil : 0;
+            }
+
+            @Override
+            public Map<String, Long> findActive(long nowMillis) {
+                return Collections.emptyMap();
+            }
+        });
+
+        // Locked by another client: every read path sees it, the table is read once
+        assertTrue(throttle.isLocked("a@motorph.com"));
+        assertEquals(storedUntil, throttle.getLockedUntil("a@motorph.com"));
+        assertEquals(LoginThrottle.Decision.EMAIL_LOCKED, throttle.check("a@motorph.com", null));
+        assertEquals(1, lookups.get());
+
+        // Not locked: repeated attempts reuse the cached answer until the recheck
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.check("b@motorph.com", null));
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.check("b@motorph.com", null));
+        assertEquals(2, lookups.get());
+        now.addAndGet(30_000);
+        assertEquals(LoginThrottle.Decision.ALLOWED, throttle.check("b@motorph.com", null));
+        assertEquals(3, lookups.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RejectsNonPositiveLimit() {
+        new LoginThrottle(0, 5, WINDOW, LOCKOUT, System::currentTimeMillis);
+    }
+}
@@ -0,0 +1,106 @@
+package UnitTestAOOP;
+
+import Utility.LoginVerificationExecutor;
+import Utility.PasswordHasher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JUnit test for the in-memory LoginVerificationExecutor (no database needed)
+ */
+public class LoginVerificationExecutorTest {
+
+    private LoginVerificationExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new LoginVerificationExecutor(1, 1, 2000);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testVerify_ReturnsOutcomeAndRecordsLatency() {
+        String storedHash = PasswordHasher.hashPassword("MySecure@Pass123");
+
+        assertEquals(LoginVerificationExecutor.Result.VERIFIED,
+                     executor.verify(() -> PasswordHasher.verifyPassword("MySecure@Pass123", storedHash)));
+        assertEquals(LoginVerificationExecutor.Result.FAILED,
+                     executor.verify(() -> PasswordHasher.verifyPassword("WrongPassword123!", storedHash)));
+
+        LoginVerificationExecutor.VerificationStats stats = executor.getStats();
+        assertEquals(1, stats.getVerified());
+        assertEquals(1, stats.getFailed());
+        assertEquals(2, stats.getCompleted());
+        assertTrue(stats.getMaxVerifyMillis() > 0);
+    }
+
+    @Test
+    public void testVerify_RejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Occupy the only thread, then the only queue slot
+        Thread first = new Thread(() -> executor.verify(() -> {
+            running.countDown();
+            awaitQuietly(release);
+            return true;
+        }));
+        first.start();
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+        Thread second = new Thread(() -> executor.verify(() -> true));
+        second.start();
+        waitForQueueDepth(1);
+
+        assertEquals(LoginVerificationExecutor.Result.REJECTED, executor.verify(() -> true));
+        assertEquals(1, executor.getStats().getRejected());
+
+        release.countDown();
+        first.join(2000);
+        second.join(2000);
+        assertEquals(2, executor.getStats().getVerified());
+    }
+
+    @Test
+    public void testVerify_TimesOut() {
+        LoginVerificationExecutor impatient = new LoginVerificationExecutor(1, 1, 50);
+        try {
+            CountDownLatch never = new CountDownLatch(1);
+            assertEquals(LoginVerificationExecutor.Result.REJECTED, impatient.verify(() -> {
+                awaitQuietly(never);
+                return true;
+            }));
+            assertEquals(1, impatient.getStats().getTimedOut());
+        } finally {
+            impatient.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RejectsNonPositiveBudget() {
+        new LoginVerificationExecutor(0, 1, 1000);
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (executor.getStats().getQueueDepth() < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, executor.getStats().getQueueDepth());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package UnitTestAOOP;
+
+import Models.OvertimePayAccrual;
+import Models.OvertimeRequestModel;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * JUnit test for the overtime pay computed at approval time (no database needed)
+ */
+public class OvertimePayAccrualTest {
+
+    // 2030-03-04 is a Monday
+    private static final LocalDateTime MONDAY_6PM = LocalDateTime.of(2030, 3, 4, 18, 0);
+
+    private static OvertimeRequestModel request(LocalDateTime start, LocalDateTime end) {
+        OvertimeRequestModel request = new OvertimeRequestModel();
+        request.setOvertimeRequestId(5);
+        request.setEmployeeId(10);
+        request.setOvertimeStart(start);
+        request.setOvertimeEnd(end);
+        return request;
+    }
+
+    @Test
+    public void testForRequest_WeekdayEvening() {
+        OvertimePayAccrual accrual = OvertimePayAccrual.forRequest(
+            request(MONDAY_6PM, MONDAY_6PM.plusHours(2)), new BigDecimal("100.00"));
+
+        assertEquals(Integer.valueOf(5), accrual.getOvertimeRequestId());
+        assertEquals(MONDAY_6PM.toLocalDate(), accrual.getOvertimeDate());
+        assertEquals(new BigDecimal("2.00"), accrual.getOvertimeHours());
+        assertEquals(0, new BigDecimal("1.5").compareTo(accrual.getMultiplier()));
+        assertEquals(new BigDecimal("300.00"), accrual.getOvertimePay());
+    }
+
+    @Test
+    public void testForRequest_SameMultiplierAtNightAndWeekend() {
+        // 2030-03-09 is a Saturday
+        LocalDateTime saturdayNight = LocalDateTime.of(2030, 3, 9, 23, 0);
+        OvertimePayAccrual accrual = OvertimePayAccrual.forRequest(
+            request(saturdayNight, saturdayNight.plusHours(2)), new BigDecimal("100.00"));
+
+        assertEquals(0, OvertimePayAccrual.PAYROLL_OVERTIME_MULTIPLIER.compareTo(accrual.getMultiplier()));
+        assertEquals(new BigDecimal("300.00"), accrual.getOvertimePay());
+    }
+
+    @Test
+    public void testRecalculate_AfterRateChange() {
+        OvertimePayAccrual accrual = OvertimePayAccrual.forRequest(
+            request(MONDAY_6PM, MONDAY_6PM.plusMinutes(90)), new BigDecimal("100.00"));
+
+        accrual.setHourlyRate(new BigDecimal("120.00"));
+        accrual.recalculate();
+
+        assertEquals(new BigDecimal("270.00"), accrual.getOvertimePay());
+    }
+
+    @Test
+    public void testForRequest_UnknownRateAccruesNoPay() {
+        OvertimePayAccrual accrual = OvertimePayAccrual.forRequest(
+            request(MONDAY_6PM, MONDAY_6PM.plusHours(1)), null);
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(accrual.getOvertimePay()));
+    }
+}
@@ -0,0 +1,107 @@
+package UnitTestAOOP;
+
+import DAOs.OvertimeRollup;
+import DAOs.OvertimeRollup.DailyOvertime;
+import DAOs.OvertimeRollup.EmployeeOvertimeTotal;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JUnit test for the in-memory OvertimeRollup and top-N ranking (no database needed)
+ */
+public class OvertimeRollupTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 3);
+
+    private OvertimeRollup rollup;
+
+    @Before
+    public void setUp() {
+        rollup = new OvertimeRollup();
+        rollup.load(DAY.minusDays(30), DAY.plusDays(30),
+            List.of(
+                employee(1, "Rank-and-File"),
+                employee(2, "Rank-and-File"),
+                employee(3, "Warehouse"),
+                employee(4, "Warehouse")
+            ),
+            List.of(
+                new DailyOvertime(1, DAY, 120, 1),
+                new DailyOvertime(1, DAY.plusDays(1), 60, 1),
+                new DailyOvertime(2, DAY, 240, 2),
+                new DailyOvertime(3, DAY.plusDays(1), 90, 1),
+                new DailyOvertime(4, DAY.plusDays(10), 300, 1),
+                new DailyOvertime(99, DAY, 600, 1) // not rank-and-file, ignored
+            ));
+    }
+
+    private static EmployeeOvertimeTotal employee(int id, String department) {
+        return new EmployeeOvertimeTotal(id, "Employee " + id, department, new BigDecimal("100.00"), 0, 0);
+    }
+
+    @Test
+    public void testRank_OrderedByMinutes() {
+        List<EmployeeOvertimeTotal> ranking = rollup.rank(DAY, DAY.plusDays(1), null, 0, 0);
+
+        assertEquals(3, ranking.size());
+        assertEquals(2, ranking.get(0).getEmployeeId());
+        assertEquals(1, ranking.get(1).getEmployeeId());
+        assertEquals(180, ranking.get(1).getTotalMinutes());
+        assertEquals(2, ranking.get(1).getRequestCount());
+        assertEquals(new BigDecimal("3.00"), ranking.get(1).getTotalHours());
+    }
+
+    @Test
+    public void testRank_DepartmentFilter() {
+        List<EmployeeOvertimeTotal> ranking = rollup.rank(DAY, DAY.plusDays(30), "warehouse", 0, 0);
+
+        assertEquals(2, ranking.size());
+        assertEquals(4, ranking.get(0).getEmployeeId());
+        assertEquals(3, ranking.get(1).getEmployeeId());
+    }
+
+    @Test
+    public void testRank_Paging() {
+        List<EmployeeOvertimeTotal> firstPage = rollup.rank(DAY, DAY.plusDays(30), null, 0, 2);
+        List<EmployeeOvertimeTotal> secondPage = rollup.rank(DAY, DAY.plusDays(30), null, 2, 2);
+        List<EmployeeOvertimeTotal> pastEnd = rollup.rank(DAY, DAY.plusDays(30), null, 4, 2);
+
+        assertEquals(List.of(4, 2), List.of(firstPage.get(0).getEmployeeId(), firstPage.get(1).getEmployeeId()));
+        assertEquals(List.of(1, 3), List.of(secondPage.get(0).getEmployeeId(), secondPage.get(1).getEmployeeId()));
+        assertTrue(pastEnd.isEmpty());
+    }
+
+    @Test
+    public void testRank_DoesNotAccumulateAcrossCalls() {
+        rollup.rank(DAY, DAY.plusDays(1), null, 0, 0);
+        List<EmployeeOvertimeTotal> again = rollup.rank(DAY, DAY.plusDays(1), null, 0, 0);
+
+        assertEquals(240, again.get(0).getTotalMinutes());
+    }
+
+    @Test
+    public void testTopN_TiesBrokenByEmployeeId() {
+        List<EmployeeOvertimeTotal> top = OvertimeRollup.topN(List.of(
+            new EmployeeOvertimeTotal(7, "A", null, null, 60, 1),
+            new EmployeeOvertimeTotal(5, "B", null, null, 60, 1),
+            new EmployeeOvertimeTotal(6, "C", null, null, 0, 0)
+        ), 0, 5);
+
+        assertEquals(2, top.size());
+        assertEquals(5, top.get(0).getEmployeeId());
+        assertEquals(7, top.get(1).getEmployeeId());
+    }
+
+    @Test
+    public void testCanAnswer() {
+        assertTrue(rollup.canAnswer(DAY, DAY.plusDays(5), 60_000));
+        assertFalse("Outside the window", rollup.canAnswer(DAY.minusDays(60), DAY, 60_000));
+
+        rollup.invalidate();
+        assertFalse(rollup.canAnswer(DAY, DAY.plusDays(5), 60_000));
+    }
+}
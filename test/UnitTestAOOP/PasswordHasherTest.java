@@ -70,11 +70,13 @@ public class PasswordHasherTest {
         String hashedPassword = PasswordHasher.hashPassword(VALID_PASSWORD);
         
         assertNotNull("Hashed password should not be null", hashedPassword);
-        assertTrue("Hashed password should contain salt:hash format", 
-                  hashedPassword.contains(":"));
+        assertTrue("Hashed password should record the algorithm", 
+                  hashedPassword.startsWith("$pbkdf2-sha256$"));
         
-        String[] parts = hashedPassword.split(":");
-        assertEquals("Hashed password should have exactly 2 parts", 2, parts.length);
+        String[] parts = hashedPassword.split("\\$");
+        assertEquals("Hashed password should have algorithm, cost, salt and hash", 5, parts.length);
+        assertEquals("Hashed password should record the cost", 
+                    String.valueOf(PasswordHasher.getIterations()), parts[2]);
     }
     
     @Test
@@ -156,6 +158,64 @@ public class PasswordHasherTest {
                   PasswordHasher.verifyPassword(password, hashedPassword));
     }
     
+    @Test
+    public void testVerifyPassword_LegacySaltHashFormat() {
+        System.out.println("Testing password verification - Legacy salt:hash format");
+        
+        String salt = PasswordHasher.generateSalt();
+        String legacyHash = salt + ":" + PasswordHasher.hashPassword(VALID_PASSWORD, salt);
+        
+        assertTrue("Legacy hash should still verify", 
+                  PasswordHasher.verifyPassword(VALID_PASSWORD, legacyHash));
+        assertFalse("Legacy hash should reject wrong password", 
+                   PasswordHasher.verifyPassword("WrongPassword123!", legacyHash));
+        assertTrue("Legacy hash should need a rehash", 
+                  PasswordHasher.needsRehash(legacyHash));
+    }
+    
+    @Test
+    public void testVerifyPassword_TamperedCost() {
+        System.out.println("Testing password verification - Tampered cost (negative test)");
+        
+        String hashedPassword = PasswordHasher.hashPassword(VALID_PASSWORD);
+        String tampered = hashedPassword.replace("$" + PasswordHasher.getIterations() + "$", "$10000$");
+        
+        assertFalse("Changing the recorded cost should break verification", 
+                   PasswordHasher.verifyPassword(VALID_PASSWORD, tampered));
+    }
+    
+    @Test
+    public void testNeedsRehash_AfterCostIncrease() {
+        System.out.println("Testing rehash detection - Cost increase");
+        
+        int originalIterations = PasswordHasher.getIterations();
+        try {
+            PasswordHasher.setIterations(PasswordHasher.MIN_ITERATIONS);
+            String cheapHash = PasswordHasher.hashPassword(VALID_PASSWORD);
+            assertFalse("Hash at the current cost should not need a rehash", 
+                       PasswordHasher.needsRehash(cheapHash));
+            
+            PasswordHasher.setIterations(PasswordHasher.MIN_ITERATIONS * 2);
+            assertTrue("Hash below the current cost should need a rehash", 
+                      PasswordHasher.needsRehash(cheapHash));
+            assertTrue("Old-cost hash should still verify", 
+                      PasswordHasher.verifyPassword(VALID_PASSWORD, cheapHash));
+        } finally {
+            PasswordHasher.setIterations(originalIterations);
+        }
+    }
+    
+    @Test
+    public void testCalibrateIterations() {
+        System.out.println("Testing cost calibration");
+        
+        int iterations = PasswordHasher.calibrateIterations(50);
+        
+        assertTrue("Calibrated cost should not go below the minimum", 
+                  iterations >= PasswordHasher.MIN_ITERATIONS);
+        assertEquals("Calibrated cost should be a multiple of 1000", 0, iterations % 1000);
+    }
+    
     // =====================================
     // PASSWORD VALIDATION TESTS
     // =====================================
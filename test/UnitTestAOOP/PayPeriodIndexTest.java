@@ -0,0 +1,95 @@
+package UnitTestAOOP;
+
+import DAOs.PayPeriodIndex;
+import Models.PayPeriodModel;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JUnit test for the in-memory PayPeriodIndex (no database needed)
+ */
+public class PayPeriodIndexTest {
+
+    private PayPeriodIndex index;
+
+    @Before
+    public void setUp() {
+        index = new PayPeriodIndex();
+        index.load(List.of(
+            period(1, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 15), "June 2024 - 1st Half"),
+            period(2, LocalDate.of(2024, 6, 16), LocalDate.of(2024, 6, 30), "June 2024 - 2nd Half"),
+            period(3, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 31), "July 2024")
+        ));
+    }
+
+    private static PayPeriodModel period(int id, LocalDate start, LocalDate end, String name) {
+        return new PayPeriodModel(id, start, end, name);
+    }
+
+    @Test
+    public void testFindByDate() {
+        assertEquals(Integer.valueOf(1), index.findByDate(LocalDate.of(2024, 6, 1)).getPayPeriodId());
+        assertEquals(Integer.valueOf(2), index.findByDate(LocalDate.of(2024, 6, 30)).getPayPeriodId());
+        assertEquals(Integer.valueOf(3), index.findByDate(LocalDate.of(2024, 7, 20)).getPayPeriodId());
+        assertNull(index.findByDate(LocalDate.of(2024, 8, 1)));
+        assertNull(index.findByDate(LocalDate.of(2024, 5, 31)));
+    }
+
+    @Test
+    public void testPreviousAndNext() {
+        assertEquals(Integer.valueOf(1), index.findPrevious(2).getPayPeriodId());
+        assertEquals(Integer.valueOf(3), index.findNext(2).getPayPeriodId());
+        assertNull(index.findPrevious(1));
+        assertNull(index.findNext(3));
+        assertNull(index.findNext(99));
+    }
+
+    @Test
+    public void testFindOverlapping_RespectsExcludeId() {
+        List<PayPeriodModel> overlapping = index.findOverlapping(LocalDate.of(2024, 6, 10), LocalDate.of(2024, 7, 1), null);
+        assertEquals(3, overlapping.size());
+        assertEquals(Integer.valueOf(1), overlapping.get(0).getPayPeriodId());
+
+        overlapping = index.findOverlapping(LocalDate.of(2024, 6, 16), LocalDate.of(2024, 6, 30), 2);
+        assertTrue(overlapping.isEmpty());
+    }
+
+    @Test
+    public void testFindOverlapping_LongPeriodStartedBeforeRange() {
+        index.put(period(4, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), "2024 Annual"));
+
+        List<PayPeriodModel> overlapping = index.findOverlapping(LocalDate.of(2024, 11, 1), LocalDate.of(2024, 11, 15), null);
+        assertEquals(1, overlapping.size());
+        assertEquals(Integer.valueOf(4), overlapping.get(0).getPayPeriodId());
+    }
+
+    @Test
+    public void testPutAndRemove_WriteThrough() {
+        index.put(period(2, LocalDate.of(2024, 6, 16), LocalDate.of(2024, 6, 29), "June 2024 - 2nd Half"));
+        assertNull(index.findByDate(LocalDate.of(2024, 6, 30)));
+
+        index.remove(3);
+        assertNull(index.findById(3));
+        assertNull(index.findNext(2));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testReturnsCopies() {
+        PayPeriodModel found = index.findById(1);
+        found.setEndDate(LocalDate.of(2024, 6, 20));
+
+        assertEquals(LocalDate.of(2024, 6, 15), index.findById(1).getEndDate());
+    }
+
+    @Test
+    public void testFindAll_LatestFirst() {
+        List<PayPeriodModel> all = index.findAll();
+        assertEquals(3, all.size());
+        assertEquals(Integer.valueOf(3), all.get(0).getPayPeriodId());
+        assertEquals(Integer.valueOf(1), all.get(2).getPayPeriodId());
+    }
+}
@@ -0,0 +1,106 @@
+package UnitTestAOOP;
+
+import DAOs.DatabaseConnection;
+import Models.EmployeeModel;
+import Models.PayPeriodModel;
+import Services.PayrollBenefitService;
+import Services.PayrollBenefitService.PayrollBenefitResult;
+import Services.PayrollBenefitService.PeriodBenefitData;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JUnit test for the in-memory pay period benefit calculation (no database needed)
+ */
+public class PayrollBenefitServiceTest {
+
+    private static final int RICE_SUBSIDY = 1;
+    private static final int PHONE_ALLOWANCE = 2;
+
+    private PayrollBenefitService service;
+    private PeriodBenefitData data;
+    private List<EmployeeModel> employees;
+
+    @Before
+    public void setUp() {
+        service = new PayrollBenefitService(new DatabaseConnection());
+        data = new PeriodBenefitData();
+        data.addPositionBenefit(5, RICE_SUBSIDY, "Rice Subsidy", new BigDecimal("1500.00"));
+        data.addPositionBenefit(5, PHONE_ALLOWANCE, "Phone Allowance", new BigDecimal("1000.00"));
+        employees = new ArrayList<>();
+        employees.add(employee(10001, 5, "30000.00"));
+    }
+
+    private static EmployeeModel employee(Integer employeeId, Integer positionId, String basicSalary) {
+        EmployeeModel employee = new EmployeeModel();
+        employee.setEmployeeId(employeeId);
+        employee.setPositionId(positionId);
+        employee.setBasicSalary(new BigDecimal(basicSalary));
+        return employee;
+    }
+
+    private static PayPeriodModel period(int year, int month) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        return new PayPeriodModel(7, start, start.withDayOfMonth(start.lengthOfMonth()), "Test period");
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(expected + " expected, was " + actual, 0, new BigDecimal(expected).compareTo(actual));
+    }
+
+    @Test
+    public void testPositionBenefitsBecomeAllowances() {
+        PayrollBenefitResult result = service.calculateBenefitPayrollForPeriod(period(2030, 11), employees, data).get(10001);
+
+        assertAmount("1500", result.getRiceSubsidy());
+        assertAmount("1000", result.getPhoneAllowance());
+        assertEquals(2, result.getPositionBenefits().size());
+        assertAmount("1500", result.getPositionBenefits().get(RICE_SUBSIDY));
+        assertEquals(Integer.valueOf(7), result.getPayPeriodId());
+    }
+
+    @Test
+    public void testTotals() {
+        data.addInsurance(10001, "Health Insurance", new BigDecimal("300.00"), new BigDecimal("900.00"));
+        data.setPerformanceBonus(10001, new BigDecimal("2000.00"));
+        data.setOvertimeAllowance(10001, new BigDecimal("500.00"));
+
+        PayrollBenefitResult result = service.calculateBenefitPayrollForPeriod(period(2030, 11), employees, data).get(10001);
+
+        // SSS 25,000 cap x 4.5% + PhilHealth 2.25% + Pag-IBIG capped at 200 + health premium
+        assertAmount("1125", result.getSssEmployeeContribution());
+        assertAmount("200", result.getPagibigEmployeeContribution());
+        assertAmount("2300", result.getTotalBenefitDeductions());
+        assertAmount("5000", result.getTotalBenefitPayments());
+        assertAmount("2700", result.getNetBenefitAdjustment());
+        assertAmount("900", result.getHealthInsuranceCompanyCoverage());
+    }
+
+    @Test
+    public void testDecemberBonuses() {
+        PayrollBenefitResult result = service.calculateBenefitPayrollForPeriod(period(2030, 12), employees, data).get(10001);
+
+        assertAmount("15000", result.getHolidayBonus());
+        assertAmount("30000", result.getThirteenthMonthPay());
+    }
+
+    @Test
+    public void testEmployeesWithoutPositionOrId() {
+        employees.add(employee(10002, null, "20000.00"));
+        employees.add(employee(null, 5, "20000.00"));
+
+        Map<Integer, PayrollBenefitResult> results =
+            service.calculateBenefitPayrollForPeriod(period(2030, 11), employees, data);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(10002).getPositionBenefits().isEmpty());
+        assertAmount("0", results.get(10002).getRiceSubsidy());
+        assertAmount("0", results.get(10002).getHolidayBonus());
+    }
+}
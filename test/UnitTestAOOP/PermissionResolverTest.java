@@ -0,0 +1,114 @@
+package UnitTestAOOP;
+
+import DAOs.PermissionResolver;
+import DAOs.PermissionResolver.UserAccess;
+import Models.Permission;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit test for the in-memory PermissionResolver (no database needed)
+ */
+public class PermissionResolverTest {
+
+    private Map<Integer, UserAccess> users;
+    private AtomicInteger loads;
+    private PermissionResolver resolver;
+
+    @Before
+    public void setUp() {
+        users = new HashMap<>();
+        loads = new AtomicInteger();
+        resolver = new PermissionResolver(id -> {
+            loads.incrementAndGet();
+            return users.get(id);
+        });
+    }
+
+    @Test
+    public void testRoleDefaults() {
+        long hr = Permission.forRole("HR");
+        assertTrue(Permission.HR_ACCESS.isIn(hr));
+        assertTrue(Permission.APPROVE_ALL_REQUESTS.isIn(hr));
+        assertFalse(Permission.MANAGE_USERS.isIn(hr));
+
+        long it = Permission.forRole("it");
+        assertTrue(Permission.MANAGE_USERS.isIn(it));
+        assertFalse(Permission.MANAGE_PAYROLL.isIn(it));
+
+        assertEquals(Permission.forRole("Supervisor"), Permission.forRole("Immediate Supervisor"));
+        assertEquals(0L, Permission.forRole("Unknown"));
+        assertEquals(0L, Permission.forRole(null));
+    }
+
+    @Test
+    public void testCachesEffectivePermissions() {
+        users.put(1, new UserAccess("HR", true, true, 0L, 0L));
+
+        assertTrue(resolver.hasPermission(1, Permission.MANAGE_EMPLOYEES));
+        assertTrue(resolver.hasPermission(1, Permission.SUBMIT_LEAVE));
+        assertFalse(resolver.hasPermission(1, Permission.MANAGE_DATABASE));
+        assertEquals(1, loads.get());
+        assertEquals(1, resolver.getMisses());
+        assertEquals(2, resolver.getHits());
+    }
+
+    @Test
+    public void testInvalidateReloads() {
+        users.put(1, new UserAccess("Employee", true, true, 0L, 0L));
+        assertFalse(resolver.hasPermission(1, Permission.APPROVE_LEAVE));
+
+        // Promoted: the cached bitset is stale until invalidated
+        users.put(1, new UserAccess("Supervisor", true, true, 0L, 0L));
+        assertFalse(resolver.hasPermission(1, Permission.APPROVE_LEAVE));
+
+        resolver.invalidate(1);
+        assertTrue(resolver.hasPermission(1, Permission.APPROVE_LEAVE));
+
+        users.put(1, new UserAccess("Employee", true, true, 0L, 0L));
+        resolver.invalidateAll();
+        assertFalse(resolver.hasPermission(1, Permission.APPROVE_LEAVE));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testOverrides() {
+        long grants = Permission.GENERATE_REPORTS.getBit();
+        long revokes = Permission.APPROVE_OVERTIME.getBit();
+        users.put(1, new UserAccess("Supervisor", true, true, grants, revokes));
+
+        assertTrue(resolver.hasPermission(1, Permission.GENERATE_REPORTS));
+        assertFalse(resolver.hasPermission(1, Permission.APPROVE_OVERTIME));
+        assertTrue(resolver.hasPermission(1, Permission.APPROVE_LEAVE));
+    }
+
+    @Test
+    public void testTerminatedAndRankAndFile() {
+        users.put(1, new UserAccess("HR", false, true, 0L, 0L));
+        users.put(2, new UserAccess("Employee", true, false, 0L, 0L));
+
+        assertEquals(0L, resolver.getPermissions(1));
+        assertTrue(resolver.hasPermission(2, Permission.SUBMIT_LEAVE));
+        assertFalse(resolver.hasPermission(2, Permission.SUBMIT_OVERTIME));
+    }
+
+    @Test
+    public void testUnknownUserIsNotCached() {
+        assertEquals(0L, resolver.getPermissions(99));
+        users.put(99, new UserAccess("Employee", true, true, 0L, 0L));
+        assertTrue(resolver.hasPermission(99, Permission.SUBMIT_LEAVE));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testBitsRoundTrip() {
+        long bits = Permission.forRole("IT");
+        assertEquals(bits, Permission.toBits(Permission.fromBits(bits)));
+        assertEquals(Permission.MANAGE_USERS, Permission.fromKey("canManageUsers"));
+        assertNull(Permission.fromKey("canFly"));
+    }
+}
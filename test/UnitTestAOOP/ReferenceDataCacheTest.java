@@ -0,0 +1,80 @@
+package UnitTestAOOP;
+
+import DAOs.ReferenceDataCache;
+import DAOs.ReferenceDataCache.Region;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit test for the in-memory ReferenceDataCache (no database needed)
+ */
+public class ReferenceDataCacheTest {
+
+    private ReferenceDataCache cache;
+    private AtomicInteger loads;
+
+    @Before
+    public void setUp() {
+        cache = new ReferenceDataCache();
+        loads = new AtomicInteger();
+    }
+
+    private List<String> loadPositions() {
+        loads.incrementAndGet();
+        return List.of("HR Manager", "Accountant");
+    }
+
+    @Test
+    public void testGet_LoadsOnce() throws SQLException {
+        List<String> first = cache.get(Region.POSITIONS, "positions", this::loadPositions);
+        List<String> second = cache.get(Region.POSITIONS, "positions", this::loadPositions);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testInvalidate_OnlyAffectsRegionAndBumpsVersion() throws SQLException {
+        cache.get(Region.POSITIONS, "positions", this::loadPositions);
+        cache.get(Region.LEAVE_TYPES, "leaveTypes", () -> List.of("Sick Leave"));
+
+        cache.invalidate(Region.POSITIONS);
+
+        assertFalse(cache.isCached(Region.POSITIONS, "positions"));
+        assertTrue(cache.isCached(Region.LEAVE_TYPES, "leaveTypes"));
+        assertEquals(1, cache.getVersion(Region.POSITIONS));
+        assertEquals(0, cache.getVersion(Region.LEAVE_TYPES));
+        assertEquals(1, cache.getVersion());
+
+        cache.get(Region.POSITIONS, "positions", this::loadPositions);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testGet_ValueLoadedDuringInvalidationIsNotStored() throws SQLException {
+        List<String> loaded = cache.get(Region.BENEFIT_TYPES, "benefitTypes", () -> {
+            cache.invalidate(Region.BENEFIT_TYPES); // another thread writes while we load
+            return List.of("Rice Subsidy");
+        });
+
+        assertEquals(List.of("Rice Subsidy"), loaded);
+        assertFalse(cache.isCached(Region.BENEFIT_TYPES, "benefitTypes"));
+    }
+
+    @Test
+    public void testGet_FailedLoadIsNotCached() {
+        try {
+            cache.get(Region.POSITIONS, "positions", () -> {
+                throw new SQLException("connection refused");
+            });
+            fail("Expected SQLException");
+        } catch (SQLException e) {
+            assertEquals("connection refused", e.getMessage());
+        }
+        assertFalse(cache.isCached(Region.POSITIONS, "positions"));
+    }
+}
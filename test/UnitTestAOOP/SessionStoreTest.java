@@ -0,0 +1,105 @@
+package UnitTestAOOP;
+
+import DAOs.SessionStore;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JUnit test for the in-memory SessionStore (no database needed)
+ */
+public class SessionStoreTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private AtomicLong now;
+    private SessionStore store;
+
+    @Before
+    public void setUp() {
+        now = new AtomicLong(1_700_000_000_000L);
+        store = new SessionStore(now::get, 1000, 8);
+    }
+
+    @Test
+    public void testCreateSession_TokensAreRandomAndValidate() {
+        String first = store.createSession(10001, 30 * MINUTE);
+        String second = store.createSession(10001, 30 * MINUTE);
+
+        assertNotEquals(first, second);
+        assertTrue(first.length() >= 43);
+        assertTrue(store.isValid(first, 10001));
+        assertFalse("Token belongs to another employee", store.isValid(first, 10002));
+        assertNull(store.validate("not-a-session"));
+    }
+
+    @Test
+    public void testValidate_SlidesExpiry() {
+        String token = store.createSession(10001, 30 * MINUTE);
+
+        now.addAndGet(20 * MINUTE);
+        assertTrue(store.isValid(token, 10001));
+        now.addAndGet(20 * MINUTE);
+        assertEquals(0, store.advance());
+        assertTrue("Used 20 minutes ago, so still live", store.isValid(token, 10001));
+
+        now.addAndGet(31 * MINUTE);
+        assertEquals(1, store.advance());
+        assertEquals(0, store.size());
+        assertFalse(store.isValid(token, 10001));
+    }
+
+    @Test
+    public void testValidate_ExpiredBeforeWheelTurns() {
+        String token = store.createSession(10001, MINUTE);
+
+        now.addAndGet(MINUTE);
+        assertNull("Expiry is checked on lookup too", store.validate(token));
+    }
+
+    @Test
+    public void testInvalidate() {
+        String token = store.createSession(10001, 30 * MINUTE);
+        String other = store.createSession(10001, 30 * MINUTE);
+        String colleague = store.createSession(10002, 30 * MINUTE);
+
+        assertTrue(store.invalidate(token));
+        assertFalse(store.invalidate(token));
+        assertFalse(store.isValid(token, 10001));
+
+        assertEquals(1, store.invalidateEmployee(10001));
+        assertFalse(store.isValid(other, 10001));
+        assertTrue(store.isValid(colleague, 10002));
+    }
+
+    @Test
+    public void testExtendSessions() {
+        String token = store.createSession(10001, 10 * MINUTE);
+
+        assertEquals(1, store.extendSessions(10001, 30 * MINUTE));
+        now.addAndGet(35 * MINUTE);
+        store.advance();
+
+        assertTrue(store.isValid(token, 10001));
+    }
+
+    @Test
+    public void testExtendSessions_SurvivesValidation() {
+        String token = store.createSession(10001, 10 * MINUTE);
+
+        store.extendSessions(10001, 30 * MINUTE);
+        assertTrue(store.isValid(token, 10001));
+        now.addAndGet(35 * MINUTE);
+        store.advance();
+
+        assertTrue(store.isValid(token, 10001));
+    }
+
+    @Test
+    public void testRegister_RejectsBlankAndDuplicateTokens() {
+        assertFalse(store.register("", 10001, MINUTE));
+        assertTrue(store.register("legacy-token", 10001, MINUTE));
+        assertFalse(store.register("legacy-token", 10002, MINUTE));
+    }
+}
@@ -0,0 +1,69 @@
+package UnitTestAOOP;
+
+import Utility.XlsxRowWriter;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * JUnit test for the in-memory XlsxRowWriter (no database needed)
+ */
+public class XlsxRowWriterTest {
+
+    private static Map<String, String> writeAndUnzip(String sheetName, Object[]... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxRowWriter writer = new XlsxRowWriter(out, sheetName)) {
+            writer.writeHeader(Arrays.asList("Employee", "Net Pay", "Rank-and-File"));
+            for (Object[] row : rows) {
+                writer.writeRow(row);
+            }
+            assertEquals(rows.length, writer.getRowCount());
+        }
+
+        Map<String, String> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return parts;
+    }
+
+    @Test
+    public void testWorkbookParts() throws Exception {
+        Map<String, String> parts = writeAndUnzip("Payroll Summary");
+        assertTrue(parts.containsKey("[Content_Types].xml"));
+        assertTrue(parts.containsKey("_rels/.rels"));
+        assertTrue(parts.containsKey("xl/_rels/workbook.xml.rels"));
+        assertTrue(parts.get("xl/workbook.xml").contains("<sheet name=\"Payroll Summary\""));
+        assertTrue(parts.get("xl/worksheets/sheet1.xml").endsWith("</sheetData></worksheet>"));
+    }
+
+    @Test
+    public void testCellTypes() throws Exception {
+        String sheet = writeAndUnzip("Sheet", new Object[] {"Garcia", new BigDecimal("90000.50"), true})
+            .get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.contains("<row r=\"1\"><c t=\"inlineStr\"><is><t xml:space=\"preserve\">Employee</t></is></c>"));
+        assertTrue(sheet.contains("<row r=\"2\">"));
+        assertTrue(sheet.contains("<c><v>90000.50</v></c>"));
+        assertTrue(sheet.contains("<c t=\"b\"><v>1</v></c>"));
+    }
+
+    @Test
+    public void testEscapesText() throws Exception {
+        String sheet = writeAndUnzip("A/B", new Object[] {"R&D <Ops>", Double.NaN, null})
+            .get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.contains("R&amp;D &lt;Ops&gt;"));
+        assertTrue(sheet.contains(">NaN</t>"));
+        assertTrue(sheet.contains("<c/>"));
+    }
+}